@@ -0,0 +1,83 @@
+package com.jeanbarcellos.project110.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cliente HTTP da aplicação (HTTP/1.1 com keep-alive).
+ */
+public class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper;
+
+    public ApiClient(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool(runnable -> {
+                    var thread = new Thread(runnable, "load-test-http");
+                    thread.setDaemon(true);
+                    return thread;
+                }))
+                .build();
+    }
+
+    /**
+     * Executa a requisição e retorna o status HTTP (o corpo é descartado).
+     */
+    public int send(LoadRequest request) throws IOException, InterruptedException {
+        var builder = HttpRequest.newBuilder(URI.create(this.baseUrl + request.path()))
+                .timeout(REQUEST_TIMEOUT);
+
+        if (request.body() != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(request.method(), BodyPublishers.ofString(request.body()));
+        } else {
+            builder.method(request.method(), BodyPublishers.noBody());
+        }
+
+        return this.httpClient.send(builder.build(), BodyHandlers.discarding()).statusCode();
+    }
+
+    public JsonNode getJson(String path) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create(this.baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        var response = this.httpClient.send(request, BodyHandlers.ofString());
+
+        if (response.statusCode() >= 400) {
+            throw new IOException("GET " + path + " retornou " + response.statusCode());
+        }
+
+        return this.objectMapper.readTree(response.body());
+    }
+
+    public String toJson(Object value) {
+        try {
+            return this.objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+}
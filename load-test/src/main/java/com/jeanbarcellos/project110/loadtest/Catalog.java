@@ -0,0 +1,107 @@
+package com.jeanbarcellos.project110.loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Dados existentes na aplicação usados para montar as requisições.
+ *
+ * Os produtos são sorteados com distribuição Zipf (poucos produtos concentram
+ * a maior parte das leituras, como num catálogo real).
+ */
+public class Catalog {
+
+    private static final double ZIPF_EXPONENT = 1.0;
+
+    private final List<Product> products;
+
+    private final List<Long> categoryIds;
+
+    private final List<String> searchTerms;
+
+    private final double[] cumulative;
+
+    public Catalog(List<Product> products, List<Long> categoryIds, List<String> searchTerms) {
+        if (products.isEmpty() || categoryIds.isEmpty()) {
+            throw new IllegalStateException("A aplicação não tem produtos/categorias para o teste de carga");
+        }
+
+        this.products = List.copyOf(products);
+        this.categoryIds = List.copyOf(categoryIds);
+        this.searchTerms = searchTerms.isEmpty() ? List.of("a") : List.copyOf(searchTerms);
+
+        this.cumulative = new double[this.products.size()];
+        double total = 0;
+        for (int i = 0; i < this.cumulative.length; i++) {
+            total += 1.0 / Math.pow(i + 1, ZIPF_EXPONENT);
+            this.cumulative[i] = total;
+        }
+        for (int i = 0; i < this.cumulative.length; i++) {
+            this.cumulative[i] /= total;
+        }
+    }
+
+    /**
+     * Lê produtos e categorias pela própria API (por categoria, para saber o
+     * categoryId de cada produto).
+     */
+    public static Catalog load(ApiClient api) throws IOException, InterruptedException {
+        var products = new ArrayList<Product>();
+        var categoryIds = new ArrayList<Long>();
+        var searchTerms = new LinkedHashSet<String>();
+
+        for (var category : api.getJson("/api/v1/categories")) {
+            var categoryId = category.path("id").asLong();
+            categoryIds.add(categoryId);
+
+            for (var product : api.getJson("/api/v1/categories/" + categoryId + "/products")) {
+                var name = product.path("name").asText("");
+                products.add(new Product(product.path("id").asLong(), name,
+                        product.path("description").asText(""), categoryId));
+
+                var firstWord = name.toLowerCase(Locale.ROOT).split("\\s+")[0];
+                if (firstWord.length() >= 3) {
+                    searchTerms.add(firstWord.substring(0, 3));
+                }
+            }
+        }
+
+        products.sort(Comparator.comparing(Product::id));
+
+        return new Catalog(products, categoryIds, new ArrayList<>(searchTerms));
+    }
+
+    /**
+     * Produto sorteado com distribuição Zipf (os primeiros ids são os mais lidos).
+     */
+    public long hotProductId(Random random) {
+        var index = Arrays.binarySearch(this.cumulative, random.nextDouble());
+        return this.products.get(index >= 0 ? index : Math.min(-index - 1, this.products.size() - 1)).id();
+    }
+
+    public Product anyProduct(Random random) {
+        return this.products.get(random.nextInt(this.products.size()));
+    }
+
+    public long categoryId(Random random) {
+        return this.categoryIds.get(random.nextInt(this.categoryIds.size()));
+    }
+
+    public String searchTerm(Random random) {
+        return this.searchTerms.get(random.nextInt(this.searchTerms.size()));
+    }
+
+    public int productCount() {
+        return this.products.size();
+    }
+
+    public record Product(long id, String name, String description, long categoryId) {
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.jeanbarcellos.project110.loadtest;
+
+/**
+ * Uma requisição da carga; {@code label} agrupa as estatísticas por tipo.
+ */
+public record LoadRequest(String label, String method, String path, String body) {
+
+    public static LoadRequest get(String label, String path) {
+        return new LoadRequest(label, "GET", path, null);
+    }
+
+    public static LoadRequest put(String label, String path, String body) {
+        return new LoadRequest(label, "PUT", path, body);
+    }
+
+}
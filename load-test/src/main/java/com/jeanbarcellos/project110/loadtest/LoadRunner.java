@@ -0,0 +1,207 @@
+package com.jeanbarcellos.project110.loadtest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Executa uma carga em modelo fechado: {@code concurrency} usuários, cada um
+ * faz uma requisição por vez, sem pausa, até o fim do tempo (ou do total de
+ * requisições).
+ *
+ * A latência é registrada em microssegundos num HdrHistogram (3 dígitos
+ * significativos), então p99/p999 não são distorcidos por amostragem.
+ */
+public class LoadRunner {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final ApiClient api;
+
+    private final MetricsClient metrics;
+
+    private final long seed;
+
+    public LoadRunner(ApiClient api, MetricsClient metrics, long seed) {
+        this.api = api;
+        this.metrics = metrics;
+        this.seed = seed;
+    }
+
+    /**
+     * Executa sem medir (aquecimento).
+     */
+    public void warmup(Workload workload, int concurrency, Duration duration) throws InterruptedException {
+        if (!duration.isZero()) {
+            this.execute(workload, concurrency, duration, Long.MAX_VALUE, null, new Recorder(3), new Counters());
+        }
+    }
+
+    public PhaseReport run(String name, Workload workload, int concurrency, Duration duration)
+            throws InterruptedException {
+        return this.run(name, workload, concurrency, duration, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param maxRequests encerra ao atingir esse total (ou ao fim da duração)
+     */
+    public PhaseReport run(String name, Workload workload, int concurrency, Duration duration, long maxRequests)
+            throws InterruptedException {
+        return this.run(name, workload, concurrency, duration, maxRequests, null);
+    }
+
+    /**
+     * Rajadas: os {@code concurrency} usuários disparam juntos uma requisição
+     * a cada {@code pacing}.
+     */
+    public PhaseReport runBursts(String name, Workload workload, int burstSize, Duration duration, Duration pacing)
+            throws InterruptedException {
+        return this.run(name, workload, burstSize, duration, Long.MAX_VALUE, pacing);
+    }
+
+    private PhaseReport run(String name, Workload workload, int concurrency, Duration duration, long maxRequests,
+            Duration pacing) throws InterruptedException {
+        var recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        var counters = new Counters();
+
+        var cacheBefore = this.metrics.cacheCounters();
+        var started = System.nanoTime();
+
+        this.execute(workload, concurrency, duration, maxRequests, pacing, recorder, counters);
+
+        var elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        var cacheAfter = this.metrics.cacheCounters();
+
+        var histogram = recorder.getIntervalHistogram();
+        var requests = histogram.getTotalCount();
+
+        return new PhaseReport(
+                name,
+                requests,
+                counters.errors.sum(),
+                requests > 0 ? (double) counters.errors.sum() / requests : 0,
+                round(elapsedSeconds),
+                round(requests / elapsedSeconds),
+                latency(histogram),
+                PhaseReport.CacheStats.between(cacheBefore, cacheAfter),
+                counters.statusCodes(),
+                null);
+    }
+
+    private void execute(Workload workload, int concurrency, Duration duration, long maxRequests, Duration pacing,
+            Recorder recorder, Counters counters) throws InterruptedException {
+        var start = System.nanoTime();
+        var deadline = start + duration.toNanos();
+        var issued = new AtomicLong();
+        var threads = new ArrayList<Thread>(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            var random = new Random(this.seed + i);
+
+            var thread = new Thread(() -> {
+                while (System.nanoTime() < deadline && issued.incrementAndGet() <= maxRequests) {
+                    this.execute(workload.next(random), recorder, counters);
+
+                    if (pacing != null && !awaitNextSlot(start, pacing, deadline)) {
+                        return;
+                    }
+                }
+            }, "load-test-user-" + i);
+
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (var thread : threads) {
+            thread.join();
+        }
+    }
+
+    private void execute(LoadRequest request, Recorder recorder, Counters counters) {
+        var start = System.nanoTime();
+        String outcome;
+
+        try {
+            var status = this.api.send(request);
+            outcome = String.valueOf(status);
+
+            if (status >= 500) {
+                counters.errors.increment();
+            }
+        } catch (IOException e) {
+            outcome = e.getClass().getSimpleName();
+            counters.errors.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                HIGHEST_TRACKABLE_MICROS));
+        counters.statusCodes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    private static boolean awaitNextSlot(long start, Duration pacing, long deadline) {
+        var now = System.nanoTime();
+        var next = start + ((now - start) / pacing.toNanos() + 1) * pacing.toNanos();
+
+        if (next >= deadline) {
+            return false;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(next - now);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static PhaseReport.Latency latency(Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return new PhaseReport.Latency(0, 0, 0, 0, 0, 0);
+        }
+
+        return new PhaseReport.Latency(
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                round(histogram.getMean() / 1000.0));
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    private static final class Counters {
+
+        private final LongAdder errors = new LongAdder();
+
+        private final Map<String, LongAdder> statusCodes = new ConcurrentHashMap<>();
+
+        Map<String, Long> statusCodes() {
+            var result = new TreeMap<String, Long>();
+            this.statusCodes.forEach((status, count) -> result.put(status, count.sum()));
+            return result;
+        }
+    }
+
+}
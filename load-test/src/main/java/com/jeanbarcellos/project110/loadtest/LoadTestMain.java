@@ -0,0 +1,124 @@
+package com.jeanbarcellos.project110.loadtest;
+
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jeanbarcellos.project110.loadtest.scenario.ColdStartScenario;
+import com.jeanbarcellos.project110.loadtest.scenario.ReactiveVsBlockingScenario;
+import com.jeanbarcellos.project110.loadtest.scenario.ReadHeavyScenario;
+import com.jeanbarcellos.project110.loadtest.scenario.RedisDownScenario;
+import com.jeanbarcellos.project110.loadtest.scenario.Scenario;
+import com.jeanbarcellos.project110.loadtest.scenario.ScenarioContext;
+import com.jeanbarcellos.project110.loadtest.scenario.WriteBurstScenario;
+
+/**
+ * Executa os cenários de carga contra uma instância da aplicação já no ar e
+ * grava o relatório JSON (latência, throughput, taxa de erro e hit ratio por
+ * fase).
+ *
+ * Exemplo:
+ *
+ * <pre>
+ * mvn -f load-test/pom.xml -q compile exec:java \
+ *   -Dexec.args="--duration=20 --scenarios=read-heavy,cold-start"
+ * </pre>
+ */
+public class LoadTestMain {
+
+    private static final Map<String, Scenario> SCENARIOS = Stream.of(
+            new ReadHeavyScenario(),
+            new WriteBurstScenario(),
+            new ColdStartScenario(),
+            new RedisDownScenario(),
+            new ReactiveVsBlockingScenario())
+            .collect(Collectors.toMap(Scenario::name, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+
+    public static void main(String[] args) throws Exception {
+        var settings = LoadTestSettings.parse(args);
+
+        var unknown = settings.scenarios().stream().filter(name -> !SCENARIOS.containsKey(name)).toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Cenário(s) desconhecido(s): " + unknown
+                    + ". Disponíveis: " + SCENARIOS.keySet());
+        }
+
+        var objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        var api = new ApiClient(settings.baseUrl(), objectMapper);
+        var metrics = new MetricsClient(settings.baseUrl(), objectMapper);
+        var redis = new RedisControl(settings.redisHost(), settings.redisPort(), settings.redisDatabase(),
+                settings.redisStartCommand());
+        var runner = new LoadRunner(api, metrics, settings.seed());
+        var catalog = Catalog.load(api);
+
+        System.out.printf("Catálogo: %d produtos. Cenários: %s%n", catalog.productCount(), settings.scenarios());
+
+        var context = new ScenarioContext(settings, api, metrics, redis, runner, catalog);
+        var reports = new ArrayList<ScenarioReport>();
+
+        for (var name : settings.scenarios()) {
+            System.out.printf("== %s%n", name);
+
+            ScenarioReport report;
+            try {
+                report = SCENARIOS.get(name).run(context);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw e;
+            } catch (Exception e) {
+                report = ScenarioReport.failed(name, e);
+            }
+
+            reports.add(report);
+            print(report);
+        }
+
+        var report = new LoadTestReport(
+                Instant.now(),
+                settings.baseUrl(),
+                settings.seed(),
+                settings.concurrency(),
+                settings.warmup().toMillis() / 1000.0,
+                settings.duration().toMillis() / 1000.0,
+                catalog.productCount(),
+                reports);
+
+        var output = settings.output().toAbsolutePath();
+        Files.createDirectories(output.getParent());
+        objectMapper.writeValue(output.toFile(), report);
+
+        System.out.printf("Relatório: %s%n", output);
+    }
+
+    private static void print(ScenarioReport report) {
+        if (report.status() != ScenarioReport.Status.OK) {
+            System.out.printf("   %s: %s%n", report.status(), report.message());
+            return;
+        }
+
+        for (var phase : report.phases()) {
+            var hitRatio = phase.cache() != null && phase.cache().hitRatio() != null
+                    ? String.format("%.1f%%", phase.cache().hitRatio() * 100)
+                    : "-";
+
+            System.out.printf("   %-12s %8d req %9.1f rps  p50 %7.2f ms  p99 %8.2f ms  erros %5.2f%%  hit %s%n",
+                    phase.name(), phase.requests(), phase.throughputRps(), phase.latencyMs().p50(),
+                    phase.latencyMs().p99(), phase.errorRate() * 100, hitRatio);
+        }
+    }
+
+}
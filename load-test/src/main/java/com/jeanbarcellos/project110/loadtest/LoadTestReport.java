@@ -0,0 +1,18 @@
+package com.jeanbarcellos.project110.loadtest;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Relatório completo gravado em JSON.
+ */
+public record LoadTestReport(
+        Instant generatedAt,
+        String baseUrl,
+        long seed,
+        int concurrency,
+        double warmupSeconds,
+        double durationSeconds,
+        int products,
+        List<ScenarioReport> scenarios) {
+}
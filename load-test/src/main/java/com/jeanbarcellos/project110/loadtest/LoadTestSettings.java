@@ -0,0 +1,82 @@
+package com.jeanbarcellos.project110.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parâmetros da execução, no formato --chave=valor.
+ *
+ * @param baseUrl           URL da aplicação
+ * @param scenarios         cenários a executar, na ordem
+ * @param warmup            aquecimento antes de cada medição
+ * @param duration          duração de cada medição
+ * @param concurrency       usuários simultâneos (cada um faz uma requisição por vez)
+ * @param seed              semente dos sorteios (execuções reproduzíveis)
+ * @param output            arquivo JSON do relatório
+ * @param redisHost         Redis usado pela aplicação (cenário redis-down)
+ * @param redisPort         porta do Redis
+ * @param redisDatabase     banco do Redis (limpeza sem o actuator)
+ * @param redisStartCommand comando que sobe o Redis de novo (sem ele, redis-down é ignorado)
+ * @param burstInterval     intervalo entre rajadas de escrita
+ * @param burstSize         atualizações por rajada
+ * @param comparisonRequests requisições por variante em reactive-vs-blocking
+ * @param comparisonConcurrency concorrência em reactive-vs-blocking
+ */
+public record LoadTestSettings(
+        String baseUrl,
+        List<String> scenarios,
+        Duration warmup,
+        Duration duration,
+        int concurrency,
+        long seed,
+        Path output,
+        String redisHost,
+        int redisPort,
+        int redisDatabase,
+        String redisStartCommand,
+        Duration burstInterval,
+        int burstSize,
+        int comparisonRequests,
+        int comparisonConcurrency) {
+
+    public static final List<String> ALL_SCENARIOS = List.of(
+            "read-heavy", "write-burst", "cold-start", "redis-down", "reactive-vs-blocking");
+
+    public static LoadTestSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido (use --chave=valor): " + arg);
+            }
+            var separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        var scenarios = values.containsKey("scenarios")
+                ? Arrays.stream(values.get("scenarios").split(",")).map(String::trim).toList()
+                : ALL_SCENARIOS;
+
+        return new LoadTestSettings(
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                scenarios,
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "5"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "20"))),
+                Integer.parseInt(values.getOrDefault("concurrency", "32")),
+                Long.parseLong(values.getOrDefault("seed", "110")),
+                Path.of(values.getOrDefault("output", "target/load-test-report.json")),
+                values.getOrDefault("redis-host", "localhost"),
+                Integer.parseInt(values.getOrDefault("redis-port", "6379")),
+                Integer.parseInt(values.getOrDefault("redis-database", "0")),
+                values.get("redis-start-command"),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("burst-interval", "2000"))),
+                Integer.parseInt(values.getOrDefault("burst-size", "20")),
+                Integer.parseInt(values.getOrDefault("comparison-requests", "10000")),
+                Integer.parseInt(values.getOrDefault("comparison-concurrency", "200")));
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.jeanbarcellos.project110.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Leitura das métricas da aplicação pelo actuator.
+ */
+public class MetricsClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final String baseUrl;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TIMEOUT)
+            .build();
+
+    private final ObjectMapper objectMapper;
+
+    public MetricsClient(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Totais de cache.gets (todos os caches); null se a métrica não estiver
+     * disponível.
+     */
+    public CacheCounters cacheCounters() {
+        var hits = this.measurement("cache.gets?tag=result:hit", "COUNT");
+        var misses = this.measurement("cache.gets?tag=result:miss", "COUNT");
+
+        return hits != null && misses != null ? new CacheCounters(hits.longValue(), misses.longValue()) : null;
+    }
+
+    public Double liveThreads() {
+        return this.measurement("jvm.threads.live", "VALUE");
+    }
+
+    public Double heapUsedMb() {
+        var bytes = this.measurement("jvm.memory.used?tag=area:heap", "VALUE");
+        return bytes != null ? bytes / (1024 * 1024) : null;
+    }
+
+    public Double processCpu() {
+        return this.measurement("process.cpu.usage", "VALUE");
+    }
+
+    /**
+     * Limpa todos os caches (DELETE /actuator/caches, exposto no profile
+     * latency); retorna false se o endpoint não estiver disponível.
+     */
+    public boolean clearCaches() {
+        try {
+            var request = HttpRequest.newBuilder(URI.create(this.baseUrl + "/actuator/caches"))
+                    .timeout(TIMEOUT)
+                    .DELETE()
+                    .build();
+
+            var status = this.httpClient.send(request, BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Double measurement(String metric, String statistic) {
+        try {
+            var request = HttpRequest.newBuilder(URI.create(this.baseUrl + "/actuator/metrics/" + metric))
+                    .timeout(TIMEOUT)
+                    .GET()
+                    .build();
+
+            var response = this.httpClient.send(request, BodyHandlers.ofString());
+
+            if (response.statusCode() != 200) {
+                return null;
+            }
+
+            for (var measurement : this.objectMapper.readTree(response.body()).path("measurements")) {
+                if (statistic.equals(measurement.path("statistic").asText())) {
+                    return measurement.path("value").asDouble();
+                }
+            }
+
+            return null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    public record CacheCounters(long hits, long misses) {
+    }
+
+}
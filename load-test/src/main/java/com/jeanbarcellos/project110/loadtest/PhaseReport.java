@@ -0,0 +1,65 @@
+package com.jeanbarcellos.project110.loadtest;
+
+import java.util.Map;
+
+/**
+ * Resultado de uma fase medida (relatório JSON).
+ *
+ * @param name           nome da fase
+ * @param requests       requisições concluídas
+ * @param errors         respostas 5xx e falhas de conexão/timeout
+ * @param errorRate      errors / requests
+ * @param durationSeconds duração real
+ * @param throughputRps  requisições por segundo
+ * @param latencyMs      percentis de latência (ms)
+ * @param cache          acertos/falhas no cache da aplicação durante a fase
+ * @param statusCodes    quantidade por status HTTP (ou tipo de falha)
+ * @param resources      uso de recursos da aplicação (quando amostrado)
+ */
+public record PhaseReport(
+        String name,
+        long requests,
+        long errors,
+        double errorRate,
+        double durationSeconds,
+        double throughputRps,
+        Latency latencyMs,
+        CacheStats cache,
+        Map<String, Long> statusCodes,
+        Resources resources) {
+
+    public PhaseReport withResources(Resources resources) {
+        return new PhaseReport(this.name, this.requests, this.errors, this.errorRate, this.durationSeconds,
+                this.throughputRps, this.latencyMs, this.cache, this.statusCodes, resources);
+    }
+
+    public record Latency(double p50, double p90, double p99, double p999, double max, double mean) {
+    }
+
+    /**
+     * @param hitRatio hits / (hits + misses); null sem leituras ou sem métricas
+     */
+    public record CacheStats(long hits, long misses, Double hitRatio) {
+
+        public static CacheStats between(MetricsClient.CacheCounters before, MetricsClient.CacheCounters after) {
+            if (before == null || after == null) {
+                return null;
+            }
+
+            var hits = Math.max(0, after.hits() - before.hits());
+            var misses = Math.max(0, after.misses() - before.misses());
+            var total = hits + misses;
+
+            return new CacheStats(hits, misses, total > 0 ? (double) hits / total : null);
+        }
+    }
+
+    /**
+     * @param maxLiveThreads  pico de threads da JVM da aplicação
+     * @param maxHeapUsedMb   pico de heap usado
+     * @param avgProcessCpu   média do uso de CPU do processo (0 a 1)
+     */
+    public record Resources(Double maxLiveThreads, Double maxHeapUsedMb, Double avgProcessCpu) {
+    }
+
+}
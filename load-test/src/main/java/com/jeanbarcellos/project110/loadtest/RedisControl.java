@@ -0,0 +1,127 @@
+package com.jeanbarcellos.project110.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle mínimo do Redis local (protocolo RESP), sem depender do redis-cli.
+ */
+public class RedisControl {
+
+    private static final int TIMEOUT_MS = 2000;
+
+    private final String host;
+
+    private final int port;
+
+    private final int database;
+
+    private final String startCommand;
+
+    public RedisControl(String host, int port, int database, String startCommand) {
+        this.host = host;
+        this.port = port;
+        this.database = database;
+        this.startCommand = startCommand;
+    }
+
+    public boolean canRestart() {
+        return this.startCommand != null && !this.startCommand.isBlank();
+    }
+
+    public boolean ping() {
+        try {
+            return this.command("PING").startsWith("+PONG");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Limpa o banco do Redis usado pela aplicação (quando o actuator não expõe
+     * /actuator/caches).
+     */
+    public void flushDatabase() throws IOException {
+        this.command("SELECT " + this.database, "FLUSHDB");
+    }
+
+    /**
+     * Derruba o Redis (SHUTDOWN NOSAVE) e espera ele parar de responder.
+     */
+    public void stop() throws IOException, InterruptedException {
+        try {
+            this.command("SHUTDOWN NOSAVE");
+        } catch (IOException e) {
+            // A conexão cai durante o SHUTDOWN
+        }
+
+        this.await(false, Duration.ofSeconds(10));
+    }
+
+    /**
+     * Sobe o Redis com o comando configurado e espera o PING responder.
+     */
+    public void start() throws IOException, InterruptedException {
+        if (!this.canRestart()) {
+            throw new IllegalStateException("Comando para subir o Redis não configurado (--redis-start-command)");
+        }
+
+        var process = new ProcessBuilder("sh", "-c", this.startCommand)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        process.waitFor(10, TimeUnit.SECONDS);
+
+        this.await(true, Duration.ofSeconds(10));
+    }
+
+    private void await(boolean up, Duration timeout) throws InterruptedException {
+        var deadline = System.nanoTime() + timeout.toNanos();
+
+        while (this.ping() != up) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Redis não ficou " + (up ? "disponível" : "indisponível"));
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    /**
+     * Envia comandos inline (na mesma conexão) e retorna a última resposta.
+     */
+    private String command(String... commands) throws IOException {
+        try (var socket = new Socket()) {
+            socket.connect(new InetSocketAddress(this.host, this.port), TIMEOUT_MS);
+            socket.setSoTimeout(TIMEOUT_MS);
+
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+
+            String response = "";
+            for (var command : commands) {
+                out.write((command + "\r\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                response = readLine(in);
+            }
+            return response;
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        var line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.jeanbarcellos.project110.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Amostra threads, heap e CPU da aplicação enquanto uma fase executa.
+ */
+public class ResourceSampler implements AutoCloseable {
+
+    private static final long INTERVAL_MS = 500;
+
+    private final MetricsClient metrics;
+
+    private final Thread thread;
+
+    private final List<Double> threads = new ArrayList<>();
+    private final List<Double> heap = new ArrayList<>();
+    private final List<Double> cpu = new ArrayList<>();
+
+    private volatile boolean running = true;
+
+    public ResourceSampler(MetricsClient metrics) {
+        this.metrics = metrics;
+        this.thread = new Thread(this::sample, "load-test-resource-sampler");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public PhaseReport.Resources resources() {
+        synchronized (this) {
+            return new PhaseReport.Resources(max(this.threads), max(this.heap), average(this.cpu));
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        this.running = false;
+        this.thread.interrupt();
+        this.thread.join();
+    }
+
+    private void sample() {
+        while (this.running) {
+            var liveThreads = this.metrics.liveThreads();
+            var heapUsed = this.metrics.heapUsedMb();
+            var processCpu = this.metrics.processCpu();
+
+            synchronized (this) {
+                this.threads.add(liveThreads);
+                this.heap.add(heapUsed);
+                this.cpu.add(processCpu);
+            }
+
+            try {
+                Thread.sleep(INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static Double max(List<Double> values) {
+        return values.stream().filter(Objects::nonNull).max(Double::compare).orElse(null);
+    }
+
+    private static Double average(List<Double> values) {
+        var average = values.stream().filter(Objects::nonNull).mapToDouble(Double::doubleValue).average();
+        return average.isPresent() ? Math.round(average.getAsDouble() * 1000.0) / 1000.0 : null;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.jeanbarcellos.project110.loadtest;
+
+import java.util.List;
+
+/**
+ * Resultado de um cenário: uma ou mais fases (ex.: antes, durante e depois da
+ * queda do Redis).
+ */
+public record ScenarioReport(String name, Status status, String message, List<PhaseReport> phases) {
+
+    public enum Status {
+        OK, SKIPPED, FAILED
+    }
+
+    public static ScenarioReport ok(String name, List<PhaseReport> phases) {
+        return new ScenarioReport(name, Status.OK, null, phases);
+    }
+
+    public static ScenarioReport skipped(String name, String message) {
+        return new ScenarioReport(name, Status.SKIPPED, message, List.of());
+    }
+
+    public static ScenarioReport failed(String name, Exception e) {
+        return new ScenarioReport(name, Status.FAILED, e.getClass().getSimpleName() + ": " + e.getMessage(),
+                List.of());
+    }
+
+}
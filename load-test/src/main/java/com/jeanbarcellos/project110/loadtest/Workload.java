@@ -0,0 +1,62 @@
+package com.jeanbarcellos.project110.loadtest;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Random;
+
+/**
+ * Gera as requisições de um cenário.
+ */
+@FunctionalInterface
+public interface Workload {
+
+    LoadRequest next(Random random);
+
+    /**
+     * Navegação no catálogo, predominantemente leitura.
+     *
+     * @param prefix "/api/v1" (bloqueante) ou "/api/v1/reactive"
+     */
+    static Workload catalogBrowsing(Catalog catalog, String prefix) {
+        var reactive = prefix.contains("reactive");
+
+        return random -> {
+            var roll = random.nextInt(100);
+
+            if (roll < 45) {
+                return LoadRequest.get("product", prefix + "/products/" + catalog.hotProductId(random));
+            }
+            if (roll < 60) {
+                return LoadRequest.get("products", prefix + "/products");
+            }
+            if (roll < 72) {
+                return LoadRequest.get("categories", prefix + "/categories");
+            }
+            if (roll < 82 || reactive) {
+                return LoadRequest.get("category", prefix + "/categories/" + catalog.categoryId(random));
+            }
+            if (roll < 92) {
+                return LoadRequest.get("filter", prefix + "/products?categoryId=" + catalog.categoryId(random)
+                        + "&sort=price");
+            }
+            return LoadRequest.get("search", prefix + "/products/search?q=" + catalog.searchTerm(random));
+        };
+    }
+
+    /**
+     * Atualização do preço de um produto (evicta 'all', a lista da categoria e
+     * os filtros).
+     */
+    static LoadRequest productUpdate(ApiClient api, Catalog catalog, Random random) {
+        var product = catalog.anyProduct(random);
+
+        var body = new LinkedHashMap<String, Object>();
+        body.put("name", product.name());
+        body.put("description", product.description());
+        body.put("price", BigDecimal.valueOf(100 + random.nextInt(100_000), 2));
+        body.put("categoryId", product.categoryId());
+
+        return LoadRequest.put("update", "/api/v1/products/" + product.id(), api.toJson(body));
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.jeanbarcellos.project110.loadtest.scenario;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import com.jeanbarcellos.project110.loadtest.PhaseReport;
+import com.jeanbarcellos.project110.loadtest.ScenarioReport;
+import com.jeanbarcellos.project110.loadtest.Workload;
+
+/**
+ * Cache vazio (clearCache) seguido da mesma navegação do read-heavy.
+ *
+ * A medição é dividida em janelas de {@value #WINDOW_SECONDS}s: mostra a
+ * rajada de misses no início e quanto tempo o cache leva para se recuperar.
+ */
+public class ColdStartScenario implements Scenario {
+
+    private static final int WINDOW_SECONDS = 2;
+
+    @Override
+    public String name() {
+        return "cold-start";
+    }
+
+    @Override
+    public ScenarioReport run(ScenarioContext context) throws Exception {
+        var settings = context.settings();
+        var workload = Workload.catalogBrowsing(context.catalog(), "/api/v1");
+        var window = Duration.ofSeconds(WINDOW_SECONDS);
+
+        context.clearCaches();
+
+        var phases = new ArrayList<PhaseReport>();
+        var windows = Math.max(1, settings.duration().toSeconds() / WINDOW_SECONDS);
+
+        for (long i = 0; i < windows; i++) {
+            var name = "t+" + (i * WINDOW_SECONDS) + "s";
+            phases.add(context.runner().run(name, workload, settings.concurrency(), window));
+        }
+
+        return ScenarioReport.ok(this.name(), phases);
+    }
+
+}
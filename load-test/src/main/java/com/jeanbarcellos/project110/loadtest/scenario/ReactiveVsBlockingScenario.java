@@ -0,0 +1,51 @@
+package com.jeanbarcellos.project110.loadtest.scenario;
+
+import java.util.ArrayList;
+
+import com.jeanbarcellos.project110.loadtest.PhaseReport;
+import com.jeanbarcellos.project110.loadtest.ResourceSampler;
+import com.jeanbarcellos.project110.loadtest.ScenarioReport;
+import com.jeanbarcellos.project110.loadtest.Workload;
+
+/**
+ * Mesma navegação nos endpoints bloqueantes (/api/v1) e não bloqueantes
+ * (/api/v1/reactive), com alta concorrência e o cache vazio no início de cada
+ * variante.
+ *
+ * Cada fase executa {@code comparisonRequests} requisições e registra o pico
+ * de threads, de heap e a CPU média da aplicação. A diferença aparece nos
+ * misses: use o profile latency na aplicação para simular a latência do
+ * banco.
+ */
+public class ReactiveVsBlockingScenario implements Scenario {
+
+    private static final String[][] VARIANTS = {
+            { "blocking", "/api/v1" },
+            { "reactive", "/api/v1/reactive" } };
+
+    @Override
+    public String name() {
+        return "reactive-vs-blocking";
+    }
+
+    @Override
+    public ScenarioReport run(ScenarioContext context) throws Exception {
+        var settings = context.settings();
+        var phases = new ArrayList<PhaseReport>();
+
+        for (var variant : VARIANTS) {
+            var workload = Workload.catalogBrowsing(context.catalog(), variant[1]);
+
+            context.clearCaches();
+
+            try (var sampler = new ResourceSampler(context.metrics())) {
+                var phase = context.runner().run(variant[0], workload, settings.comparisonConcurrency(),
+                        settings.duration().multipliedBy(10), settings.comparisonRequests());
+                phases.add(phase.withResources(sampler.resources()));
+            }
+        }
+
+        return ScenarioReport.ok(this.name(), phases);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.jeanbarcellos.project110.loadtest.scenario;
+
+import java.util.List;
+
+import com.jeanbarcellos.project110.loadtest.ScenarioReport;
+import com.jeanbarcellos.project110.loadtest.Workload;
+
+/**
+ * Navegação no catálogo com o cache aquecido: o caso comum em produção.
+ */
+public class ReadHeavyScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "read-heavy";
+    }
+
+    @Override
+    public ScenarioReport run(ScenarioContext context) throws Exception {
+        var settings = context.settings();
+        var workload = Workload.catalogBrowsing(context.catalog(), "/api/v1");
+
+        context.runner().warmup(workload, settings.concurrency(), settings.warmup());
+
+        var phase = context.runner().run("steady", workload, settings.concurrency(), settings.duration());
+
+        return ScenarioReport.ok(this.name(), List.of(phase));
+    }
+
+}
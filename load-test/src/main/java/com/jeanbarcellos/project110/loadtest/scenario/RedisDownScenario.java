@@ -0,0 +1,56 @@
+package com.jeanbarcellos.project110.loadtest.scenario;
+
+import java.util.ArrayList;
+
+import com.jeanbarcellos.project110.loadtest.PhaseReport;
+import com.jeanbarcellos.project110.loadtest.ScenarioReport;
+import com.jeanbarcellos.project110.loadtest.Workload;
+
+/**
+ * Queda do Redis durante a navegação.
+ *
+ * Fases: "baseline" (Redis no ar), "redis-down" (SHUTDOWN NOSAVE) e
+ * "recovery" (após subir o Redis com --redis-start-command, cache vazio).
+ * Sem o comando de subida o cenário é ignorado, para não deixar o Redis fora
+ * do ar.
+ */
+public class RedisDownScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "redis-down";
+    }
+
+    @Override
+    public ScenarioReport run(ScenarioContext context) throws Exception {
+        var redis = context.redis();
+
+        if (!redis.canRestart()) {
+            return ScenarioReport.skipped(this.name(), "Informe --redis-start-command para executar este cenário");
+        }
+
+        if (!redis.ping()) {
+            return ScenarioReport.skipped(this.name(), "Redis não responde em "
+                    + context.settings().redisHost() + ":" + context.settings().redisPort());
+        }
+
+        var settings = context.settings();
+        var workload = Workload.catalogBrowsing(context.catalog(), "/api/v1");
+        var phases = new ArrayList<PhaseReport>();
+
+        context.runner().warmup(workload, settings.concurrency(), settings.warmup());
+        phases.add(context.runner().run("baseline", workload, settings.concurrency(), settings.duration()));
+
+        redis.stop();
+        try {
+            phases.add(context.runner().run("redis-down", workload, settings.concurrency(), settings.duration()));
+        } finally {
+            redis.start();
+        }
+
+        phases.add(context.runner().run("recovery", workload, settings.concurrency(), settings.duration()));
+
+        return ScenarioReport.ok(this.name(), phases);
+    }
+
+}
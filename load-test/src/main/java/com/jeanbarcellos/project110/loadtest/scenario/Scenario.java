@@ -0,0 +1,14 @@
+package com.jeanbarcellos.project110.loadtest.scenario;
+
+import com.jeanbarcellos.project110.loadtest.ScenarioReport;
+
+/**
+ * Um cenário de carga reproduzível.
+ */
+public interface Scenario {
+
+    String name();
+
+    ScenarioReport run(ScenarioContext context) throws Exception;
+
+}
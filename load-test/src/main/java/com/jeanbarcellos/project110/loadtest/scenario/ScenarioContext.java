@@ -0,0 +1,33 @@
+package com.jeanbarcellos.project110.loadtest.scenario;
+
+import java.io.IOException;
+
+import com.jeanbarcellos.project110.loadtest.ApiClient;
+import com.jeanbarcellos.project110.loadtest.Catalog;
+import com.jeanbarcellos.project110.loadtest.LoadRunner;
+import com.jeanbarcellos.project110.loadtest.LoadTestSettings;
+import com.jeanbarcellos.project110.loadtest.MetricsClient;
+import com.jeanbarcellos.project110.loadtest.RedisControl;
+
+/**
+ * Dependências compartilhadas pelos cenários.
+ */
+public record ScenarioContext(
+        LoadTestSettings settings,
+        ApiClient api,
+        MetricsClient metrics,
+        RedisControl redis,
+        LoadRunner runner,
+        Catalog catalog) {
+
+    /**
+     * Limpa os caches da aplicação (equivalente ao clearCache()): pelo
+     * actuator, ou direto no Redis quando o endpoint não está exposto.
+     */
+    public void clearCaches() throws IOException {
+        if (!this.metrics.clearCaches()) {
+            this.redis.flushDatabase();
+        }
+    }
+
+}
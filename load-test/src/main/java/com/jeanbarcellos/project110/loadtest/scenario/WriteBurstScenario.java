@@ -0,0 +1,61 @@
+package com.jeanbarcellos.project110.loadtest.scenario;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.jeanbarcellos.project110.loadtest.PhaseReport;
+import com.jeanbarcellos.project110.loadtest.ScenarioReport;
+import com.jeanbarcellos.project110.loadtest.Workload;
+
+/**
+ * Leituras contínuas enquanto rajadas de atualizações de produtos evictam
+ * 'all', as listas por categoria e os filtros.
+ *
+ * Fases: "reads" (leituras durante as rajadas) e "writes" (as atualizações:
+ * burstSize em paralelo a cada burstInterval).
+ */
+public class WriteBurstScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "write-burst";
+    }
+
+    @Override
+    public ScenarioReport run(ScenarioContext context) throws Exception {
+        var settings = context.settings();
+        var reads = Workload.catalogBrowsing(context.catalog(), "/api/v1");
+        Workload updates = random -> Workload.productUpdate(context.api(), context.catalog(), random);
+
+        context.runner().warmup(reads, settings.concurrency(), settings.warmup());
+
+        var writes = new AtomicReference<PhaseReport>();
+        var failure = new AtomicReference<Exception>();
+
+        var burster = new Thread(() -> {
+            try {
+                writes.set(context.runner().runBursts("writes", updates, settings.burstSize(), settings.duration(),
+                        settings.burstInterval()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        }, "load-test-write-burst");
+        burster.start();
+
+        var readPhase = context.runner().run("reads", reads, settings.concurrency(), settings.duration());
+        burster.join();
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        // As métricas de cache das duas fases se sobrepõem: o hit ratio vale para "reads"
+        var writePhase = writes.get();
+
+        return ScenarioReport.ok(this.name(), writePhase != null ? List.of(readPhase, writePhase)
+                : List.of(readPhase));
+    }
+
+}
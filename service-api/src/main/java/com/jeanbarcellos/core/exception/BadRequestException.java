@@ -0,0 +1,18 @@
+package com.jeanbarcellos.core.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Parâmetro inválido na requisição (responde 400).
+ *
+ * @author Jean Silva de Barcellos
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.jeanbarcellos.core.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Recurso que não está mais disponível (responde 410).
+ *
+ * @author Jean Silva de Barcellos
+ */
+@ResponseStatus(HttpStatus.GONE)
+public class GoneException extends RuntimeException {
+
+    public GoneException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.jeanbarcellos.core.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Recurso inexistente (responde 404).
+ *
+ * @author Jean Silva de Barcellos
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class NotFoundException extends RuntimeException {
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.jeanbarcellos.core.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Classe utilitária para manipulação de texto
+ */
+public class TextUtils {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextUtils() {
+    }
+
+    /**
+     * Remove acentos e converte para minúsculas.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        var decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Quebra o texto normalizado em termos alfanuméricos.
+     */
+    public static List<String> tokenize(String text) {
+        var tokens = new ArrayList<String>();
+
+        for (var token : NON_ALPHANUMERIC.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+
+        return tokens;
+    }
+
+}
@@ -3,8 +3,11 @@ package com.jeanbarcellos.project110;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 
-@EnableCaching
+// Cache antes da transação: hits não abrem transação nem ocupam conexão, e
+// puts/evicts acontecem depois do commit
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 @SpringBootApplication
 public class Project110Application {
 
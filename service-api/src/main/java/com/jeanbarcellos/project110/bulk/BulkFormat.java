@@ -0,0 +1,50 @@
+package com.jeanbarcellos.project110.bulk;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos aceitos na importação e na exportação em massa.
+ */
+public enum BulkFormat {
+
+    CSV(new MediaType("text", "csv")),
+
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    BulkFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return this.mediaType;
+    }
+
+    /**
+     * Formato pelo nome (csv, ndjson) ou pelo media type (text/csv,
+     * application/x-ndjson; parâmetros como charset são ignorados).
+     *
+     * @throws IllegalArgumentException formato não suportado
+     */
+    public static BulkFormat of(String value) {
+        if (value != null && !value.isBlank()) {
+            for (var format : values()) {
+                if (format.name().equalsIgnoreCase(value.trim())) {
+                    return format;
+                }
+            }
+
+            var mediaType = MediaType.parseMediaType(value);
+
+            for (var format : values()) {
+                if (format.mediaType.equalsTypeAndSubtype(mediaType)) {
+                    return format;
+                }
+            }
+        }
+
+        throw new IllegalArgumentException("Unsupported format: " + value);
+    }
+
+}
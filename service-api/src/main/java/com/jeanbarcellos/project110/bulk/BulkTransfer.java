@@ -0,0 +1,167 @@
+package com.jeanbarcellos.project110.bulk;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Progresso de uma importação ou exportação em massa.
+ *
+ * - Os bytes são contados pelos streams retornados por {@link #track}, sem
+ * bufferizar o conteúdo.
+ * - O progresso é registrado no log a cada {@code logInterval} e pode ser
+ * consultado em /actuator/bulktransfers enquanto a transferência está ativa.
+ * - A quantidade de linhas só é conhecida ao final (retorno do COPY).
+ */
+@Slf4j
+public class BulkTransfer {
+
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    private final String id;
+
+    private final String operation;
+
+    private final BulkFormat format;
+
+    private final long expectedBytes;
+
+    private final Clock clock;
+
+    private final Duration logInterval;
+
+    private final Instant startedAt;
+
+    private final AtomicLong bytes = new AtomicLong();
+
+    private volatile long rows = -1;
+
+    private volatile long nextLogAt;
+
+    /**
+     * Leitura do progresso.
+     *
+     * @param expectedBytes tamanho informado (Content-Length) ou -1
+     * @param rows          linhas transferidas (-1 até o final)
+     */
+    public record Progress(String id, String operation, BulkFormat format, Instant startedAt, long bytes,
+            long expectedBytes, long rows, long elapsedMillis) {
+    }
+
+    public BulkTransfer(String id, String operation, BulkFormat format, long expectedBytes, Duration logInterval) {
+        this(Clock.systemUTC(), id, operation, format, expectedBytes, logInterval);
+    }
+
+    BulkTransfer(Clock clock, String id, String operation, BulkFormat format, long expectedBytes,
+            Duration logInterval) {
+        this.clock = clock;
+        this.id = id;
+        this.operation = operation;
+        this.format = format;
+        this.expectedBytes = expectedBytes;
+        this.logInterval = logInterval;
+        this.startedAt = clock.instant();
+        this.nextLogAt = clock.millis() + logInterval.toMillis();
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public long getBytes() {
+        return this.bytes.get();
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Stream que contabiliza os bytes lidos.
+     */
+    public InputStream track(InputStream input) {
+        return new FilterInputStream(input) {
+
+            @Override
+            public int read() throws IOException {
+                var value = super.read();
+                if (value >= 0) {
+                    BulkTransfer.this.add(1);
+                }
+                return value;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                var count = super.read(buffer, offset, length);
+                if (count > 0) {
+                    BulkTransfer.this.add(count);
+                }
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Stream que contabiliza os bytes escritos.
+     */
+    public OutputStream track(OutputStream output) {
+        return new FilterOutputStream(output) {
+
+            @Override
+            public void write(int value) throws IOException {
+                this.out.write(value);
+                BulkTransfer.this.add(1);
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) throws IOException {
+                this.out.write(buffer, offset, length);
+                BulkTransfer.this.add(length);
+            }
+        };
+    }
+
+    public Progress progress() {
+        return new Progress(this.id, this.operation, this.format, this.startedAt, this.bytes.get(),
+                this.expectedBytes, this.rows, this.elapsedMillis());
+    }
+
+    public long elapsedMillis() {
+        return this.clock.millis() - this.startedAt.toEpochMilli();
+    }
+
+    private void add(long count) {
+        this.bytes.addAndGet(count);
+
+        var now = this.clock.millis();
+
+        if (now >= this.nextLogAt) {
+            this.nextLogAt = now + this.logInterval.toMillis();
+            this.logProgress();
+        }
+    }
+
+    private void logProgress() {
+        var megabytes = this.bytes.get() / BYTES_PER_MB;
+
+        if (this.expectedBytes > 0) {
+            log.info("Transferência em massa {} ({} {}): {} MB de {} MB ({}%) em {} s", this.id, this.operation,
+                    this.format, String.format("%.1f", megabytes),
+                    String.format("%.1f", this.expectedBytes / BYTES_PER_MB),
+                    100 * this.bytes.get() / this.expectedBytes, this.elapsedMillis() / 1000);
+        } else {
+            log.info("Transferência em massa {} ({} {}): {} MB em {} s", this.id, this.operation, this.format,
+                    String.format("%.1f", megabytes), this.elapsedMillis() / 1000);
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.jeanbarcellos.project110.bulk;
+
+import java.util.Collection;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Actuator: progresso das importações/exportações em andamento neste nó
+ * (GET /actuator/bulktransfers).
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "bulktransfers")
+public class BulkTransferEndpoint {
+
+    private final BulkTransferRegistry registry;
+
+    @ReadOperation
+    public Collection<BulkTransfer.Progress> transfers() {
+        return this.registry.active();
+    }
+
+}
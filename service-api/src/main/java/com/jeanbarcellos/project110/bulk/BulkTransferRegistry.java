@@ -0,0 +1,54 @@
+package com.jeanbarcellos.project110.bulk;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transferências em massa ativas neste nó.
+ */
+@Slf4j
+@Component
+public class BulkTransferRegistry {
+
+    private final Map<String, BulkTransfer> active = new ConcurrentHashMap<>();
+
+    @Value("${app-config.bulk.progress-log-interval:5s}")
+    private Duration progressLogInterval;
+
+    /**
+     * @param expectedBytes tamanho esperado (Content-Length) ou -1
+     */
+    public BulkTransfer start(String operation, BulkFormat format, long expectedBytes) {
+        var id = UUID.randomUUID().toString().substring(0, 8);
+        var transfer = new BulkTransfer(id, operation, format, expectedBytes, this.progressLogInterval);
+
+        this.active.put(id, transfer);
+        log.info("Transferência em massa {} iniciada ({} {})", id, operation, format);
+
+        return transfer;
+    }
+
+    public void finish(BulkTransfer transfer) {
+        this.active.remove(transfer.getId());
+
+        var progress = transfer.progress();
+        log.info("Transferência em massa {} finalizada ({} {}): {} linhas, {} bytes em {} ms", progress.id(),
+                progress.operation(), progress.format(), progress.rows(), progress.bytes(),
+                progress.elapsedMillis());
+    }
+
+    public Collection<BulkTransfer.Progress> active() {
+        return this.active.values().stream()
+                .map(BulkTransfer::progress)
+                .toList();
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Métricas do {@link AdaptiveTtlPolicy}, por cache:
+ *
+ * - cache.ttl: distribuição dos TTLs aplicados nas gravações (segundos);
+ * - cache.ttl.static: TTL da política estática, para comparação;
+ * - cache.ttl.adaptive.hits: hits ganhos e perdidos em relação à estática;
+ * - cache.ttl.adaptive.hit.ratio.delta: variação estimada da taxa de acerto.
+ */
+@RequiredArgsConstructor
+public class AdaptiveTtlMeterBinder implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "cache.ttl";
+
+    private static final String TAG_CACHE = "cache";
+
+    private static final String UNIT_SECONDS = "seconds";
+
+    private final AdaptiveTtlPolicy policy;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Map<String, DistributionSummary> summaries = new HashMap<>();
+
+        for (var cacheName : this.policy.cacheNames()) {
+            summaries.put(cacheName, DistributionSummary.builder(METRIC_PREFIX)
+                    .description("TTL aplicado nas gravações")
+                    .baseUnit(UNIT_SECONDS)
+                    .tag(TAG_CACHE, cacheName)
+                    .publishPercentiles(0.1, 0.5, 0.9, 0.99)
+                    .register(registry));
+
+            Gauge.builder(METRIC_PREFIX + ".static", this.policy, p -> p.staticTtl(cacheName).toSeconds())
+                    .baseUnit(UNIT_SECONDS)
+                    .tag(TAG_CACHE, cacheName)
+                    .register(registry);
+
+            FunctionCounter.builder(METRIC_PREFIX + ".adaptive.hits", this.policy,
+                    p -> p.gainedHitCount(cacheName))
+                    .description("Hits além do TTL estático")
+                    .tags(TAG_CACHE, cacheName, "effect", "gained")
+                    .register(registry);
+            FunctionCounter.builder(METRIC_PREFIX + ".adaptive.hits", this.policy,
+                    p -> p.lostHitCount(cacheName))
+                    .description("Misses antes do TTL estático, sem escrita")
+                    .tags(TAG_CACHE, cacheName, "effect", "lost")
+                    .register(registry);
+
+            Gauge.builder(METRIC_PREFIX + ".adaptive.hit.ratio.delta", this.policy,
+                    p -> p.hitRatioDelta(cacheName))
+                    .description("Variação estimada da taxa de acerto em relação ao TTL estático")
+                    .tag(TAG_CACHE, cacheName)
+                    .register(registry);
+        }
+
+        this.policy.setTtlListener((cacheName, ttl) -> {
+            var summary = summaries.get(cacheName);
+            if (summary != null) {
+                summary.record(ttl.toMillis() / 1000.0);
+            }
+        });
+    }
+
+}
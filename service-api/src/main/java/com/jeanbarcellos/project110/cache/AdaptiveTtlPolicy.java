@@ -0,0 +1,291 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import org.springframework.data.redis.cache.RedisCacheWriter.TtlFunction;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * TTL por chave a partir da frequência de escrita observada.
+ *
+ * - As escritas (evicts feitos pelos serviços e pelo CDC) são contadas por
+ * chave, com decaimento exponencial (constante {@code window}); um clear conta
+ * como escrita de todas as chaves do cache.
+ * - O intervalo esperado entre escritas é estimado como (janela observada +
+ * TTL estático) / (escritas + 1): sem escritas ele cresce com o tempo
+ * observado, e o TTL estático funciona como uma observação a priori (no
+ * início o TTL é o estático).
+ * - O TTL é esse intervalo, limitado a [min, max]. Ele só evita recarregar
+ * entradas que quase não mudam enquanto toda escrita invalida a entrada: uma
+ * escrita não vista (sem cdc, em outro nó; notificação perdida) fica
+ * invisível por até {@code max}, e não pelo TTL estático. Estruturas que
+ * acompanham as entradas (ex.: {@link CacheDependencyIndex}) devem durar
+ * {@link #maxTtl()}.
+ * - Escritas repetidas da mesma chave em menos de 1s (evict do serviço e do
+ * CDC para a mesma mudança) contam uma vez.
+ *
+ * Para comparar com a política estática, cada leitura é classificada: hit que
+ * a estática teria perdido (entrada mais velha que o TTL estático) e miss que
+ * ela teria evitado (entrada expirou antes do TTL estático, sem escrita).
+ */
+public class AdaptiveTtlPolicy {
+
+    private static final long DEDUPLICATION_MILLIS = 1000;
+
+    private final Clock clock;
+
+    private final Duration min;
+
+    private final Duration max;
+
+    private final double windowMillis;
+
+    private final long startedAt;
+
+    private final ConcurrentMap<String, KeyStats> keys;
+
+    private final Map<String, CacheStats> caches = new ConcurrentHashMap<>();
+
+    private volatile BiConsumer<String, Duration> ttlListener = (cacheName, ttl) -> {
+    };
+
+    /**
+     * @param window         constante de decaimento da contagem de escritas
+     * @param maxTrackedKeys chaves acompanhadas (as menos usadas são esquecidas)
+     */
+    public AdaptiveTtlPolicy(Duration min, Duration max, Duration window, long maxTrackedKeys) {
+        this(Clock.systemUTC(), min, max, window, maxTrackedKeys);
+    }
+
+    AdaptiveTtlPolicy(Clock clock, Duration min, Duration max, Duration window, long maxTrackedKeys) {
+        this.clock = clock;
+        this.min = min;
+        this.max = max;
+        this.windowMillis = window.toMillis();
+        this.startedAt = clock.millis();
+        this.keys = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .<String, KeyStats>build()
+                .asMap();
+    }
+
+    /**
+     * TTL do cache: adaptativo por chave, estático sem chave (ex.: TTL geral
+     * do cache).
+     */
+    public TtlFunction ttlFunction(String cacheName, Duration staticTtl) {
+        this.caches.computeIfAbsent(cacheName, name -> new CacheStats(staticTtl.toMillis()));
+
+        return (key, value) -> key != null ? this.ttl(cacheName, key) : staticTtl;
+    }
+
+    /**
+     * TTL atual da chave.
+     */
+    public Duration ttl(String cacheName, Object key) {
+        var cache = this.caches.get(cacheName);
+        var now = this.clock.millis();
+
+        var prior = cache.staticTtlMillis;
+        var observed = this.observedWindow(now);
+
+        // A chave muda com a frequência dela ou a do cache todo (clear), a maior
+        var interval = cache.writes.interval(now, observed, prior, this.windowMillis);
+
+        var stats = this.keys.get(id(cacheName, key));
+        if (stats != null) {
+            interval = Math.min(interval, stats.writes.interval(now, observed, prior, this.windowMillis));
+        }
+
+        var ttl = Math.max(this.min.toMillis(), Math.min(this.max.toMillis(), (long) interval));
+
+        return Duration.ofMillis(ttl);
+    }
+
+    /**
+     * Escrita da chave (o valor em cache foi invalidado).
+     */
+    public void recordWrite(String cacheName, Object key) {
+        if (!this.caches.containsKey(cacheName)) {
+            return;
+        }
+
+        var stats = this.keys.computeIfAbsent(id(cacheName, key), id -> new KeyStats());
+        stats.writes.record(this.clock.millis(), this.windowMillis);
+    }
+
+    /**
+     * Escrita de todas as chaves do cache (clear).
+     */
+    public void recordClear(String cacheName) {
+        var cache = this.caches.get(cacheName);
+
+        if (cache != null) {
+            cache.writes.record(this.clock.millis(), this.windowMillis);
+        }
+    }
+
+    /**
+     * Valor gravado no cache: registra o TTL aplicado e o momento da gravação.
+     */
+    public void recordPut(String cacheName, Object key) {
+        var cache = this.caches.get(cacheName);
+
+        if (cache == null) {
+            return;
+        }
+
+        var stats = this.keys.computeIfAbsent(id(cacheName, key), id -> new KeyStats());
+        stats.lastPut = this.clock.millis();
+
+        this.ttlListener.accept(cacheName, this.ttl(cacheName, key));
+    }
+
+    /**
+     * Leitura da chave, comparada com o que a política estática teria feito.
+     */
+    public void recordGet(String cacheName, Object key, boolean hit) {
+        var cache = this.caches.get(cacheName);
+
+        if (cache == null) {
+            return;
+        }
+
+        cache.gets.increment();
+
+        var stats = this.keys.get(id(cacheName, key));
+        if (stats == null || stats.lastPut == 0) {
+            return;
+        }
+
+        var age = this.clock.millis() - stats.lastPut;
+
+        if (hit && age > cache.staticTtlMillis) {
+            cache.gainedHits.increment();
+        } else if (!hit && age < cache.staticTtlMillis && stats.writes.last < stats.lastPut
+                && cache.writes.last < stats.lastPut) {
+            cache.lostHits.increment();
+        }
+    }
+
+    /**
+     * Recebe o TTL de cada gravação (histograma das métricas).
+     */
+    public void setTtlListener(BiConsumer<String, Duration> ttlListener) {
+        this.ttlListener = ttlListener;
+    }
+
+    public Iterable<String> cacheNames() {
+        return this.caches.keySet();
+    }
+
+    /**
+     * Maior TTL que uma entrada pode receber.
+     */
+    public Duration maxTtl() {
+        return this.max;
+    }
+
+    public Duration staticTtl(String cacheName) {
+        return Duration.ofMillis(this.caches.get(cacheName).staticTtlMillis);
+    }
+
+    public long getCount(String cacheName) {
+        return this.caches.get(cacheName).gets.sum();
+    }
+
+    /**
+     * Hits que a política estática não teria (entrada além do TTL estático).
+     */
+    public long gainedHitCount(String cacheName) {
+        return this.caches.get(cacheName).gainedHits.sum();
+    }
+
+    /**
+     * Misses que a política estática teria evitado.
+     */
+    public long lostHitCount(String cacheName) {
+        return this.caches.get(cacheName).lostHits.sum();
+    }
+
+    /**
+     * Variação estimada da taxa de acerto em relação à política estática.
+     */
+    public double hitRatioDelta(String cacheName) {
+        var gets = this.getCount(cacheName);
+        return gets == 0 ? 0 : (double) (this.gainedHitCount(cacheName) - this.lostHitCount(cacheName)) / gets;
+    }
+
+    /**
+     * Tempo de observação ponderado pelo decaimento (no máximo a janela).
+     */
+    private double observedWindow(long now) {
+        return this.windowMillis * (1 - Math.exp(-(now - this.startedAt) / this.windowMillis));
+    }
+
+    private static String id(String cacheName, Object key) {
+        return cacheName + "::" + key;
+    }
+
+    /**
+     * Contagem de escritas com decaimento exponencial.
+     */
+    private static final class WriteRate {
+
+        private double count;
+
+        private long updatedAt;
+
+        private volatile long last;
+
+        synchronized void record(long now, double windowMillis) {
+            if (now - this.last < DEDUPLICATION_MILLIS) {
+                return;
+            }
+
+            this.count = this.decayed(now, windowMillis) + 1;
+            this.updatedAt = now;
+            this.last = now;
+        }
+
+        synchronized double interval(long now, double observedMillis, double priorMillis, double windowMillis) {
+            return (observedMillis + priorMillis) / (this.decayed(now, windowMillis) + 1);
+        }
+
+        private double decayed(long now, double windowMillis) {
+            return this.count == 0 ? 0 : this.count * Math.exp(-(now - this.updatedAt) / windowMillis);
+        }
+    }
+
+    private static final class KeyStats {
+
+        private final WriteRate writes = new WriteRate();
+
+        private volatile long lastPut;
+    }
+
+    private static final class CacheStats {
+
+        private final long staticTtlMillis;
+
+        private final WriteRate writes = new WriteRate();
+
+        private final LongAdder gets = new LongAdder();
+
+        private final LongAdder gainedHits = new LongAdder();
+
+        private final LongAdder lostHits = new LongAdder();
+
+        CacheStats(long staticTtlMillis) {
+            this.staticTtlMillis = staticTtlMillis;
+        }
+    }
+
+}
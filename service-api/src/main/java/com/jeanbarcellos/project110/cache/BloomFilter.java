@@ -0,0 +1,122 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para IDs numéricos, sem travas.
+ *
+ * - Nunca responde "não existe" para um ID adicionado (sem falsos negativos).
+ * - Pode responder "talvez exista" para um ID nunca adicionado, com
+ * probabilidade próxima à configurada enquanto a quantidade de IDs não passar
+ * da capacidade.
+ * - Não permite remoção: IDs excluídos continuam "talvez existentes".
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+
+    private final long bits;
+
+    private final int hashes;
+
+    private final long capacity;
+
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * @param capacity          quantidade de IDs esperada
+     * @param falsePositiveRate taxa de falsos positivos desejada na capacidade (0 a 1)
+     */
+    public BloomFilter(long capacity, double falsePositiveRate) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+
+        var optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+        var words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64);
+
+        this.words = new AtomicLongArray(words);
+        this.bits = words * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) this.bits / capacity * LN2));
+        this.capacity = capacity;
+    }
+
+    public void put(long id) {
+        var h1 = mix(id);
+        var h2 = mix(h1) | 1;
+        var changed = false;
+
+        for (int i = 0; i < this.hashes; i++) {
+            var bit = Math.floorMod(h1 + i * h2, this.bits);
+            changed |= this.set(bit);
+        }
+
+        if (changed) {
+            this.count.incrementAndGet();
+        }
+    }
+
+    public boolean mightContain(long id) {
+        var h1 = mix(id);
+        var h2 = mix(h1) | 1;
+
+        for (int i = 0; i < this.hashes; i++) {
+            var bit = Math.floorMod(h1 + i * h2, this.bits);
+
+            if ((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * IDs adicionados (aproximado: colisões completas não são contadas).
+     */
+    public long count() {
+        return this.count.get();
+    }
+
+    public long capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Taxa de falsos positivos esperada para a quantidade atual de IDs.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) this.hashes * this.count.get() / this.bits), this.hashes);
+    }
+
+    private boolean set(long bit) {
+        var index = (int) (bit >>> 6);
+        var mask = 1L << bit;
+
+        while (true) {
+            var word = this.words.get(index);
+
+            if ((word & mask) != 0) {
+                return false;
+            }
+            if (this.words.compareAndSet(index, word, word | mask)) {
+                return true;
+            }
+        }
+    }
+
+    // Finalizador do SplitMix64
+    private static long mix(long value) {
+        var z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
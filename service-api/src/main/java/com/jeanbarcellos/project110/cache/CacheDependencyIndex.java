@@ -0,0 +1,121 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Índice de dependências entre entradas de cache e outras entidades, mantido
+ * no Redis (ex.: categoria 3 -> chaves de produtos em cache que exibem o nome
+ * dela).
+ *
+ * O índice fica sob o prefixo do próprio cache ("{products}::deps::category::3"),
+ * então é removido junto com um clear do cache. Expira com o maior TTL de uma
+ * entrada do cache ({@link MetadataRedisCacheManager#getMaxTtl}): com o TTL
+ * adaptativo, uma entrada pode durar mais que o TTL configurado e não pode
+ * perder a dependência antes de expirar.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheDependencyIndex {
+
+    private static final String SEGMENT_DEPS = "deps::";
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+
+    private final MetadataRedisCacheManager cacheManager;
+
+    /**
+     * Registra que a entrada {@code key} do cache depende de
+     * {@code dependency:dependencyId}.
+     */
+    public void register(String cacheName, String dependency, Object dependencyId, Object key) {
+        if (dependencyId == null) {
+            return;
+        }
+
+        var indexKey = this.indexKey(cacheName, dependency, dependencyId).getBytes(StandardCharsets.UTF_8);
+        var member = String.valueOf(key).getBytes(StandardCharsets.UTF_8);
+        var ttl = this.cacheManager.getMaxTtl(cacheName);
+
+        try {
+            this.redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.setCommands().sAdd(indexKey, member);
+                expire(connection, indexKey, ttl);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Falha ao registrar dependência {}::{} -> {}", dependency, dependencyId, key, e);
+        }
+    }
+
+    public Mono<Void> registerReactive(String cacheName, String dependency, Object dependencyId, Object key) {
+        if (dependencyId == null) {
+            return Mono.empty();
+        }
+
+        var indexKey = this.indexKey(cacheName, dependency, dependencyId);
+        var ttl = this.cacheManager.getMaxTtl(cacheName);
+
+        var add = this.reactiveRedisTemplate.opsForSet().add(indexKey, String.valueOf(key));
+        var expire = isPositive(ttl) ? this.reactiveRedisTemplate.expire(indexKey, ttl) : Mono.just(true);
+
+        return add.then(expire)
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Falha ao registrar dependência {}::{} -> {}", dependency, dependencyId, key, e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Chaves do cache que dependem de {@code dependency:dependencyId}.
+     */
+    public Set<String> dependents(String cacheName, String dependency, Object dependencyId) {
+        var members = this.redisTemplate.opsForSet().members(this.indexKey(cacheName, dependency, dependencyId));
+        return members != null ? members : Set.of();
+    }
+
+    /**
+     * Remove do índice somente as chaves informadas (ex.: as lidas em
+     * {@link #dependents} e já removidas do cache): registros feitos depois da
+     * leitura continuam no índice.
+     */
+    public void remove(String cacheName, String dependency, Object dependencyId, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        this.redisTemplate.opsForSet().remove(this.indexKey(cacheName, dependency, dependencyId), keys.toArray());
+    }
+
+    private String indexKey(String cacheName, String dependency, Object dependencyId) {
+        return this.cacheManager.getConfiguration(cacheName).getKeyPrefixFor(cacheName)
+                + SEGMENT_DEPS + dependency + "::" + dependencyId;
+    }
+
+    private static void expire(RedisConnection connection, byte[] key, Duration ttl) {
+        if (isPositive(ttl)) {
+            connection.keyCommands().expire(key, ttl.toSeconds());
+        }
+    }
+
+    private static boolean isPositive(Duration ttl) {
+        return ttl != null && !ttl.isZero() && !ttl.isNegative();
+    }
+
+}
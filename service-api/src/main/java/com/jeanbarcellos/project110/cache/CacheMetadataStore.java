@@ -0,0 +1,350 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.util.DigestUtils;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Armazena metadados de cada entrada de cache (ex.: ETag, corpo HTTP
+ * serializado) no Redis.
+ *
+ * As chaves ficam sob o mesmo prefixo do cache (ex.: "{products}::etag::10"),
+ * assim um clear do cache também remove os metadados.
+ *
+ * Valores versionados ({@link VersionedValue}) guardam também a versão
+ * ("{products}::ver::10"), usada para descartar gravações atrasadas.
+ *
+ * IDs inexistentes são marcados por um TTL curto ("{products}::missing::10",
+ * ver {@link NotFoundGuard}); evict/clear removem a marca.
+ */
+@RequiredArgsConstructor
+public class CacheMetadataStore {
+
+    private static final String SEGMENT_ETAG = "etag::";
+    private static final String SEGMENT_BODY = "body::";
+    private static final String SEGMENT_VERSION = "ver::";
+    private static final String SEGMENT_MISSING = "missing::";
+
+    /**
+     * Grava valor + ETag + versão somente se a versão não for menor que a
+     * última conhecida para a chave; descarta o corpo HTTP.
+     *
+     * KEYS: valor, etag, versão, corpo | ARGV: valor, etag, versão, ttl (ms, 0 = sem expiração)
+     */
+    static final RedisScript<Long> PUT_IF_NOT_OLDER = RedisScript.of("""
+            local current = redis.call('GET', KEYS[3])
+            if current and tonumber(current) > tonumber(ARGV[3]) then
+                return 0
+            end
+            local ttl = tonumber(ARGV[4])
+            for i = 1, 3 do
+                if ttl > 0 then
+                    redis.call('SET', KEYS[i], ARGV[i], 'PX', ttl)
+                else
+                    redis.call('SET', KEYS[i], ARGV[i])
+                end
+            end
+            redis.call('DEL', KEYS[4])
+            return 1
+            """, Long.class);
+
+    /**
+     * Grava valor + ETag e descarta o corpo HTTP; com ARGV[4] = 1, somente se
+     * o valor não existir (retorna o valor atual).
+     *
+     * KEYS: valor, etag, corpo | ARGV: valor, etag, ttl (ms, 0 = sem expiração), somente se ausente (0/1)
+     */
+    static final RedisScript<byte[]> PUT_WITH_ETAG = RedisScript.of("""
+            if ARGV[4] == '1' then
+                local current = redis.call('GET', KEYS[1])
+                if current then
+                    return current
+                end
+            end
+            local ttl = tonumber(ARGV[3])
+            for i = 1, 2 do
+                if ttl > 0 then
+                    redis.call('SET', KEYS[i], ARGV[i], 'PX', ttl)
+                else
+                    redis.call('SET', KEYS[i], ARGV[i])
+                end
+            end
+            redis.call('DEL', KEYS[3])
+            return false
+            """, byte[].class);
+
+    /**
+     * Remove a entrada e registra a versão mínima aceita para a chave
+     * (um carregamento lento com versão anterior não grava o valor antigo).
+     *
+     * KEYS: valor, etag, versão, corpo | ARGV: versão, ttl da versão (ms)
+     */
+    static final RedisScript<Long> EVICT_VERSION = RedisScript.of("""
+            local current = redis.call('GET', KEYS[3])
+            if not current or tonumber(current) < tonumber(ARGV[1]) then
+                redis.call('SET', KEYS[3], ARGV[1], 'PX', ARGV[2])
+            end
+            redis.call('DEL', KEYS[1], KEYS[2], KEYS[4])
+            return 1
+            """, Long.class);
+
+    /**
+     * Como {@link #EVICT_VERSION}, para várias entradas; remove também a marca
+     * de inexistente.
+     *
+     * KEYS: grupos de 5 (valor, etag, versão, corpo, inexistente) | ARGV: ttl (ms), versão de cada grupo
+     */
+    static final RedisScript<Long> EVICT_VERSIONS = RedisScript.of("""
+            for i = 0, #KEYS / 5 - 1 do
+                local version = ARGV[i + 2]
+                local current = redis.call('GET', KEYS[i * 5 + 3])
+                if not current or tonumber(current) < tonumber(version) then
+                    redis.call('SET', KEYS[i * 5 + 3], version, 'PX', ARGV[1])
+                end
+                redis.call('DEL', KEYS[i * 5 + 1], KEYS[i * 5 + 2], KEYS[i * 5 + 4], KEYS[i * 5 + 5])
+            end
+            return 1
+            """, Long.class);
+
+    // Entradas por execução do EVICT_VERSIONS (cada script bloqueia o Redis)
+    private static final int EVICT_VERSIONS_BATCH = 500;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final RedisTemplate<String, byte[]> bytesRedisTemplate;
+
+    public String getEtag(String keyPrefix, Object key) {
+        return this.redisTemplate.opsForValue().get(etagKey(keyPrefix, key));
+    }
+
+    /**
+     * Grava o valor já serializado e o ETag dele, descartando o corpo HTTP
+     * obsoleto (um único script: nenhum leitor vê o valor novo com o ETag
+     * anterior).
+     */
+    public void putWithEtag(String keyPrefix, Object key, byte[] value, String etag, Duration ttl) {
+        this.bytesRedisTemplate.execute(PUT_WITH_ETAG, etagKeys(keyPrefix, key),
+                value, bytes(etag), bytes(ttlMillis(ttl)), bytes(0));
+    }
+
+    /**
+     * Como {@link #putWithEtag}, somente se a chave não existir; retorna o
+     * valor serializado atual, ou null se a gravação foi feita.
+     */
+    public byte[] putWithEtagIfAbsent(String keyPrefix, Object key, byte[] value, String etag, Duration ttl) {
+        return this.bytesRedisTemplate.execute(PUT_WITH_ETAG, etagKeys(keyPrefix, key),
+                value, bytes(etag), bytes(ttlMillis(ttl)), bytes(1));
+    }
+
+    /**
+     * Retorna o corpo HTTP armazenado, somente se ele corresponder ao ETag
+     * atual da entrada (ETag e corpo são lidos em um único MGET).
+     */
+    public CachedResponseBody getBody(String keyPrefix, Object key) {
+        var values = this.bytesRedisTemplate.opsForValue()
+                .multiGet(List.of(etagKey(keyPrefix, key), bodyKey(keyPrefix, key)));
+
+        if (values == null || values.get(0) == null || values.get(1) == null) {
+            return null;
+        }
+
+        var etag = new String(values.get(0), StandardCharsets.UTF_8);
+        var body = CachedResponseBody.decode(values.get(1));
+
+        if (body == null || !etag.equals(body.etag())) {
+            return null;
+        }
+
+        return body;
+    }
+
+    public void putBody(String keyPrefix, Object key, CachedResponseBody body, Duration ttl) {
+        this.set(bodyKey(keyPrefix, key), body.encode(), ttl);
+    }
+
+    /**
+     * Lê os valores serializados de várias entradas com um único MGET, na
+     * ordem das chaves (null para as ausentes).
+     *
+     * Mesma conversão de chave do {@link #evictAll}.
+     */
+    public List<byte[]> getValues(String keyPrefix, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        var redisKeys = keys.stream()
+                .map(key -> keyPrefix + key)
+                .toList();
+
+        var values = this.bytesRedisTemplate.opsForValue().multiGet(redisKeys);
+
+        return values != null ? values : Collections.nCopies(keys.size(), null);
+    }
+
+    /**
+     * Lê o valor serializado e o ETag armazenado da entrada com um único MGET
+     * (gravados juntos pelos scripts, então correspondem um ao outro); null
+     * se o valor não existir.
+     */
+    public ValueWithEtag getValueWithEtag(String keyPrefix, Object key) {
+        var values = this.bytesRedisTemplate.opsForValue().multiGet(List.of(keyPrefix + key, etagKey(keyPrefix, key)));
+
+        if (values == null || values.get(0) == null) {
+            return null;
+        }
+
+        var etag = values.get(1) != null ? new String(values.get(1), StandardCharsets.UTF_8) : null;
+
+        return new ValueWithEtag(values.get(0), etag);
+    }
+
+    /**
+     * Remove todos os metadados associados à entrada.
+     */
+    public void evict(String keyPrefix, Object key) {
+        this.redisTemplate.delete(List.of(etagKey(keyPrefix, key), bodyKey(keyPrefix, key),
+                missingKey(keyPrefix, key)));
+    }
+
+    /**
+     * Grava o valor já serializado se a versão não for menor que a última
+     * conhecida; retorna false quando a escrita é descartada.
+     */
+    public boolean putIfNotOlder(String keyPrefix, Object key, byte[] value, String etag, long version,
+            Duration ttl) {
+        var result = this.bytesRedisTemplate.execute(PUT_IF_NOT_OLDER, versionedKeys(keyPrefix, key),
+                value, bytes(etag), bytes(version), bytes(ttlMillis(ttl)));
+
+        return result != null && result == 1L;
+    }
+
+    /**
+     * Remove a entrada, impedindo por {@code ttl} gravações com versão menor
+     * que {@code version}.
+     */
+    public void evictVersion(String keyPrefix, Object key, long version, Duration ttl) {
+        this.bytesRedisTemplate.execute(EVICT_VERSION, versionedKeys(keyPrefix, key),
+                bytes(version), bytes(ttlMillis(ttl)));
+    }
+
+    /**
+     * Remove várias entradas, registrando para cada uma a versão mínima aceita
+     * por {@code ttl} (ver {@link #evictVersion}), em lotes de
+     * {@value #EVICT_VERSIONS_BATCH} chaves por script.
+     */
+    public void evictVersions(String keyPrefix, Map<?, Long> versions, Duration ttl) {
+        var keys = new ArrayList<String>();
+        var args = new ArrayList<Object>();
+
+        for (var entry : versions.entrySet()) {
+            if (args.isEmpty()) {
+                args.add(bytes(ttlMillis(ttl)));
+            }
+
+            keys.addAll(versionedKeys(keyPrefix, entry.getKey()));
+            keys.add(missingKey(keyPrefix, entry.getKey()));
+            args.add(bytes(entry.getValue()));
+
+            if (args.size() > EVICT_VERSIONS_BATCH) {
+                this.bytesRedisTemplate.execute(EVICT_VERSIONS, keys, args.toArray());
+                keys.clear();
+                args.clear();
+            }
+        }
+
+        if (!keys.isEmpty()) {
+            this.bytesRedisTemplate.execute(EVICT_VERSIONS, keys, args.toArray());
+        }
+    }
+
+    /**
+     * Remove várias entradas (valor e metadados) com um único DEL.
+     *
+     * A chave do valor segue a conversão padrão do RedisCache (toString da
+     * chave), válida para as chaves usadas pelos services (IDs e Strings).
+     */
+    public void evictAll(String keyPrefix, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        var redisKeys = new ArrayList<String>(keys.size() * 4);
+
+        for (var key : keys) {
+            redisKeys.add(keyPrefix + key);
+            redisKeys.add(etagKey(keyPrefix, key));
+            redisKeys.add(bodyKey(keyPrefix, key));
+            redisKeys.add(missingKey(keyPrefix, key));
+        }
+
+        this.redisTemplate.delete(redisKeys);
+    }
+
+    private void set(String redisKey, byte[] value, Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            this.bytesRedisTemplate.opsForValue().set(redisKey, value);
+        } else {
+            this.bytesRedisTemplate.opsForValue().set(redisKey, value, ttl);
+        }
+    }
+
+    /**
+     * ETag forte calculado a partir dos bytes gravados no Redis.
+     */
+    static String etagOf(byte[] value) {
+        return "\"" + DigestUtils.md5DigestAsHex(value) + "\"";
+    }
+
+    static List<String> etagKeys(String keyPrefix, Object key) {
+        return List.of(keyPrefix + key, etagKey(keyPrefix, key), bodyKey(keyPrefix, key));
+    }
+
+    static List<String> versionedKeys(String keyPrefix, Object key) {
+        return List.of(keyPrefix + key, etagKey(keyPrefix, key), versionKey(keyPrefix, key),
+                bodyKey(keyPrefix, key));
+    }
+
+    static long ttlMillis(Duration ttl) {
+        return ttl == null || ttl.isNegative() ? 0 : ttl.toMillis();
+    }
+
+    static byte[] bytes(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String versionKey(String keyPrefix, Object key) {
+        return keyPrefix + SEGMENT_VERSION + key;
+    }
+
+    static String etagKey(String keyPrefix, Object key) {
+        return keyPrefix + SEGMENT_ETAG + key;
+    }
+
+    static String bodyKey(String keyPrefix, Object key) {
+        return keyPrefix + SEGMENT_BODY + key;
+    }
+
+    static String missingKey(String keyPrefix, Object key) {
+        return keyPrefix + SEGMENT_MISSING + key;
+    }
+
+    /**
+     * Valor serializado e o ETag gravado com ele (null se a entrada não tiver
+     * ETag).
+     */
+    public record ValueWithEtag(byte[] value, String etag) {
+    }
+
+}
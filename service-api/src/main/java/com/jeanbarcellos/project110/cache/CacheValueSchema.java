@@ -0,0 +1,94 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+/**
+ * Versão do formato dos valores de um cache, derivada da forma do JSON do
+ * tipo armazenado.
+ *
+ * - A descrição considera as propriedades vistas pelo Jackson (nome e tipo,
+ * em ordem alfabética), recursivamente para os tipos da aplicação; coleções,
+ * mapas e enums (com as constantes) também entram.
+ * - O nome das classes não entra: renomear um DTO sem mudar o JSON mantém a
+ * versão.
+ * - A revisão permite trocar a versão quando só a semântica dos valores muda.
+ */
+public final class CacheValueSchema {
+
+    private static final int VERSION_BYTES = 4;
+
+    private CacheValueSchema() {
+    }
+
+    /**
+     * Versão curta (8 caracteres hexadecimais) do tipo e da revisão.
+     */
+    public static String version(ObjectMapper objectMapper, Class<?> type, String revision) {
+        var description = revision + ":" + describe(objectMapper, type);
+
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(description.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(Arrays.copyOf(digest, VERSION_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Descrição canônica da forma do JSON do tipo.
+     */
+    public static String describe(ObjectMapper objectMapper, Class<?> type) {
+        return describe(objectMapper, objectMapper.constructType(type), new HashSet<>());
+    }
+
+    private static String describe(ObjectMapper objectMapper, JavaType type, Set<Class<?>> visiting) {
+        if (type.isArrayType() || type.isCollectionLikeType()) {
+            return "[" + describe(objectMapper, type.getContentType(), visiting) + "]";
+        }
+
+        if (type.isMapLikeType()) {
+            return "map<" + describe(objectMapper, type.getKeyType(), visiting) + ","
+                    + describe(objectMapper, type.getContentType(), visiting) + ">";
+        }
+
+        var raw = type.getRawClass();
+
+        if (raw.isEnum()) {
+            return Arrays.stream(raw.getEnumConstants())
+                    .map(constant -> ((Enum<?>) constant).name())
+                    .collect(Collectors.joining("|", "enum(", ")"));
+        }
+
+        if (raw.isPrimitive() || raw.getName().startsWith("java.") || raw == Object.class) {
+            return raw.getName();
+        }
+
+        // Referência cíclica: a forma já está sendo descrita
+        if (!visiting.add(raw)) {
+            return "^";
+        }
+
+        var description = objectMapper.getSerializationConfig().introspect(type).findProperties().stream()
+                .sorted(Comparator.comparing(BeanPropertyDefinition::getName))
+                .map(property -> property.getName() + ":"
+                        + describe(objectMapper, property.getPrimaryType(), visiting))
+                .collect(Collectors.joining(",", "{", "}"));
+
+        visiting.remove(raw);
+
+        return description;
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um endpoint GET cujo corpo de resposta pode ser armazenado já
+ * serializado junto à entrada de cache correspondente.
+ *
+ * A chave é fixa ({@link #key()}) ou obtida de uma variável de path
+ * ({@link #keyVariable()}), opcionalmente com um prefixo ({@link #keyPrefix()}).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheableResponseBody {
+
+    String cacheName();
+
+    String key() default "";
+
+    String keyVariable() default "";
+
+    String keyPrefix() default "";
+
+}
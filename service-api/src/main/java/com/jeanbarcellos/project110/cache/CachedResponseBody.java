@@ -0,0 +1,62 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Corpo HTTP já serializado, armazenado junto a uma entrada de cache.
+ *
+ * Formato no Redis: uma linha de cabeçalho "etag\tencoding\tcontentType\n"
+ * seguida dos bytes do corpo.
+ *
+ * @param etag        ETag da entrada no momento em que o corpo foi gerado
+ * @param gzip        se o payload está comprimido com gzip
+ * @param contentType content type da resposta
+ * @param payload     bytes do corpo
+ */
+public record CachedResponseBody(String etag, boolean gzip, String contentType, byte[] payload) {
+
+    private static final String ENCODING_GZIP = "gzip";
+    private static final String ENCODING_IDENTITY = "identity";
+    private static final char SEPARATOR = '\t';
+    private static final byte HEADER_END = '\n';
+
+    public byte[] encode() {
+        var header = this.etag + SEPARATOR
+                + (this.gzip ? ENCODING_GZIP : ENCODING_IDENTITY) + SEPARATOR
+                + this.contentType;
+
+        var out = new ByteArrayOutputStream(header.length() + 1 + this.payload.length);
+        out.writeBytes(header.getBytes(StandardCharsets.UTF_8));
+        out.write(HEADER_END);
+        out.writeBytes(this.payload);
+
+        return out.toByteArray();
+    }
+
+    public static CachedResponseBody decode(byte[] bytes) {
+        int headerEnd = -1;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == HEADER_END) {
+                headerEnd = i;
+                break;
+            }
+        }
+
+        if (headerEnd < 0) {
+            return null;
+        }
+
+        var header = new String(bytes, 0, headerEnd, StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR), 3);
+
+        if (header.length != 3) {
+            return null;
+        }
+
+        var payload = Arrays.copyOfRange(bytes, headerEnd + 1, bytes.length);
+
+        return new CachedResponseBody(header[0], ENCODING_GZIP.equals(header[1]), header[2], payload);
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentMap;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.event.connection.ConnectionActivatedEvent;
+import io.lettuce.core.event.connection.ConnectionDeactivatedEvent;
+import io.lettuce.core.support.caching.CacheAccessor;
+import io.lettuce.core.support.caching.CacheFrontend;
+import io.lettuce.core.support.caching.ClientSideCaching;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+
+/**
+ * Cache local assistido pelo servidor (CLIENT TRACKING, RESP3).
+ *
+ * - As leituras passam por uma conexão dedicada com tracking habilitado; o
+ * Redis memoriza as chaves lidas por ela.
+ * - Quando uma dessas chaves muda (escrita de qualquer nó, expiração ou
+ * remoção), o servidor envia uma invalidação e a cópia local é descartada.
+ * - Escritas feitas por este nó descartam a cópia na hora, sem esperar a
+ * invalidação do servidor.
+ * - O tracking pertence à conexão: invalidações enviadas enquanto ela está
+ * fora do ar são perdidas. Na queda as cópias são descartadas e as leituras
+ * vão direto ao Redis (pelo writer original); na reconexão o CLIENT TRACKING
+ * é reenviado antes de voltar a usar as cópias.
+ * - Cada cópia expira após {@code ttl}, limitando a defasagem de uma
+ * invalidação perdida de outra forma.
+ */
+@Slf4j
+public class ClientSideCache implements LocalCacheTier, AutoCloseable {
+
+    private static final String METRIC_PREFIX = "cache.client.tracking";
+
+    private final RedisClient redisClient;
+
+    private final StatefulRedisConnection<String, byte[]> connection;
+
+    private final ConcurrentMap<String, byte[]> entries;
+
+    private final CacheFrontend<String, byte[]> frontend;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter invalidations;
+
+    private final Disposable connectionEvents;
+
+    private volatile boolean tracking;
+
+    /**
+     * @param redisClient client dedicado (os eventos de conexão dele são os da
+     *                    conexão com tracking)
+     */
+    public ClientSideCache(RedisClient redisClient, long maxEntries, Duration ttl, MeterRegistry meterRegistry) {
+        this.redisClient = redisClient;
+        this.connection = redisClient.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .<String, byte[]>build()
+                .asMap();
+        this.frontend = ClientSideCaching.enable(CacheAccessor.forMap(this.entries), this.connection,
+                TrackingArgs.Builder.enabled());
+        this.tracking = true;
+
+        this.hits = Counter.builder(METRIC_PREFIX + ".gets").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(METRIC_PREFIX + ".gets").tag("result", "miss").register(meterRegistry);
+        this.invalidations = Counter.builder(METRIC_PREFIX + ".invalidations").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", this.entries, ConcurrentMap::size).register(meterRegistry);
+
+        // Mesma mensagem push usada pelo frontend para descartar as entradas
+        this.connection.addListener(message -> {
+            if ("invalidate".equals(message.getType())) {
+                this.invalidations.increment();
+            }
+        });
+
+        this.connectionEvents = redisClient.getResources().eventBus().get().subscribe(event -> {
+            if (event instanceof ConnectionDeactivatedEvent) {
+                this.onDisconnected();
+            } else if (event instanceof ConnectionActivatedEvent) {
+                this.onReconnected();
+            }
+        });
+
+        log.info("Client-side caching habilitado (CLIENT TRACKING), máximo de {} entradas, TTL {}", maxEntries,
+                ttl);
+    }
+
+    /**
+     * Se as cópias locais podem ser usadas (conexão ativa e com tracking).
+     */
+    public boolean isTracking() {
+        return this.tracking;
+    }
+
+    public byte[] get(byte[] key) {
+        return this.get(new String(key, StandardCharsets.UTF_8));
+    }
+
+    public byte[] get(String key) {
+        var value = this.entries.get(key);
+
+        if (value != null) {
+            this.hits.increment();
+            return value;
+        }
+
+        this.misses.increment();
+        return this.frontend.get(key);
+    }
+
+    public boolean contains(String key) {
+        return this.entries.containsKey(key);
+    }
+
+    @Override
+    public void invalidate(String key) {
+        this.entries.remove(key);
+    }
+
+    @Override
+    public void invalidatePrefix(String prefix) {
+        this.entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    private void onDisconnected() {
+        this.tracking = false;
+        this.entries.clear();
+
+        log.warn("Client-side caching: conexão perdida, cópias locais descartadas");
+    }
+
+    /**
+     * A nova conexão não tem tracking: reenvia o CLIENT TRACKING e só então
+     * volta a usar as cópias (descartando as lidas no intervalo).
+     */
+    private void onReconnected() {
+        if (this.tracking) {
+            return;
+        }
+
+        this.connection.async().clientTracking(TrackingArgs.Builder.enabled()).whenComplete((result, error) -> {
+            this.entries.clear();
+
+            if (error != null) {
+                log.warn("Client-side caching: falha ao reativar o CLIENT TRACKING", error);
+                return;
+            }
+
+            this.tracking = true;
+            log.info("Client-side caching: CLIENT TRACKING reativado após a reconexão");
+        });
+    }
+
+    @Override
+    public void close() {
+        this.connectionEvents.dispose();
+        this.frontend.close();
+        this.redisClient.shutdown();
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.BatchStrategy;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.ScanOptions;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remoção das chaves de um cache (clear) que funciona também no Redis Cluster.
+ *
+ * - Fora do cluster: SCAN em lotes na conexão.
+ * - No cluster o SCAN não atravessa nós: se o padrão tem hash tag (ex.:
+ * "{products}::*") as chaves estão todas em um slot e apenas o master dono
+ * dele é varrido; sem hash tag, todos os masters são varridos em paralelo.
+ */
+@Slf4j
+public class ClusterBatchStrategy implements BatchStrategy {
+
+    private final int batchSize;
+
+    private final BatchStrategy standalone;
+
+    // Threads criadas sob demanda (um clear por vez, uma por master)
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        var thread = new Thread(runnable, "cache-cluster-clear");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ClusterBatchStrategy(int batchSize) {
+        this.batchSize = batchSize;
+        this.standalone = BatchStrategies.scan(batchSize);
+    }
+
+    @Override
+    public long cleanCache(RedisConnection connection, String name, byte[] pattern) {
+        if (!(connection instanceof RedisClusterConnection clusterConnection)) {
+            return this.standalone.cleanCache(connection, name, pattern);
+        }
+
+        if (hasHashTag(pattern)) {
+            var owner = clusterConnection.clusterGetNodeForKey(pattern);
+            return this.cleanNode(clusterConnection, owner, pattern);
+        }
+
+        var futures = new ArrayList<CompletableFuture<Long>>();
+
+        for (var master : masters(clusterConnection)) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> this.cleanNode(clusterConnection, master, pattern), this.executor));
+        }
+
+        try {
+            return futures.stream().mapToLong(CompletableFuture::join).sum();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private long cleanNode(RedisClusterConnection connection, RedisClusterNode node, byte[] pattern) {
+        var options = ScanOptions.scanOptions().count(this.batchSize).match(pattern).build();
+        long count = 0;
+
+        try (var cursor = connection.scan(node, options)) {
+            var batch = new ArrayList<byte[]>(this.batchSize);
+
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+
+                if (batch.size() >= this.batchSize) {
+                    count += this.delete(connection, batch);
+                }
+            }
+
+            count += this.delete(connection, batch);
+        }
+
+        log.debug("Clear em {}: {} chaves removidas ({})", node, count,
+                new String(pattern, StandardCharsets.UTF_8));
+
+        return count;
+    }
+
+    /**
+     * O DEL do cluster agrupa as chaves por slot.
+     */
+    private long delete(RedisClusterConnection connection, List<byte[]> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        var deleted = connection.keyCommands().del(keys.toArray(new byte[0][]));
+        keys.clear();
+
+        return deleted != null ? deleted : 0;
+    }
+
+    private static List<RedisClusterNode> masters(RedisClusterConnection connection) {
+        var masters = new ArrayList<RedisClusterNode>();
+
+        for (var node : connection.clusterGetNodes()) {
+            if (node.isMaster() && !node.isMarkedAsFail()) {
+                masters.add(node);
+            }
+        }
+
+        return masters;
+    }
+
+    private static boolean hasHashTag(byte[] pattern) {
+        var value = new String(pattern, StandardCharsets.UTF_8);
+        var start = value.indexOf('{');
+        var end = start >= 0 ? value.indexOf('}', start + 1) : -1;
+
+        // A tag não pode conter curingas, senão não define um único slot
+        return end > start + 1 && value.substring(start + 1, end).chars().noneMatch(c -> c == '*' || c == '?');
+    }
+
+}
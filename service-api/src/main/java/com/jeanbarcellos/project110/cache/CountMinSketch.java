@@ -0,0 +1,71 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch: estimativa de frequência em memória fixa, sem travas.
+ *
+ * A estimativa nunca é menor que a contagem real; pode ser maior por
+ * colisões (erro proporcional a total / largura).
+ */
+class CountMinSketch {
+
+    private static final int[] SEEDS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F, 0x165667B1, 0xD3A2646C };
+
+    private final int depth;
+
+    private final int mask;
+
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth número de funções de hash (no máximo 6)
+     * @param width contadores por função (arredondado para potência de 2)
+     */
+    CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("depth must be between 1 and " + SEEDS.length);
+        }
+
+        var size = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+
+        this.depth = depth;
+        this.mask = size - 1;
+        this.counters = new AtomicLongArray(depth * size);
+    }
+
+    /**
+     * Incrementa a contagem e retorna a nova estimativa.
+     */
+    long increment(Object item) {
+        var hash = item.hashCode();
+        var estimate = Long.MAX_VALUE;
+
+        for (int i = 0; i < this.depth; i++) {
+            var count = this.counters.incrementAndGet(this.index(i, hash));
+            estimate = Math.min(estimate, count);
+        }
+
+        return estimate;
+    }
+
+    long estimate(Object item) {
+        var hash = item.hashCode();
+        var estimate = Long.MAX_VALUE;
+
+        for (int i = 0; i < this.depth; i++) {
+            estimate = Math.min(estimate, this.counters.get(this.index(i, hash)));
+        }
+
+        return estimate;
+    }
+
+    private int index(int row, int hash) {
+        var h = (hash ^ SEEDS[row]) * 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return row * (this.mask + 1) + (h & this.mask);
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detecta chaves quentes nas leituras de cache, por janela de tempo.
+ *
+ * - Cada leitura incrementa um count-min sketch da janela atual.
+ * - As chaves com maior estimativa (top-k) são mantidas em um mapa pequeno.
+ * - Uma chave é quente quando passa do limite na janela atual ou estava no
+ * top-k (acima do limite) da janela anterior.
+ */
+public class HotKeyDetector {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH_PER_TOP_K = 256;
+
+    private final Clock clock;
+
+    private final long windowMillis;
+
+    private final int topK;
+
+    private final long threshold;
+
+    private final Object monitor = new Object();
+
+    private volatile Window current;
+
+    private volatile Map<String, Long> previousHot = Map.of();
+
+    private volatile List<HotKey> previousTop = List.of();
+
+    public HotKeyDetector(Duration window, int topK, long threshold) {
+        this(Clock.systemUTC(), window, topK, threshold);
+    }
+
+    HotKeyDetector(Clock clock, Duration window, int topK, long threshold) {
+        this.clock = clock;
+        this.windowMillis = window.toMillis();
+        this.topK = topK;
+        this.threshold = threshold;
+        this.current = this.newWindow(clock.millis());
+    }
+
+    /**
+     * Registra uma leitura; retorna true se a chave está quente.
+     */
+    public boolean record(String cacheName, Object key) {
+        var window = this.window();
+        var item = HotKey.id(cacheName, key);
+
+        var estimate = window.sketch.increment(item);
+
+        if (estimate >= window.minTop) {
+            this.offer(window, item, estimate);
+        }
+
+        return estimate >= this.threshold || this.previousHot.containsKey(item);
+    }
+
+    /**
+     * Top-k da janela atual (parcial) e da janela anterior (completa).
+     */
+    public Snapshot snapshot() {
+        var window = this.window();
+
+        List<HotKey> top;
+        synchronized (this.monitor) {
+            top = sorted(window.top);
+        }
+
+        return new Snapshot(Duration.ofMillis(this.windowMillis), this.threshold, top, this.previousTop);
+    }
+
+    private void offer(Window window, String item, long estimate) {
+        synchronized (this.monitor) {
+            window.top.merge(item, estimate, Math::max);
+
+            if (window.top.size() > this.topK) {
+                var min = window.top.entrySet().stream()
+                        .min(Map.Entry.comparingByValue())
+                        .orElseThrow();
+                window.top.remove(min.getKey());
+            }
+
+            if (window.top.size() >= this.topK) {
+                window.minTop = window.top.values().stream().mapToLong(Long::longValue).min().orElse(0);
+            }
+        }
+    }
+
+    private Window window() {
+        var window = this.current;
+        var now = this.clock.millis();
+
+        if (now < window.end) {
+            return window;
+        }
+
+        synchronized (this.monitor) {
+            window = this.current;
+
+            if (now >= window.end) {
+                var top = sorted(window.top);
+                var hot = new HashMap<String, Long>();
+                top.stream()
+                        .filter(hotKey -> hotKey.count() >= this.threshold)
+                        .forEach(hotKey -> hot.put(hotKey.id(), hotKey.count()));
+
+                this.previousTop = top;
+                this.previousHot = Map.copyOf(hot);
+                this.current = window = this.newWindow(now);
+            }
+
+            return window;
+        }
+    }
+
+    private Window newWindow(long start) {
+        return new Window(new CountMinSketch(SKETCH_DEPTH, this.topK * SKETCH_WIDTH_PER_TOP_K),
+                start + this.windowMillis);
+    }
+
+    private static List<HotKey> sorted(Map<String, Long> top) {
+        var list = new ArrayList<HotKey>(top.size());
+        top.forEach((id, count) -> list.add(new HotKey(id, count)));
+        list.sort(Comparator.comparingLong(HotKey::count).reversed());
+        return list;
+    }
+
+    private static final class Window {
+
+        private final CountMinSketch sketch;
+
+        private final long end;
+
+        private final Map<String, Long> top = new HashMap<>();
+
+        // Menor contagem do top-k (0 enquanto não está cheio)
+        private volatile long minTop;
+
+        Window(CountMinSketch sketch, long end) {
+            this.sketch = sketch;
+            this.end = end;
+        }
+    }
+
+    /**
+     * @param id    "cache::chave"
+     * @param count leituras estimadas na janela
+     */
+    public record HotKey(String id, long count) {
+
+        static String id(String cacheName, Object key) {
+            return cacheName + "::" + key;
+        }
+    }
+
+    public record Snapshot(Duration window, long threshold, List<HotKey> current, List<HotKey> previous) {
+    }
+
+}
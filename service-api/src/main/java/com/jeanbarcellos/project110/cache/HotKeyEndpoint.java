@@ -0,0 +1,51 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Actuator: top-k das chaves de cache mais lidas neste nó
+ * (GET /actuator/hotkeys).
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "hotkeys")
+public class HotKeyEndpoint {
+
+    private final MetadataRedisCacheManager cacheManager;
+
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        var detector = this.cacheManager.getHotKeyDetector();
+
+        var result = new LinkedHashMap<String, Object>();
+        result.put("enabled", detector != null);
+
+        if (detector == null) {
+            return result;
+        }
+
+        var snapshot = detector.snapshot();
+        result.put("window", snapshot.window().toString());
+        result.put("threshold", snapshot.threshold());
+        result.put("current", snapshot.current());
+        result.put("previous", snapshot.previous());
+
+        var localEntries = new LinkedHashMap<String, Integer>();
+        this.cacheManager.getCacheNames().forEach(name -> {
+            if (this.cacheManager.getCache(name) instanceof MetadataAwareCache cache) {
+                localEntries.put(name, cache.getLocalHotEntryCount());
+            }
+        });
+        result.put("localEntries", localEntries);
+
+        return result;
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.time.Duration;
+
+/**
+ * Configuração da cópia local de chaves quentes.
+ *
+ * @param localTtl        tempo de vida da cópia local
+ * @param maxLocalEntries máximo de cópias locais por cache
+ */
+public record HotKeySettings(Duration localTtl, int maxLocalEntries) {
+}
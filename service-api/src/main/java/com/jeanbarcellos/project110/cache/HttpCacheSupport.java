@@ -0,0 +1,143 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Suporte a GET condicional (If-None-Match / ETag) a partir dos ETags
+ * armazenados junto às entradas de cache.
+ *
+ * - Se o ETag do cliente coincide com o do cache, responde 304 sem ler o valor.
+ * - O ETag da resposta é o do valor devolvido pelo loader (lido junto com
+ * ele), nunca o de um valor gravado depois.
+ * - Cache-Control: no-cache (ou um max-age curto, app-config.cache.http.max-age):
+ * o cliente revalida com o ETag em vez de reutilizar a resposta pelo TTL do
+ * cache, que pode passar de um dia e sobreviver a uma escrita.
+ * - O ETag do cache identifica a representação padrão (JSON); as demais usam
+ * uma variante dele ({@link #variantEtag}), também aceita no If-None-Match.
+ * - As respostas variam com o Accept (Vary).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HttpCacheSupport {
+
+    public static final String KEY_ALL = "all";
+
+    private static final String WEAK_PREFIX = "W/";
+    private static final String ANY = "*";
+    private static final String QUOTE = "\"";
+    private static final String VARIANT_SEPARATOR = "-";
+
+    private final MetadataRedisCacheManager cacheManager;
+
+    @Value("${app-config.cache.http.max-age:0s}")
+    private Duration maxAge;
+
+    public <T> ResponseEntity<T> conditional(String ifNoneMatch, String cacheName, Object key, Supplier<T> loader) {
+        var cacheControl = this.cacheControl();
+
+        var etag = this.findEtag(cacheName, key);
+        var matched = etag != null ? match(ifNoneMatch, etag) : null;
+
+        if (matched != null) {
+            // Devolve o ETag da representação que o cliente tem
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(matched)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+
+        // Valor e ETag do mesmo carregamento (sem uma segunda leitura do ETag)
+        var loaded = this.cacheManager.load(cacheName, key, loader);
+
+        var response = ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT);
+
+        if (loaded.etag() != null) {
+            response.eTag(loaded.etag());
+        }
+
+        return response.body(loaded.value());
+    }
+
+    public CacheControl cacheControl() {
+        if (this.maxAge == null || this.maxAge.isZero() || this.maxAge.isNegative()) {
+            return CacheControl.noCache();
+        }
+
+        return CacheControl.maxAge(this.maxAge).mustRevalidate();
+    }
+
+    public String findEtag(String cacheName, Object key) {
+        try {
+            return this.cacheManager.getEtag(cacheName, key);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao obter ETag do cache {}::{}", cacheName, key, e);
+            return null;
+        }
+    }
+
+    /**
+     * ETag de outra representação do mesmo valor do cache (ex.: protobuf):
+     * "abc" → "abc-protobuf".
+     */
+    public static String variantEtag(String etag, String variant) {
+        if (etag.length() < 2 || !etag.endsWith(QUOTE)) {
+            return etag;
+        }
+
+        return etag.substring(0, etag.length() - 1) + VARIANT_SEPARATOR + variant + QUOTE;
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        return match(ifNoneMatch, etag) != null;
+    }
+
+    /**
+     * ETag do If-None-Match que corresponde ao do cache (ou a uma variante
+     * dele), ou null.
+     */
+    static String match(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return null;
+        }
+
+        for (var candidate : ifNoneMatch.split(",")) {
+            var value = candidate.trim();
+
+            if (ANY.equals(value)) {
+                return etag;
+            }
+
+            if (value.startsWith(WEAK_PREFIX)) {
+                value = value.substring(WEAK_PREFIX.length());
+            }
+
+            if (value.equals(etag) || isVariant(value, etag)) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean isVariant(String value, String etag) {
+        return etag.endsWith(QUOTE)
+                && value.endsWith(QUOTE)
+                && value.startsWith(etag.substring(0, etag.length() - 1) + VARIANT_SEPARATOR);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.jeanbarcellos.project110.cache;
+
+/**
+ * Cópia local (no nó) de entradas do Redis, indexada pela chave completa
+ * ("{products}::all").
+ *
+ * As escritas e evicts feitos pelo {@link MetadataAwareCache} descartam a
+ * cópia na hora; nos demais nós, pelo mecanismo de cada camada (CLIENT
+ * TRACKING, cdc ou TTL).
+ */
+public interface LocalCacheTier {
+
+    void invalidate(String key);
+
+    void invalidatePrefix(String prefix);
+
+}
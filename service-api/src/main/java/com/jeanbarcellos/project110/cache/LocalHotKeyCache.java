@@ -0,0 +1,101 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cache.Cache.ValueWrapper;
+
+/**
+ * Cópia local (no processo) das entradas quentes de um cache, com TTL curto.
+ *
+ * Evita que as leituras de uma chave muito acessada se concentrem em um
+ * único nó/conexão do Redis. Alterações feitas neste nó removem a cópia na
+ * hora; nos demais nós ela expira pelo TTL (ou pelo evict via cdc).
+ *
+ * Cada remoção avança uma geração: a cópia de um valor lido antes de uma
+ * remoção não é gravada ({@link #pin} recebe a geração do início da
+ * leitura), senão ela serviria o valor antigo até expirar.
+ */
+class LocalHotKeyCache {
+
+    private final Duration ttl;
+
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    LocalHotKeyCache(Duration ttl, int maxEntries) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+    }
+
+    Entry get(Object key) {
+        var entry = this.entries.get(String.valueOf(key));
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.expiresAt < System.nanoTime()) {
+            this.entries.remove(String.valueOf(key), entry);
+            return null;
+        }
+
+        return entry;
+    }
+
+    /**
+     * Geração atual; lida antes de buscar o valor a ser copiado.
+     */
+    long generation() {
+        return this.generation.get();
+    }
+
+    /**
+     * Copia o valor (e o ETag calculado dele), se nenhuma remoção ocorreu
+     * desde {@code generation}.
+     */
+    void pin(Object key, ValueWrapper value, String etag, long generation) {
+        if (this.generation.get() != generation) {
+            return;
+        }
+
+        if (this.entries.size() >= this.maxEntries) {
+            var now = System.nanoTime();
+            this.entries.values().removeIf(entry -> entry.expiresAt < now);
+
+            if (this.entries.size() >= this.maxEntries) {
+                return;
+            }
+        }
+
+        var entry = new Entry(value, etag, System.nanoTime() + this.ttl.toNanos());
+        this.entries.put(String.valueOf(key), entry);
+
+        // Remoção concorrente com a gravação da cópia
+        if (this.generation.get() != generation) {
+            this.entries.remove(String.valueOf(key), entry);
+        }
+    }
+
+    void remove(Object key) {
+        this.generation.incrementAndGet();
+        this.entries.remove(String.valueOf(key));
+    }
+
+    void clear() {
+        this.generation.incrementAndGet();
+        this.entries.clear();
+    }
+
+    int size() {
+        return this.entries.size();
+    }
+
+    record Entry(ValueWrapper value, String etag, long expiresAt) {
+    }
+
+}
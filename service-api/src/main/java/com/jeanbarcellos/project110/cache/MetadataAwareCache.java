@@ -0,0 +1,597 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decorator do {@link RedisCache} que mantém os metadados de cada entrada.
+ *
+ * - O ETag é calculado uma única vez, no momento do put, a partir dos mesmos
+ * bytes gravados no Redis; valor e ETag são gravados juntos (um script).
+ * - {@link #load} devolve o valor com o ETag armazenado com ele, lidos no
+ * mesmo MGET (ver HttpCacheSupport): o ETag só é calculado na gravação.
+ * - O corpo HTTP pré-serializado (opcional) é descartado a cada novo put.
+ * - Evict/clear removem os metadados junto com o valor.
+ * - Valores versionados ({@link VersionedValue}) são gravados com
+ * compare-and-set: um carregamento lento que termina depois de uma
+ * atualização não sobrescreve o valor novo com o antigo.
+ * - Com um {@link HotKeyDetector}, as leituras são contadas e as chaves
+ * quentes passam a ser servidas por uma cópia local de TTL curto. A cópia
+ * guarda o ETag lido junto com o próprio valor, e é descartada antes e depois de
+ * cada escrita local (uma leitura concorrente com a escrita não a recria).
+ * - Hits, misses e puts são contados para as métricas do cache (cache.gets,
+ * cache.puts), incluindo os servidos pelas cópias locais.
+ * - Leituras em lote ({@link #getAll}) fazem um único MGET.
+ * - Com um {@link AdaptiveTtlPolicy}, evicts e clears contam como escritas
+ * (frequência usada no TTL) e leituras/gravações alimentam a comparação com
+ * o TTL estático.
+ */
+@Slf4j
+public class MetadataAwareCache implements Cache {
+
+    /**
+     * Por quanto tempo a versão mínima registrada em um evict é mantida
+     * (deve superar o tempo do carregamento mais lento).
+     */
+    public static final Duration VERSION_EVICT_TTL = Duration.ofMinutes(5);
+
+    private final RedisCache delegate;
+
+    private final CacheMetadataStore metadataStore;
+
+    private final String keyPrefix;
+
+    private final HotKeyDetector hotKeyDetector;
+
+    private final LocalHotKeyCache hotEntries;
+
+    private final List<LocalCacheTier> localTiers;
+
+    private final AdaptiveTtlPolicy ttlPolicy;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder puts = new LongAdder();
+
+    private final ThreadLocal<EtagCapture> etagCapture = new ThreadLocal<>();
+
+    public MetadataAwareCache(RedisCache delegate, CacheMetadataStore metadataStore) {
+        this(delegate, metadataStore, null, null, List.of(), null);
+    }
+
+    /**
+     * @param localTiers cópias locais usadas pelo writer do RedisCache (CLIENT
+     *                   TRACKING, off-heap); são invalidadas também nas escritas
+     *                   feitas direto pelo {@link CacheMetadataStore}
+     * @param ttlPolicy  TTL adaptativo (null quando o TTL é estático)
+     */
+    public MetadataAwareCache(RedisCache delegate, CacheMetadataStore metadataStore,
+            HotKeyDetector hotKeyDetector, HotKeySettings hotKeySettings, List<LocalCacheTier> localTiers,
+            AdaptiveTtlPolicy ttlPolicy) {
+        this.delegate = delegate;
+        this.metadataStore = metadataStore;
+        this.keyPrefix = delegate.getCacheConfiguration().getKeyPrefixFor(delegate.getName());
+        this.hotKeyDetector = hotKeyDetector;
+        this.hotEntries = hotKeyDetector != null
+                ? new LocalHotKeyCache(hotKeySettings.localTtl(), hotKeySettings.maxLocalEntries())
+                : null;
+        this.localTiers = localTiers;
+        this.ttlPolicy = ttlPolicy;
+    }
+
+    public String getEtag(Object key) {
+        var hot = this.hotEntry(key);
+
+        if (hot != null && hot.etag() != null) {
+            return hot.etag();
+        }
+
+        return this.metadataStore.getEtag(this.keyPrefix, key);
+    }
+
+    /**
+     * Executa o loader e devolve o valor com o ETag do valor que ele leu do
+     * cache (ou gravou nele) para a chave, nesta thread.
+     *
+     * O ETag vem do próprio valor lido/gravado, e não de outra ida ao Redis
+     * depois do carregamento: uma escrita concorrente não faz a resposta sair
+     * com o corpo de um valor e o ETag de outro. Se o loader não passou pela
+     * chave (ex.: Redis indisponível), o ETag é null.
+     */
+    public <T> Loaded<T> load(Object key, Supplier<T> loader) {
+        var previous = this.etagCapture.get();
+        var capture = new EtagCapture(String.valueOf(key));
+
+        this.etagCapture.set(capture);
+
+        try {
+            var value = loader.get();
+            return new Loaded<>(value, capture.etag);
+        } finally {
+            if (previous != null) {
+                this.etagCapture.set(previous);
+            } else {
+                this.etagCapture.remove();
+            }
+        }
+    }
+
+    /**
+     * Quantidade de entradas quentes copiadas localmente.
+     */
+    public int getLocalHotEntryCount() {
+        return this.hotEntries != null ? this.hotEntries.size() : 0;
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    public long getPutCount() {
+        return this.puts.sum();
+    }
+
+    /**
+     * Contabiliza uma leitura feita fora deste objeto (ex.: caminho reativo).
+     */
+    public void recordGet(Object key, boolean hit) {
+        (hit ? this.hits : this.misses).increment();
+
+        if (this.ttlPolicy != null) {
+            this.ttlPolicy.recordGet(this.getName(), key, hit);
+        }
+    }
+
+    /**
+     * Contabiliza uma gravação feita fora deste objeto (ex.: caminho reativo).
+     */
+    public void recordPut(Object key) {
+        this.puts.increment();
+
+        if (this.ttlPolicy != null) {
+            this.ttlPolicy.recordPut(this.getName(), key);
+        }
+    }
+
+    public CachedResponseBody getBody(Object key) {
+        return this.metadataStore.getBody(this.keyPrefix, key);
+    }
+
+    public void putBody(Object key, CachedResponseBody body) {
+        var ttl = this.delegate.getCacheConfiguration().getTtlFunction().getTimeToLive(key, null);
+        this.metadataStore.putBody(this.keyPrefix, key, body, ttl);
+    }
+
+    @Override
+    public String getName() {
+        return this.delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this.delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (this.hotKeyDetector == null) {
+            var fetched = this.fetch(key, this.isCapturing(key));
+            this.captureEtag(key, fetched.value(), fetched.etag());
+            return this.record(key, fetched.value());
+        }
+
+        var hot = this.hotEntries.get(key);
+        var isHot = this.hotKeyDetector.record(this.getName(), key);
+
+        if (hot != null) {
+            this.captureEtag(key, hot.value(), hot.etag());
+            return this.record(key, hot.value());
+        }
+
+        var generation = this.hotEntries.generation();
+        var fetched = this.fetch(key, isHot || this.isCapturing(key));
+        var value = fetched.value();
+
+        if (value != null && value.get() != null && isHot) {
+            // ETag gravado com o próprio valor copiado (não de uma leitura separada)
+            this.hotEntries.pin(key, value, fetched.etag(), generation);
+        }
+
+        this.captureEtag(key, value, fetched.etag());
+
+        return this.record(key, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        if (this.hotKeyDetector == null && !this.isCapturing(key)) {
+            var value = this.delegate.get(key, type);
+            this.recordGet(key, value != null);
+            return value;
+        }
+
+        var wrapper = this.get(key);
+        var value = wrapper != null ? wrapper.get() : null;
+
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var wrapper = this.get(key);
+
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+
+        this.put(key, value);
+
+        return value;
+    }
+
+    /**
+     * Lê várias entradas de uma vez: cópias locais das chaves quentes e um
+     * único MGET no Redis para as demais. Chaves ausentes ficam fora do mapa.
+     *
+     * As cópias do CLIENT TRACKING e off-heap não são consultadas (ficam no
+     * caminho chave a chave do RedisCache).
+     */
+    public <K, V> Map<K, V> getAll(Collection<K> keys, Class<V> type) {
+        var result = new LinkedHashMap<K, V>(keys.size());
+        var remaining = new ArrayList<K>(keys.size());
+
+        for (var key : keys) {
+            if (this.hotKeyDetector != null) {
+                this.hotKeyDetector.record(this.getName(), key);
+            }
+
+            var hot = this.hotEntry(key);
+
+            if (hot != null && hot.value() != null && type.isInstance(hot.value().get())) {
+                this.recordGet(key, true);
+                result.put(key, type.cast(hot.value().get()));
+            } else {
+                remaining.add(key);
+            }
+        }
+
+        var values = this.metadataStore.getValues(this.keyPrefix, remaining);
+
+        for (int i = 0; i < remaining.size(); i++) {
+            var key = remaining.get(i);
+            var bytes = values.get(i);
+
+            this.recordGet(key, bytes != null);
+
+            if (bytes != null) {
+                result.put(key, type.cast(this.deserialize(bytes)));
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return this.delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return this.delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        this.invalidateLocal(key);
+        this.recordPut(key);
+
+        try {
+            this.write(key, value);
+        } finally {
+            this.dropHotEntry(key);
+        }
+    }
+
+    private void write(Object key, Object value) {
+        if (value == null) {
+            this.delegate.put(key, null);
+            return;
+        }
+
+        var bytes = this.serialize(value);
+        var etag = CacheMetadataStore.etagOf(bytes);
+
+        this.captureEtag(key, etag);
+
+        if (value instanceof VersionedValue versioned && versioned.getVersion() != null) {
+            this.putVersioned(key, value, bytes, etag, versioned.getVersion());
+            return;
+        }
+
+        this.metadataStore.putWithEtag(this.keyPrefix, key, bytes, etag, this.ttl(key, value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        this.invalidateLocal(key);
+
+        try {
+            return this.writeIfAbsent(key, value);
+        } finally {
+            this.dropHotEntry(key);
+        }
+    }
+
+    private ValueWrapper writeIfAbsent(Object key, Object value) {
+        if (value == null) {
+            return this.delegate.putIfAbsent(key, null);
+        }
+
+        var bytes = this.serialize(value);
+        var etag = CacheMetadataStore.etagOf(bytes);
+
+        var existing = this.metadataStore.putWithEtagIfAbsent(this.keyPrefix, key, bytes, etag,
+                this.ttl(key, value));
+
+        if (existing == null) {
+            this.captureEtag(key, etag);
+            return null;
+        }
+
+        this.captureEtag(key, CacheMetadataStore.etagOf(existing));
+
+        return new SimpleValueWrapper(this.deserialize(existing));
+    }
+
+    @Override
+    public void evict(Object key) {
+        this.invalidateLocal(key);
+        this.recordWrite(key);
+        this.metadataStore.evict(this.keyPrefix, key);
+        this.delegate.evict(key);
+        this.dropHotEntry(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        this.invalidateLocal(key);
+        this.recordWrite(key);
+        this.metadataStore.evict(this.keyPrefix, key);
+        var evicted = this.delegate.evictIfPresent(key);
+        this.dropHotEntry(key);
+        return evicted;
+    }
+
+    /**
+     * Remove a entrada e passa a recusar valores com versão menor que
+     * {@code version} (use Long.MAX_VALUE após uma exclusão).
+     */
+    public void evict(Object key, long version) {
+        this.invalidateLocal(key);
+        this.recordWrite(key);
+        this.metadataStore.evictVersion(this.keyPrefix, key, version, VERSION_EVICT_TTL);
+        this.dropHotEntry(key);
+    }
+
+    /**
+     * Remove várias entradas, recusando em cada uma valores com versão menor
+     * que a informada (ver {@link #evict(Object, long)}).
+     */
+    public void evictAll(Map<?, Long> versions) {
+        versions.keySet().forEach(key -> {
+            this.invalidateLocal(key);
+            this.recordWrite(key);
+        });
+        this.metadataStore.evictVersions(this.keyPrefix, versions, VERSION_EVICT_TTL);
+        versions.keySet().forEach(this::dropHotEntry);
+    }
+
+    /**
+     * Remove várias entradas de uma vez (um único comando no Redis).
+     */
+    public void evictAll(Collection<?> keys) {
+        keys.forEach(key -> {
+            this.invalidateLocal(key);
+            this.recordWrite(key);
+        });
+        this.metadataStore.evictAll(this.keyPrefix, keys);
+        keys.forEach(this::dropHotEntry);
+    }
+
+    /**
+     * O clear do RedisCache remove todas as chaves com o prefixo do cache,
+     * incluindo as de metadados.
+     */
+    @Override
+    public void clear() {
+        if (this.hotEntries != null) {
+            this.hotEntries.clear();
+        }
+        this.localTiers.forEach(tier -> tier.invalidatePrefix(this.keyPrefix));
+        this.recordClear();
+        this.delegate.clear();
+
+        if (this.hotEntries != null) {
+            this.hotEntries.clear();
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        if (this.hotEntries != null) {
+            this.hotEntries.clear();
+        }
+        this.recordClear();
+        return this.delegate.invalidate();
+    }
+
+    private ValueWrapper record(Object key, ValueWrapper value) {
+        this.recordGet(key, value != null);
+        return value;
+    }
+
+    private void recordWrite(Object key) {
+        if (this.ttlPolicy != null) {
+            this.ttlPolicy.recordWrite(this.getName(), key);
+        }
+    }
+
+    private void recordClear() {
+        if (this.ttlPolicy != null) {
+            this.ttlPolicy.recordClear(this.getName());
+        }
+    }
+
+    private LocalHotKeyCache.Entry hotEntry(Object key) {
+        return this.hotEntries != null ? this.hotEntries.get(key) : null;
+    }
+
+    /**
+     * Descarta as cópias locais da entrada (chave quente, client-side caching e
+     * off-heap).
+     */
+    void invalidateLocal(Object key) {
+        if (this.hotEntries != null) {
+            this.hotEntries.remove(key);
+        }
+        this.localTiers.forEach(tier -> tier.invalidate(this.keyPrefix + key));
+    }
+
+    /**
+     * Descarta a cópia quente depois da escrita no Redis: uma leitura que
+     * começou antes dela não grava a cópia do valor anterior.
+     */
+    private void dropHotEntry(Object key) {
+        if (this.hotEntries != null) {
+            this.hotEntries.remove(key);
+        }
+    }
+
+    private void putVersioned(Object key, Object value, byte[] bytes, String etag, long version) {
+        if (!this.metadataStore.putIfNotOlder(this.keyPrefix, key, bytes, etag, version, this.ttl(key, value))) {
+            log.info("Gravação descartada em {}{}: versão {} é anterior à do cache", this.keyPrefix, key, version);
+        }
+    }
+
+    private Duration ttl(Object key, Object value) {
+        return this.delegate.getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+    }
+
+    /**
+     * Lê o valor; com {@code withEtag}, lê também o ETag armazenado com ele
+     * (um único MGET, sem passar pelas camadas locais do writer). O hash só é
+     * calculado na gravação; uma entrada sem ETag (ex.: gravada por outra
+     * versão da aplicação) tem o ETag calculado dos bytes já lidos.
+     */
+    private Fetched fetch(Object key, boolean withEtag) {
+        if (!withEtag) {
+            return new Fetched(this.delegate.get(key), null);
+        }
+
+        var stored = this.metadataStore.getValueWithEtag(this.keyPrefix, key);
+
+        if (stored == null) {
+            return new Fetched(null, null);
+        }
+
+        var etag = stored.etag() != null ? stored.etag() : CacheMetadataStore.etagOf(stored.value());
+
+        return new Fetched(new SimpleValueWrapper(this.deserialize(stored.value())), etag);
+    }
+
+    private boolean isCapturing(Object key) {
+        var capture = this.etagCapture.get();
+        return capture != null && capture.key.equals(String.valueOf(key));
+    }
+
+    /**
+     * Registra o ETag do valor lido para a chave em {@link #load}.
+     */
+    private void captureEtag(Object key, ValueWrapper value, String etag) {
+        var capture = this.etagCapture.get();
+
+        if (capture == null || !capture.key.equals(String.valueOf(key))) {
+            return;
+        }
+
+        capture.etag = value != null && value.get() != null ? etag : null;
+    }
+
+    private void captureEtag(Object key, String etag) {
+        var capture = this.etagCapture.get();
+
+        if (capture != null && capture.key.equals(String.valueOf(key))) {
+            capture.etag = etag;
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        var buffer = this.delegate.getCacheConfiguration().getValueSerializationPair().write(value);
+        var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private Object deserialize(byte[] bytes) {
+        return this.delegate.getCacheConfiguration().getValueSerializationPair().read(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Valor devolvido pelo loader e o ETag correspondente (null se
+     * desconhecido).
+     */
+    public record Loaded<T>(T value, String etag) {
+    }
+
+    private record Fetched(ValueWrapper value, String etag) {
+    }
+
+    private static final class EtagCapture {
+
+        private final String key;
+
+        private String etag;
+
+        private EtagCapture(String key) {
+            this.key = key;
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.jeanbarcellos.project110.cache;
+
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Métricas padrão de cache (cache.gets com result=hit|miss, cache.puts) para o
+ * {@link MetadataAwareCache}, que o Spring Boot não reconhece como RedisCache.
+ */
+public class MetadataAwareCacheMeterBinder extends CacheMeterBinder<MetadataAwareCache> {
+
+    public MetadataAwareCacheMeterBinder(MetadataAwareCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    public static CacheMeterBinderProvider<MetadataAwareCache> provider() {
+        return MetadataAwareCacheMeterBinder::new;
+    }
+
+    @Override
+    protected Long size() {
+        return null;
+    }
+
+    @Override
+    protected long hitCount() {
+        return this.getCache() != null ? this.getCache().getHitCount() : 0;
+    }
+
+    @Override
+    protected Long missCount() {
+        return this.getCache() != null ? this.getCache().getMissCount() : 0;
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return null;
+    }
+
+    @Override
+    protected long putCount() {
+        return this.getCache() != null ? this.getCache().getPutCount() : 0;
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        Gauge.builder("cache.local.hot.entries", this.getCache(), MetadataAwareCache::getLocalHotEntryCount)
+                .tags(this.getTagsWithCacheName())
+                .description("Entradas quentes copiadas localmente")
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,251 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+/**
+ * RedisCacheManager que decora cada cache com {@link MetadataAwareCache}.
+ */
+public class MetadataRedisCacheManager extends RedisCacheManager {
+
+    private final CacheMetadataStore metadataStore;
+
+    private final HotKeyDetector hotKeyDetector;
+
+    private final HotKeySettings hotKeySettings;
+
+    private final List<LocalCacheTier> localTiers;
+
+    private final AdaptiveTtlPolicy ttlPolicy;
+
+    public MetadataRedisCacheManager(RedisCacheWriter cacheWriter,
+            RedisCacheConfiguration defaultCacheConfiguration,
+            Map<String, RedisCacheConfiguration> initialCacheConfigurations,
+            CacheMetadataStore metadataStore) {
+        this(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations, metadataStore, null, null,
+                List.of(), null);
+    }
+
+    /**
+     * @param hotKeyDetector  detector de chaves quentes (null desativa a cópia local)
+     * @param localTiers      cópias locais usadas pelo cacheWriter (CLIENT TRACKING, off-heap)
+     * @param ttlPolicy       TTL adaptativo usado nas configurações (null quando estático)
+     */
+    public MetadataRedisCacheManager(RedisCacheWriter cacheWriter,
+            RedisCacheConfiguration defaultCacheConfiguration,
+            Map<String, RedisCacheConfiguration> initialCacheConfigurations,
+            CacheMetadataStore metadataStore,
+            HotKeyDetector hotKeyDetector,
+            HotKeySettings hotKeySettings,
+            List<LocalCacheTier> localTiers,
+            AdaptiveTtlPolicy ttlPolicy) {
+        super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations);
+        this.metadataStore = metadataStore;
+        this.hotKeyDetector = hotKeyDetector;
+        this.hotKeySettings = hotKeySettings;
+        this.localTiers = localTiers;
+        this.ttlPolicy = ttlPolicy;
+    }
+
+    /**
+     * Retorna o ETag armazenado para a entrada, ou null se não estiver em cache.
+     */
+    public String getEtag(String cacheName, Object key) {
+        if (this.getCache(cacheName) instanceof MetadataAwareCache cache) {
+            return cache.getEtag(key);
+        }
+        return null;
+    }
+
+    /**
+     * Executa o loader e devolve o valor com o ETag correspondente (ver
+     * {@link MetadataAwareCache#load}).
+     */
+    public <T> MetadataAwareCache.Loaded<T> load(String cacheName, Object key, Supplier<T> loader) {
+        if (this.getCache(cacheName) instanceof MetadataAwareCache cache) {
+            return cache.load(key, loader);
+        }
+        return new MetadataAwareCache.Loaded<>(loader.get(), null);
+    }
+
+    /**
+     * Retorna o corpo HTTP pré-serializado da entrada, ou null se não houver
+     * (ou se ele não corresponder mais ao valor em cache).
+     */
+    public CachedResponseBody getBody(String cacheName, Object key) {
+        if (this.getCache(cacheName) instanceof MetadataAwareCache cache) {
+            return cache.getBody(key);
+        }
+        return null;
+    }
+
+    public void putBody(String cacheName, Object key, CachedResponseBody body) {
+        if (this.getCache(cacheName) instanceof MetadataAwareCache cache) {
+            cache.putBody(key, body);
+        }
+    }
+
+    /**
+     * Remove a entrada registrando a versão mínima aceita em gravações
+     * seguintes (ver {@link MetadataAwareCache#evict(Object, long)}).
+     */
+    public void evict(String cacheName, Object key, long version) {
+        var cache = this.getCache(cacheName);
+
+        if (cache instanceof MetadataAwareCache metadataAwareCache) {
+            metadataAwareCache.evict(key, version);
+        } else if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    /**
+     * Remove várias entradas registrando a versão mínima de cada uma (ver
+     * {@link MetadataAwareCache#evictAll(Map)}).
+     */
+    public void evictAll(String cacheName, Map<?, Long> versions) {
+        var cache = this.getCache(cacheName);
+
+        if (cache instanceof MetadataAwareCache metadataAwareCache) {
+            metadataAwareCache.evictAll(versions);
+        } else if (cache != null) {
+            versions.keySet().forEach(cache::evict);
+        }
+    }
+
+    /**
+     * Remove várias entradas do cache de uma vez.
+     */
+    public void evictAll(String cacheName, Collection<?> keys) {
+        var cache = this.getCache(cacheName);
+
+        if (cache instanceof MetadataAwareCache metadataAwareCache) {
+            metadataAwareCache.evictAll(keys);
+        } else if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+
+    /**
+     * Lê várias entradas do cache de uma vez (ver
+     * {@link MetadataAwareCache#getAll}); chaves ausentes ficam fora do mapa.
+     */
+    public <K, V> Map<K, V> getAll(String cacheName, Collection<K> keys, Class<V> type) {
+        var cache = this.getCache(cacheName);
+
+        if (cache instanceof MetadataAwareCache metadataAwareCache) {
+            return metadataAwareCache.getAll(keys, type);
+        }
+
+        var result = new LinkedHashMap<K, V>();
+
+        if (cache != null) {
+            keys.forEach(key -> {
+                var value = cache.get(key, type);
+                if (value != null) {
+                    result.put(key, value);
+                }
+            });
+        }
+
+        return result;
+    }
+
+    /**
+     * {@link #getAll} para entradas que guardam listas: somente as listas cujos
+     * elementos são todos do tipo informado entram no mapa (as demais contam
+     * como ausentes).
+     */
+    public <K, E> Map<K, List<E>> getAllLists(String cacheName, Collection<K> keys, Class<E> elementType) {
+        var result = new LinkedHashMap<K, List<E>>();
+
+        this.getAll(cacheName, keys, List.class).forEach((key, list) -> {
+            var typed = asListOf(list, elementType);
+            if (typed != null) {
+                result.put(key, typed);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Lista guardada na chave, ou null se ausente ou com elementos de outro
+     * tipo.
+     */
+    public <E> List<E> getList(String cacheName, Object key, Class<E> elementType) {
+        var cache = this.getCache(cacheName);
+
+        return cache != null ? asListOf(cache.get(key, List.class), elementType) : null;
+    }
+
+    public HotKeyDetector getHotKeyDetector() {
+        return this.hotKeyDetector;
+    }
+
+    /**
+     * Configuração (prefixo, serialização, TTL) usada pelo cache.
+     */
+    public RedisCacheConfiguration getConfiguration(String cacheName) {
+        return this.getInitialCacheConfiguration().getOrDefault(cacheName, this.getDefaultCacheConfiguration());
+    }
+
+    /**
+     * Se a chave pertence ao namespace atual de um dos caches configurados
+     * (chaves de outra versão do schema ficam de fora).
+     */
+    public boolean isCurrentKey(String redisKey) {
+        return this.getInitialCacheConfiguration().entrySet().stream()
+                .anyMatch(entry -> redisKey.startsWith(entry.getValue().getKeyPrefixFor(entry.getKey())));
+    }
+
+    /**
+     * TTL configurado para o cache (sem considerar a chave/valor).
+     */
+    public Duration getTtl(String cacheName) {
+        return this.getConfiguration(cacheName).getTtlFunction().getTimeToLive(null, null);
+    }
+
+    /**
+     * Maior TTL que uma entrada do cache pode ter: o configurado ou, com o
+     * TTL adaptativo, o máximo da política.
+     */
+    public Duration getMaxTtl(String cacheName) {
+        var ttl = this.getTtl(cacheName);
+
+        if (this.ttlPolicy == null || ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return ttl;
+        }
+
+        var max = this.ttlPolicy.maxTtl();
+        return max.compareTo(ttl) > 0 ? max : ttl;
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        if (cache instanceof RedisCache redisCache) {
+            cache = new MetadataAwareCache(redisCache, this.metadataStore, this.hotKeyDetector, this.hotKeySettings,
+                    this.localTiers, this.ttlPolicy);
+        }
+        return super.decorateCache(cache);
+    }
+
+    private static <E> List<E> asListOf(List<?> list, Class<E> elementType) {
+        if (list == null || !list.stream().allMatch(elementType::isInstance)) {
+            return null;
+        }
+
+        return list.stream().map(elementType::cast).toList();
+    }
+
+}
@@ -0,0 +1,556 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.jeanbarcellos.core.exception.NotFoundException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Protege cache e banco de consultas por IDs inexistentes (ex.: varredura de
+ * faixas de IDs).
+ *
+ * - Filtro de Bloom por entidade com os IDs existentes: construído a partir
+ * do banco quando o cdc começa a escutar, atualizado nas criações (deste nó e,
+ * pelo cdc, dos demais). Um ID recusado pelo filtro responde 404 sem acessar
+ * Redis nem banco ({@link #check}).
+ * - O filtro só recusa IDs enquanto está em dia com as criações dos demais
+ * nós: cdc conectado e sem notificações recebidas ainda não aplicadas. Sem
+ * cdc, durante uma reconexão ou com um lote pendente, um ID ausente do filtro
+ * segue para o cache negativo e o banco. Resta o atraso de entrega do NOTIFY
+ * (um ID criado em outro nó há milissegundos pode ser recusado).
+ * - Cache negativo: um ID confirmado como inexistente no banco fica marcado no
+ * Redis por um TTL curto ("{products}::missing::10"), consultado somente em um
+ * miss, antes do banco ({@link #checkMissing}). A marca é removida na criação
+ * do ID e pelos evicts/clear do cache.
+ * - Um ID aceito pelo filtro e inexistente no banco é um falso positivo
+ * (inclui IDs excluídos, que o filtro não remove); a taxa observada é
+ * publicada por entidade.
+ */
+@Slf4j
+public class NotFoundGuard {
+
+    private static final String MSG_NOT_FOUND = "%s not found: %s";
+
+    private static final String METRIC_PREFIX = "cache.not.found";
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final MetadataRedisCacheManager cacheManager;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+
+    private final Duration negativeTtl;
+
+    private final long minCapacity;
+
+    private final double falsePositiveRate;
+
+    private final Map<String, EntityFilter> filters = new LinkedHashMap<>();
+
+    // cdc escutando (as criações dos demais nós chegam ao filtro)
+    private volatile boolean changesConnected;
+
+    // Notificações recebidas e ainda não aplicadas (janela do lote)
+    private volatile boolean changesPending;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "not-found-guard");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param negativeTtl       tempo de vida das marcas de ID inexistente
+     * @param minCapacity       capacidade mínima de cada filtro (dimensionado com o dobro dos IDs existentes)
+     * @param falsePositiveRate taxa de falsos positivos desejada
+     */
+    public NotFoundGuard(MetadataRedisCacheManager cacheManager, StringRedisTemplate redisTemplate,
+            ReactiveStringRedisTemplate reactiveRedisTemplate, MeterRegistry meterRegistry, boolean enabled,
+            Duration negativeTtl, long minCapacity, double falsePositiveRate) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.negativeTtl = negativeTtl;
+        this.minCapacity = minCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Registra uma entidade protegida, identificada pelo nome do cache.
+     *
+     * @param entityName nome usado na mensagem de erro (ex.: "Product")
+     * @param idSource   leitura dos IDs existentes, em ordem crescente
+     */
+    public NotFoundGuard register(String cacheName, String entityName, IdSource idSource) {
+        this.filters.put(cacheName, new EntityFilter(cacheName, entityName, idSource));
+        return this;
+    }
+
+    /**
+     * O cdc passou a escutar as alterações (inicialização ou reconexão): os
+     * filtros são reconstruídos a partir do banco e voltam a recusar IDs.
+     */
+    public void changesConnected() {
+        this.resetAll();
+        this.changesConnected = true;
+    }
+
+    /**
+     * O cdc deixou de receber as alterações (conexão perdida ou lote não
+     * aplicado): os filtros deixam de recusar IDs.
+     */
+    public void changesDisconnected() {
+        this.changesConnected = false;
+    }
+
+    /**
+     * Há notificações recebidas e ainda não aplicadas: enquanto isso, os
+     * filtros não recusam IDs.
+     */
+    public void changesPending(boolean pending) {
+        this.changesPending = pending;
+    }
+
+    /**
+     * Se um ID ausente do filtro pode ser recusado.
+     */
+    public boolean isInSync() {
+        return this.changesConnected && !this.changesPending;
+    }
+
+    /**
+     * Recusa (404) um ID que certamente não existe, sem I/O.
+     */
+    public void check(String cacheName, Long id) {
+        var filter = this.filter(cacheName);
+
+        if (filter != null && id != null && !filter.mightContain(id)) {
+            throw filter.exception(id);
+        }
+    }
+
+    /**
+     * Se o ID pode existir (aceito pelo filtro), sem I/O. Usar em leituras em
+     * lote, que descartam os IDs recusados em vez de responder 404.
+     */
+    public boolean mightExist(String cacheName, Long id) {
+        var filter = this.filter(cacheName);
+
+        return filter == null || id == null || filter.mightContain(id);
+    }
+
+    public Mono<Void> checkReactive(String cacheName, Long id) {
+        return Mono.fromRunnable(() -> this.check(cacheName, id));
+    }
+
+    /**
+     * Recusa (404) um ID marcado como inexistente. Usar em um miss, antes de
+     * consultar o banco.
+     */
+    public void checkMissing(String cacheName, Long id) {
+        var filter = this.filter(cacheName);
+
+        if (filter == null) {
+            return;
+        }
+
+        Boolean missing;
+        try {
+            missing = this.redisTemplate.hasKey(this.missingKey(cacheName, id));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao consultar o cache negativo {}::{}", cacheName, id, e);
+            return;
+        }
+
+        if (Boolean.TRUE.equals(missing)) {
+            filter.negativeHits.increment();
+            throw filter.exception(id);
+        }
+    }
+
+    public Mono<Void> checkMissingReactive(String cacheName, Long id) {
+        var filter = this.filter(cacheName);
+
+        if (filter == null) {
+            return Mono.empty();
+        }
+
+        return this.reactiveRedisTemplate.hasKey(this.missingKey(cacheName, id))
+                .onErrorResume(e -> {
+                    log.warn("Falha ao consultar o cache negativo {}::{}", cacheName, id, e);
+                    return Mono.just(false);
+                })
+                .flatMap(missing -> {
+                    if (!missing) {
+                        return Mono.<Void>empty();
+                    }
+                    filter.negativeHits.increment();
+                    return Mono.error(filter.exception(id));
+                });
+    }
+
+    /**
+     * Registra que o ID não existe no banco (marca no cache negativo) e
+     * retorna a exceção a ser lançada.
+     */
+    public NotFoundException notFound(String cacheName, Long id) {
+        var filter = this.filter(cacheName);
+
+        if (filter == null) {
+            return this.exception(cacheName, id);
+        }
+
+        filter.recordNotFound(id);
+
+        try {
+            this.redisTemplate.opsForValue().set(this.missingKey(cacheName, id), "1", this.negativeTtl);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar no cache negativo {}::{}", cacheName, id, e);
+        }
+
+        return filter.exception(id);
+    }
+
+    public <T> Mono<T> notFoundReactive(String cacheName, Long id) {
+        var filter = this.filter(cacheName);
+
+        if (filter == null) {
+            return Mono.error(this.exception(cacheName, id));
+        }
+
+        filter.recordNotFound(id);
+
+        return this.reactiveRedisTemplate.opsForValue()
+                .set(this.missingKey(cacheName, id), "1", this.negativeTtl)
+                .onErrorResume(e -> {
+                    log.warn("Falha ao gravar no cache negativo {}::{}", cacheName, id, e);
+                    return Mono.just(false);
+                })
+                .then(Mono.error(filter.exception(id)));
+    }
+
+    /**
+     * Adiciona IDs criados ao filtro e remove as marcas de inexistente.
+     *
+     * Dentro de uma transação, as marcas são removidas após o commit: uma
+     * leitura concorrente que ainda não enxerga o ID gravaria a marca de novo
+     * depois da remoção.
+     */
+    public void created(String cacheName, Collection<Long> ids) {
+        var filter = this.filter(cacheName);
+
+        if (filter == null || ids.isEmpty()) {
+            return;
+        }
+
+        ids.forEach(filter::put);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            var committed = List.copyOf(ids);
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    NotFoundGuard.this.deleteMissing(cacheName, committed);
+                }
+            });
+            return;
+        }
+
+        this.deleteMissing(cacheName, ids);
+    }
+
+    private void deleteMissing(String cacheName, Collection<Long> ids) {
+        try {
+            this.redisTemplate.delete(ids.stream().map(id -> this.missingKey(cacheName, id)).toList());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao remover do cache negativo {}::{}", cacheName, ids, e);
+        }
+    }
+
+    public void created(String cacheName, Long id) {
+        this.created(cacheName, List.of(id));
+    }
+
+    /**
+     * Descarta o filtro e o reconstrói a partir do banco (alterações em massa
+     * feitas fora da aplicação); até lá nenhum ID é recusado.
+     */
+    public void reset(String cacheName) {
+        var filter = this.filter(cacheName);
+
+        if (filter != null) {
+            filter.reset();
+        }
+    }
+
+    public void resetAll() {
+        if (this.enabled) {
+            this.filters.values().forEach(EntityFilter::reset);
+        }
+    }
+
+    private EntityFilter filter(String cacheName) {
+        return this.enabled ? this.filters.get(cacheName) : null;
+    }
+
+    private NotFoundException exception(String cacheName, Long id) {
+        var filter = this.filters.get(cacheName);
+        return filter != null
+                ? filter.exception(id)
+                : new NotFoundException(String.format(MSG_NOT_FOUND, cacheName, id));
+    }
+
+    private String missingKey(String cacheName, Object id) {
+        return CacheMetadataStore.missingKey(this.cacheManager.getConfiguration(cacheName).getKeyPrefixFor(cacheName),
+                id);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Leitura dos IDs existentes por lotes (keyset).
+     */
+    @FunctionalInterface
+    public interface IdSource {
+
+        List<Long> idsAfter(long id, int limit);
+    }
+
+    /**
+     * Filtro de uma entidade e suas métricas.
+     */
+    private final class EntityFilter {
+
+        private final String cacheName;
+
+        private final String entityName;
+
+        private final IdSource idSource;
+
+        private final Object monitor = new Object();
+
+        private final Counter passed;
+
+        private final Counter rejected;
+
+        private final Counter falsePositives;
+
+        private final Counter negativeHits;
+
+        private final Counter negativeStored;
+
+        // null enquanto não foi construído (nenhum ID é recusado)
+        private volatile BloomFilter current;
+
+        // IDs criados durante a reconstrução (null quando não está reconstruindo)
+        private List<Long> pending;
+
+        // Pedido de reconstrução durante outra: refeita ao final
+        private boolean rebuildRequested;
+
+        EntityFilter(String cacheName, String entityName, IdSource idSource) {
+            this.cacheName = cacheName;
+            this.entityName = entityName;
+            this.idSource = idSource;
+
+            var registry = NotFoundGuard.this.meterRegistry;
+
+            this.passed = Counter.builder(METRIC_PREFIX + ".bloom.checks")
+                    .tag("cache", cacheName).tag("result", "passed").register(registry);
+            this.rejected = Counter.builder(METRIC_PREFIX + ".bloom.checks")
+                    .tag("cache", cacheName).tag("result", "rejected").register(registry);
+            this.falsePositives = Counter.builder(METRIC_PREFIX + ".bloom.false.positives")
+                    .tag("cache", cacheName).register(registry);
+            this.negativeHits = Counter.builder(METRIC_PREFIX + ".negative")
+                    .tag("cache", cacheName).tag("result", "hit").register(registry);
+            this.negativeStored = Counter.builder(METRIC_PREFIX + ".negative")
+                    .tag("cache", cacheName).tag("result", "stored").register(registry);
+
+            // Falsos positivos / IDs inexistentes que chegaram ao filtro
+            Gauge.builder(METRIC_PREFIX + ".bloom.false.positive.rate", this, EntityFilter::observedFalsePositiveRate)
+                    .tag("cache", cacheName).register(registry);
+            Gauge.builder(METRIC_PREFIX + ".bloom.expected.false.positive.rate", this,
+                    filter -> filter.current != null ? filter.current.expectedFalsePositiveRate() : Double.NaN)
+                    .tag("cache", cacheName).register(registry);
+            Gauge.builder(METRIC_PREFIX + ".bloom.ids", this,
+                    filter -> filter.current != null ? filter.current.count() : Double.NaN)
+                    .tag("cache", cacheName).register(registry);
+        }
+
+        boolean mightContain(long id) {
+            var filter = this.current;
+
+            if (filter == null || !NotFoundGuard.this.isInSync()) {
+                return true;
+            }
+
+            if (filter.mightContain(id)) {
+                this.passed.increment();
+                return true;
+            }
+
+            this.rejected.increment();
+            return false;
+        }
+
+        void recordNotFound(long id) {
+            var filter = this.current;
+
+            if (filter != null && filter.mightContain(id)) {
+                this.falsePositives.increment();
+            }
+
+            this.negativeStored.increment();
+        }
+
+        void put(long id) {
+            BloomFilter filter;
+
+            synchronized (this.monitor) {
+                if (this.pending != null) {
+                    this.pending.add(id);
+                }
+                filter = this.current;
+            }
+
+            if (filter != null) {
+                filter.put(id);
+
+                if (filter.count() > filter.capacity()) {
+                    log.info("Filtro de IDs de {} acima da capacidade ({}), reconstruindo", this.cacheName,
+                            filter.capacity());
+                    this.rebuildAsync();
+                }
+            }
+        }
+
+        void reset() {
+            synchronized (this.monitor) {
+                this.current = null;
+            }
+            this.rebuildAsync();
+        }
+
+        void rebuildAsync() {
+            synchronized (this.monitor) {
+                if (this.pending != null) {
+                    // A leitura em andamento pode ser anterior ao pedido
+                    this.rebuildRequested = true;
+                    return;
+                }
+                this.pending = new ArrayList<>();
+            }
+
+            NotFoundGuard.this.executor.submit(this::rebuild);
+        }
+
+        /**
+         * Encerra a reconstrução (chamado com o monitor); agenda outra se
+         * houve um pedido durante ela.
+         */
+        private void finishRebuild() {
+            if (!this.rebuildRequested) {
+                this.pending = null;
+                return;
+            }
+
+            // Mantém os IDs criados até aqui (podem não estar commitados na nova leitura)
+            this.rebuildRequested = false;
+            this.pending = new ArrayList<>(this.pending);
+            NotFoundGuard.this.executor.submit(this::rebuild);
+        }
+
+        NotFoundException exception(Long id) {
+            return new NotFoundException(String.format(MSG_NOT_FOUND, this.entityName, id));
+        }
+
+        private double observedFalsePositiveRate() {
+            var falsePositives = this.falsePositives.count();
+            var negatives = falsePositives + this.rejected.count();
+            return negatives > 0 ? falsePositives / negatives : 0;
+        }
+
+        private void rebuild() {
+            try {
+                var start = System.currentTimeMillis();
+                var ids = new long[BATCH_SIZE];
+                var size = 0;
+
+                long lastId = 0;
+                List<Long> batch;
+
+                do {
+                    batch = this.idSource.idsAfter(lastId, BATCH_SIZE);
+
+                    if (size + batch.size() > ids.length) {
+                        ids = Arrays.copyOf(ids, Math.max(ids.length * 2, size + batch.size()));
+                    }
+                    for (var id : batch) {
+                        ids[size++] = id;
+                    }
+
+                    if (!batch.isEmpty()) {
+                        lastId = batch.get(batch.size() - 1);
+                    }
+                } while (batch.size() == BATCH_SIZE);
+
+                var rebuilt = new BloomFilter(Math.max(NotFoundGuard.this.minCapacity, size * 2L),
+                        NotFoundGuard.this.falsePositiveRate);
+
+                for (int i = 0; i < size; i++) {
+                    rebuilt.put(ids[i]);
+                }
+
+                synchronized (this.monitor) {
+                    this.pending.forEach(rebuilt::put);
+                    // Após um reset, o filtro só volta a ser usado na reconstrução seguinte
+                    if (!this.rebuildRequested || this.current != null) {
+                        this.current = rebuilt;
+                    }
+                    this.finishRebuild();
+                }
+
+                log.info("Filtro de IDs de {} construído: {} ID(s), capacidade {}, em {} ms", this.cacheName, size,
+                        rebuilt.capacity(), System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                log.error("Falha ao construir o filtro de IDs de {}", this.cacheName, e);
+
+                synchronized (this.monitor) {
+                    this.finishRebuild();
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,467 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache local fora do heap, limitado em bytes, para valores serializados
+ * grandes (ex.: listas 'all').
+ *
+ * - Os bytes ficam em slabs de ByteBuffer direto, divididos em blocos de
+ * tamanho fixo; uma entrada ocupa os blocos necessários (não contíguos).
+ * Slabs são alocados sob demanda até o limite e reaproveitados, então o heap
+ * guarda apenas o índice (chave, blocos, expiração).
+ * - Ao faltar espaço a remoção é aproximada: a cada rodada são sorteados
+ * {@value #EVICTION_SAMPLES} blocos ocupados e sai a pior entrada da amostra
+ * (expirada primeiro, depois a menos acessada), até caber o valor novo; com
+ * poucas entradas a amostra é o índice inteiro. Valores acima de
+ * {@code maxEntryBytes} não são armazenados.
+ * - Leituras não usam trava: os blocos são copiados e a entrada é conferida
+ * em seguida (após um acquire fence); se ela foi liberada durante a cópia
+ * (blocos reaproveitados), a leitura vira miss.
+ * - Cada remoção explícita incrementa a geração; {@link #put(String, byte[],
+ * long, long)} descarta o valor se ela mudou desde a leitura na origem.
+ */
+public class OffHeapCache implements LocalCacheTier {
+
+    static final int EVICTION_SAMPLES = 16;
+
+    private final int blockSize;
+
+    private final int blocksPerSlab;
+
+    private final int maxBlocks;
+
+    private final long maxEntryBytes;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Object monitor = new Object();
+
+    private final AtomicLong ticks = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder rejections = new LongAdder();
+
+    // Slabs já alocados (substituído a cada novo slab)
+    private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+
+    // Pilha de blocos livres (guardada pelo monitor)
+    private final int[] freeBlocks;
+
+    // Entrada dona de cada bloco, para a amostragem da remoção (guardado pelo
+    // monitor)
+    private final Entry[] owners;
+
+    // Incrementada (sob o monitor) a cada invalidate/invalidatePrefix
+    private volatile long generation;
+
+    private int freeCount;
+
+    private volatile long usedBytes;
+
+    /**
+     * @param maxBytes      limite de memória (arredondado para slabs inteiros)
+     * @param slabBytes     tamanho de cada ByteBuffer alocado
+     * @param blockSize     unidade de alocação dentro do slab
+     * @param maxEntryBytes maior valor armazenado
+     */
+    public OffHeapCache(long maxBytes, int slabBytes, int blockSize, long maxEntryBytes) {
+        if (blockSize < 64 || slabBytes < blockSize) {
+            throw new IllegalArgumentException("slabBytes must be >= blockSize >= 64");
+        }
+
+        this.blockSize = blockSize;
+        this.blocksPerSlab = slabBytes / blockSize;
+
+        var slabCount = Math.max(1, maxBytes / ((long) this.blocksPerSlab * blockSize));
+        this.maxBlocks = (int) Math.min(Integer.MAX_VALUE - 8, slabCount * this.blocksPerSlab);
+        this.maxEntryBytes = Math.min(maxEntryBytes, (long) this.maxBlocks * blockSize);
+        this.freeBlocks = new int[this.maxBlocks];
+        this.owners = new Entry[this.maxBlocks];
+    }
+
+    /**
+     * Cópia (no heap) do valor armazenado, ou null.
+     */
+    public byte[] get(String key) {
+        var entry = this.entries.get(key);
+
+        if (entry == null) {
+            this.misses.increment();
+            return null;
+        }
+
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            this.remove(key, entry);
+            this.misses.increment();
+            return null;
+        }
+
+        var value = this.read(entry);
+
+        // Blocos liberados (e possivelmente reaproveitados) durante a cópia; o
+        // fence impede que a leitura dos slabs seja reordenada após a conferência
+        VarHandle.acquireFence();
+        if (entry.freed) {
+            this.misses.increment();
+            return null;
+        }
+
+        entry.lastAccess = this.ticks.incrementAndGet();
+        this.hits.increment();
+
+        return value;
+    }
+
+    /**
+     * Armazena o valor até {@code expiresAt} (epoch ms); retorna false se ele
+     * não couber.
+     */
+    public boolean put(String key, byte[] value, long expiresAt) {
+        return this.put(key, value, expiresAt, -1);
+    }
+
+    /**
+     * Geração atual, para {@link #put(String, byte[], long, long)}.
+     */
+    public long generation() {
+        return this.generation;
+    }
+
+    /**
+     * Como {@link #put(String, byte[], long)}, mas descarta o valor se houve
+     * alguma invalidação desde {@code generation} (lida antes de buscar o valor
+     * na origem); {@code -1} não confere.
+     */
+    public boolean put(String key, byte[] value, long expiresAt, long generation) {
+        if (value.length > this.maxEntryBytes) {
+            this.rejections.increment();
+            return false;
+        }
+
+        var needed = this.blocksFor(value.length);
+
+        synchronized (this.monitor) {
+            if (generation >= 0 && this.generation != generation) {
+                return false;
+            }
+
+            var previous = this.entries.remove(key);
+            if (previous != null) {
+                this.free(previous);
+            }
+
+            if (!this.reserve(needed)) {
+                this.rejections.increment();
+                return false;
+            }
+
+            var blocks = new int[needed];
+            for (int i = 0; i < needed; i++) {
+                blocks[i] = this.freeBlocks[--this.freeCount];
+            }
+
+            var entry = new Entry(key, blocks, value.length, expiresAt, this.ticks.incrementAndGet());
+            this.write(entry, value);
+
+            for (var block : blocks) {
+                this.owners[block] = entry;
+            }
+
+            this.usedBytes += (long) needed * this.blockSize;
+            this.entries.put(key, entry);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void invalidate(String key) {
+        synchronized (this.monitor) {
+            this.generation++;
+
+            var entry = this.entries.remove(key);
+            if (entry != null) {
+                this.free(entry);
+            }
+        }
+    }
+
+    @Override
+    public void invalidatePrefix(String prefix) {
+        synchronized (this.monitor) {
+            this.generation++;
+
+            var iterator = this.entries.entrySet().iterator();
+
+            while (iterator.hasNext()) {
+                var entry = iterator.next();
+
+                if (entry.getKey().startsWith(prefix)) {
+                    iterator.remove();
+                    this.free(entry.getValue());
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        this.invalidatePrefix("");
+    }
+
+    /**
+     * Chave, expiração e tamanho das entradas ainda válidas (os bytes são lidos
+     * com {@link #copyTo}).
+     */
+    public List<EntryInfo> entries() {
+        var now = System.currentTimeMillis();
+
+        return this.entries.entrySet().stream()
+                .filter(e -> e.getValue().expiresAt > now)
+                .map(e -> new EntryInfo(e.getKey(), e.getValue().expiresAt, e.getValue().length))
+                .toList();
+    }
+
+    /**
+     * Copia os bytes da entrada direto dos slabs para {@code target} (sem passar
+     * pelo heap), a partir da posição atual; retorna false se a entrada mudou
+     * desde {@link #entries()} (nesse caso a posição do destino é indefinida).
+     */
+    public boolean copyTo(EntryInfo info, ByteBuffer target) {
+        var entry = this.entries.get(info.key());
+
+        if (entry == null || entry.expiresAt != info.expiresAt() || entry.length != info.length()) {
+            return false;
+        }
+
+        var slabs = this.slabs;
+        var position = 0;
+
+        for (var block : entry.blocks) {
+            var length = Math.min(this.blockSize, entry.length - position);
+            target.put(target.position(), slabs[block / this.blocksPerSlab], this.offset(block), length);
+            target.position(target.position() + length);
+            position += length;
+        }
+
+        VarHandle.acquireFence();
+        return !entry.freed;
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Bytes ocupados pelos blocos das entradas.
+     */
+    public long usedBytes() {
+        return this.usedBytes;
+    }
+
+    /**
+     * Memória direta já alocada em slabs.
+     */
+    public long allocatedBytes() {
+        return (long) this.slabs.length * this.blocksPerSlab * this.blockSize;
+    }
+
+    public long maxBytes() {
+        return (long) this.maxBlocks * this.blockSize;
+    }
+
+    public long hitCount() {
+        return this.hits.sum();
+    }
+
+    public long missCount() {
+        return this.misses.sum();
+    }
+
+    public long evictionCount() {
+        return this.evictions.sum();
+    }
+
+    public long rejectionCount() {
+        return this.rejections.sum();
+    }
+
+    private void remove(String key, Entry entry) {
+        synchronized (this.monitor) {
+            if (this.entries.remove(key, entry)) {
+                this.free(entry);
+            }
+        }
+    }
+
+    /**
+     * Garante {@code needed} blocos livres: aloca slabs até o limite e depois
+     * remove a pior entrada de cada amostra (ver {@link #evictionCandidate}).
+     */
+    private boolean reserve(int needed) {
+        while (this.freeCount < needed && this.slabs.length * this.blocksPerSlab < this.maxBlocks) {
+            this.allocateSlab();
+        }
+
+        if (this.freeCount >= needed) {
+            return true;
+        }
+
+        var now = System.currentTimeMillis();
+
+        while (this.freeCount < needed && !this.entries.isEmpty()) {
+            var candidate = this.evictionCandidate(now);
+
+            if (this.entries.remove(candidate.key, candidate)) {
+                this.free(candidate);
+                this.evictions.increment();
+            }
+        }
+
+        return this.freeCount >= needed;
+    }
+
+    /**
+     * Pior entrada (expirada primeiro, depois a menos acessada) entre as donas
+     * de {@value #EVICTION_SAMPLES} blocos sorteados, sem copiar nem ordenar o
+     * índice; entradas maiores têm mais chance de entrar na amostra. Com até
+     * {@value #EVICTION_SAMPLES} entradas, todas são comparadas.
+     */
+    private Entry evictionCandidate(long now) {
+        Entry worst = null;
+
+        if (this.entries.size() <= EVICTION_SAMPLES) {
+            for (var entry : this.entries.values()) {
+                worst = worse(worst, entry, now);
+            }
+        } else {
+            var random = ThreadLocalRandom.current();
+            var allocatedBlocks = this.slabs.length * this.blocksPerSlab;
+
+            // Sem espaço livre suficiente, quase todos os blocos têm dona
+            for (int i = 0; i < EVICTION_SAMPLES || worst == null; i++) {
+                worst = worse(worst, this.owners[random.nextInt(allocatedBlocks)], now);
+            }
+        }
+
+        return worst;
+    }
+
+    private static Entry worse(Entry current, Entry candidate, long now) {
+        if (candidate == null) {
+            return current;
+        }
+        if (current == null) {
+            return candidate;
+        }
+
+        var currentExpired = current.expiresAt <= now;
+        var candidateExpired = candidate.expiresAt <= now;
+
+        if (currentExpired != candidateExpired) {
+            return candidateExpired ? candidate : current;
+        }
+
+        return candidate.lastAccess < current.lastAccess ? candidate : current;
+    }
+
+    private void allocateSlab() {
+        var current = this.slabs;
+        var slabIndex = current.length;
+
+        var slabs = Arrays.copyOf(current, slabIndex + 1);
+        slabs[slabIndex] = ByteBuffer.allocateDirect(this.blocksPerSlab * this.blockSize);
+        this.slabs = slabs;
+
+        // Empilhados em ordem decrescente: os primeiros blocos saem primeiro
+        for (int i = this.blocksPerSlab - 1; i >= 0; i--) {
+            this.freeBlocks[this.freeCount++] = slabIndex * this.blocksPerSlab + i;
+        }
+    }
+
+    private void free(Entry entry) {
+        entry.freed = true;
+
+        for (var block : entry.blocks) {
+            this.owners[block] = null;
+            this.freeBlocks[this.freeCount++] = block;
+        }
+
+        this.usedBytes -= (long) entry.blocks.length * this.blockSize;
+    }
+
+    private void write(Entry entry, byte[] value) {
+        var slabs = this.slabs;
+        var position = 0;
+
+        for (var block : entry.blocks) {
+            var length = Math.min(this.blockSize, value.length - position);
+            slabs[block / this.blocksPerSlab].put(this.offset(block), value, position, length);
+            position += length;
+        }
+    }
+
+    private byte[] read(Entry entry) {
+        var slabs = this.slabs;
+        var value = new byte[entry.length];
+        var position = 0;
+
+        for (var block : entry.blocks) {
+            var length = Math.min(this.blockSize, entry.length - position);
+            slabs[block / this.blocksPerSlab].get(this.offset(block), value, position, length);
+            position += length;
+        }
+
+        return value;
+    }
+
+    private int offset(int block) {
+        return (block % this.blocksPerSlab) * this.blockSize;
+    }
+
+    private int blocksFor(int length) {
+        return Math.max(1, (length + this.blockSize - 1) / this.blockSize);
+    }
+
+    /**
+     * Entrada exportável (ver {@link #entries()}).
+     */
+    public record EntryInfo(String key, long expiresAt, int length) {
+    }
+
+    private static final class Entry {
+
+        private final String key;
+
+        private final int[] blocks;
+
+        private final int length;
+
+        private final long expiresAt;
+
+        private volatile long lastAccess;
+
+        private volatile boolean freed;
+
+        Entry(String key, int[] blocks, int length, long expiresAt, long lastAccess) {
+            this.key = key;
+            this.blocks = blocks;
+            this.length = length;
+            this.expiresAt = expiresAt;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.jeanbarcellos.project110.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Métricas do {@link OffHeapCache} (cache.offheap.*).
+ */
+@RequiredArgsConstructor
+public class OffHeapCacheMeterBinder implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "cache.offheap";
+
+    private final OffHeapCache cache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + ".size", this.cache, OffHeapCache::size)
+                .description("Entradas armazenadas")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".bytes.used", this.cache, OffHeapCache::usedBytes)
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".bytes.allocated", this.cache, OffHeapCache::allocatedBytes)
+                .description("Memória direta alocada em slabs")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".bytes.max", this.cache, OffHeapCache::maxBytes)
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", this.cache, OffHeapCache::hitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", this.cache, OffHeapCache::missCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", this.cache, OffHeapCache::evictionCount)
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".rejections", this.cache, OffHeapCache::rejectionCount)
+                .description("Valores maiores que o limite por entrada ou sem espaço")
+                .register(registry);
+    }
+
+}
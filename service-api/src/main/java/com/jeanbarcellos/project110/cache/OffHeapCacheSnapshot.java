@@ -0,0 +1,233 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Snapshot do {@link OffHeapCache} em arquivo mapeado em memória, para que um
+ * nó reiniciado (deploy) volte a servir hits sem esperar o Redis e o banco.
+ *
+ * - O snapshot é gravado periodicamente e no desligamento, em um arquivo
+ * temporário que substitui o anterior (move atômico): um nó derrubado no meio
+ * da gravação mantém o snapshot anterior.
+ * - Cada entrada guarda a expiração absoluta; na carga as expiradas são
+ * descartadas, então a defasagem máxima é a mesma das cópias em memória (o
+ * TTL do off-heap), inclusive para mudanças feitas com o nó parado.
+ * - As chaves levam a versão do schema do valor (namespace do cache); na
+ * carga são descartadas as entradas de namespaces que não são os atuais
+ * (release anterior com outro DTO). Snapshot corrompido é ignorado por
+ * inteiro.
+ *
+ * Formato: magic, formato, data de criação, quantidade de entradas e, para
+ * cada entrada, chave, expiração, tamanho e bytes.
+ */
+@Slf4j
+public class OffHeapCacheSnapshot {
+
+    private static final int MAGIC = 0x50313130; // "P110"
+
+    private static final int FORMAT_VERSION = 2;
+
+    // magic + formato + criação + quantidade
+    private static final int HEADER_BYTES = Integer.BYTES * 3 + Long.BYTES;
+
+    // tamanho da chave + expiração + tamanho do valor (+ chave e valor)
+    private static final int ENTRY_HEADER_BYTES = Short.BYTES + Long.BYTES + Integer.BYTES;
+
+    private final OffHeapCache cache;
+
+    private final Path path;
+
+    private final Predicate<String> currentKey;
+
+    private final Duration interval;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "offheap-cache-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param currentKey se a chave pertence a um namespace atual (as demais são
+     *                   descartadas na carga)
+     * @param interval   intervalo entre os snapshots periódicos (além do gravado
+     *                   no desligamento)
+     */
+    public OffHeapCacheSnapshot(OffHeapCache cache, Path path, Predicate<String> currentKey, Duration interval) {
+        this.cache = cache;
+        this.path = path;
+        this.currentKey = currentKey;
+        this.interval = interval;
+    }
+
+    /**
+     * Carrega o snapshot (antes de a aplicação receber requisições) e agenda os
+     * seguintes.
+     */
+    @PostConstruct
+    void start() {
+        this.restore();
+
+        var millis = this.interval.toMillis();
+        this.executor.scheduleWithFixedDelay(this::writeQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.executor.shutdownNow();
+        this.writeQuietly();
+    }
+
+    /**
+     * Grava as entradas válidas do cache; retorna a quantidade gravada.
+     */
+    public synchronized int write() throws IOException {
+        var startedAt = System.nanoTime();
+        var entries = this.cache.entries();
+
+        var size = (long) HEADER_BYTES;
+        for (var entry : entries) {
+            size += ENTRY_HEADER_BYTES + entry.key().getBytes(StandardCharsets.UTF_8).length + entry.length();
+        }
+
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot too large: " + size + " bytes");
+        }
+
+        Files.createDirectories(this.path.toAbsolutePath().getParent());
+        var temporary = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+
+        var count = 0;
+
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            buffer.putInt(MAGIC);
+            buffer.putInt(FORMAT_VERSION);
+            buffer.putLong(System.currentTimeMillis());
+            var countPosition = buffer.position();
+            buffer.putInt(0);
+
+            for (var entry : entries) {
+                var mark = buffer.position();
+
+                putBytes(buffer, entry.key().getBytes(StandardCharsets.UTF_8));
+                buffer.putLong(entry.expiresAt());
+                buffer.putInt(entry.length());
+
+                // Entrada alterada ou removida desde a listagem: descartada
+                if (this.cache.copyTo(entry, buffer)) {
+                    count++;
+                } else {
+                    buffer.position(mark);
+                }
+            }
+
+            buffer.putInt(countPosition, count);
+            buffer.force();
+        }
+
+        Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.debug("Snapshot do cache off-heap gravado: {} entradas em {} ms", count,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+        return count;
+    }
+
+    /**
+     * Carrega as entradas do snapshot ainda válidas; retorna a quantidade
+     * carregada (0 se não houver snapshot compatível).
+     */
+    public int restore() {
+        if (!Files.isRegularFile(this.path)) {
+            log.info("Snapshot do cache off-heap não encontrado em {}", this.path);
+            return 0;
+        }
+
+        var startedAt = System.nanoTime();
+        var now = System.currentTimeMillis();
+        int restored = 0, expired = 0, outdated = 0;
+
+        try (var channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                log.warn("Snapshot do cache off-heap ignorado: formato desconhecido em {}", this.path);
+                return 0;
+            }
+
+            buffer.getLong(); // criação
+            var count = buffer.getInt();
+
+            for (int i = 0; i < count; i++) {
+                var key = new String(getBytes(buffer), StandardCharsets.UTF_8);
+                var expiresAt = buffer.getLong();
+                var length = buffer.getInt();
+
+                if (length < 0 || length > buffer.remaining()) {
+                    throw new IllegalArgumentException("Invalid entry length: " + length);
+                }
+
+                var value = new byte[length];
+                buffer.get(value);
+
+                if (expiresAt <= now) {
+                    expired++;
+                } else if (!this.currentKey.test(key)) {
+                    outdated++;
+                } else if (this.cache.put(key, value, expiresAt)) {
+                    restored++;
+                }
+            }
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            log.warn("Snapshot do cache off-heap ignorado: falha ao ler {}", this.path, e);
+            this.cache.clear();
+            return 0;
+        }
+
+        log.info("Snapshot do cache off-heap carregado: {} entradas ({} expiradas e {} de outro namespace"
+                + " descartadas) em {} ms", restored, expired, outdated,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+        return restored;
+    }
+
+    private void writeQuietly() {
+        try {
+            this.write();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao gravar o snapshot do cache off-heap em {}", this.path, e);
+        }
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        var bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
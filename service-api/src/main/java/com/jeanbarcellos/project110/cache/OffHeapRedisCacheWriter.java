@@ -0,0 +1,140 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+/**
+ * RedisCacheWriter que mantém no {@link OffHeapCache} uma cópia dos valores
+ * grandes lidos do Redis.
+ *
+ * - Leituras consultam primeiro a cópia local; em um miss, valores com pelo
+ * menos {@code minValueBytes} são copiados por até {@code ttl}.
+ * - Escritas, remoções e o clear descartam a cópia local depois de alterar o
+ * Redis. A cópia só é gravada se nenhuma invalidação ocorreu desde antes da
+ * leitura no Redis (geração do {@link OffHeapCache}), então um valor antigo
+ * lido em paralelo a uma escrita não volta para a camada local. Nos demais nós
+ * a cópia é descartada pelo evict via cdc ou expira pelo TTL.
+ * - Leituras com TTI (que renovam a expiração) continuam indo ao Redis.
+ */
+public class OffHeapRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+
+    private final OffHeapCache offHeapCache;
+
+    private final int minValueBytes;
+
+    private final Duration ttl;
+
+    public OffHeapRedisCacheWriter(RedisCacheWriter delegate, OffHeapCache offHeapCache, int minValueBytes,
+            Duration ttl) {
+        this.delegate = delegate;
+        this.offHeapCache = offHeapCache;
+        this.minValueBytes = minValueBytes;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        var localKey = new String(key, StandardCharsets.UTF_8);
+
+        var value = this.offHeapCache.get(localKey);
+
+        if (value != null) {
+            return value;
+        }
+
+        var generation = this.offHeapCache.generation();
+        value = this.delegate.get(name, key);
+
+        if (value != null && value.length >= this.minValueBytes) {
+            this.offHeapCache.put(localKey, value, System.currentTimeMillis() + this.ttl.toMillis(), generation);
+        }
+
+        return value;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        return this.delegate.get(name, key, ttl);
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return this.delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        return this.delegate.retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        try {
+            this.delegate.put(name, key, value, ttl);
+        } finally {
+            this.invalidate(key);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        return this.delegate.store(name, key, value, ttl).whenComplete((result, ex) -> this.invalidate(key));
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        try {
+            return this.delegate.putIfAbsent(name, key, value, ttl);
+        } finally {
+            this.invalidate(key);
+        }
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        try {
+            this.delegate.remove(name, key);
+        } finally {
+            this.invalidate(key);
+        }
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        var prefix = new String(pattern, StandardCharsets.UTF_8);
+
+        try {
+            this.delegate.clean(name, pattern);
+        } finally {
+            this.offHeapCache.invalidatePrefix(prefix.endsWith("*") ? prefix.substring(0, prefix.length() - 1) : prefix);
+        }
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        this.delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new OffHeapRedisCacheWriter(this.delegate.withStatisticsCollector(cacheStatisticsCollector),
+                this.offHeapCache, this.minValueBytes, this.ttl);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return this.delegate.getCacheStatistics(cacheName);
+    }
+
+    private void invalidate(byte[] key) {
+        this.offHeapCache.invalidate(new String(key, StandardCharsets.UTF_8));
+    }
+
+}
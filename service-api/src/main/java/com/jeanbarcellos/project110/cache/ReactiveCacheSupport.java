@@ -0,0 +1,138 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Acesso não bloqueante aos mesmos caches usados pelo {@link MetadataRedisCacheManager}.
+ *
+ * - Mesmas chaves (prefixo do cache) e mesmo formato de valor (JSON do
+ * serializer configurado), então os dois caminhos convivem durante a migração.
+ * - Ao gravar um valor também grava o ETag e descarta o corpo pré-serializado,
+ * como o {@link MetadataAwareCache} (inclusive a escrita condicional por versão).
+ * - Falhas no Redis não impedem a leitura: o valor é carregado da origem.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveCacheSupport {
+
+    private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+
+    private final MetadataRedisCacheManager cacheManager;
+
+    private final ObjectMapper objectMapper;
+
+    public JavaType type(Class<?> type) {
+        return this.objectMapper.constructType(type);
+    }
+
+    public JavaType listType(Class<?> elementType) {
+        return this.objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+    }
+
+    public <T> Mono<T> get(String cacheName, Object key, JavaType type) {
+        var redisKey = this.keyPrefix(cacheName) + key;
+
+        return this.redisTemplate.opsForValue().get(redisKey)
+                .flatMap(bytes -> Mono.fromCallable(() -> this.<T>read(bytes, type)))
+                .onErrorResume(e -> {
+                    log.warn("Falha ao ler do cache {}", redisKey, e);
+                    return Mono.empty();
+                })
+                .doOnNext(value -> this.recordGet(cacheName, key, true))
+                .switchIfEmpty(Mono.<T>fromRunnable(() -> this.recordGet(cacheName, key, false)));
+    }
+
+    public Mono<Void> put(String cacheName, Object key, Object value) {
+        // Cópias locais (hot key, off-heap) deste nó ficariam com o valor anterior;
+        // a gravação entra nas métricas e no TTL adaptativo
+        if (this.cacheManager.getCache(cacheName) instanceof MetadataAwareCache cache) {
+            cache.invalidateLocal(key);
+            cache.recordPut(key);
+        }
+
+        var config = this.cacheManager.getConfiguration(cacheName);
+        var keyPrefix = config.getKeyPrefixFor(cacheName);
+
+        var bytes = toBytes(config.getValueSerializationPair().write(value));
+        var etag = CacheMetadataStore.etagOf(bytes);
+        var ttl = config.getTtlFunction().getTimeToLive(key, value);
+
+        if (value instanceof VersionedValue versioned && versioned.getVersion() != null) {
+            return this.putVersioned(keyPrefix, key, bytes, etag, versioned.getVersion(), ttl);
+        }
+
+        // Um único script: nenhum leitor vê o valor novo com o ETag anterior
+        return this.redisTemplate.execute(CacheMetadataStore.PUT_WITH_ETAG,
+                CacheMetadataStore.etagKeys(keyPrefix, key),
+                List.of(bytes, CacheMetadataStore.bytes(etag),
+                        CacheMetadataStore.bytes(CacheMetadataStore.ttlMillis(ttl)), CacheMetadataStore.bytes(0)))
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Falha ao gravar no cache {}{}", keyPrefix, key, e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Mesmo compare-and-set por versão do {@link MetadataAwareCache}.
+     */
+    private Mono<Void> putVersioned(String keyPrefix, Object key, byte[] bytes, String etag, long version,
+            Duration ttl) {
+        return this.redisTemplate.execute(CacheMetadataStore.PUT_IF_NOT_OLDER,
+                CacheMetadataStore.versionedKeys(keyPrefix, key),
+                List.of(bytes, CacheMetadataStore.bytes(etag), CacheMetadataStore.bytes(version),
+                        CacheMetadataStore.bytes(CacheMetadataStore.ttlMillis(ttl))))
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Falha ao gravar no cache {}{}", keyPrefix, key, e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Cache-aside: lê do cache e, em um miss, carrega da origem e grava no
+     * cache.
+     */
+    public <T> Mono<T> getOrLoad(String cacheName, Object key, JavaType type, Supplier<Mono<T>> loader) {
+        return this.<T>get(cacheName, key, type)
+                .switchIfEmpty(Mono.defer(loader)
+                        .flatMap(value -> this.put(cacheName, key, value).thenReturn(value)));
+    }
+
+    /**
+     * As leituras reativas entram nas mesmas métricas do cache bloqueante.
+     */
+    private void recordGet(String cacheName, Object key, boolean hit) {
+        if (this.cacheManager.getCache(cacheName) instanceof MetadataAwareCache cache) {
+            cache.recordGet(key, hit);
+        }
+    }
+
+    private <T> T read(byte[] bytes, JavaType type) throws IOException {
+        return this.objectMapper.readValue(bytes, type);
+    }
+
+    private String keyPrefix(String cacheName) {
+        return this.cacheManager.getConfiguration(cacheName).getKeyPrefixFor(cacheName);
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Captura o corpo das respostas marcadas pelo
+ * {@link ResponseBodyCacheInterceptor} (miss) e o armazena no cache, já
+ * serializado e opcionalmente comprimido.
+ *
+ * O corpo é vinculado ao ETag da resposta; se o valor em cache mudar, o corpo
+ * armazenado deixa de ser servido.
+ *
+ * Somente a representação padrão (JSON) é armazenada: é a servida para
+ * Accept genérico (qualquer tipo), e as demais (ex.: protobuf) são baratas de
+ * gerar.
+ *
+ * - Só bufferiza os GETs cujo handler é marcado com
+ * {@link CacheableResponseBody}; as demais respostas, inclusive as em
+ * streaming, passam direto.
+ * - O filtro roda antes do DispatcherServlet e não repete a busca do handler:
+ * os padrões de URL dos GETs são lidos uma vez do HandlerMapping, já
+ * marcados, e a requisição é comparada com o padrão mais específico que a
+ * atende (ex.: "/products/export" vence "/products/{id}").
+ * - Em um handler assíncrono, o corpo é copiado (e armazenado) somente ao
+ * final do dispatch assíncrono, como no ShallowEtagHeaderFilter.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ResponseBodyCacheFilter extends OncePerRequestFilter {
+
+    private final MetadataRedisCacheManager cacheManager;
+
+    // Resolvido no primeiro uso: o HandlerMapping é criado depois do filtro
+    private final Supplier<RequestMappingHandlerMapping> handlerMapping;
+
+    private final boolean gzip;
+
+    // Padrões dos GETs, do mais específico ao mais genérico (lidos no primeiro uso)
+    private volatile List<Route> routes;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || !this.isCacheableHandler(request);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // No dispatch assíncrono, a resposta já é o wrapper do dispatch inicial
+        var wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        var responseToUse = wrapper != null ? response : new ContentCachingResponseWrapper(response);
+
+        try {
+            filterChain.doFilter(request, responseToUse);
+        } finally {
+            if (!this.isAsyncStarted(request)) {
+                this.complete(request, WebUtils.getNativeResponse(responseToUse,
+                        ContentCachingResponseWrapper.class));
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, ContentCachingResponseWrapper wrapper) throws IOException {
+        if (request.getAttribute(ResponseBodyCacheInterceptor.ATTRIBUTE_TARGET)
+                instanceof ResponseBodyCacheInterceptor.Target target) {
+            this.store(target, wrapper);
+        }
+
+        wrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Se o handler da requisição é marcado com {@link CacheableResponseBody}.
+     */
+    boolean isCacheableHandler(HttpServletRequest request) {
+        var previousPath = request.getAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE);
+
+        try {
+            var path = ServletRequestPathUtils.parseAndCache(request).pathWithinApplication();
+
+            for (var route : this.routes()) {
+                if (route.pattern().matches(path)) {
+                    return route.cacheable();
+                }
+            }
+
+            return false;
+        } finally {
+            request.setAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE, previousPath);
+        }
+    }
+
+    private List<Route> routes() {
+        var current = this.routes;
+
+        if (current == null) {
+            current = this.routes = routes(this.handlerMapping.get());
+        }
+
+        return current;
+    }
+
+    /**
+     * Padrões dos GETs, do mais específico ao mais genérico. Um padrão
+     * compartilhado por mais de um handler (ex.: produces diferentes) é
+     * marcado se algum deles for: o interceptor decide o que armazenar.
+     */
+    static List<Route> routes(RequestMappingHandlerMapping handlerMapping) {
+        var cacheable = new HashMap<PathPattern, Boolean>();
+
+        for (var entry : handlerMapping.getHandlerMethods().entrySet()) {
+            var methods = entry.getKey().getMethodsCondition().getMethods();
+
+            if (!methods.isEmpty() && !methods.contains(RequestMethod.GET)) {
+                continue;
+            }
+
+            var marked = entry.getValue().hasMethodAnnotation(CacheableResponseBody.class);
+
+            for (var pattern : entry.getKey().getPatternValues()) {
+                cacheable.merge(PathPatternParser.defaultInstance.parse(pattern), marked, Boolean::logicalOr);
+            }
+        }
+
+        return cacheable.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(PathPattern.SPECIFICITY_COMPARATOR))
+                .map(entry -> new Route(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private void store(ResponseBodyCacheInterceptor.Target target, ContentCachingResponseWrapper wrapper) {
+        var etag = wrapper.getHeader(HttpHeaders.ETAG);
+
+        if (wrapper.getStatus() != HttpStatus.OK.value()
+                || etag == null
+                || !isDefaultRepresentation(wrapper.getContentType())
+                || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return;
+        }
+
+        try {
+            var payload = wrapper.getContentAsByteArray();
+
+            if (this.gzip) {
+                payload = gzip(payload);
+            }
+
+            this.cacheManager.putBody(target.cacheName(), target.key(),
+                    new CachedResponseBody(etag, this.gzip, wrapper.getContentType(), payload));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao armazenar corpo no cache {}::{}", target.cacheName(), target.key(), e);
+        }
+    }
+
+    private static boolean isDefaultRepresentation(String contentType) {
+        try {
+            return contentType != null
+                    && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        var out = new ByteArrayOutputStream(payload.length / 4 + 64);
+        try (var gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(payload);
+        }
+        return out.toByteArray();
+    }
+
+    record Route(PathPattern pattern, boolean cacheable) {
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache de resposta: em um hit escreve os bytes armazenados direto no socket,
+ * sem passar pelo controller, pelo service e pelo Jackson.
+ *
+ * Em um miss apenas marca a requisição para que o
+ * {@link ResponseBodyCacheFilter} armazene o corpo gerado. O corpo armazenado
+ * só é servido quando o tipo preferido no Accept é compatível com ele (um
+ * cliente que prefere protobuf passa pelo controller).
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ResponseBodyCacheInterceptor implements HandlerInterceptor {
+
+    public static final String ATTRIBUTE_TARGET = ResponseBodyCacheInterceptor.class.getName() + ".target";
+
+    private static final String ENCODING_GZIP = "gzip";
+
+    private final MetadataRedisCacheManager cacheManager;
+
+    private final HttpCacheSupport httpCacheSupport;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        var annotation = handlerMethod.getMethodAnnotation(CacheableResponseBody.class);
+
+        if (annotation == null) {
+            return true;
+        }
+
+        var key = resolveKey(annotation, request);
+
+        if (key == null) {
+            return true;
+        }
+
+        var target = new Target(annotation.cacheName(), key);
+
+        var body = this.findBody(target);
+
+        if (body == null) {
+            request.setAttribute(ATTRIBUTE_TARGET, target);
+            return true;
+        }
+
+        if (!isAcceptable(request, body.contentType())) {
+            return true;
+        }
+
+        this.writeHit(request, rawResponse(response), target, body);
+
+        return false;
+    }
+
+    private void writeHit(HttpServletRequest request, HttpServletResponse response, Target target,
+            CachedResponseBody body) throws IOException {
+
+        response.setHeader(HttpHeaders.ETAG, body.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                this.httpCacheSupport.cacheControl().getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (HttpCacheSupport.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), body.etag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        var payload = body.payload();
+
+        if (body.gzip()) {
+            if (acceptsGzip(request)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, ENCODING_GZIP);
+            } else {
+                payload = gunzip(payload);
+            }
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(body.contentType());
+        response.setContentLength(payload.length);
+        response.getOutputStream().write(payload);
+        response.flushBuffer();
+    }
+
+    private CachedResponseBody findBody(Target target) {
+        try {
+            return this.cacheManager.getBody(target.cacheName(), target.key());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao obter corpo do cache {}::{}", target.cacheName(), target.key(), e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object resolveKey(CacheableResponseBody annotation, HttpServletRequest request) {
+        if (StringUtils.hasText(annotation.key())) {
+            // Chave fixa vale apenas para a requisição sem parâmetros
+            return request.getQueryString() == null ? annotation.key() : null;
+        }
+
+        var variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+
+        var value = variables != null ? variables.get(annotation.keyVariable()) : null;
+
+        return value != null ? annotation.keyPrefix() + value : null;
+    }
+
+    /**
+     * Se o tipo preferido pelo cliente (primeiro do Accept com a maior
+     * qualidade) é compatível com o corpo armazenado.
+     */
+    static boolean isAcceptable(HttpServletRequest request, String contentType) {
+        var accept = request.getHeader(HttpHeaders.ACCEPT);
+
+        if (!StringUtils.hasText(accept)) {
+            return true;
+        }
+
+        List<MediaType> candidates;
+        try {
+            candidates = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+
+        MediaType preferred = null;
+
+        for (var candidate : candidates) {
+            if (preferred == null || candidate.getQualityValue() > preferred.getQualityValue()) {
+                preferred = candidate;
+            }
+        }
+
+        return preferred == null || preferred.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    static boolean acceptsGzip(HttpServletRequest request) {
+        var acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains(ENCODING_GZIP);
+    }
+
+    private static byte[] gunzip(byte[] payload) throws IOException {
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Em um hit escreve na resposta original, evitando a cópia pelo buffer do
+     * {@link ContentCachingResponseWrapper}.
+     */
+    private static HttpServletResponse rawResponse(HttpServletResponse response) {
+        if (response instanceof ContentCachingResponseWrapper wrapper) {
+            return (HttpServletResponse) wrapper.getResponse();
+        }
+        return response;
+    }
+
+    public record Target(String cacheName, Object key) {
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+/**
+ * RedisCacheWriter que faz as leituras pelo {@link ClientSideCache}.
+ *
+ * As escritas vão para o writer original e descartam a cópia local da chave.
+ * Leituras com TTI (que renovam a expiração) continuam indo ao Redis, assim
+ * como todas as leituras enquanto a conexão com tracking está fora do ar.
+ */
+public class TrackingRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+
+    private final ClientSideCache clientSideCache;
+
+    public TrackingRedisCacheWriter(RedisCacheWriter delegate, ClientSideCache clientSideCache) {
+        this.delegate = delegate;
+        this.clientSideCache = clientSideCache;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        if (!this.clientSideCache.isTracking()) {
+            return this.delegate.get(name, key);
+        }
+
+        return this.clientSideCache.get(key);
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        return this.delegate.get(name, key, ttl);
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return this.delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        return this.delegate.retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        this.invalidate(key);
+        this.delegate.put(name, key, value, ttl);
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        this.invalidate(key);
+        return this.delegate.store(name, key, value, ttl);
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        this.invalidate(key);
+        return this.delegate.putIfAbsent(name, key, value, ttl);
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        this.invalidate(key);
+        this.delegate.remove(name, key);
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        var prefix = new String(pattern, StandardCharsets.UTF_8);
+        this.clientSideCache.invalidatePrefix(prefix.endsWith("*") ? prefix.substring(0, prefix.length() - 1) : prefix);
+        this.delegate.clean(name, pattern);
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        this.delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new TrackingRedisCacheWriter(this.delegate.withStatisticsCollector(cacheStatisticsCollector),
+                this.clientSideCache);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return this.delegate.getCacheStatistics(cacheName);
+    }
+
+    private void invalidate(byte[] key) {
+        this.clientSideCache.invalidate(new String(key, StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serializer JSON de um cache cujo valor é um tipo conhecido ou uma lista
+ * dele (ex.: ProductResponse e as listas 'all' e 'category:{id}').
+ *
+ * O JSON é gravado sem informação de tipo (o mesmo lido pelo
+ * {@link ReactiveCacheSupport}); na leitura o tipo é escolhido pela forma do
+ * JSON: array vira lista do tipo, objeto vira o próprio tipo.
+ */
+public class TypedJsonRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final ObjectMapper objectMapper;
+
+    private final JavaType type;
+
+    private final JavaType listType;
+
+    public TypedJsonRedisSerializer(ObjectMapper objectMapper, Class<?> type) {
+        this.objectMapper = objectMapper;
+        this.type = objectMapper.constructType(type);
+        this.listType = objectMapper.getTypeFactory().constructCollectionType(List.class, type);
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (value == null) {
+            return EMPTY;
+        }
+
+        try {
+            return this.objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Could not write JSON: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try {
+            return this.objectMapper.readValue(bytes, isArray(bytes) ? this.listType : this.type);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isArray(byte[] bytes) {
+        for (var b : bytes) {
+            if (!Character.isWhitespace(b)) {
+                return b == '[';
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.jeanbarcellos.project110.cache;
+
+/**
+ * Valor de cache que carrega a versão (@Version) do registro de origem.
+ *
+ * O {@link MetadataAwareCache} só grava o valor se a versão não for menor que
+ * a última conhecida para a chave.
+ */
+public interface VersionedValue {
+
+    Long getVersion();
+
+}
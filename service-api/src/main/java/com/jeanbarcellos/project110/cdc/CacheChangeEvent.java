@@ -0,0 +1,53 @@
+package com.jeanbarcellos.project110.cdc;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Notificação de alteração publicada pelos triggers do banco
+ * (ver V202610191300__create_cache_change_notify_triggers.sql).
+ *
+ * @param seq         sequência crescente de publicação
+ * @param table       tabela alterada (product, category, person)
+ * @param op          INSERT, UPDATE, DELETE ou TRUNCATE
+ * @param ids         IDs alterados; null quando a tabela inteira deve ser invalidada
+ * @param versions    versão de cada ID, na ordem de {@code ids} (INSERT e UPDATE; null em DELETE)
+ * @param categoryIds categorias afetadas (somente product)
+ */
+public record CacheChangeEvent(
+        long seq,
+        String table,
+        String op,
+        List<Long> ids,
+        List<Long> versions,
+        @JsonProperty("category_ids") List<Long> categoryIds) {
+
+    /**
+     * Canal do pg_notify nos triggers (fixo nas migrations).
+     */
+    public static final String CHANNEL = "project110_cache_change";
+
+    public static final String TABLE_PRODUCT = "product";
+    public static final String TABLE_CATEGORY = "category";
+    public static final String TABLE_PERSON = "person";
+
+    public static final String OP_DELETE = "DELETE";
+
+    public boolean isWholeTable() {
+        return this.ids == null;
+    }
+
+    /**
+     * Versão mínima aceita no cache para o i-ésimo ID: a nova versão, ou
+     * qualquer versão recusada após uma exclusão; null sem versão.
+     */
+    public Long minVersion(int index) {
+        if (OP_DELETE.equals(this.op)) {
+            return Long.MAX_VALUE;
+        }
+
+        return this.versions != null && index < this.versions.size() ? this.versions.get(index) : null;
+    }
+
+}
@@ -0,0 +1,266 @@
+package com.jeanbarcellos.project110.cdc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeanbarcellos.project110.cache.NotFoundGuard;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consome as notificações de alteração do banco (LISTEN/NOTIFY) e as repassa
+ * em lotes ao {@link CacheInvalidationHandler}.
+ *
+ * - Cada nó mantém uma conexão dedicada (fora do pool) escutando o canal
+ * {@link CacheChangeEvent#CHANNEL}.
+ * - As notificações são agrupadas por uma janela curta (ou até o tamanho
+ * máximo do lote) e aplicadas em ordem de publicação, em uma única thread.
+ * - Em caso de falha a conexão é refeita com backoff exponencial. Como as
+ * notificações enviadas enquanto a conexão estava fora são perdidas, todos os
+ * caches são limpos após a reconexão.
+ * - O {@link NotFoundGuard} é avisado da conexão, da queda e dos lotes
+ * pendentes: o filtro de IDs só recusa IDs enquanto está em dia.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app-config.cache.cdc.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheChangeListener {
+
+    private static final String APPLICATION_NAME = "project110-cache-change-listener";
+
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long KEEPALIVE_INTERVAL_MS = 30_000;
+    private static final int KEEPALIVE_TIMEOUT_SECONDS = 5;
+    private static final long MIN_RECONNECT_BACKOFF_MS = 500;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final CacheInvalidationHandler handler;
+
+    private final NotFoundGuard notFoundGuard;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app-config.cache.cdc.batch-window:50}")
+    private long batchWindowMs;
+
+    @Value("${app-config.cache.cdc.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${app-config.cache.cdc.max-reconnect-backoff:30000}")
+    private long maxReconnectBackoffMs;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    private long lastSeq;
+
+    // Um lote não pôde ser aplicado: limpa tudo na próxima oportunidade
+    private boolean invalidateAllPending;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (this.running) {
+            return;
+        }
+
+        this.running = true;
+        this.thread = new Thread(this::run, "cache-change-listener");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        this.running = false;
+
+        if (this.thread != null) {
+            this.thread.interrupt();
+            try {
+                this.thread.join(POLL_TIMEOUT_MS * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        var backoff = MIN_RECONNECT_BACKOFF_MS;
+        var connectedBefore = false;
+
+        while (this.running) {
+            try (var connection = this.connect()) {
+                log.info("Escutando alterações do banco no canal '{}'", CacheChangeEvent.CHANNEL);
+
+                if (connectedBefore) {
+                    this.invalidateAllPending = true;
+                } else {
+                    this.notFoundGuard.changesConnected();
+                }
+
+                connectedBefore = true;
+                backoff = MIN_RECONNECT_BACKOFF_MS;
+
+                this.listen(connection);
+            } catch (SQLException | RuntimeException e) {
+                this.notFoundGuard.changesDisconnected();
+                this.notFoundGuard.changesPending(false);
+
+                if (!this.running) {
+                    break;
+                }
+
+                log.warn("Falha na conexão de notificações ({}); nova tentativa em {} ms", e.getMessage(), backoff);
+
+                if (!this.sleep(backoff)) {
+                    break;
+                }
+
+                backoff = Math.min(backoff * 2, this.maxReconnectBackoffMs);
+            }
+        }
+
+        log.info("Listener de alterações do banco finalizado");
+    }
+
+    private Connection connect() throws SQLException {
+        var properties = new Properties();
+        properties.setProperty("user", this.dataSourceProperties.determineUsername());
+        properties.setProperty("password", this.dataSourceProperties.determinePassword());
+        properties.setProperty("ApplicationName", APPLICATION_NAME);
+        properties.setProperty("tcpKeepAlive", "true");
+
+        var connection = DriverManager.getConnection(this.dataSourceProperties.determineUrl(), properties);
+
+        try (var statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CacheChangeEvent.CHANNEL);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+
+        return connection;
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        var pgConnection = connection.unwrap(PGConnection.class);
+
+        var batch = new ArrayList<CacheChangeEvent>();
+        var batchStart = 0L;
+        var lastCheck = System.currentTimeMillis();
+
+        while (this.running) {
+            this.retryInvalidateAll();
+
+            var timeout = batch.isEmpty()
+                    ? POLL_TIMEOUT_MS
+                    : (int) Math.max(1, batchStart + this.batchWindowMs - System.currentTimeMillis());
+
+            var notifications = pgConnection.getNotifications(timeout);
+            var now = System.currentTimeMillis();
+
+            if (notifications != null) {
+                for (var notification : notifications) {
+                    var event = this.parse(notification);
+
+                    if (event != null) {
+                        if (batch.isEmpty()) {
+                            batchStart = now;
+                            this.notFoundGuard.changesPending(true);
+                        }
+                        batch.add(event);
+                    }
+                }
+            }
+
+            if (!batch.isEmpty() && (now - batchStart >= this.batchWindowMs || batch.size() >= this.maxBatchSize)) {
+                this.flush(batch);
+                batch.clear();
+                this.notFoundGuard.changesPending(false);
+            }
+
+            // Detecta conexões mortas enquanto não chegam notificações
+            if (now - lastCheck >= KEEPALIVE_INTERVAL_MS) {
+                if (!connection.isValid(KEEPALIVE_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Notification connection is no longer valid");
+                }
+                lastCheck = now;
+            }
+        }
+    }
+
+    private void flush(List<CacheChangeEvent> batch) {
+        batch.sort(Comparator.comparingLong(CacheChangeEvent::seq));
+
+        var first = batch.get(0).seq();
+        if (first <= this.lastSeq) {
+            log.debug("Notificação fora de ordem: seq={} (última aplicada: {})", first, this.lastSeq);
+        }
+        this.lastSeq = Math.max(this.lastSeq, batch.get(batch.size() - 1).seq());
+
+        try {
+            this.handler.apply(batch);
+        } catch (RuntimeException e) {
+            log.error("Falha ao aplicar invalidações (seq {}..{})", first, this.lastSeq, e);
+            this.invalidateAllPending = true;
+            this.notFoundGuard.changesDisconnected();
+        }
+    }
+
+    private void retryInvalidateAll() {
+        if (!this.invalidateAllPending) {
+            return;
+        }
+
+        try {
+            this.handler.invalidateAll();
+            this.invalidateAllPending = false;
+            this.notFoundGuard.changesConnected();
+        } catch (RuntimeException e) {
+            log.error("Falha ao limpar os caches", e);
+            this.sleep(MIN_RECONNECT_BACKOFF_MS);
+        }
+    }
+
+    private CacheChangeEvent parse(PGNotification notification) {
+        try {
+            return this.objectMapper.readValue(notification.getParameter(), CacheChangeEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Notificação inválida no canal '{}': {}", notification.getName(), notification.getParameter());
+            this.invalidateAllPending = true;
+            this.notFoundGuard.changesDisconnected();
+            return null;
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
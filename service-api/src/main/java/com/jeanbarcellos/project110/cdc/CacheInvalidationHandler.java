@@ -0,0 +1,277 @@
+package com.jeanbarcellos.project110.cdc;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.cache.NotFoundGuard;
+import com.jeanbarcellos.project110.entity.Category;
+import com.jeanbarcellos.project110.entity.Product;
+import com.jeanbarcellos.project110.repository.CategoryRepository;
+import com.jeanbarcellos.project110.search.ProductSearchIndexer;
+import com.jeanbarcellos.project110.service.CategoryService;
+import com.jeanbarcellos.project110.service.CategoryStatsService;
+import com.jeanbarcellos.project110.service.PersonService;
+import com.jeanbarcellos.project110.service.ProductService;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Traduz um lote de notificações de alteração do banco em invalidações de
+ * cache.
+ *
+ * - As notificações do lote são agrupadas por tabela e os IDs deduplicados;
+ * cada cache recebe um único DEL com todas as chaves afetadas.
+ * - Invalida também o cache de 2º nível do Hibernate e o índice de busca,
+ * que não enxergam alterações feitas fora da aplicação.
+ * - Quando a notificação não traz IDs (TRUNCATE, carga em massa) o cache
+ * inteiro da tabela é limpo.
+ * - Cada ID é removido com a versão informada na notificação (ou qualquer
+ * versão, após uma exclusão) como mínima aceita: um carregamento que leu a
+ * linha antes da alteração não grava o valor antigo depois do evict.
+ * - IDs inseridos (inclusive por outros nós) entram no filtro de IDs do
+ * {@link NotFoundGuard}; alterações em massa reconstroem o filtro.
+ * - As estatísticas por categoria são invalidadas somente para as categorias
+ * afetadas (categorias dos produtos alterados ou categorias alteradas).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationHandler {
+
+    private static final String KEY_ALL = "all";
+
+    private static final String OP_INSERT = "INSERT";
+
+    private final MetadataRedisCacheManager cacheManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ProductService productService;
+
+    private final ProductSearchIndexer searchIndexer;
+
+    private final CategoryRepository categoryRepository;
+
+    private final NotFoundGuard notFoundGuard;
+
+    private final CategoryStatsService categoryStatsService;
+
+    public void apply(List<CacheChangeEvent> events) {
+        var products = new Changes();
+        var categories = new Changes();
+        var persons = new Changes();
+        var productCategoryIds = new LinkedHashSet<Long>();
+
+        for (var event : events) {
+            switch (event.table()) {
+                case CacheChangeEvent.TABLE_PRODUCT -> {
+                    products.add(event);
+                    if (event.categoryIds() != null) {
+                        productCategoryIds.addAll(event.categoryIds());
+                    }
+                }
+                case CacheChangeEvent.TABLE_CATEGORY -> categories.add(event);
+                case CacheChangeEvent.TABLE_PERSON -> persons.add(event);
+                default -> log.warn("Notificação de tabela desconhecida: {}", event.table());
+            }
+        }
+
+        log.info("Invalidação (cdc): {} notificação(ões); product={}, category={}, person={}",
+                events.size(), products, categories, persons);
+
+        this.evictQueryCache();
+        this.invalidateProducts(products, productCategoryIds);
+        this.invalidateCategories(categories);
+        this.invalidatePersons(persons);
+    }
+
+    /**
+     * Limpa todos os caches (ex.: notificações perdidas durante uma reconexão).
+     */
+    public void invalidateAll() {
+        log.warn("Invalidação (cdc): limpando todos os caches");
+
+        var cache = this.sessionFactory().getCache();
+        cache.evictEntityData(Product.class);
+        cache.evictEntityData(Category.class);
+        this.evictQueryCache();
+
+        this.clear(ProductService.CACHE_NAME);
+        this.clear(ProductService.CACHE_NAME_FILTER);
+        this.clear(CategoryService.CACHE_NAME);
+        this.clear(PersonService.CACHE_NAME);
+        this.clear(CategoryStatsService.CACHE_NAME);
+
+        this.searchIndexer.rebuildAsync();
+    }
+
+    private void invalidateProducts(Changes changes, Set<Long> categoryIds) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        var cache = this.sessionFactory().getCache();
+
+        if (changes.all) {
+            cache.evictEntityData(Product.class);
+            this.clear(ProductService.CACHE_NAME);
+            this.clear(ProductService.CACHE_NAME_FILTER);
+            this.clear(CategoryStatsService.CACHE_NAME);
+            this.searchIndexer.rebuildAsync();
+            this.notFoundGuard.reset(ProductService.CACHE_NAME);
+            return;
+        }
+
+        changes.ids.forEach(id -> cache.evictEntityData(Product.class, id));
+        this.notFoundGuard.created(ProductService.CACHE_NAME, changes.inserted);
+
+        var keys = changes.unversionedKeys();
+        categoryIds.forEach(categoryId -> keys.add(ProductService.CACHE_KEY_CATEGORY_PREFIX + categoryId));
+
+        this.cacheManager.evictAll(ProductService.CACHE_NAME, changes.versions);
+        this.cacheManager.evictAll(ProductService.CACHE_NAME, keys);
+        this.clear(ProductService.CACHE_NAME_FILTER);
+        this.categoryStatsService.evict(categoryIds);
+
+        this.searchIndexer.reindex(changes.ids);
+    }
+
+    private void invalidateCategories(Changes changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        var cache = this.sessionFactory().getCache();
+
+        if (changes.all) {
+            cache.evictEntityData(Category.class);
+            this.clear(CategoryService.CACHE_NAME);
+            // Os produtos exibem o nome da categoria
+            this.clear(ProductService.CACHE_NAME);
+            this.clear(ProductService.CACHE_NAME_FILTER);
+            this.clear(CategoryStatsService.CACHE_NAME);
+            this.searchIndexer.rebuildAsync();
+            this.notFoundGuard.reset(CategoryService.CACHE_NAME);
+            return;
+        }
+
+        changes.ids.forEach(id -> cache.evictEntityData(Category.class, id));
+        this.notFoundGuard.created(CategoryService.CACHE_NAME, changes.inserted);
+
+        this.cacheManager.evictAll(CategoryService.CACHE_NAME, changes.versions);
+        this.cacheManager.evictAll(CategoryService.CACHE_NAME, changes.unversionedKeys());
+
+        changes.ids.forEach(this.productService::evictByCategory);
+        this.categoryStatsService.evict(changes.ids);
+
+        this.categoryRepository.findAllById(changes.ids)
+                .forEach(category -> this.searchIndexer.updateCategoryName(category.getId(), category.getName()));
+    }
+
+    private void invalidatePersons(Changes changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        if (changes.all) {
+            this.clear(PersonService.CACHE_NAME);
+            this.notFoundGuard.reset(PersonService.CACHE_NAME);
+            return;
+        }
+
+        this.notFoundGuard.created(PersonService.CACHE_NAME, changes.inserted);
+
+        this.cacheManager.evictAll(PersonService.CACHE_NAME, changes.versions);
+        this.cacheManager.evictAll(PersonService.CACHE_NAME, changes.unversionedKeys());
+    }
+
+    /**
+     * O cache de consultas só é invalidado pelo Hibernate para escritas feitas
+     * por ele mesmo.
+     */
+    private void evictQueryCache() {
+        this.sessionFactory().getCache().evictQueryRegions();
+    }
+
+    private void clear(String cacheName) {
+        var cache = this.cacheManager.getCache(cacheName);
+
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private SessionFactory sessionFactory() {
+        return this.entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * IDs alterados de uma tabela no lote.
+     */
+    private static final class Changes {
+
+        private final Set<Long> ids = new LinkedHashSet<>();
+
+        private final Set<Long> inserted = new LinkedHashSet<>();
+
+        // Versão mínima aceita por ID (a maior do lote)
+        private final Map<Long, Long> versions = new LinkedHashMap<>();
+
+        private boolean all;
+
+        void add(CacheChangeEvent event) {
+            if (event.isWholeTable()) {
+                this.all = true;
+                return;
+            }
+
+            this.ids.addAll(event.ids());
+
+            for (int i = 0; i < event.ids().size(); i++) {
+                var version = event.minVersion(i);
+
+                if (version != null) {
+                    this.versions.merge(event.ids().get(i), version, Math::max);
+                }
+            }
+
+            if (OP_INSERT.equals(event.op())) {
+                this.inserted.addAll(event.ids());
+            }
+        }
+
+        /**
+         * IDs sem versão informada, mais a lista completa ('all').
+         */
+        List<Object> unversionedKeys() {
+            var keys = new ArrayList<Object>();
+
+            this.ids.stream()
+                    .filter(id -> !this.versions.containsKey(id))
+                    .forEach(keys::add);
+            keys.add(KEY_ALL);
+
+            return keys;
+        }
+
+        boolean isEmpty() {
+            return !this.all && this.ids.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return this.all ? KEY_ALL : String.valueOf(this.ids.size());
+        }
+    }
+
+}
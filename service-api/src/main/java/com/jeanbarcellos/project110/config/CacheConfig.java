@@ -2,18 +2,29 @@ package com.jeanbarcellos.project110.config;
 
 import static org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair.fromSerializer;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.cache.RedisCacheWriter.TtlFunction;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.unit.DataSize;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -21,7 +32,32 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jeanbarcellos.project110.cache.AdaptiveTtlMeterBinder;
+import com.jeanbarcellos.project110.cache.AdaptiveTtlPolicy;
+import com.jeanbarcellos.project110.cache.CacheMetadataStore;
+import com.jeanbarcellos.project110.cache.CacheValueSchema;
+import com.jeanbarcellos.project110.cache.ClientSideCache;
+import com.jeanbarcellos.project110.cache.ClusterBatchStrategy;
+import com.jeanbarcellos.project110.cache.HotKeyDetector;
+import com.jeanbarcellos.project110.cache.HotKeySettings;
+import com.jeanbarcellos.project110.cache.LocalCacheTier;
+import com.jeanbarcellos.project110.cache.MetadataAwareCache;
+import com.jeanbarcellos.project110.cache.MetadataAwareCacheMeterBinder;
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.cache.OffHeapCache;
+import com.jeanbarcellos.project110.cache.OffHeapCacheMeterBinder;
+import com.jeanbarcellos.project110.cache.OffHeapCacheSnapshot;
+import com.jeanbarcellos.project110.cache.OffHeapRedisCacheWriter;
+import com.jeanbarcellos.project110.cache.TrackingRedisCacheWriter;
+import com.jeanbarcellos.project110.cache.TypedJsonRedisSerializer;
+import com.jeanbarcellos.project110.dto.CategoryResponse;
+import com.jeanbarcellos.project110.dto.CategoryStatsResponse;
+import com.jeanbarcellos.project110.dto.ProductResponse;
+import com.jeanbarcellos.project110.entity.Person;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Configuration
 public class CacheConfig {
 
@@ -33,36 +69,224 @@ public class CacheConfig {
     private static final String CACHE_PRODUCTS_NAME = "products";
     private static final int CACHE_PRODUCTS_TTL = 16;
 
+    private static final String CACHE_PRODUCTS_FILTER_NAME = "products-filter";
+    private static final int CACHE_PRODUCTS_FILTER_TTL = 1;
+
+    private static final String CACHE_CATEGORY_STATS_NAME = "category-stats";
+    private static final int CACHE_CATEGORY_STATS_TTL = 1;
+
     private static final String CACHE_PERSONS_NAME = "persons";
     private static final int CACHE_PERSONS_TTL = 8;
 
+    @Value("${app-config.cache.redis.clear-batch-size:1000}")
+    private int clearBatchSize;
+
+    @Value("${app-config.cache.hot-keys.enabled:true}")
+    private boolean hotKeysEnabled;
+
+    @Value("${app-config.cache.hot-keys.window:10s}")
+    private Duration hotKeysWindow;
+
+    @Value("${app-config.cache.hot-keys.top-k:20}")
+    private int hotKeysTopK;
+
+    @Value("${app-config.cache.hot-keys.threshold:200}")
+    private long hotKeysThreshold;
+
+    @Value("${app-config.cache.hot-keys.local-ttl:2s}")
+    private Duration hotKeysLocalTtl;
+
+    @Value("${app-config.cache.schema-revision:1}")
+    private String schemaRevision;
+
+    @Value("${app-config.cache.off-heap.min-value-size:8KB}")
+    private DataSize offHeapMinValueSize;
+
+    @Value("${app-config.cache.off-heap.ttl:60s}")
+    private Duration offHeapTtl;
+
     @Bean
-    CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
+    MetadataRedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+            StringRedisTemplate stringRedisTemplate, ObjectProvider<ClientSideCache> clientSideCacheProvider,
+            ObjectProvider<OffHeapCache> offHeapCacheProvider, ObjectProvider<AdaptiveTtlPolicy> ttlPolicyProvider) {
 
-        // Configuração padrão para todos os caches
-        var defaultSerializer = new GenericJackson2JsonRedisSerializer(objectMapper());
+        var objectMapper = objectMapper();
 
+        // TTL por chave a partir da frequência de escrita, se habilitado
+        var ttlPolicy = ttlPolicyProvider.getIfAvailable();
+
+        // Configuração padrão para todos os caches
         var defaultCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .disableCachingNullValues()
-                // .serializeKeysWith(fromSerializer(new StringRedisSerializer())) // Serialização das Keys
-                .serializeValuesWith(fromSerializer(defaultSerializer)) // Serialização dos valores
+                .serializeKeysWith(fromSerializer(new StringRedisSerializer())) // Chaves legíveis ("10", "all")
                 .entryTtl(Duration.ofHours(CACHE_DEFAULT_TTL)); // TTL padrão de 1 hora
 
-        // Configurações específicas para cada cache
+        // Configurações específicas para cada cache (tipo do valor e TTL)
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-        cacheConfigurations.put(CACHE_CATEGORIES_NAME,
-                defaultCacheConfig.entryTtl(Duration.ofHours(CACHE_CATEGORIES_TTL)));
+        cacheConfigurations.put(CACHE_CATEGORIES_NAME, this.cacheConfig(defaultCacheConfig, objectMapper,
+                CategoryResponse.class, ttl(ttlPolicy, CACHE_CATEGORIES_NAME, CACHE_CATEGORIES_TTL)));
+
+        cacheConfigurations.put(CACHE_PRODUCTS_NAME, this.cacheConfig(defaultCacheConfig, objectMapper,
+                ProductResponse.class, ttl(ttlPolicy, CACHE_PRODUCTS_NAME, CACHE_PRODUCTS_TTL)));
+
+        cacheConfigurations.put(CACHE_PRODUCTS_FILTER_NAME, this.cacheConfig(defaultCacheConfig, objectMapper,
+                ProductResponse.class, ttl(ttlPolicy, CACHE_PRODUCTS_FILTER_NAME, CACHE_PRODUCTS_FILTER_TTL)));
+
+        cacheConfigurations.put(CACHE_CATEGORY_STATS_NAME, this.cacheConfig(defaultCacheConfig, objectMapper,
+                CategoryStatsResponse.class, ttl(ttlPolicy, CACHE_CATEGORY_STATS_NAME, CACHE_CATEGORY_STATS_TTL)));
+
+        cacheConfigurations.put(CACHE_PERSONS_NAME, this.cacheConfig(defaultCacheConfig, objectMapper,
+                Person.class, ttl(ttlPolicy, CACHE_PERSONS_NAME, CACHE_PERSONS_TTL)));
+
+        cacheConfigurations.forEach((name, config) -> log.info("Cache {}: namespace {}", name,
+                config.getKeyPrefixFor(name)));
 
-        cacheConfigurations.put(CACHE_PRODUCTS_NAME,
-                defaultCacheConfig.entryTtl(Duration.ofHours(CACHE_PRODUCTS_TTL)));
+        defaultCacheConfig = this.cacheConfig(defaultCacheConfig, objectMapper, Object.class,
+                TtlFunction.just(Duration.ofHours(CACHE_DEFAULT_TTL)));
 
-        cacheConfigurations.put(CACHE_PERSONS_NAME,
-                defaultCacheConfig.entryTtl(Duration.ofHours(CACHE_PERSONS_TTL)));
+        // Detecta chaves quentes e mantém uma cópia local delas
+        var hotKeyDetector = this.hotKeysEnabled
+                ? new HotKeyDetector(this.hotKeysWindow, this.hotKeysTopK, this.hotKeysThreshold)
+                : null;
+
+        // clear com SCAN em lotes (KEYS bloqueia o Redis), por master no cluster
+        var cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory,
+                new ClusterBatchStrategy(this.clearBatchSize));
+
+        List<LocalCacheTier> localTiers = new ArrayList<>();
+
+        // Leituras pelo cache local com CLIENT TRACKING, se habilitado
+        var clientSideCache = clientSideCacheProvider.getIfAvailable();
+        if (clientSideCache != null) {
+            cacheWriter = new TrackingRedisCacheWriter(cacheWriter, clientSideCache);
+            localTiers.add(clientSideCache);
+        }
+
+        // Valores grandes (listas) copiados fora do heap, se habilitado
+        var offHeapCache = offHeapCacheProvider.getIfAvailable();
+        if (offHeapCache != null) {
+            cacheWriter = new OffHeapRedisCacheWriter(cacheWriter, offHeapCache,
+                    (int) this.offHeapMinValueSize.toBytes(), this.offHeapTtl);
+            localTiers.add(offHeapCache);
+        }
+
+        // Decora os caches para manter os metadados (ETag) de cada entrada
+        return new MetadataRedisCacheManager(
+                cacheWriter,
+                defaultCacheConfig,
+                cacheConfigurations,
+                new CacheMetadataStore(stringRedisTemplate, bytesRedisTemplate(redisConnectionFactory)),
+                hotKeyDetector,
+                new HotKeySettings(this.hotKeysLocalTtl, this.hotKeysTopK * 2),
+                List.copyOf(localTiers),
+                ttlPolicy);
+    }
 
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(defaultCacheConfig)
-                .withInitialCacheConfigurations(cacheConfigurations)
-                .build();
+    /**
+     * Configuração de um cache que armazena {@code valueType} (ou listas dele).
+     *
+     * - Valores em JSON sem informação de tipo, lidos de volta no tipo do cache
+     * (ver {@link TypedJsonRedisSerializer}).
+     * - A versão do schema do tipo entra no prefixo: uma release que muda o DTO
+     * lê e grava no próprio namespace, e o namespace anterior expira pelo TTL.
+     */
+    private RedisCacheConfiguration cacheConfig(RedisCacheConfiguration defaultCacheConfig,
+            ObjectMapper objectMapper, Class<?> valueType, TtlFunction ttl) {
+        var version = CacheValueSchema.version(objectMapper, valueType, this.schemaRevision);
+
+        return defaultCacheConfig
+                .computePrefixWith(cacheName -> namespacedPrefix(cacheName, version))
+                .serializeValuesWith(fromSerializer(new TypedJsonRedisSerializer(objectMapper, valueType)))
+                .entryTtl(ttl);
+    }
+
+    /**
+     * TTL estático do cache, ou adaptativo a partir dele (ver
+     * {@link AdaptiveTtlPolicy}).
+     */
+    private static TtlFunction ttl(AdaptiveTtlPolicy ttlPolicy, String cacheName, int ttlHours) {
+        var staticTtl = Duration.ofHours(ttlHours);
+        return ttlPolicy != null ? ttlPolicy.ttlFunction(cacheName, staticTtl) : TtlFunction.just(staticTtl);
+    }
+
+    /**
+     * Prefixo "{products}::1a2b3c4d::".
+     *
+     * Hash tag por cache: as chaves de um cache (valor e metadados) ficam no
+     * mesmo slot do Redis Cluster, então scripts, DEL/MGET de várias chaves e o
+     * clear vão para um único nó.
+     */
+    static String namespacedPrefix(String cacheName, String version) {
+        return "{" + cacheName + "}::" + version + "::";
+    }
+
+    RedisTemplate<String, byte[]> bytesRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        var template = new RedisTemplate<String, byte[]>();
+        template.setConnectionFactory(redisConnectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * Métricas cache.gets/cache.puts por cache (taxa de acerto no actuator).
+     */
+    @Bean
+    CacheMeterBinderProvider<MetadataAwareCache> metadataAwareCacheMeterBinderProvider() {
+        return MetadataAwareCacheMeterBinder.provider();
+    }
+
+    /**
+     * Camada local fora do heap, limitada em bytes (ver {@link OffHeapCache}).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app-config.cache.off-heap.enabled", havingValue = "true")
+    OffHeapCache offHeapCache(
+            @Value("${app-config.cache.off-heap.max-size:128MB}") DataSize maxSize,
+            @Value("${app-config.cache.off-heap.slab-size:4MB}") DataSize slabSize,
+            @Value("${app-config.cache.off-heap.block-size:4KB}") DataSize blockSize,
+            @Value("${app-config.cache.off-heap.max-value-size:16MB}") DataSize maxValueSize) {
+        return new OffHeapCache(maxSize.toBytes(), (int) slabSize.toBytes(), (int) blockSize.toBytes(),
+                maxValueSize.toBytes());
+    }
+
+    /**
+     * TTL adaptativo por frequência de escrita, entre os limites configurados.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app-config.cache.adaptive-ttl.enabled", havingValue = "true")
+    AdaptiveTtlPolicy adaptiveTtlPolicy(
+            @Value("${app-config.cache.adaptive-ttl.min:5m}") Duration min,
+            @Value("${app-config.cache.adaptive-ttl.max:72h}") Duration max,
+            @Value("${app-config.cache.adaptive-ttl.window:24h}") Duration window,
+            @Value("${app-config.cache.adaptive-ttl.max-tracked-keys:100000}") long maxTrackedKeys) {
+        return new AdaptiveTtlPolicy(min, max, window, maxTrackedKeys);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app-config.cache.adaptive-ttl.enabled", havingValue = "true")
+    AdaptiveTtlMeterBinder adaptiveTtlMeterBinder(AdaptiveTtlPolicy adaptiveTtlPolicy) {
+        return new AdaptiveTtlMeterBinder(adaptiveTtlPolicy);
+    }
+
+    /**
+     * Snapshot do off-heap em disco, recarregado na inicialização (ver
+     * {@link OffHeapCacheSnapshot}).
+     */
+    @Bean
+    @ConditionalOnProperty(name = { "app-config.cache.off-heap.enabled",
+            "app-config.cache.off-heap.snapshot.enabled" }, havingValue = "true")
+    OffHeapCacheSnapshot offHeapCacheSnapshot(OffHeapCache offHeapCache, MetadataRedisCacheManager cacheManager,
+            @Value("${app-config.cache.off-heap.snapshot.path}") Path path,
+            @Value("${app-config.cache.off-heap.snapshot.interval:30s}") Duration interval) {
+        return new OffHeapCacheSnapshot(offHeapCache, path, cacheManager::isCurrentKey, interval);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app-config.cache.off-heap.enabled", havingValue = "true")
+    OffHeapCacheMeterBinder offHeapCacheMeterBinder(OffHeapCache offHeapCache) {
+        return new OffHeapCacheMeterBinder(offHeapCache);
     }
 
     @Bean
@@ -71,7 +295,7 @@ public class CacheConfig {
     }
 
     // @Bean
-    ObjectMapper objectMapper() {
+    static ObjectMapper objectMapper() {
         var objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
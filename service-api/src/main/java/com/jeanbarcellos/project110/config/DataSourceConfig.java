@@ -0,0 +1,142 @@
+package com.jeanbarcellos.project110.config;
+
+import java.util.Map;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Leituras na réplica do PostgreSQL (app-config.datasource.replica.enabled).
+ *
+ * - Transações @Transactional(readOnly = true) usam a réplica; as demais, o
+ * primário. Sem transação (ex.: Flyway, cdc), o primário.
+ * - Métodos {@link PrimaryRead} (listas e agregados em cache, sem checagem
+ * de versão) usam o primário mesmo em transações somente leitura; as leituras
+ * por ID usam a réplica. A marca vale para a conexão
+ * obtida durante o método: uma transação externa que já leu da réplica
+ * continua nela.
+ * - O proxy lazy só obtém a conexão no primeiro comando, depois que o Spring
+ * marcou a transação como somente leitura.
+ * - O pool da réplica herda o tuning do primário (spring.datasource.hikari).
+ *
+ * Desabilitado, o DataSource é o padrão do Spring Boot.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app-config.datasource.replica.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> PRIMARY_READ = new ThreadLocal<>();
+
+    @Value("${app-config.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${app-config.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app-config.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    HikariDataSource replicaDataSource(HikariDataSource primaryDataSource) {
+        var replica = new HikariDataSource();
+        replica.setDriverClassName(primaryDataSource.getDriverClassName());
+        replica.setJdbcUrl(this.replicaUrl);
+        replica.setUsername(this.replicaUsername);
+        replica.setPassword(this.replicaPassword);
+        replica.setReadOnly(true);
+
+        replica.setPoolName(primaryDataSource.getPoolName() + "-" + REPLICA);
+        replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+        replica.setMinimumIdle(primaryDataSource.getMinimumIdle());
+        replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+        replica.setIdleTimeout(primaryDataSource.getIdleTimeout());
+        replica.setMaxLifetime(primaryDataSource.getMaxLifetime());
+
+        var dataSourceProperties = new Properties();
+        dataSourceProperties.putAll(primaryDataSource.getDataSourceProperties());
+        dataSourceProperties.computeIfPresent("ApplicationName", (key, name) -> name + "-" + REPLICA);
+        replica.setDataSourceProperties(dataSourceProperties);
+
+        log.info("Leituras somente leitura roteadas para a réplica: {}", this.replicaUrl);
+
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        var routing = new ReadOnlyRoutingDataSource();
+        routing.setTargetDataSources(Map.of(PRIMARY, primaryDataSource, REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Marca a thread durante os métodos {@link PrimaryRead}.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor primaryReadAdvisor() {
+        MethodInterceptor interceptor = invocation -> {
+            var previous = PRIMARY_READ.get();
+            PRIMARY_READ.set(Boolean.TRUE);
+
+            try {
+                return invocation.proceed();
+            } finally {
+                if (previous == null) {
+                    PRIMARY_READ.remove();
+                }
+            }
+        };
+
+        return new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(PrimaryRead.class),
+                interceptor);
+    }
+
+    static class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            if (PRIMARY_READ.get() != null) {
+                return PRIMARY;
+            }
+
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.jeanbarcellos.project110.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+
+import com.jeanbarcellos.project110.dto.CategoryResponse;
+import com.jeanbarcellos.project110.dto.PersonResponse;
+import com.jeanbarcellos.project110.dto.ProductResponse;
+import com.jeanbarcellos.project110.service.CategoryService;
+import com.jeanbarcellos.project110.service.PersonService;
+import com.jeanbarcellos.project110.service.ProductService;
+
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import reactor.core.publisher.Mono;
+
+/**
+ * API GraphQL (POST /graphql).
+ *
+ * - Um DataLoader por tipo e por requisição: as buscas por ID feitas pelos
+ * resolvers (inclusive as aninhadas) são agrupadas em um getByIds do service,
+ * ou seja, um MGET no cache e uma consulta ao banco para os ausentes.
+ * - A profundidade das consultas é limitada.
+ */
+@Configuration
+public class GraphQlConfig {
+
+    @Value("${app-config.graphql.max-depth:8}")
+    private int maxDepth;
+
+    public GraphQlConfig(BatchLoaderRegistry registry, ProductService productService,
+            CategoryService categoryService, PersonService personService,
+            @Value("${app-config.graphql.max-batch-size:500}") int maxBatchSize) {
+
+        registry.forTypePair(Long.class, ProductResponse.class)
+                .withOptions(options -> options.setMaxBatchSize(maxBatchSize))
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> productService.getByIds(ids)));
+
+        registry.forTypePair(Long.class, CategoryResponse.class)
+                .withOptions(options -> options.setMaxBatchSize(maxBatchSize))
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> categoryService.getByIds(ids)));
+
+        registry.forTypePair(Long.class, PersonResponse.class)
+                .withOptions(options -> options.setMaxBatchSize(maxBatchSize))
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() -> personService.getByIds(ids)));
+    }
+
+    @Bean
+    MaxQueryDepthInstrumentation maxQueryDepthInstrumentation() {
+        return new MaxQueryDepthInstrumentation(this.maxDepth);
+    }
+
+}
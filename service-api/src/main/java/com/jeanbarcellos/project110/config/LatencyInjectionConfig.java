@@ -0,0 +1,26 @@
+package com.jeanbarcellos.project110.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.jeanbarcellos.project110.latency.LatencyInjectionProperties;
+import com.jeanbarcellos.project110.latency.LatencyInjector;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Injeção de latência/falhas nos acessos ao banco (profile latency).
+ *
+ * Fora do profile fica desabilitada e não altera o comportamento.
+ */
+@Configuration
+@EnableConfigurationProperties(LatencyInjectionProperties.class)
+public class LatencyInjectionConfig {
+
+    @Bean
+    LatencyInjector latencyInjector(LatencyInjectionProperties properties, MeterRegistry meterRegistry) {
+        return new LatencyInjector(properties, meterRegistry);
+    }
+
+}
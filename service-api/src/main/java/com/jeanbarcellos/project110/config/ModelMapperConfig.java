@@ -4,6 +4,9 @@ import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.jeanbarcellos.project110.dto.ProductRequest;
+import com.jeanbarcellos.project110.entity.Product;
+
 @Configuration
 public class ModelMapperConfig {
 
@@ -14,6 +17,13 @@ public class ModelMapperConfig {
         modelMapper.getConfiguration()
                 .setSkipNullEnabled(true);
 
+        // A categoria do produto é uma referência gerenciada, definida pelo
+        // ProductService: o mapeamento implícito de categoryId criaria uma
+        // Category sem versão (@Version) ou alteraria o ID da já carregada
+        modelMapper.emptyTypeMap(ProductRequest.class, Product.class)
+                .addMappings(mapper -> mapper.skip(Product::setCategory))
+                .implicitMappings();
+
         return modelMapper;
     }
 }
\ No newline at end of file
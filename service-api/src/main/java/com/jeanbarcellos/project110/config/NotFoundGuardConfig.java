@@ -0,0 +1,58 @@
+package com.jeanbarcellos.project110.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.cache.NotFoundGuard;
+import com.jeanbarcellos.project110.repository.CategoryRepository;
+import com.jeanbarcellos.project110.repository.PersonRepository;
+import com.jeanbarcellos.project110.repository.ProductRepository;
+import com.jeanbarcellos.project110.service.CategoryService;
+import com.jeanbarcellos.project110.service.PersonService;
+import com.jeanbarcellos.project110.service.ProductService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Filtro de IDs existentes e cache negativo por entidade (ver
+ * {@link NotFoundGuard}).
+ */
+@Configuration
+public class NotFoundGuardConfig {
+
+    @Value("${app-config.cache.not-found.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app-config.cache.not-found.negative-ttl:30s}")
+    private Duration negativeTtl;
+
+    @Value("${app-config.cache.not-found.bloom.min-capacity:10000}")
+    private long minCapacity;
+
+    @Value("${app-config.cache.not-found.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Bean
+    NotFoundGuard notFoundGuard(MetadataRedisCacheManager cacheManager, StringRedisTemplate redisTemplate,
+            ReactiveStringRedisTemplate reactiveRedisTemplate, MeterRegistry meterRegistry,
+            ProductRepository productRepository, CategoryRepository categoryRepository,
+            PersonRepository personRepository) {
+
+        return new NotFoundGuard(cacheManager, redisTemplate, reactiveRedisTemplate, meterRegistry,
+                this.enabled, this.negativeTtl, this.minCapacity, this.falsePositiveRate)
+                .register(ProductService.CACHE_NAME, "Product",
+                        (id, limit) -> productRepository.findIdsGreaterThan(id, Limit.of(limit)))
+                .register(CategoryService.CACHE_NAME, "Category",
+                        (id, limit) -> categoryRepository.findIdsGreaterThan(id, Limit.of(limit)))
+                .register(PersonService.CACHE_NAME, "Person",
+                        (id, limit) -> personRepository.findIdsGreaterThan(id, Limit.of(limit)));
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.jeanbarcellos.project110.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca uma leitura que precisa do primário mesmo em uma transação
+ * {@code readOnly} (ver {@link DataSourceConfig}).
+ *
+ * Usar somente quando a leitura precisa ver uma escrita recém-feita ou
+ * preenche um cache sem a checagem de versão: listas e agregados ('all',
+ * 'category:{id}', filtros, estatísticas) lidos da réplica antes de ela
+ * aplicar a última escrita ficariam no cache pelo TTL. As leituras por ID
+ * gravam valores versionados ({@link com.jeanbarcellos.project110.cache.VersionedValue}),
+ * que não sobrescrevem uma versão mais nova nem passam da versão mínima de um
+ * evict, então seguem na réplica.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PrimaryRead {
+
+}
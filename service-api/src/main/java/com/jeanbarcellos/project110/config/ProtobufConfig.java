@@ -0,0 +1,26 @@
+package com.jeanbarcellos.project110.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.jeanbarcellos.project110.protobuf.ProtobufDtoHttpMessageConverter;
+
+/**
+ * Respostas em protobuf com Accept: application/x-protobuf (consumidores
+ * internos); schema em resources/protobuf/project110.proto.
+ *
+ * O converter entra depois dos demais: sem Accept explícito (ou com qualquer
+ * tipo aceito) a resposta continua em JSON.
+ */
+@Configuration
+public class ProtobufConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProtobufDtoHttpMessageConverter());
+    }
+
+}
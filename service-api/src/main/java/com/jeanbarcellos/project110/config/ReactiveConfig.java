@@ -0,0 +1,89 @@
+package com.jeanbarcellos.project110.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.cache.ReactiveCacheSupport;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Caminho de leitura não bloqueante (Redis reativo + R2DBC).
+ *
+ * O ConnectionFactory do R2DBC não é exposto como bean: o Spring Boot desativa
+ * o DataSource (JPA) quando encontra um. Por isso a autoconfiguração do R2DBC
+ * fica desabilitada no application.yml.
+ */
+@Configuration
+public class ReactiveConfig {
+
+    @Value("${app-config.reactive.r2dbc.url}")
+    private String url;
+
+    @Value("${app-config.reactive.r2dbc.username}")
+    private String username;
+
+    @Value("${app-config.reactive.r2dbc.password}")
+    private String password;
+
+    @Value("${app-config.reactive.r2dbc.pool.initial-size:2}")
+    private int poolInitialSize;
+
+    @Value("${app-config.reactive.r2dbc.pool.max-size:20}")
+    private int poolMaxSize;
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    DatabaseClient reactiveDatabaseClient() {
+        var options = ConnectionFactoryOptions.parse(this.url).mutate()
+                .option(ConnectionFactoryOptions.USER, this.username)
+                .option(ConnectionFactoryOptions.PASSWORD, this.password)
+                .build();
+
+        var poolConfig = ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(this.poolInitialSize)
+                .maxSize(this.poolMaxSize)
+                .maxIdleTime(Duration.ofMinutes(30))
+                .build();
+
+        this.connectionPool = new ConnectionPool(poolConfig);
+
+        return DatabaseClient.create(this.connectionPool);
+    }
+
+    @Bean
+    ReactiveCacheSupport reactiveCacheSupport(ReactiveRedisConnectionFactory connectionFactory,
+            MetadataRedisCacheManager cacheManager) {
+
+        var context = RedisSerializationContext.<String, byte[]>newSerializationContext(RedisSerializer.string())
+                .value(RedisSerializer.byteArray())
+                .build();
+
+        return new ReactiveCacheSupport(
+                new ReactiveRedisTemplate<>(connectionFactory, context),
+                cacheManager,
+                CacheConfig.objectMapper());
+    }
+
+    @PreDestroy
+    void closeConnectionPool() {
+        if (this.connectionPool != null) {
+            this.connectionPool.dispose();
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.jeanbarcellos.project110.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import com.jeanbarcellos.project110.cache.ClientSideCache;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.internal.HostAndPort;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Ajustes da conexão com o Redis (Lettuce).
+ *
+ * - Pool e timeouts em spring.data.redis.* (application.yml).
+ * - Standalone, sentinel (profile redis-sentinel) ou cluster (profile
+ * redis-cluster), com atualização da topologia do cluster.
+ * - Com o Redis fora do ar os comandos falham na hora, em vez de ficarem
+ * enfileirados até o timeout.
+ * - Pipelines (ex.: CacheDependencyIndex) enviam os comandos em lotes.
+ * - Client-side caching opcional (CLIENT TRACKING).
+ */
+@Configuration
+public class RedisConfig {
+
+    @Bean
+    LettuceClientConfigurationBuilderCustomizer lettuceClientOptionsCustomizer(RedisProperties properties) {
+        return builder -> {
+            var clientOptions = clientOptions(properties, ProtocolVersion.newestSupported());
+
+            // O RedisClusterClient exige ClusterClientOptions
+            builder.clientOptions(properties.getCluster() != null
+                    ? clusterClientOptions(properties, clientOptions)
+                    : clientOptions);
+        };
+    }
+
+    /**
+     * Em pipelines, acumula os comandos e faz flush a cada N comandos (em vez de
+     * um flush por comando).
+     */
+    @Bean
+    static BeanPostProcessor lettucePipeliningPostProcessor(
+            @Value("${app-config.cache.redis.pipeline-flush-threshold:64}") int flushThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof LettuceConnectionFactory connectionFactory) {
+                    connectionFactory.setPipeliningFlushPolicy(
+                            LettuceConnection.PipeliningFlushPolicy.buffered(flushThreshold));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app-config.cache.redis.client-side-caching.enabled", havingValue = "true")
+    ClientSideCache clientSideCache(RedisProperties properties, MeterRegistry meterRegistry,
+            @Value("${app-config.cache.redis.client-side-caching.max-entries:10000}") long maxEntries,
+            @Value("${app-config.cache.redis.client-side-caching.ttl:60s}") Duration ttl) {
+
+        if (properties.getCluster() != null) {
+            throw new IllegalStateException(
+                    "Client-side caching não é suportado com Redis Cluster "
+                            + "(app-config.cache.redis.client-side-caching.enabled)");
+        }
+
+        var uri = redisUri(properties)
+                .withDatabase(properties.getDatabase())
+                .withClientName("project110-client-side-cache");
+
+        if (properties.getPassword() != null && !properties.getPassword().isEmpty()) {
+            uri.withPassword(properties.getPassword().toCharArray());
+        }
+
+        if (properties.getTimeout() != null) {
+            uri.withTimeout(properties.getTimeout());
+        }
+
+        var client = RedisClient.create(uri.build());
+
+        // As invalidações do tracking chegam como mensagens push (RESP3)
+        client.setOptions(clientOptions(properties, ProtocolVersion.RESP3));
+
+        return new ClientSideCache(client, maxEntries, ttl, meterRegistry);
+    }
+
+    /**
+     * Endereço do nó standalone ou, com sentinel, do master monitorado.
+     */
+    private static RedisURI.Builder redisUri(RedisProperties properties) {
+        var sentinel = properties.getSentinel();
+
+        if (sentinel == null) {
+            return RedisURI.builder()
+                    .withHost(properties.getHost())
+                    .withPort(properties.getPort());
+        }
+
+        RedisURI.Builder builder = null;
+
+        for (var node : sentinel.getNodes()) {
+            var hostAndPort = HostAndPort.parseCompat(node);
+            var port = hostAndPort.hasPort() ? hostAndPort.getPort() : RedisURI.DEFAULT_SENTINEL_PORT;
+
+            if (builder == null) {
+                builder = RedisURI.Builder.sentinel(hostAndPort.getHostText(), port, sentinel.getMaster());
+            } else {
+                builder.withSentinel(hostAndPort.getHostText(), port);
+            }
+        }
+
+        if (builder == null) {
+            throw new IllegalStateException("Nenhum nó informado em spring.data.redis.sentinel.nodes");
+        }
+
+        return builder;
+    }
+
+    private static ClusterClientOptions clusterClientOptions(RedisProperties properties, ClientOptions clientOptions) {
+        var refresh = properties.getLettuce().getCluster().getRefresh();
+
+        // Atualiza a topologia em MOVED/ASK e falhas de conexão, e periodicamente
+        var topologyRefresh = ClusterTopologyRefreshOptions.builder()
+                .dynamicRefreshSources(refresh.isDynamicRefreshSources());
+
+        if (refresh.isAdaptive()) {
+            topologyRefresh.enableAllAdaptiveRefreshTriggers();
+        }
+
+        if (refresh.getPeriod() != null) {
+            topologyRefresh.enablePeriodicRefresh(refresh.getPeriod());
+        }
+
+        var maxRedirects = properties.getCluster().getMaxRedirects();
+
+        return ClusterClientOptions.builder(clientOptions)
+                .topologyRefreshOptions(topologyRefresh.build())
+                .maxRedirects(maxRedirects != null ? maxRedirects : ClusterClientOptions.DEFAULT_MAX_REDIRECTS)
+                .build();
+    }
+
+    private static ClientOptions clientOptions(RedisProperties properties, ProtocolVersion protocolVersion) {
+        var socketOptions = SocketOptions.builder().keepAlive(true);
+
+        if (properties.getConnectTimeout() != null) {
+            socketOptions.connectTimeout(properties.getConnectTimeout());
+        }
+
+        return ClientOptions.builder()
+                .protocolVersion(protocolVersion)
+                .autoReconnect(true)
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .socketOptions(socketOptions.build())
+                .timeoutOptions(properties.getTimeout() != null
+                        ? TimeoutOptions.enabled(properties.getTimeout())
+                        : TimeoutOptions.enabled())
+                .build();
+    }
+
+}
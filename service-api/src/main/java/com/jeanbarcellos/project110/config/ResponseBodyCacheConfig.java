@@ -0,0 +1,56 @@
+package com.jeanbarcellos.project110.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.jeanbarcellos.project110.cache.HttpCacheSupport;
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.cache.ResponseBodyCacheFilter;
+import com.jeanbarcellos.project110.cache.ResponseBodyCacheInterceptor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Modo opcional de cache de resposta (corpo HTTP pré-serializado).
+ *
+ * Habilitado com app-config.cache.response-body.enabled=true
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app-config.cache.response-body.enabled", havingValue = "true")
+public class ResponseBodyCacheConfig implements WebMvcConfigurer {
+
+    private final MetadataRedisCacheManager cacheManager;
+
+    private final HttpCacheSupport httpCacheSupport;
+
+    @Value("${app-config.cache.response-body.gzip:true}")
+    private boolean gzip;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ResponseBodyCacheInterceptor(this.cacheManager, this.httpCacheSupport));
+    }
+
+    /**
+     * O filtro lê os mapeamentos do MVC no primeiro uso (o HandlerMapping
+     * depende desta configuração, pelos interceptors).
+     */
+    @Bean
+    FilterRegistrationBean<ResponseBodyCacheFilter> responseBodyCacheFilter(
+            @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        var registration = new FilterRegistrationBean<>(
+                new ResponseBodyCacheFilter(this.cacheManager, handlerMapping::getObject, this.gzip));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+}
@@ -2,6 +2,7 @@ package com.jeanbarcellos.project110.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,12 +11,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.jeanbarcellos.project110.cache.CacheableResponseBody;
+import com.jeanbarcellos.project110.cache.HttpCacheSupport;
 import com.jeanbarcellos.project110.dto.CategoryRequest;
 import com.jeanbarcellos.project110.dto.CategoryResponse;
+import com.jeanbarcellos.project110.dto.CategoryStatsResponse;
+import com.jeanbarcellos.project110.dto.ProductResponse;
 import com.jeanbarcellos.project110.service.CategoryService;
+import com.jeanbarcellos.project110.service.CategoryStatsService;
+import com.jeanbarcellos.project110.service.ProductService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -29,16 +37,57 @@ public class CategoryController {
 
     private final CategoryService categoryService;
 
+    private final ProductService productService;
+
+    private final CategoryStatsService categoryStatsService;
+
+    private final HttpCacheSupport httpCacheSupport;
+
     @GetMapping
+    @CacheableResponseBody(cacheName = CategoryService.CACHE_NAME, key = HttpCacheSupport.KEY_ALL)
     @Operation(summary = "Listar todas as categorias")
-    public ResponseEntity<List<CategoryResponse>> getAll() {
-        return ResponseEntity.ok(this.categoryService.getAll());
+    public ResponseEntity<List<CategoryResponse>> getAll(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return this.httpCacheSupport.conditional(ifNoneMatch, CategoryService.CACHE_NAME, HttpCacheSupport.KEY_ALL,
+                this.categoryService::getAll);
+    }
+
+    @GetMapping("/stats")
+    @CacheableResponseBody(cacheName = CategoryStatsService.CACHE_NAME, key = HttpCacheSupport.KEY_ALL)
+    @Operation(summary = "Estatísticas de produtos (quantidade e preço mínimo, médio e máximo) por categoria")
+    public ResponseEntity<List<CategoryStatsResponse>> getStats(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return this.httpCacheSupport.conditional(ifNoneMatch, CategoryStatsService.CACHE_NAME,
+                HttpCacheSupport.KEY_ALL, this.categoryStatsService::getAll);
     }
 
     @GetMapping("/{id}")
+    @CacheableResponseBody(cacheName = CategoryService.CACHE_NAME, keyVariable = "id")
     @Operation(summary = "Obter categoria pelo ID")
-    public ResponseEntity<CategoryResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(this.categoryService.getById(id));
+    public ResponseEntity<CategoryResponse> getById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return this.httpCacheSupport.conditional(ifNoneMatch, CategoryService.CACHE_NAME, id,
+                () -> this.categoryService.getById(id));
+    }
+
+    @GetMapping("/{id}/products")
+    @CacheableResponseBody(cacheName = ProductService.CACHE_NAME, keyVariable = "id",
+            keyPrefix = ProductService.CACHE_KEY_CATEGORY_PREFIX)
+    @Operation(summary = "Listar os produtos de uma categoria")
+    public ResponseEntity<List<ProductResponse>> getProducts(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return this.httpCacheSupport.conditional(ifNoneMatch, ProductService.CACHE_NAME,
+                ProductService.CACHE_KEY_CATEGORY_PREFIX + id,
+                () -> this.productService.getByCategory(id));
+    }
+
+    @GetMapping("/{id}/stats")
+    @CacheableResponseBody(cacheName = CategoryStatsService.CACHE_NAME, keyVariable = "id")
+    @Operation(summary = "Estatísticas de produtos de uma categoria")
+    public ResponseEntity<CategoryStatsResponse> getStatsById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return this.httpCacheSupport.conditional(ifNoneMatch, CategoryStatsService.CACHE_NAME, id,
+                () -> this.categoryStatsService.getByCategoryId(id));
     }
 
     @PostMapping
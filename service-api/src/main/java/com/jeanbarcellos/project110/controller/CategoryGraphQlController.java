@@ -0,0 +1,55 @@
+package com.jeanbarcellos.project110.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import com.jeanbarcellos.project110.dto.CategoryResponse;
+import com.jeanbarcellos.project110.dto.ProductResponse;
+import com.jeanbarcellos.project110.service.CategoryService;
+import com.jeanbarcellos.project110.service.ProductService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Categorias no GraphQL.
+ */
+@Controller
+@RequiredArgsConstructor
+public class CategoryGraphQlController {
+
+    private final CategoryService categoryService;
+
+    private final ProductService productService;
+
+    @QueryMapping
+    public CompletableFuture<CategoryResponse> category(@Argument Long id, DataLoader<Long, CategoryResponse> loader) {
+        return loader.load(id);
+    }
+
+    @QueryMapping
+    public List<CategoryResponse> categories() {
+        return this.categoryService.getAll();
+    }
+
+    /**
+     * Produtos das categorias da resposta, carregados juntos pelas listas em
+     * cache de cada categoria (mesmas do REST).
+     */
+    @BatchMapping(typeName = "Category")
+    public List<List<ProductResponse>> products(List<CategoryResponse> categories) {
+        var products = this.productService.getByCategories(categories.stream()
+                .map(CategoryResponse::getId)
+                .toList());
+
+        return categories.stream()
+                .map(category -> products.getOrDefault(category.getId(), List.of()))
+                .toList();
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.jeanbarcellos.project110.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jeanbarcellos.project110.dto.CategoryResponse;
+import com.jeanbarcellos.project110.service.CategoryReactiveService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/reactive/categories")
+@Tag(name = "Categories (reactive)", description = "Read categories (non-blocking)")
+public class CategoryReactiveController {
+
+    private final CategoryReactiveService categoryService;
+
+    @GetMapping
+    @Operation(summary = "Listar todas as categorias (não bloqueante)")
+    public Mono<ResponseEntity<List<CategoryResponse>>> getAll() {
+        return this.categoryService.getAll().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obter categoria pelo ID (não bloqueante)")
+    public Mono<ResponseEntity<CategoryResponse>> getById(@PathVariable Long id) {
+        return this.categoryService.getById(id).map(ResponseEntity::ok);
+    }
+}
@@ -2,6 +2,7 @@ package com.jeanbarcellos.project110.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,9 +11,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.jeanbarcellos.project110.cache.CacheableResponseBody;
+import com.jeanbarcellos.project110.cache.HttpCacheSupport;
 import com.jeanbarcellos.project110.dto.PersonRequest;
 import com.jeanbarcellos.project110.dto.PersonResponse;
 import com.jeanbarcellos.project110.service.PersonService;
@@ -29,16 +33,24 @@ public class PersonController {
 
     private final PersonService personService;
 
+    private final HttpCacheSupport httpCacheSupport;
+
     @GetMapping
+    @CacheableResponseBody(cacheName = PersonService.CACHE_NAME, key = HttpCacheSupport.KEY_ALL)
     @Operation(summary = "Listar todas as pessoas físicas")
-    public ResponseEntity<List<PersonResponse>> getAll() {
-        return ResponseEntity.ok(this.personService.getAll());
+    public ResponseEntity<List<PersonResponse>> getAll(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return this.httpCacheSupport.conditional(ifNoneMatch, PersonService.CACHE_NAME, HttpCacheSupport.KEY_ALL,
+                this.personService::getAll);
     }
 
     @GetMapping("/{id}")
+    @CacheableResponseBody(cacheName = PersonService.CACHE_NAME, keyVariable = "id")
     @Operation(summary = "Obter pessoa pelo ID")
-    public ResponseEntity<PersonResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(this.personService.getById(id));
+    public ResponseEntity<PersonResponse> getById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return this.httpCacheSupport.conditional(ifNoneMatch, PersonService.CACHE_NAME, id,
+                () -> this.personService.getById(id));
     }
 
     @PostMapping
@@ -0,0 +1,30 @@
+package com.jeanbarcellos.project110.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import com.jeanbarcellos.project110.dto.PersonResponse;
+
+/**
+ * Pessoas no GraphQL.
+ */
+@Controller
+public class PersonGraphQlController {
+
+    @QueryMapping
+    public CompletableFuture<PersonResponse> person(@Argument Long id, DataLoader<Long, PersonResponse> loader) {
+        return loader.load(id);
+    }
+
+    @QueryMapping
+    public CompletableFuture<List<PersonResponse>> persons(@Argument List<Long> ids,
+            DataLoader<Long, PersonResponse> loader) {
+        return loader.loadMany(ids);
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.jeanbarcellos.project110.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jeanbarcellos.project110.dto.PersonResponse;
+import com.jeanbarcellos.project110.service.PersonReactiveService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/reactive/persons")
+@Tag(name = "Persons (reactive)", description = "Read persons (non-blocking)")
+public class PersonReactiveController {
+
+    private final PersonReactiveService personService;
+
+    @GetMapping
+    @Operation(summary = "Listar todas as pessoas físicas (não bloqueante)")
+    public Mono<ResponseEntity<List<PersonResponse>>> getAll() {
+        return this.personService.getAll().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obter pessoa pelo ID (não bloqueante)")
+    public Mono<ResponseEntity<PersonResponse>> getById(@PathVariable Long id) {
+        return this.personService.getById(id).map(ResponseEntity::ok);
+    }
+}
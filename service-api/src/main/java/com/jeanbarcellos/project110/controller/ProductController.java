@@ -1,8 +1,14 @@
 package com.jeanbarcellos.project110.controller;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,15 +16,27 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.jeanbarcellos.core.exception.BadRequestException;
+import com.jeanbarcellos.project110.bulk.BulkFormat;
+import com.jeanbarcellos.project110.cache.CacheableResponseBody;
+import com.jeanbarcellos.project110.cache.HttpCacheSupport;
+import com.jeanbarcellos.project110.dto.ProductFilter;
+import com.jeanbarcellos.project110.dto.ProductImportResult;
 import com.jeanbarcellos.project110.dto.ProductRequest;
 import com.jeanbarcellos.project110.dto.ProductResponse;
+import com.jeanbarcellos.project110.service.ProductBulkService;
+import com.jeanbarcellos.project110.service.ProductChangeService;
 import com.jeanbarcellos.project110.service.ProductService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -29,16 +47,74 @@ public class ProductController {
 
     private final ProductService productService;
 
+    private final ProductChangeService productChangeService;
+
+    private final ProductBulkService productBulkService;
+
+    private final HttpCacheSupport httpCacheSupport;
+
     @GetMapping
-    @Operation(summary = "Listar todas os produtos")
-    public ResponseEntity<List<ProductResponse>> getAll() {
-        return ResponseEntity.ok(this.productService.getAll());
+    @CacheableResponseBody(cacheName = ProductService.CACHE_NAME, key = HttpCacheSupport.KEY_ALL)
+    @Operation(summary = "Listar todas os produtos (opcionalmente filtrados e ordenados)")
+    public ResponseEntity<List<ProductResponse>> getAll(@ParameterObject ProductFilter filter,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (!filter.isEmpty()) {
+            return this.httpCacheSupport.conditional(ifNoneMatch, ProductService.CACHE_NAME_FILTER,
+                    filter.cacheKey(), () -> this.productService.filter(filter));
+        }
+
+        return this.httpCacheSupport.conditional(ifNoneMatch, ProductService.CACHE_NAME, HttpCacheSupport.KEY_ALL,
+                this.productService::getAll);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar produtos por nome e descrição")
+    public ResponseEntity<List<ProductResponse>> search(@RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(this.productService.search(query, limit));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Alterações de produtos desde o token (sem token: todos os produtos)")
+    public ResponseEntity<StreamingResponseBody> changes(@RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + ProductChangeService.DEFAULT_LIMIT) int limit) {
+        // Token validado antes do streaming (400/410 com corpo de erro normal)
+        var feed = this.productChangeService.open(since, limit);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .cacheControl(CacheControl.noStore())
+                .body(output -> this.productChangeService.write(feed, output));
+    }
+
+    @GetMapping(value = "/export", produces = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    @Operation(summary = "Exportar todos os produtos (csv ou ndjson)")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "csv") String format) {
+        var bulkFormat = bulkFormat(format);
+
+        return ResponseEntity.ok()
+                .contentType(bulkFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"products." + bulkFormat.name().toLowerCase(Locale.ROOT) + "\"")
+                .cacheControl(CacheControl.noStore())
+                .body(output -> this.productBulkService.exportProducts(bulkFormat, output));
+    }
+
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    @Operation(summary = "Importar produtos (csv com cabeçalho ou ndjson); ID existente atualiza o produto")
+    public ResponseEntity<ProductImportResult> importProducts(HttpServletRequest request) throws IOException {
+        // Corpo lido em streaming (sem @RequestBody, que carregaria tudo em memória)
+        return ResponseEntity.ok(this.productBulkService.importProducts(bulkFormat(request.getContentType()),
+                request.getInputStream(), request.getContentLengthLong()));
     }
 
     @GetMapping("/{id}")
+    @CacheableResponseBody(cacheName = ProductService.CACHE_NAME, keyVariable = "id")
     @Operation(summary = "Obter produto pelo ID")
-    public ResponseEntity<ProductResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(this.productService.getById(id));
+    public ResponseEntity<ProductResponse> getById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return this.httpCacheSupport.conditional(ifNoneMatch, ProductService.CACHE_NAME, id,
+                () -> this.productService.getById(id));
     }
 
     @PostMapping
@@ -60,4 +136,12 @@ public class ProductController {
         this.productService.delete(id);
         ResponseEntity.noContent();
     }
-}
\ No newline at end of file
+
+    private static BulkFormat bulkFormat(String format) {
+        try {
+            return BulkFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+}
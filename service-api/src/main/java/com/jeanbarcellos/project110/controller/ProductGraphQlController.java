@@ -0,0 +1,47 @@
+package com.jeanbarcellos.project110.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import com.jeanbarcellos.project110.dto.CategoryResponse;
+import com.jeanbarcellos.project110.dto.ProductResponse;
+
+/**
+ * Produtos no GraphQL; as buscas por ID passam pelos DataLoaders da
+ * requisição (ver {@link com.jeanbarcellos.project110.config.GraphQlConfig}).
+ */
+@Controller
+public class ProductGraphQlController {
+
+    @QueryMapping
+    public CompletableFuture<ProductResponse> product(@Argument Long id, DataLoader<Long, ProductResponse> loader) {
+        return loader.load(id);
+    }
+
+    @QueryMapping
+    public CompletableFuture<List<ProductResponse>> products(@Argument List<Long> ids,
+            DataLoader<Long, ProductResponse> loader) {
+        return loader.loadMany(ids);
+    }
+
+    /**
+     * Categoria do produto: as categorias de todos os produtos da resposta são
+     * carregadas juntas.
+     */
+    @SchemaMapping(typeName = "Product")
+    public CompletableFuture<CategoryResponse> category(ProductResponse product,
+            DataLoader<Long, CategoryResponse> loader) {
+        if (product.getCategoryId() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return loader.load(product.getCategoryId());
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.jeanbarcellos.project110.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jeanbarcellos.project110.dto.ProductResponse;
+import com.jeanbarcellos.project110.service.ProductReactiveService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/reactive/products")
+@Tag(name = "Products (reactive)", description = "Read products (non-blocking)")
+public class ProductReactiveController {
+
+    private final ProductReactiveService productService;
+
+    @GetMapping
+    @Operation(summary = "Listar todos os produtos (não bloqueante)")
+    public Mono<ResponseEntity<List<ProductResponse>>> getAll() {
+        return this.productService.getAll().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obter produto pelo ID (não bloqueante)")
+    public Mono<ResponseEntity<ProductResponse>> getById(@PathVariable Long id) {
+        return this.productService.getById(id).map(ResponseEntity::ok);
+    }
+}
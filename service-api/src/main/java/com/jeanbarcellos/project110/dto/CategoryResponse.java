@@ -2,6 +2,8 @@ package com.jeanbarcellos.project110.dto;
 
 import java.io.Serializable;
 
+import com.jeanbarcellos.project110.cache.VersionedValue;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,10 +13,12 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class CategoryResponse implements Serializable {
+public class CategoryResponse implements Serializable, VersionedValue {
 
     private Long id;
 
     private String name;
 
+    private Long version;
+
 }
@@ -0,0 +1,32 @@
+package com.jeanbarcellos.project110.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estatísticas dos produtos de uma categoria (preços nulos sem produtos).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryStatsResponse implements Serializable {
+
+    private Long categoryId;
+
+    private String categoryName;
+
+    private long productCount;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal avgPrice;
+
+    private BigDecimal maxPrice;
+
+}
@@ -0,0 +1,32 @@
+package com.jeanbarcellos.project110.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Última linha do feed de alterações: o token da próxima sincronização.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedCursor {
+
+    /**
+     * Enviar como {@code since} na próxima chamada.
+     */
+    private String token;
+
+    /**
+     * Alterações entregues nesta resposta.
+     */
+    private long count;
+
+    /**
+     * O limite foi atingido: há mais alterações até o horizonte.
+     */
+    private boolean hasMore;
+
+}
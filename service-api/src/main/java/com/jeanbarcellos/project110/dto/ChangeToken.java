@@ -0,0 +1,65 @@
+package com.jeanbarcellos.project110.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Posição no feed de alterações: a última alteração entregue (data e ID).
+ *
+ * Opaco para os consumidores: "{micros desde a época}:{id}" em base64url.
+ */
+public record ChangeToken(OffsetDateTime changedAt, long id) {
+
+    /**
+     * Início do feed (sincronização completa).
+     */
+    public static final ChangeToken INITIAL = new ChangeToken(OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0,
+            ZoneOffset.UTC), 0);
+
+    private static final char SEPARATOR = ':';
+
+    public static ChangeToken of(OffsetDateTime changedAt, long id) {
+        return new ChangeToken(changedAt.withOffsetSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS), id);
+    }
+
+    /**
+     * Token recebido do consumidor (null ou vazio: início do feed).
+     *
+     * @throws IllegalArgumentException token malformado
+     */
+    public static ChangeToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return INITIAL;
+        }
+
+        var value = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        var separator = value.indexOf(SEPARATOR);
+
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid change token: " + token);
+        }
+
+        var micros = Long.parseLong(value.substring(0, separator));
+        var id = Long.parseLong(value.substring(separator + 1));
+
+        var instant = Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+
+        return new ChangeToken(OffsetDateTime.ofInstant(instant, ZoneOffset.UTC), id);
+    }
+
+    public String encode() {
+        var micros = ChronoUnit.MICROS.between(Instant.EPOCH, this.changedAt.toInstant());
+        var value = micros + String.valueOf(SEPARATOR) + this.id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isInitial() {
+        return this.equals(INITIAL);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.jeanbarcellos.project110.dto;
+
+import java.time.OffsetDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alteração de um produto no feed de sincronização: o estado atual (UPSERT)
+ * ou a exclusão (DELETE, sem o produto).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductChange {
+
+    public enum Operation {
+        UPSERT, DELETE
+    }
+
+    private Operation op;
+
+    private Long id;
+
+    private OffsetDateTime changedAt;
+
+    private ProductResponse product;
+
+}
@@ -0,0 +1,138 @@
+package com.jeanbarcellos.project110.dto;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+
+import com.jeanbarcellos.core.exception.BadRequestException;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filtros da listagem de produtos (parâmetros de query).
+ *
+ * Filtros equivalentes (ex.: "Smart" e " smart", 10 e 10.00) geram a mesma
+ * chave de cache.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilter {
+
+    public static final String CACHE_KEY_PREFIX = "filter:";
+
+    private static final String SORT_ID = "id";
+    private static final Set<String> SORT_FIELDS = Set.of("price", "name");
+
+    private static final int CACHE_KEY_HASH_LENGTH = 32;
+
+    private Long categoryId;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    /**
+     * Prefixo do nome (sem diferenciar maiúsculas e minúsculas).
+     */
+    private String name;
+
+    /**
+     * Campo de ordenação: "price" ou "name" (padrão: id).
+     */
+    private String sort;
+
+    /**
+     * Direção da ordenação: "asc" (padrão) ou "desc".
+     */
+    private String direction;
+
+    public boolean isEmpty() {
+        return this.categoryId == null
+                && this.minPrice == null
+                && this.maxPrice == null
+                && this.normalizedName() == null
+                && this.normalizedSort() == null;
+    }
+
+    public String normalizedName() {
+        if (this.name == null || this.name.isBlank()) {
+            return null;
+        }
+        return this.name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public String normalizedSort() {
+        if (this.sort == null || this.sort.isBlank()) {
+            return null;
+        }
+
+        var field = this.sort.trim().toLowerCase(Locale.ROOT);
+
+        if (!SORT_FIELDS.contains(field)) {
+            throw new BadRequestException("Invalid sort field: " + this.sort);
+        }
+
+        return field;
+    }
+
+    public Sort.Direction normalizedDirection() {
+        if (this.direction == null || this.direction.isBlank()) {
+            return Sort.Direction.ASC;
+        }
+        return Sort.Direction.fromOptionalString(this.direction.trim())
+                .orElseThrow(() -> new BadRequestException("Invalid sort direction: " + this.direction));
+    }
+
+    /**
+     * Ordenação pelo campo escolhido, com o ID como desempate.
+     */
+    public Sort toSort() {
+        var field = this.normalizedSort();
+
+        if (field == null) {
+            return Sort.by(SORT_ID);
+        }
+
+        return Sort.by(this.normalizedDirection(), field).and(Sort.by(SORT_ID));
+    }
+
+    /**
+     * Chave de cache: hash da forma canônica do filtro.
+     */
+    public String cacheKey() {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                    .digest(this.canonical().getBytes(StandardCharsets.UTF_8));
+
+            return CACHE_KEY_PREFIX + HexFormat.of().formatHex(digest).substring(0, CACHE_KEY_HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    String canonical() {
+        var field = this.normalizedSort();
+
+        return "category=" + (this.categoryId != null ? this.categoryId : "")
+                + "&min=" + plain(this.minPrice)
+                + "&max=" + plain(this.maxPrice)
+                + "&name=" + (this.normalizedName() != null ? this.normalizedName() : "")
+                + "&sort=" + (field != null ? field + "," + this.normalizedDirection().name().toLowerCase(Locale.ROOT) : "");
+    }
+
+    private static String plain(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : "";
+    }
+
+}
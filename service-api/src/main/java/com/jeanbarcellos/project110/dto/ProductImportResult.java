@@ -0,0 +1,37 @@
+package com.jeanbarcellos.project110.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de uma importação em massa de produtos.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResult {
+
+    private String transferId;
+
+    /**
+     * Linhas lidas do arquivo.
+     */
+    private long rows;
+
+    private long inserted;
+
+    private long updated;
+
+    /**
+     * Linhas idênticas ao produto existente (não alteradas).
+     */
+    private long unchanged;
+
+    private long bytes;
+
+    private long elapsedMillis;
+
+}
@@ -3,6 +3,8 @@ package com.jeanbarcellos.project110.dto;
 import java.io.Serializable;
 import java.math.BigDecimal;
 
+import com.jeanbarcellos.project110.cache.VersionedValue;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,7 +14,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ProductResponse implements Serializable {
+public class ProductResponse implements Serializable, VersionedValue {
 
     private Long id;
 
@@ -22,6 +24,10 @@ public class ProductResponse implements Serializable {
 
     private BigDecimal price;
 
+    private Long categoryId;
+
     private String categoryName;
 
+    private Long version;
+
 }
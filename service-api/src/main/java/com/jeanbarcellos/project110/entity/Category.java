@@ -1,8 +1,11 @@
 package com.jeanbarcellos.project110.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -10,6 +13,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -26,6 +30,8 @@ import lombok.Setter;
 @Entity
 @DynamicInsert
 @DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
 @Table(schema = "project110", name = "category")
 public class Category {
 
@@ -38,4 +44,11 @@ public class Category {
 
     @Column(name = "name", nullable = false)
     private String name;
+
+    /**
+     * Lock otimista (também usada na escrita condicional do cache).
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -0,0 +1,45 @@
+package com.jeanbarcellos.project110.entity;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estatísticas dos produtos de uma categoria, mantidas incrementalmente por
+ * triggers (ver V202610191600__create_category_stats.sql). Somente leitura.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(schema = "project110", name = "category_stats")
+public class CategoryStats {
+
+    @Id
+    @Column(name = "category_id", nullable = false, updatable = false)
+    private Long categoryId;
+
+    @Column(name = "product_count", nullable = false)
+    private Long productCount;
+
+    @Column(name = "price_sum", nullable = false)
+    private BigDecimal priceSum;
+
+    @Column(name = "min_price")
+    private BigDecimal minPrice;
+
+    @Column(name = "max_price")
+    private BigDecimal maxPrice;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+}
@@ -0,0 +1,38 @@
+package com.jeanbarcellos.project110.entity;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tombstone de uma linha excluída (gravado por trigger), usado na
+ * sincronização incremental. Sem {@code rowId}: a tabela foi truncada.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(schema = "project110", name = "deleted_row")
+public class DeletedRow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "table_name", nullable = false, updatable = false)
+    private String tableName;
+
+    @Column(name = "row_id", updatable = false)
+    private Long rowId;
+
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private OffsetDateTime deletedAt;
+
+}
@@ -6,6 +6,8 @@ import java.time.LocalDate;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
+import com.jeanbarcellos.project110.cache.VersionedValue;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -13,6 +15,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -30,7 +33,7 @@ import lombok.Setter;
 @DynamicInsert
 @DynamicUpdate
 @Table(schema = "project110", name = "person")
-public class Person implements Serializable {
+public class Person implements Serializable, VersionedValue {
 
     @Id
     @GeneratedValue(generator = "person_id_seq_generator", strategy = GenerationType.SEQUENCE)
@@ -44,4 +47,11 @@ public class Person implements Serializable {
 
     @Column(name = "birth_date", nullable = false)
     private LocalDate birthDate;
+
+    /**
+     * Lock otimista. A pessoa vai direto para o cache, com a versão.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
\ No newline at end of file
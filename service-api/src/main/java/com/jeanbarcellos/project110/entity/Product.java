@@ -2,9 +2,12 @@ package com.jeanbarcellos.project110.entity;
 
 import java.math.BigDecimal;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -16,6 +19,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -32,6 +36,8 @@ import lombok.Setter;
 @Entity
 @DynamicInsert
 @DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
 @Table(schema = "project110", name = "product")
 public class Product {
 
@@ -54,4 +60,11 @@ public class Product {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", referencedColumnName = "id", foreignKey = @ForeignKey(name = "product_category_id_fk"), nullable = false)
     private Category category;
+
+    /**
+     * Lock otimista. Copiada para o ProductResponse, que guarda a versão no cache.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.jeanbarcellos.project110.latency;
+
+import org.springframework.dao.TransientDataAccessResourceException;
+
+/**
+ * Falha simulada pela injeção de latência (como se o banco estivesse
+ * indisponível).
+ */
+public class InjectedFaultException extends TransientDataAccessResourceException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InjectedFaultException(String target) {
+        super("Falha injetada em " + target);
+    }
+
+}
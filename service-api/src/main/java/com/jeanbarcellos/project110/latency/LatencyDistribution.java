@@ -0,0 +1,24 @@
+package com.jeanbarcellos.project110.latency;
+
+/**
+ * Distribuições de latência disponíveis para a injeção.
+ */
+public enum LatencyDistribution {
+
+    /**
+     * Sempre o mesmo valor (fixed).
+     */
+    FIXED,
+
+    /**
+     * Normal com média (mean) e desvio padrão (std-dev), sem valores negativos.
+     */
+    NORMAL,
+
+    /**
+     * Log-normal definida pela mediana (median) e pelo p99 (p99): a maioria das
+     * chamadas é rápida e poucas são muito lentas.
+     */
+    LONG_TAIL
+
+}
@@ -0,0 +1,20 @@
+package com.jeanbarcellos.project110.latency;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuração da injeção de latência (app-config.latency-injection).
+ *
+ * As regras são indexadas pelo alvo: "Classe.metodo", "Classe.*", "*.metodo"
+ * ou "*" (nesta ordem de precedência).
+ */
+@ConfigurationProperties("app-config.latency-injection")
+public record LatencyInjectionProperties(boolean enabled, Map<String, LatencyRule> rules) {
+
+    public LatencyInjectionProperties {
+        rules = rules != null ? Map.copyOf(rules) : Map.of();
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.jeanbarcellos.project110.latency;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import com.jeanbarcellos.core.util.ThreadUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Simula a latência (e falhas) do banco de dados nos pontos de acesso dos
+ * serviços, para reproduzir o perfil de produção em testes de carga.
+ *
+ * - Desabilitado (padrão, produção), não faz nada.
+ * - Cada alvo ("ProductService.getById") usa a regra mais específica
+ * configurada; sem regra, não há latência.
+ * - A versão bloqueante dorme na thread da requisição; a reativa usa um timer,
+ * sem ocupar a thread.
+ * - Latências e falhas injetadas são exportadas como métricas
+ * (latency.injected, latency.injected.faults), separando o tempo simulado do
+ * tempo real.
+ */
+@Slf4j
+public class LatencyInjector {
+
+    private static final String WILDCARD = "*";
+
+    private static final String METRIC_LATENCY = "latency.injected";
+    private static final String METRIC_FAULTS = "latency.injected.faults";
+
+    private final boolean enabled;
+
+    private final Map<String, LatencyRule> rules;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Supplier<Random> random;
+
+    private final Map<String, Optional<LatencyRule>> resolved = new ConcurrentHashMap<>();
+
+    public LatencyInjector(LatencyInjectionProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, ThreadLocalRandom::current);
+    }
+
+    LatencyInjector(LatencyInjectionProperties properties, MeterRegistry meterRegistry, Supplier<Random> random) {
+        this.enabled = properties.enabled();
+        this.rules = properties.rules();
+        this.meterRegistry = meterRegistry;
+        this.random = random;
+
+        if (this.enabled) {
+            log.warn("Injeção de latência habilitada: {} regra(s) {}", this.rules.size(), this.rules.keySet());
+        }
+    }
+
+    /**
+     * Aplica a latência do alvo na thread atual; pode lançar
+     * {@link InjectedFaultException}.
+     */
+    public void inject(String target) {
+        var rule = this.ruleFor(target);
+
+        if (rule.isEmpty()) {
+            return;
+        }
+
+        var delay = this.delay(target, rule.get());
+
+        if (!delay.isZero()) {
+            ThreadUtils.delay(delay.toMillis());
+        }
+
+        this.failIfSampled(target, rule.get());
+    }
+
+    /**
+     * Versão não bloqueante de {@link #inject(String)}.
+     */
+    public Mono<Void> injectReactive(String target) {
+        var rule = this.ruleFor(target);
+
+        if (rule.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return Mono.defer(() -> {
+            var delay = this.delay(target, rule.get());
+            var wait = delay.isZero() ? Mono.<Long>empty() : Mono.delay(delay);
+
+            return wait.then(Mono.fromRunnable(() -> this.failIfSampled(target, rule.get())));
+        });
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    Optional<LatencyRule> ruleFor(String target) {
+        if (!this.enabled || this.rules.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return this.resolved.computeIfAbsent(target, this::resolve);
+    }
+
+    private Optional<LatencyRule> resolve(String target) {
+        var separator = target.lastIndexOf('.');
+        var type = separator >= 0 ? target.substring(0, separator) : target;
+        var method = separator >= 0 ? target.substring(separator + 1) : WILDCARD;
+
+        for (var candidate : new String[] { target, type + "." + WILDCARD, WILDCARD + "." + method, WILDCARD }) {
+            var rule = this.rules.get(candidate);
+
+            if (rule != null) {
+                return Optional.of(rule);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Duration delay(String target, LatencyRule rule) {
+        var delay = rule.sample(this.random.get());
+
+        Timer.builder(METRIC_LATENCY)
+                .tag("target", target)
+                .register(this.meterRegistry)
+                .record(delay);
+
+        return delay;
+    }
+
+    private void failIfSampled(String target, LatencyRule rule) {
+        if (rule.fails(this.random.get())) {
+            Counter.builder(METRIC_FAULTS)
+                    .tag("target", target)
+                    .register(this.meterRegistry)
+                    .increment();
+
+            throw new InjectedFaultException(target);
+        }
+    }
+
+}
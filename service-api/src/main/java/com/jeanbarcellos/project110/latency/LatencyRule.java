@@ -0,0 +1,110 @@
+package com.jeanbarcellos.project110.latency;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Latência e taxa de erro injetadas em um alvo (ex.: "ProductService.getById").
+ *
+ * @param distribution forma da distribuição (padrão FIXED)
+ * @param fixed        valor do FIXED
+ * @param mean         média do NORMAL
+ * @param stdDev       desvio padrão do NORMAL
+ * @param median       mediana do LONG_TAIL
+ * @param p99          percentil 99 do LONG_TAIL
+ * @param max          teto de qualquer amostra (opcional)
+ * @param errorRate    fração das chamadas que falham (0 a 1), após a latência
+ */
+public record LatencyRule(
+        LatencyDistribution distribution,
+        Duration fixed,
+        Duration mean,
+        Duration stdDev,
+        Duration median,
+        Duration p99,
+        Duration max,
+        double errorRate) {
+
+    // Quantil 0,99 da normal padrão
+    private static final double Z_99 = 2.326348;
+
+    public LatencyRule {
+        if (distribution == null) {
+            distribution = LatencyDistribution.FIXED;
+        }
+
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("errorRate deve estar entre 0 e 1: " + errorRate);
+        }
+
+        if (distribution == LatencyDistribution.LONG_TAIL && median != null && p99 != null
+                && p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("p99 (" + p99 + ") menor que a mediana (" + median + ")");
+        }
+    }
+
+    public static LatencyRule fixed(Duration value) {
+        return new LatencyRule(LatencyDistribution.FIXED, value, null, null, null, null, null, 0);
+    }
+
+    public static LatencyRule normal(Duration mean, Duration stdDev) {
+        return new LatencyRule(LatencyDistribution.NORMAL, null, mean, stdDev, null, null, null, 0);
+    }
+
+    public static LatencyRule longTail(Duration median, Duration p99) {
+        return new LatencyRule(LatencyDistribution.LONG_TAIL, null, null, null, median, p99, null, 0);
+    }
+
+    public LatencyRule withErrorRate(double errorRate) {
+        return new LatencyRule(this.distribution, this.fixed, this.mean, this.stdDev, this.median, this.p99,
+                this.max, errorRate);
+    }
+
+    public LatencyRule withMax(Duration max) {
+        return new LatencyRule(this.distribution, this.fixed, this.mean, this.stdDev, this.median, this.p99,
+                max, this.errorRate);
+    }
+
+    /**
+     * Sorteia uma latência.
+     */
+    public Duration sample(Random random) {
+        var millis = switch (this.distribution) {
+            case FIXED -> millis(this.fixed);
+            case NORMAL -> millis(this.mean) + random.nextGaussian() * millis(this.stdDev);
+            case LONG_TAIL -> this.sampleLongTail(random);
+        };
+
+        if (this.max != null) {
+            millis = Math.min(millis, millis(this.max));
+        }
+
+        return Duration.ofNanos((long) (Math.max(0, millis) * 1_000_000));
+    }
+
+    /**
+     * Sorteia se a chamada deve falhar.
+     */
+    public boolean fails(Random random) {
+        return this.errorRate > 0 && random.nextDouble() < this.errorRate;
+    }
+
+    private double sampleLongTail(Random random) {
+        var median = millis(this.median);
+
+        if (median <= 0) {
+            return 0;
+        }
+
+        // ln(X) ~ N(mu, sigma): mediana = e^mu, p99 = e^(mu + 2,33 sigma)
+        var mu = Math.log(median);
+        var sigma = this.p99 != null ? (Math.log(millis(this.p99)) - mu) / Z_99 : 0;
+
+        return Math.exp(mu + sigma * random.nextGaussian());
+    }
+
+    private static double millis(Duration duration) {
+        return duration != null ? duration.toNanos() / 1_000_000.0 : 0;
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.jeanbarcellos.project110.mapper;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
 
 import org.modelmapper.ModelMapper;
@@ -7,7 +9,9 @@ import org.springframework.stereotype.Component;
 
 import com.jeanbarcellos.project110.dto.CategoryRequest;
 import com.jeanbarcellos.project110.dto.CategoryResponse;
+import com.jeanbarcellos.project110.dto.CategoryStatsResponse;
 import com.jeanbarcellos.project110.entity.Category;
+import com.jeanbarcellos.project110.repository.CategoryStatsRow;
 
 import lombok.RequiredArgsConstructor;
 
@@ -31,6 +35,24 @@ public class CategoryMapper {
                 .toList();
     }
 
+    /**
+     * A média é calculada a partir da soma e da quantidade mantidas no banco.
+     */
+    public CategoryStatsResponse toStatsResponse(CategoryStatsRow row) {
+        var avgPrice = row.getProductCount() > 0
+                ? row.getPriceSum().divide(BigDecimal.valueOf(row.getProductCount()), 2, RoundingMode.HALF_UP)
+                : null;
+
+        return CategoryStatsResponse.builder()
+                .categoryId(row.getCategoryId())
+                .categoryName(row.getCategoryName())
+                .productCount(row.getProductCount())
+                .minPrice(row.getMinPrice())
+                .avgPrice(avgPrice)
+                .maxPrice(row.getMaxPrice())
+                .build();
+    }
+
     public Category copy(Category destination, CategoryRequest source) {
         this.modelMapper.map(source, destination);
         return destination;
@@ -1,13 +1,16 @@
 package com.jeanbarcellos.project110.mapper;
 
+import java.time.ZoneOffset;
 import java.util.List;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+import com.jeanbarcellos.project110.dto.ProductChange;
 import com.jeanbarcellos.project110.dto.ProductRequest;
 import com.jeanbarcellos.project110.dto.ProductResponse;
 import com.jeanbarcellos.project110.entity.Product;
+import com.jeanbarcellos.project110.repository.ProductChangeRow;
 
 import lombok.RequiredArgsConstructor;
 
@@ -30,6 +33,31 @@ public class ProductMapper {
                 .toList();
     }
 
+    public ProductChange toChange(ProductChangeRow row) {
+        if (row.isDeleted()) {
+            return ProductChange.builder()
+                    .op(ProductChange.Operation.DELETE)
+                    .id(row.getId())
+                    .changedAt(row.getChangedAt().atOffset(ZoneOffset.UTC))
+                    .build();
+        }
+
+        return ProductChange.builder()
+                .op(ProductChange.Operation.UPSERT)
+                .id(row.getId())
+                .changedAt(row.getChangedAt().atOffset(ZoneOffset.UTC))
+                .product(ProductResponse.builder()
+                        .id(row.getId())
+                        .name(row.getName())
+                        .description(row.getDescription())
+                        .price(row.getPrice())
+                        .categoryId(row.getCategoryId())
+                        .categoryName(row.getCategoryName())
+                        .version(row.getVersion())
+                        .build())
+                .build();
+    }
+
     public Product copy(Product entity, ProductRequest source) {
         this.modelMapper.map(source, entity);
 
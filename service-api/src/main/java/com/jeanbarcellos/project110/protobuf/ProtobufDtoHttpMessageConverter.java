@@ -0,0 +1,145 @@
+package com.jeanbarcellos.project110.protobuf;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.server.ServletServerHttpResponse;
+
+import com.google.protobuf.CodedOutputStream;
+import com.jeanbarcellos.project110.cache.HttpCacheSupport;
+
+/**
+ * Respostas em protobuf (Accept: application/x-protobuf ou
+ * application/protobuf) para os DTOs com mensagem no schema (ver
+ * {@link ProtobufEncoders}), inclusive listas deles.
+ *
+ * - Somente escrita; as requisições continuam em JSON.
+ * - Headers X-Protobuf-Schema/X-Protobuf-Message identificam a mensagem do
+ * corpo.
+ * - O ETag da resposta passa a ser a variante protobuf do ETag do cache.
+ * - Registrado depois do Jackson: sem Accept explícito a resposta continua
+ * em JSON.
+ */
+public class ProtobufDtoHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_X_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "protobuf");
+
+    public static final String HEADER_SCHEMA = "X-Protobuf-Schema";
+
+    public static final String HEADER_MESSAGE = "X-Protobuf-Message";
+
+    static final String ETAG_VARIANT = "protobuf";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    public ProtobufDtoHttpMessageConverter() {
+        super(APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ProtobufEncoders.forType(clazz) != null;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * Listas entram nos tipos produzíveis pela classe (ex.: ArrayList); o tipo
+     * dos itens é verificado em {@link #canWrite(Type, Class, MediaType)}.
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz) || this.supports(clazz)
+                ? this.getSupportedMediaTypes()
+                : List.of();
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return encoderFor(type, clazz) != null && this.canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+
+        var encoder = encoderFor(type, value.getClass());
+
+        if (encoder == null) {
+            throw new HttpMessageNotWritableException(
+                    "No protobuf message for " + (type != null ? type : value.getClass()));
+        }
+
+        var headers = outputMessage.getHeaders();
+        headers.set(HEADER_SCHEMA, ProtobufEncoders.SCHEMA);
+        headers.set(HEADER_MESSAGE, encoder.getMessageName());
+
+        var etag = headers.getETag();
+        if (etag != null) {
+            setEtag(outputMessage, HttpCacheSupport.variantEtag(etag, ETAG_VARIANT));
+        }
+
+        var out = CodedOutputStream.newInstance(outputMessage.getBody(), BUFFER_SIZE);
+        encoder.write(value, out);
+        out.flush();
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf requests are not supported", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf requests are not supported", inputMessage);
+    }
+
+    /**
+     * Em GET o ETag já foi escrito na resposta do servlet (checkNotModified):
+     * substitui lá, senão a resposta sairia com os dois ETags.
+     */
+    private static void setEtag(HttpOutputMessage outputMessage, String etag) {
+        if (outputMessage instanceof ServletServerHttpResponse servletResponse) {
+            servletResponse.getServletResponse().setHeader(HttpHeaders.ETAG, etag);
+            outputMessage.getHeaders().remove(HttpHeaders.ETAG);
+        } else {
+            outputMessage.getHeaders().setETag(etag);
+        }
+    }
+
+    /**
+     * Encoder do DTO ou da lista de DTOs (tipo genérico declarado no
+     * controller, ex.: List&lt;ProductResponse&gt;), ou null.
+     */
+    static ProtobufEncoder<Object> encoderFor(Type type, Class<?> clazz) {
+        var resolvable = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        var rawClass = resolvable.resolve(clazz);
+
+        if (rawClass != null && Collection.class.isAssignableFrom(rawClass)) {
+            return ProtobufEncoders.forListOf(resolvable.asCollection().resolveGeneric(0));
+        }
+
+        return ProtobufEncoders.forType(rawClass);
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.jeanbarcellos.project110.protobuf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+/**
+ * Codifica um objeto como uma mensagem protobuf, sem classes geradas: os
+ * campos do DTO são escritos direto no {@link CodedOutputStream}.
+ *
+ * - {@link #size} calcula o tamanho da mensagem, usado como prefixo quando
+ * ela é aninhada em outra (campo ou item de lista).
+ * - Campos nulos são omitidos (valor padrão no proto3).
+ *
+ * @param <T> tipo codificado
+ */
+public abstract class ProtobufEncoder<T> {
+
+    private final String messageName;
+
+    protected ProtobufEncoder(String messageName) {
+        this.messageName = messageName;
+    }
+
+    /**
+     * Nome completo da mensagem no schema (ex.: "project110.Product").
+     */
+    public String getMessageName() {
+        return this.messageName;
+    }
+
+    /**
+     * Tamanho da mensagem codificada, em bytes.
+     */
+    public abstract int size(T value);
+
+    public abstract void write(T value, CodedOutputStream out) throws IOException;
+
+    /**
+     * Codifica a mensagem em um array (ex.: testes e benchmark); respostas HTTP
+     * são escritas direto no stream.
+     */
+    public byte[] encode(T value) {
+        var bytes = new byte[this.size(value)];
+        var out = CodedOutputStream.newInstance(bytes);
+
+        try {
+            this.write(value, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        out.checkNoSpaceLeft();
+
+        return bytes;
+    }
+
+    // ---- Campos
+
+    protected static int int64Size(int field, Long value) {
+        return value != null ? CodedOutputStream.computeInt64Size(field, value) : 0;
+    }
+
+    protected static void writeInt64(CodedOutputStream out, int field, Long value) throws IOException {
+        if (value != null) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    protected static int stringSize(int field, String value) {
+        return value != null ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+
+    protected static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null) {
+            out.writeString(field, value);
+        }
+    }
+
+    protected static <M> int messageSize(int field, M value, ProtobufEncoder<M> encoder) {
+        if (value == null) {
+            return 0;
+        }
+
+        var size = encoder.size(value);
+
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    protected static <M> void writeMessage(CodedOutputStream out, int field, M value, ProtobufEncoder<M> encoder)
+            throws IOException {
+        if (value != null) {
+            out.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(encoder.size(value));
+            encoder.write(value, out);
+        }
+    }
+
+}
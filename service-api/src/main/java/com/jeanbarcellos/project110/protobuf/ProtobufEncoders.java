@@ -0,0 +1,186 @@
+package com.jeanbarcellos.project110.protobuf;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+import com.google.protobuf.CodedOutputStream;
+import com.jeanbarcellos.project110.dto.CategoryResponse;
+import com.jeanbarcellos.project110.dto.PersonResponse;
+import com.jeanbarcellos.project110.dto.ProductResponse;
+
+/**
+ * Mensagens protobuf das respostas da API (schema em
+ * resources/protobuf/project110.proto; os números dos campos abaixo devem
+ * acompanhar o schema).
+ */
+public final class ProtobufEncoders {
+
+    public static final String SCHEMA = "protobuf/project110.proto";
+
+    private static final String PACKAGE = "project110.";
+
+    /**
+     * Decimal exato: valor = unscaled * 10^-scale (os preços, NUMERIC(10, 2),
+     * cabem em um long).
+     */
+    public static final ProtobufEncoder<BigDecimal> DECIMAL = new ProtobufEncoder<>(PACKAGE + "Decimal") {
+
+        @Override
+        public int size(BigDecimal value) {
+            return CodedOutputStream.computeSInt64Size(1, value.unscaledValue().longValueExact())
+                    + CodedOutputStream.computeInt32Size(2, value.scale());
+        }
+
+        @Override
+        public void write(BigDecimal value, CodedOutputStream out) throws IOException {
+            out.writeSInt64(1, value.unscaledValue().longValueExact());
+            out.writeInt32(2, value.scale());
+        }
+
+    };
+
+    public static final ProtobufEncoder<LocalDate> DATE = new ProtobufEncoder<>(PACKAGE + "Date") {
+
+        @Override
+        public int size(LocalDate value) {
+            return CodedOutputStream.computeInt32Size(1, value.getYear())
+                    + CodedOutputStream.computeInt32Size(2, value.getMonthValue())
+                    + CodedOutputStream.computeInt32Size(3, value.getDayOfMonth());
+        }
+
+        @Override
+        public void write(LocalDate value, CodedOutputStream out) throws IOException {
+            out.writeInt32(1, value.getYear());
+            out.writeInt32(2, value.getMonthValue());
+            out.writeInt32(3, value.getDayOfMonth());
+        }
+
+    };
+
+    public static final ProtobufEncoder<ProductResponse> PRODUCT = new ProtobufEncoder<>(PACKAGE + "Product") {
+
+        @Override
+        public int size(ProductResponse value) {
+            return int64Size(1, value.getId())
+                    + stringSize(2, value.getName())
+                    + stringSize(3, value.getDescription())
+                    + messageSize(4, value.getPrice(), DECIMAL)
+                    + int64Size(5, value.getCategoryId())
+                    + stringSize(6, value.getCategoryName())
+                    + int64Size(7, value.getVersion());
+        }
+
+        @Override
+        public void write(ProductResponse value, CodedOutputStream out) throws IOException {
+            writeInt64(out, 1, value.getId());
+            writeString(out, 2, value.getName());
+            writeString(out, 3, value.getDescription());
+            writeMessage(out, 4, value.getPrice(), DECIMAL);
+            writeInt64(out, 5, value.getCategoryId());
+            writeString(out, 6, value.getCategoryName());
+            writeInt64(out, 7, value.getVersion());
+        }
+
+    };
+
+    public static final ProtobufEncoder<CategoryResponse> CATEGORY = new ProtobufEncoder<>(PACKAGE + "Category") {
+
+        @Override
+        public int size(CategoryResponse value) {
+            return int64Size(1, value.getId())
+                    + stringSize(2, value.getName())
+                    + int64Size(3, value.getVersion());
+        }
+
+        @Override
+        public void write(CategoryResponse value, CodedOutputStream out) throws IOException {
+            writeInt64(out, 1, value.getId());
+            writeString(out, 2, value.getName());
+            writeInt64(out, 3, value.getVersion());
+        }
+
+    };
+
+    public static final ProtobufEncoder<PersonResponse> PERSON = new ProtobufEncoder<>(PACKAGE + "Person") {
+
+        @Override
+        public int size(PersonResponse value) {
+            return int64Size(1, value.getId())
+                    + stringSize(2, value.getName())
+                    + messageSize(3, value.getBirthDate(), DATE);
+        }
+
+        @Override
+        public void write(PersonResponse value, CodedOutputStream out) throws IOException {
+            writeInt64(out, 1, value.getId());
+            writeString(out, 2, value.getName());
+            writeMessage(out, 3, value.getBirthDate(), DATE);
+        }
+
+    };
+
+    public static final ProtobufEncoder<Collection<ProductResponse>> PRODUCT_LIST = listOf(PRODUCT);
+
+    public static final ProtobufEncoder<Collection<CategoryResponse>> CATEGORY_LIST = listOf(CATEGORY);
+
+    public static final ProtobufEncoder<Collection<PersonResponse>> PERSON_LIST = listOf(PERSON);
+
+    private static final Map<Class<?>, ProtobufEncoder<?>> ENCODERS = Map.of(
+            ProductResponse.class, PRODUCT,
+            CategoryResponse.class, CATEGORY,
+            PersonResponse.class, PERSON);
+
+    private static final Map<Class<?>, ProtobufEncoder<?>> LIST_ENCODERS = Map.of(
+            ProductResponse.class, PRODUCT_LIST,
+            CategoryResponse.class, CATEGORY_LIST,
+            PersonResponse.class, PERSON_LIST);
+
+    private ProtobufEncoders() {
+    }
+
+    /**
+     * Encoder do tipo, ou null se ele não tiver mensagem no schema.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ProtobufEncoder<T> forType(Class<?> type) {
+        return type != null ? (ProtobufEncoder<T>) ENCODERS.get(type) : null;
+    }
+
+    /**
+     * Encoder da lista (mensagem *List) com itens do tipo, ou null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ProtobufEncoder<T> forListOf(Class<?> elementType) {
+        return elementType != null ? (ProtobufEncoder<T>) LIST_ENCODERS.get(elementType) : null;
+    }
+
+    /**
+     * Lista como mensagem "{Item}List { repeated {Item} items = 1; }" (itens
+     * nulos são omitidos).
+     */
+    private static <T> ProtobufEncoder<Collection<T>> listOf(ProtobufEncoder<T> item) {
+        return new ProtobufEncoder<>(item.getMessageName() + "List") {
+
+            @Override
+            public int size(Collection<T> value) {
+                int size = 0;
+                for (var element : value) {
+                    size += messageSize(1, element, item);
+                }
+                return size;
+            }
+
+            @Override
+            public void write(Collection<T> value, CodedOutputStream out) throws IOException {
+                for (var element : value) {
+                    writeMessage(out, 1, element, item);
+                }
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.jeanbarcellos.project110.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.jeanbarcellos.project110.entity.Category;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de leitura de categorias via R2DBC (não bloqueante).
+ */
+@Repository
+@RequiredArgsConstructor
+public class CategoryReactiveRepository {
+
+    private static final String SQL_SELECT = "SELECT id, name, version FROM project110.category";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Category> findAll() {
+        return this.databaseClient.sql(SQL_SELECT)
+                .map(CategoryReactiveRepository::toEntity)
+                .all();
+    }
+
+    public Mono<Category> findById(Long id) {
+        return this.databaseClient.sql(SQL_SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(CategoryReactiveRepository::toEntity)
+                .one();
+    }
+
+    private static Category toEntity(Readable row) {
+        return Category.of(row.get("id", Long.class), row.get("name", String.class), row.get("version", Long.class));
+    }
+
+}
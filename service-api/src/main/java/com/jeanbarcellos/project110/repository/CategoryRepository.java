@@ -1,9 +1,33 @@
 package com.jeanbarcellos.project110.repository;
 
+import java.util.List;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.jeanbarcellos.project110.entity.Category;
+
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Lista usando o cache de consultas do Hibernate (2nd level cache).
+     */
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
+
+    /**
+     * IDs existentes por lotes, em ordem crescente (keyset).
+     */
+    @Query("select c.id from Category c where c.id > :id order by c.id")
+    List<Long> findIdsGreaterThan(@Param("id") Long id, Limit limit);
+
+}
@@ -0,0 +1,33 @@
+package com.jeanbarcellos.project110.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.jeanbarcellos.project110.entity.CategoryStats;
+
+@Repository
+public interface CategoryStatsRepository extends JpaRepository<CategoryStats, Long> {
+
+    String SELECT_ROWS = """
+            select c.id as categoryId, c.name as categoryName,
+                   coalesce(s.productCount, 0) as productCount, coalesce(s.priceSum, 0) as priceSum,
+                   s.minPrice as minPrice, s.maxPrice as maxPrice
+              from Category c
+              left join CategoryStats s on s.categoryId = c.id
+            """;
+
+    /**
+     * Todas as categorias (inclusive sem produtos), uma linha por categoria.
+     */
+    @Query(SELECT_ROWS + " order by c.id")
+    List<CategoryStatsRow> findAllRows();
+
+    @Query(SELECT_ROWS + " where c.id = :id")
+    Optional<CategoryStatsRow> findRowById(@Param("id") Long id);
+
+}
@@ -0,0 +1,23 @@
+package com.jeanbarcellos.project110.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Categoria com as estatísticas dos produtos (ver
+ * {@link CategoryStatsRepository}); sem produtos, quantidade e soma zeradas.
+ */
+public interface CategoryStatsRow {
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    long getProductCount();
+
+    BigDecimal getPriceSum();
+
+    BigDecimal getMinPrice();
+
+    BigDecimal getMaxPrice();
+
+}
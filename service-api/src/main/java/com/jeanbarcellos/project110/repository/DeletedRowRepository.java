@@ -0,0 +1,34 @@
+package com.jeanbarcellos.project110.repository;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jeanbarcellos.project110.entity.DeletedRow;
+
+@Repository
+public interface DeletedRowRepository extends JpaRepository<DeletedRow, Long> {
+
+    /**
+     * Se a tabela foi truncada a partir de {@code since}.
+     */
+    @Query("""
+            select count(d) > 0 from DeletedRow d
+             where d.tableName = :tableName and d.rowId is null and d.deletedAt >= :since
+            """)
+    boolean existsTruncateSince(@Param("tableName") String tableName, @Param("since") OffsetDateTime since);
+
+    /**
+     * Remove os tombstones anteriores à retenção.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from DeletedRow d where d.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") OffsetDateTime before);
+
+}
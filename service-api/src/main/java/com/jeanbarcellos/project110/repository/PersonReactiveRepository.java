@@ -0,0 +1,47 @@
+package com.jeanbarcellos.project110.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.jeanbarcellos.project110.entity.Person;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de leitura de pessoas via R2DBC (não bloqueante).
+ */
+@Repository
+@RequiredArgsConstructor
+public class PersonReactiveRepository {
+
+    private static final String SQL_SELECT = "SELECT id, name, birth_date, version FROM project110.person";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Person> findAll() {
+        return this.databaseClient.sql(SQL_SELECT)
+                .map(PersonReactiveRepository::toEntity)
+                .all();
+    }
+
+    public Mono<Person> findById(Long id) {
+        return this.databaseClient.sql(SQL_SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(PersonReactiveRepository::toEntity)
+                .one();
+    }
+
+    private static Person toEntity(Readable row) {
+        return Person.of(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("birth_date", LocalDate.class),
+                row.get("version", Long.class));
+    }
+
+}
@@ -1,10 +1,22 @@
 package com.jeanbarcellos.project110.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.jeanbarcellos.project110.entity.Person;
 
 @Repository
 public interface PersonRepository extends JpaRepository<Person, Long> {
-}
\ No newline at end of file
+
+    /**
+     * IDs existentes por lotes, em ordem crescente (keyset).
+     */
+    @Query("select p.id from Person p where p.id > :id order by p.id")
+    List<Long> findIdsGreaterThan(@Param("id") Long id, Limit limit);
+
+}
@@ -0,0 +1,30 @@
+package com.jeanbarcellos.project110.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Linha do feed de alterações de produtos (ver
+ * {@link ProductRepository#findChanges}).
+ */
+public interface ProductChangeRow {
+
+    Long getId();
+
+    Instant getChangedAt();
+
+    boolean isDeleted();
+
+    String getName();
+
+    String getDescription();
+
+    BigDecimal getPrice();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    Long getVersion();
+
+}
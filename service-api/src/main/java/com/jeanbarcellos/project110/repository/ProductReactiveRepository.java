@@ -0,0 +1,57 @@
+package com.jeanbarcellos.project110.repository;
+
+import java.math.BigDecimal;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.jeanbarcellos.project110.entity.Category;
+import com.jeanbarcellos.project110.entity.Product;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de leitura de produtos via R2DBC (não bloqueante).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductReactiveRepository {
+
+    private static final String SQL_SELECT = """
+            SELECT p.id, p.name, p.description, p.price, p.version, p.category_id, c.name AS category_name
+              FROM project110.product p
+              LEFT JOIN project110.category c ON c.id = p.category_id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Product> findAll() {
+        return this.databaseClient.sql(SQL_SELECT)
+                .map(ProductReactiveRepository::toEntity)
+                .all();
+    }
+
+    public Mono<Product> findById(Long id) {
+        return this.databaseClient.sql(SQL_SELECT + " WHERE p.id = :id")
+                .bind("id", id)
+                .map(ProductReactiveRepository::toEntity)
+                .one();
+    }
+
+    private static Product toEntity(Readable row) {
+        var categoryId = row.get("category_id", Long.class);
+
+        return Product.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .description(row.get("description", String.class))
+                .price(row.get("price", BigDecimal.class))
+                .version(row.get("version", Long.class))
+                .category(categoryId == null ? null : Category.of(categoryId, row.get("category_name", String.class), null))
+                .build();
+    }
+
+}
@@ -1,10 +1,149 @@
 package com.jeanbarcellos.project110.repository;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.jeanbarcellos.project110.entity.Product;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
-}
\ No newline at end of file
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+
+    /**
+     * Lista usando o cache de consultas do Hibernate (2nd level cache).
+     */
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Product> findAll();
+
+    /**
+     * Produtos de uma categoria (índice product_category_id_price_idx).
+     */
+    List<Product> findByCategoryId(Long categoryId);
+
+    /**
+     * Produtos de várias categorias, já com a categoria.
+     */
+    @EntityGraph(attributePaths = "category")
+    List<Product> findByCategoryIdIn(Collection<Long> categoryIds);
+
+    /**
+     * Listagem filtrada (ver {@link ProductSpecifications}), já com a categoria.
+     */
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Product> findAll(Specification<Product> spec, Sort sort);
+
+    /**
+     * Leitura por lotes ordenada pelo ID (keyset), já com a categoria.
+     */
+    @EntityGraph(attributePaths = "category")
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Produtos pelos IDs, já com a categoria.
+     */
+    @EntityGraph(attributePaths = "category")
+    List<Product> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Busca textual no PostgreSQL (índice product_search_idx), sem acentos dos
+     * dois lados, como o índice em memória.
+     *
+     * @param query expressão do to_tsquery (ex.: "smart:* & watch:*")
+     */
+    @Query(value = """
+            SELECT p.*
+              FROM project110.product p
+             WHERE to_tsvector('simple', project110.immutable_unaccent(p.name || ' ' || coalesce(p.description, '')))
+                   @@ to_tsquery('simple', project110.immutable_unaccent(:query))
+             ORDER BY ts_rank(to_tsvector('simple', project110.immutable_unaccent(p.name || ' ' || coalesce(p.description, ''))),
+                              to_tsquery('simple', project110.immutable_unaccent(:query))) DESC, p.id
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<Product> searchFullText(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * IDs existentes por lotes, em ordem crescente (keyset).
+     */
+    @Query("select p.id from Product p where p.id > :id order by p.id")
+    List<Long> findIdsGreaterThan(@Param("id") Long id, Limit limit);
+
+    /**
+     * Versão atual dos produtos informados (IDs inexistentes ficam de fora).
+     */
+    @Query("select p.id as id, p.version as version from Product p where p.id in :ids")
+    List<ProductVersionRow> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Alterações após (since, sinceId) e antes de {@code until}, em ordem de
+     * (changedAt, id).
+     *
+     * - O produto muda quando ele ou a categoria muda (o nome da categoria faz
+     * parte da resposta): changedAt é o maior dos dois updated_at.
+     * - Exclusões vêm dos tombstones (deleted = true).
+     * - Transação de escrita: a leitura vai para o primário (a réplica pode
+     * estar atrasada em relação ao horizonte).
+     */
+    @Transactional
+    @Query(value = """
+            SELECT id, changed_at AS changedAt, deleted, name, description, price,
+                   category_id AS categoryId, category_name AS categoryName, version
+              FROM (SELECT p.id, greatest(p.updated_at, c.updated_at) AS changed_at, false AS deleted,
+                           p.name, p.description, p.price, c.id AS category_id, c.name AS category_name,
+                           p.version
+                      FROM project110.product p
+                      JOIN project110.category c ON c.id = p.category_id
+                     WHERE p.updated_at >= :since
+                    UNION
+                    SELECT p.id, greatest(p.updated_at, c.updated_at), false,
+                           p.name, p.description, p.price, c.id, c.name, p.version
+                      FROM project110.category c
+                      JOIN project110.product p ON p.category_id = c.id
+                     WHERE c.updated_at >= :since
+                    UNION ALL
+                    SELECT d.row_id, d.deleted_at, true, NULL, NULL, NULL, NULL, NULL, NULL
+                      FROM project110.deleted_row d
+                     WHERE d.table_name = 'product' AND d.row_id IS NOT NULL AND d.deleted_at >= :since) changes
+             WHERE (changed_at, id) > (:since, :sinceId)
+               AND changed_at < :until
+             ORDER BY changed_at, id
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<ProductChangeRow> findChanges(@Param("since") OffsetDateTime since, @Param("sinceId") long sinceId,
+            @Param("until") OffsetDateTime until, @Param("limit") int limit);
+
+    /**
+     * Horizonte do feed: instante antes do qual nenhuma alteração ainda pode ser
+     * confirmada.
+     *
+     * Menor início entre as transações com escrita em andamento (visíveis para
+     * o mesmo usuário do banco), com 1s de margem; no primário.
+     */
+    @Transactional
+    @Query(value = """
+            SELECT least(clock_timestamp(),
+                         coalesce((SELECT min(a.xact_start)
+                                     FROM pg_stat_activity a
+                                    WHERE a.backend_xid IS NOT NULL AND a.pid <> pg_backend_pid()),
+                                  'infinity')) - interval '1 second'
+            """, nativeQuery = true)
+    Instant findChangeHorizon();
+
+}
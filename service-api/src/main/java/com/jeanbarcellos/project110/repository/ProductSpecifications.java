@@ -0,0 +1,68 @@
+package com.jeanbarcellos.project110.repository;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.jeanbarcellos.project110.dto.ProductFilter;
+import com.jeanbarcellos.project110.entity.Product;
+
+/**
+ * Specifications para a listagem filtrada de produtos.
+ *
+ * Índices: product_category_id_price_idx, product_price_idx e
+ * product_name_lower_idx.
+ */
+public class ProductSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> of(ProductFilter filter) {
+        return Specification.where(hasCategory(filter.getCategoryId()))
+                .and(priceGreaterThanOrEqualTo(filter.getMinPrice()))
+                .and(priceLessThanOrEqualTo(filter.getMaxPrice()))
+                .and(nameStartsWith(filter.normalizedName()));
+    }
+
+    public static Specification<Product> hasCategory(Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<Product> priceGreaterThanOrEqualTo(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), price);
+    }
+
+    public static Specification<Product> priceLessThanOrEqualTo(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), price);
+    }
+
+    /**
+     * lower(name) LIKE 'prefixo%' (o prefixo já deve estar em minúsculas).
+     */
+    public static Specification<Product> nameStartsWith(String prefix) {
+        if (prefix == null) {
+            return null;
+        }
+        var pattern = escapeLike(prefix) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.jeanbarcellos.project110.repository;
+
+/**
+ * ID e versão atual de um produto (ver {@link ProductRepository#findVersionsByIdIn}).
+ */
+public interface ProductVersionRow {
+
+    Long getId();
+
+    Long getVersion();
+
+}
@@ -0,0 +1,47 @@
+package com.jeanbarcellos.project110.search;
+
+import java.math.BigDecimal;
+
+import com.jeanbarcellos.project110.dto.ProductResponse;
+import com.jeanbarcellos.project110.entity.Product;
+
+/**
+ * Documento do índice de busca: dados necessários para responder a busca sem
+ * consultar o banco.
+ */
+public record IndexedProduct(
+        Long id,
+        String name,
+        String description,
+        BigDecimal price,
+        Long categoryId,
+        String categoryName) {
+
+    public static IndexedProduct of(Product entity) {
+        var category = entity.getCategory();
+
+        return new IndexedProduct(
+                entity.getId(),
+                entity.getName(),
+                entity.getDescription(),
+                entity.getPrice(),
+                category != null ? category.getId() : null,
+                category != null ? category.getName() : null);
+    }
+
+    public IndexedProduct withCategoryName(String categoryName) {
+        return new IndexedProduct(this.id, this.name, this.description, this.price, this.categoryId, categoryName);
+    }
+
+    public ProductResponse toResponse() {
+        return ProductResponse.builder()
+                .id(this.id)
+                .name(this.name)
+                .description(this.description)
+                .price(this.price)
+                .categoryId(this.categoryId)
+                .categoryName(this.categoryName)
+                .build();
+    }
+
+}
@@ -0,0 +1,502 @@
+package com.jeanbarcellos.project110.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.jeanbarcellos.core.util.TextUtils;
+
+/**
+ * Índice invertido em memória para busca de produtos por nome e descrição.
+ *
+ * - Termos normalizados (sem acento, minúsculos) em um dicionário ordenado,
+ * permitindo busca por prefixo.
+ * - Cada termo aponta para uma lista de documentos com o peso do termo
+ * (ocorrências no nome valem mais que na descrição).
+ * - Todos os termos da consulta precisam casar (AND); o ranking soma
+ * peso * idf, com desconto para termos casados apenas por prefixo.
+ * - Cada termo da consulta casa com todos os termos do dicionário que começam
+ * com ele (sem corte): as listas desses termos são unidas em arrays
+ * primitivos (docNo ordenado + pontuação), e a interseção começa pelo termo
+ * da consulta com menos documentos, conferindo os candidatos nas listas dos
+ * demais (busca binária, percurso conjunto ou hash dos candidatos, o que
+ * for mais barato).
+ * - Remoções marcam o documento como removido; o índice é compactado quando
+ * os removidos passam a ser maioria.
+ */
+public class ProductSearchIndex {
+
+    private static final int WEIGHT_NAME = 3;
+    private static final int WEIGHT_DESCRIPTION = 1;
+    private static final int MAX_WEIGHT = Byte.MAX_VALUE;
+
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    // Acima desta fração dos documentos, a união usa um acumulador denso
+    // (float por docNo) em vez de ordenar as entradas
+    private static final int DENSE_UNION_DIVISOR = 16;
+
+    private static final int COMPACT_MIN_REMOVED = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+
+    // docNo -> documento (null quando removido)
+    private final List<IndexedProduct> docs = new ArrayList<>();
+
+    private final Map<Long, Integer> docNoById = new HashMap<>();
+
+    private int removedCount;
+
+    /**
+     * Adiciona ou substitui o documento do produto.
+     */
+    public void index(IndexedProduct product) {
+        this.lock.writeLock().lock();
+        try {
+            this.removeInternal(product.id());
+            this.addInternal(product);
+            this.compactIfNeeded();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(Iterable<IndexedProduct> products) {
+        this.lock.writeLock().lock();
+        try {
+            for (var product : products) {
+                this.removeInternal(product.id());
+                this.addInternal(product);
+            }
+            this.compactIfNeeded();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        this.lock.writeLock().lock();
+        try {
+            this.removeInternal(id);
+            this.compactIfNeeded();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Atualiza o nome da categoria exibido nos documentos (não afeta os termos).
+     */
+    public void updateCategoryName(Long categoryId, String categoryName) {
+        this.lock.writeLock().lock();
+        try {
+            for (int docNo = 0; docNo < this.docs.size(); docNo++) {
+                var doc = this.docs.get(docNo);
+                if (doc != null && categoryId.equals(doc.categoryId())) {
+                    this.docs.set(docNo, doc.withCategoryName(categoryName));
+                }
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.docNoById.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public List<IndexedProduct> search(String query, int limit) {
+        var tokens = new LinkedHashSet<>(TextUtils.tokenize(query));
+
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        this.lock.readLock().lock();
+        try {
+            var liveCount = Math.max(1, this.docNoById.size());
+            var matches = new ArrayList<TokenMatch>(tokens.size());
+
+            for (var token : tokens) {
+                var match = this.match(token, liveCount);
+
+                if (match.total == 0) {
+                    return List.of();
+                }
+
+                matches.add(match);
+            }
+
+            // Interseção a partir do termo com menos documentos
+            matches.sort(Comparator.comparingLong(match -> match.total));
+
+            var candidates = this.union(matches.get(0));
+
+            for (int i = 1; i < matches.size() && candidates.size > 0; i++) {
+                intersect(candidates, matches.get(i));
+            }
+
+            return this.topDocs(candidates, limit);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Listas de todos os termos do dicionário que começam com {@code token},
+     * cada uma com o multiplicador idf * (1 ou desconto de prefixo).
+     */
+    private TokenMatch match(String token, int liveCount) {
+        var match = new TokenMatch();
+
+        for (var entry : this.terms.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            var postings = entry.getValue();
+            var factor = entry.getKey().equals(token) ? 1f : PREFIX_FACTOR;
+            var idf = (float) Math.log(1.0 + (double) liveCount / postings.size);
+
+            match.add(postings, idf * factor);
+        }
+
+        return match;
+    }
+
+    /**
+     * Documentos (vivos) de qualquer uma das listas do termo, ordenados pelo
+     * docNo e com as pontuações somadas.
+     */
+    private Candidates union(TokenMatch match) {
+        if (match.count == 1) {
+            var postings = match.postings[0];
+            var candidates = new Candidates(postings.size);
+
+            for (int i = 0; i < postings.size; i++) {
+                candidates.add(postings.docs[i], postings.weights[i] * match.factors[0]);
+            }
+
+            return this.withoutRemoved(candidates);
+        }
+
+        if (match.total > this.docs.size() / DENSE_UNION_DIVISOR) {
+            var dense = new float[this.docs.size()];
+
+            for (int j = 0; j < match.count; j++) {
+                var postings = match.postings[j];
+                for (int i = 0; i < postings.size; i++) {
+                    dense[postings.docs[i]] += postings.weights[i] * match.factors[j];
+                }
+            }
+
+            var candidates = new Candidates((int) Math.min(match.total, dense.length));
+            for (int docNo = 0; docNo < dense.length; docNo++) {
+                if (dense[docNo] > 0) {
+                    candidates.add(docNo, dense[docNo]);
+                }
+            }
+
+            return this.withoutRemoved(candidates);
+        }
+
+        // docNo nos 32 bits altos: a ordenação agrupa as entradas do mesmo documento
+        var packed = new long[(int) match.total];
+        int n = 0;
+
+        for (int j = 0; j < match.count; j++) {
+            var postings = match.postings[j];
+            for (int i = 0; i < postings.size; i++) {
+                var score = postings.weights[i] * match.factors[j];
+                packed[n++] = ((long) postings.docs[i] << 32) | (Float.floatToRawIntBits(score) & 0xFFFFFFFFL);
+            }
+        }
+
+        Arrays.sort(packed);
+
+        var candidates = new Candidates(n);
+        for (var entry : packed) {
+            var docNo = (int) (entry >>> 32);
+            var score = Float.intBitsToFloat((int) entry);
+
+            if (candidates.size > 0 && candidates.docs[candidates.size - 1] == docNo) {
+                candidates.scores[candidates.size - 1] += score;
+            } else {
+                candidates.add(docNo, score);
+            }
+        }
+
+        return this.withoutRemoved(candidates);
+    }
+
+    private Candidates withoutRemoved(Candidates candidates) {
+        int kept = 0;
+
+        for (int i = 0; i < candidates.size; i++) {
+            if (this.docs.get(candidates.docs[i]) != null) {
+                candidates.docs[kept] = candidates.docs[i];
+                candidates.scores[kept] = candidates.scores[i];
+                kept++;
+            }
+        }
+
+        candidates.size = kept;
+        return candidates;
+    }
+
+    /**
+     * Mantém somente os candidatos presentes em alguma lista do termo,
+     * somando a pontuação dele.
+     */
+    private static void intersect(Candidates candidates, TokenMatch match) {
+        var added = new float[candidates.size];
+
+        if (listCost(candidates, match) > match.total + candidates.size) {
+            // Muitas listas (prefixo curto): percorre cada uma uma vez, localizando
+            // o candidato por hash
+            probeAll(candidates, match, added);
+        } else {
+            intersectEach(candidates, match, added);
+        }
+
+        int kept = 0;
+        for (int c = 0; c < candidates.size; c++) {
+            if (added[c] > 0) {
+                candidates.docs[kept] = candidates.docs[c];
+                candidates.scores[kept] = candidates.scores[c] + added[c];
+                kept++;
+            }
+        }
+
+        candidates.size = kept;
+    }
+
+    private static long listCost(Candidates candidates, TokenMatch match) {
+        long cost = 0;
+
+        for (int j = 0; j < match.count; j++) {
+            cost += Math.min(searchCost(candidates, match.postings[j]), candidates.size + match.postings[j].size);
+        }
+
+        return cost;
+    }
+
+    private static long searchCost(Candidates candidates, Postings postings) {
+        return (long) candidates.size * (32 - Integer.numberOfLeadingZeros(postings.size));
+    }
+
+    private static void probeAll(Candidates candidates, TokenMatch match, float[] added) {
+        // Endereçamento aberto: docNo + 1 (0 = vazio) e a posição do candidato
+        var capacity = Integer.highestOneBit(Math.max(2, candidates.size) * 2) * 2;
+        var mask = capacity - 1;
+        var keys = new int[capacity];
+        var positions = new int[capacity];
+
+        for (int c = 0; c < candidates.size; c++) {
+            var slot = mix(candidates.docs[c]) & mask;
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = candidates.docs[c] + 1;
+            positions[slot] = c;
+        }
+
+        for (int j = 0; j < match.count; j++) {
+            var postings = match.postings[j];
+            var factor = match.factors[j];
+
+            for (int i = 0; i < postings.size; i++) {
+                var key = postings.docs[i] + 1;
+                var slot = mix(postings.docs[i]) & mask;
+                while (keys[slot] != 0 && keys[slot] != key) {
+                    slot = (slot + 1) & mask;
+                }
+                if (keys[slot] == key) {
+                    added[positions[slot]] += postings.weights[i] * factor;
+                }
+            }
+        }
+    }
+
+    private static int mix(int docNo) {
+        var h = docNo * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static void intersectEach(Candidates candidates, TokenMatch match, float[] added) {
+        for (int j = 0; j < match.count; j++) {
+            var postings = match.postings[j];
+            var factor = match.factors[j];
+
+            // Poucos candidatos em uma lista longa: busca binária; senão, percurso conjunto
+            if (searchCost(candidates, postings) < candidates.size + postings.size) {
+                int from = 0;
+                for (int c = 0; c < candidates.size && from < postings.size; c++) {
+                    var found = Arrays.binarySearch(postings.docs, from, postings.size, candidates.docs[c]);
+                    if (found >= 0) {
+                        added[c] += postings.weights[found] * factor;
+                        from = found + 1;
+                    } else {
+                        from = -found - 1;
+                    }
+                }
+            } else {
+                int c = 0;
+                int i = 0;
+                while (c < candidates.size && i < postings.size) {
+                    var doc = candidates.docs[c];
+                    var posted = postings.docs[i];
+                    if (doc == posted) {
+                        added[c++] += postings.weights[i++] * factor;
+                    } else if (doc < posted) {
+                        c++;
+                    } else {
+                        i++;
+                    }
+                }
+            }
+        }
+    }
+
+    private List<IndexedProduct> topDocs(Candidates candidates, int limit) {
+        // Menor pontuação (e, no empate, maior docNo) no topo, para ser descartada
+        Comparator<Integer> byScore = (a, b) -> {
+            var compare = Float.compare(candidates.scores[a], candidates.scores[b]);
+            return compare != 0 ? compare : Integer.compare(candidates.docs[b], candidates.docs[a]);
+        };
+
+        var heap = new PriorityQueue<Integer>(limit + 1, byScore);
+
+        for (int c = 0; c < candidates.size; c++) {
+            if (heap.size() < limit) {
+                heap.offer(c);
+            } else if (byScore.compare(c, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(c);
+            }
+        }
+
+        var result = new ArrayList<IndexedProduct>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(this.docs.get(candidates.docs[heap.poll()]));
+        }
+
+        Collections.reverse(result);
+
+        return result;
+    }
+
+    private void addInternal(IndexedProduct product) {
+        int docNo = this.docs.size();
+        this.docs.add(product);
+        this.docNoById.put(product.id(), docNo);
+
+        var weights = new HashMap<String, Integer>();
+        TextUtils.tokenize(product.name()).forEach(term -> weights.merge(term, WEIGHT_NAME, Integer::sum));
+        TextUtils.tokenize(product.description()).forEach(term -> weights.merge(term, WEIGHT_DESCRIPTION, Integer::sum));
+
+        weights.forEach((term, weight) -> this.terms.computeIfAbsent(term, t -> new Postings())
+                .add(docNo, (byte) Math.min(weight, MAX_WEIGHT)));
+    }
+
+    private void removeInternal(Long id) {
+        var docNo = this.docNoById.remove(id);
+
+        if (docNo != null) {
+            this.docs.set(docNo, null);
+            this.removedCount++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (this.removedCount < COMPACT_MIN_REMOVED || this.removedCount < this.docNoById.size()) {
+            return;
+        }
+
+        var live = this.docs.stream().filter(doc -> doc != null).toList();
+
+        this.terms.clear();
+        this.docs.clear();
+        this.docNoById.clear();
+        this.removedCount = 0;
+
+        live.forEach(this::addInternal);
+    }
+
+    /**
+     * Listas casadas por um termo da consulta e o total de entradas delas.
+     */
+    private static final class TokenMatch {
+
+        private Postings[] postings = new Postings[4];
+        private float[] factors = new float[4];
+        private int count;
+        private long total;
+
+        void add(Postings postings, float factor) {
+            if (this.count == this.postings.length) {
+                this.postings = Arrays.copyOf(this.postings, this.count * 2);
+                this.factors = Arrays.copyOf(this.factors, this.count * 2);
+            }
+            this.postings[this.count] = postings;
+            this.factors[this.count] = factor;
+            this.count++;
+            this.total += postings.size;
+        }
+    }
+
+    /**
+     * Documentos candidatos da consulta, ordenados por docNo, com a pontuação
+     * acumulada.
+     */
+    private static final class Candidates {
+
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        Candidates(int capacity) {
+            this.docs = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void add(int docNo, float score) {
+            this.docs[this.size] = docNo;
+            this.scores[this.size] = score;
+            this.size++;
+        }
+    }
+
+    /**
+     * Lista de documentos de um termo (arrays primitivos, ordenados por docNo).
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private byte[] weights = new byte[4];
+        private int size;
+
+        void add(int docNo, byte weight) {
+            if (this.size == this.docs.length) {
+                this.docs = Arrays.copyOf(this.docs, this.size * 2);
+                this.weights = Arrays.copyOf(this.weights, this.size * 2);
+            }
+            this.docs[this.size] = docNo;
+            this.weights[this.size] = weight;
+            this.size++;
+        }
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.jeanbarcellos.project110.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.jeanbarcellos.project110.entity.Category;
+import com.jeanbarcellos.project110.entity.Product;
+import com.jeanbarcellos.project110.repository.CategoryRepository;
+import com.jeanbarcellos.project110.repository.ProductRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém o {@link ProductSearchIndex}.
+ *
+ * - Construído a partir do banco na inicialização (em background, por lotes).
+ * - Atualizado incrementalmente pelo ProductService (create/update/delete)
+ * e pelas notificações de alteração do banco (cdc).
+ * - Enquanto reconstrói, as alterações ficam pendentes e são aplicadas ao
+ * novo índice antes de ele passar a responder as buscas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexer {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+
+    private final CategoryRepository categoryRepository;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "product-search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object monitor = new Object();
+
+    private volatile ProductSearchIndex index;
+
+    // Alterações recebidas durante a reconstrução (null quando não está reconstruindo)
+    private List<Consumer<ProductSearchIndex>> pending;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        this.rebuildAsync();
+    }
+
+    public void rebuildAsync() {
+        synchronized (this.monitor) {
+            if (this.pending != null) {
+                return;
+            }
+            this.pending = new ArrayList<>();
+        }
+
+        this.executor.submit(this::rebuild);
+    }
+
+    public boolean isReady() {
+        return this.index != null && !this.isRebuilding();
+    }
+
+    /**
+     * Busca no índice; vazio se o índice ainda não estiver disponível.
+     */
+    public Optional<List<IndexedProduct>> search(String query, int limit) {
+        var current = this.index;
+
+        if (current == null || this.isRebuilding()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(current.search(query, limit));
+    }
+
+    public void index(Product entity) {
+        var product = IndexedProduct.of(entity);
+
+        // Na criação a categoria vem apenas com o ID
+        if (product.categoryId() != null && product.categoryName() == null) {
+            var categoryName = this.categoryRepository.findById(product.categoryId())
+                    .map(Category::getName)
+                    .orElse(null);
+            product = product.withCategoryName(categoryName);
+        }
+
+        var indexed = product;
+        this.apply(index -> index.index(indexed));
+    }
+
+    public void remove(Long id) {
+        this.apply(index -> index.remove(id));
+    }
+
+    /**
+     * Recarrega os produtos a partir do banco (alterações feitas fora da
+     * aplicação); os que não existem mais são removidos do índice.
+     */
+    public void reindex(Collection<Long> ids) {
+        var found = new HashSet<Long>();
+
+        for (var entity : this.productRepository.findByIdIn(ids)) {
+            var product = IndexedProduct.of(entity);
+            found.add(product.id());
+            this.apply(index -> index.index(product));
+        }
+
+        ids.stream()
+                .filter(id -> !found.contains(id))
+                .forEach(this::remove);
+    }
+
+    public void updateCategoryName(Long categoryId, String categoryName) {
+        this.apply(index -> index.updateCategoryName(categoryId, categoryName));
+    }
+
+    private void apply(Consumer<ProductSearchIndex> change) {
+        synchronized (this.monitor) {
+            if (this.pending != null) {
+                this.pending.add(change);
+            }
+
+            var current = this.index;
+            if (current != null) {
+                change.accept(current);
+            }
+        }
+    }
+
+    private void rebuild() {
+        try {
+            var start = System.currentTimeMillis();
+            var rebuilt = new ProductSearchIndex();
+
+            long lastId = 0;
+            List<Product> batch;
+
+            do {
+                batch = this.productRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(BATCH_SIZE));
+                rebuilt.indexAll(batch.stream().map(IndexedProduct::of).toList());
+
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == BATCH_SIZE);
+
+            synchronized (this.monitor) {
+                this.pending.forEach(change -> change.accept(rebuilt));
+                this.index = rebuilt;
+                this.pending = null;
+            }
+
+            log.info("Índice de busca de produtos construído: {} produto(s) em {} ms",
+                    rebuilt.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Falha ao construir o índice de busca de produtos", e);
+
+            synchronized (this.monitor) {
+                this.pending = null;
+            }
+        }
+    }
+
+    private boolean isRebuilding() {
+        synchronized (this.monitor) {
+            return this.pending != null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+}
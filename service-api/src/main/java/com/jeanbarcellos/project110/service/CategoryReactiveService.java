@@ -0,0 +1,70 @@
+package com.jeanbarcellos.project110.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.jeanbarcellos.project110.cache.HttpCacheSupport;
+import com.jeanbarcellos.project110.cache.NotFoundGuard;
+import com.jeanbarcellos.project110.cache.ReactiveCacheSupport;
+import com.jeanbarcellos.project110.dto.CategoryResponse;
+import com.jeanbarcellos.project110.latency.LatencyInjector;
+import com.jeanbarcellos.project110.mapper.CategoryMapper;
+import com.jeanbarcellos.project110.repository.CategoryReactiveRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Leitura não bloqueante de categorias.
+ *
+ * Compartilha o cache 'categories' (chaves e formato) com o {@link CategoryService}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryReactiveService {
+
+    private final CategoryReactiveRepository categoryRepository;
+
+    private final CategoryMapper categoryMapper;
+
+    private final LatencyInjector latencyInjector;
+
+    private final ReactiveCacheSupport cacheSupport;
+
+    private final NotFoundGuard notFoundGuard;
+
+    public Mono<List<CategoryResponse>> getAll() {
+        return this.cacheSupport.getOrLoad(CategoryService.CACHE_NAME, HttpCacheSupport.KEY_ALL,
+                this.cacheSupport.listType(CategoryResponse.class),
+                () -> {
+                    log.info("Query no banco de dados (R2DBC)");
+                    return this.latencyInjector.injectReactive("CategoryReactiveService.getAll")
+                            .then(this.categoryRepository.findAll().collectList())
+                            .map(this.categoryMapper::toResponseList);
+                });
+    }
+
+    public Mono<CategoryResponse> getById(Long id) {
+        // IDs certamente inexistentes não chegam ao Redis nem ao banco
+        return this.notFoundGuard.checkReactive(CategoryService.CACHE_NAME, id)
+                .then(this.loadById(id));
+    }
+
+    private Mono<CategoryResponse> loadById(Long id) {
+        return this.cacheSupport.getOrLoad(CategoryService.CACHE_NAME, id,
+                this.cacheSupport.type(CategoryResponse.class),
+                () -> {
+                    log.info("Query no banco de dados (R2DBC)");
+                    return this.notFoundGuard.checkMissingReactive(CategoryService.CACHE_NAME, id)
+                            .then(this.latencyInjector.injectReactive("CategoryReactiveService.getById"))
+                            .then(this.categoryRepository.findById(id))
+                            .switchIfEmpty(Mono.defer(() -> this.notFoundGuard.notFoundReactive(
+                                    CategoryService.CACHE_NAME, id)))
+                            .map(this.categoryMapper::toResponse);
+                });
+    }
+
+}
@@ -1,20 +1,27 @@
 package com.jeanbarcellos.project110.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import com.jeanbarcellos.core.util.ThreadUtils;
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.cache.NotFoundGuard;
+import com.jeanbarcellos.project110.config.PrimaryRead;
 import com.jeanbarcellos.project110.dto.CategoryRequest;
 import com.jeanbarcellos.project110.dto.CategoryResponse;
 import com.jeanbarcellos.project110.entity.Category;
+import com.jeanbarcellos.project110.latency.LatencyInjector;
 import com.jeanbarcellos.project110.mapper.CategoryMapper;
 import com.jeanbarcellos.project110.repository.CategoryRepository;
+import com.jeanbarcellos.project110.search.ProductSearchIndexer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,17 +36,25 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class CategoryService {
 
-    private static final String MSG_ERROR_CATEGORY_NOT_FOUND = "Category not found: %s";
-
-    private static final String CACHE_NAME = "categories";
+    public static final String CACHE_NAME = "categories";
     private static final String CACHE_KEY_ALL = "'all'";
 
-    private static final int DB_DELAY = 1000;
-
     private final CategoryRepository categoryRepository;
 
     private final CategoryMapper categoryMapper;
 
+    private final LatencyInjector latencyInjector;
+
+    private final ProductService productService;
+
+    private final ProductSearchIndexer productSearchIndexer;
+
+    private final MetadataRedisCacheManager cacheManager;
+
+    private final NotFoundGuard notFoundGuard;
+
+    private final CategoryStatsService categoryStatsService;
+
     /**
      * Recupera todas as categorias do banco de dados.
      *
@@ -47,11 +62,13 @@ public class CategoryService {
      * - Sempre consulta o cache antes de buscar no banco.
      */
     @Cacheable(value = CACHE_NAME, key = CACHE_KEY_ALL)
+    @Transactional(readOnly = true)
+    @PrimaryRead
     public List<CategoryResponse> getAll() {
         log.info("CategoryService.getAll()");
 
         log.info("Query no banco de dados");
-        ThreadUtils.delay(DB_DELAY);
+        this.latencyInjector.inject("CategoryService.getAll");
 
         var entities = this.categoryRepository.findAll();
 
@@ -63,24 +80,76 @@ public class CategoryService {
      *
      * - Usa cache para armazenar cada categoria individualmente com a chave baseada    no ID.
      * - O cache é preenchido na primeira chamada deste método para um ID específico.
+     * - IDs recusados pelo filtro de IDs não consultam o cache (condition) e
+     * respondem 404 sem I/O; os demais inexistentes ficam no cache negativo por
+     * um TTL curto (ver {@link NotFoundGuard}).
      */
-    @Cacheable(value = CACHE_NAME, key = "#id")
+    @Cacheable(value = CACHE_NAME, key = "#id", condition = "@notFoundGuard.mightExist('" + CACHE_NAME + "', #id)")
+    @Transactional(readOnly = true)
     public CategoryResponse getById(Long id) {
         log.info("CategoryService.getById()");
 
+        this.notFoundGuard.check(CACHE_NAME, id);
+        this.notFoundGuard.checkMissing(CACHE_NAME, id);
+
         log.info("Query no banco de dados");
-        ThreadUtils.delay(3000);
+        this.latencyInjector.inject("CategoryService.getById");
 
         var entity = this.findByIdOrThrow(id);
 
         return this.categoryMapper.toResponse(entity);
     }
 
+    /**
+     * Recupera várias categorias pelos IDs (carregamento em lote do GraphQL).
+     *
+     * - Um único MGET no cache; os IDs ausentes são lidos do banco em uma única
+     * consulta e gravados no cache.
+     * - IDs recusados pelo filtro de IDs ou inexistentes ficam fora do
+     * resultado.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, CategoryResponse> getByIds(Collection<Long> ids) {
+        log.info("CategoryService.getByIds({} IDs)", ids.size());
+
+        var candidates = ids.stream()
+                .filter(id -> this.notFoundGuard.mightExist(CACHE_NAME, id))
+                .distinct()
+                .toList();
+
+        var result = this.cacheManager.getAll(CACHE_NAME, candidates, CategoryResponse.class);
+
+        var misses = candidates.stream()
+                .filter(id -> !result.containsKey(id))
+                .toList();
+
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        log.info("Query no banco de dados ({} IDs)", misses.size());
+        this.latencyInjector.inject("CategoryService.getByIds");
+
+        var cache = this.cacheManager.getCache(CACHE_NAME);
+
+        for (var entity : this.categoryRepository.findAllById(misses)) {
+            var response = this.categoryMapper.toResponse(entity);
+
+            if (cache != null) {
+                cache.put(entity.getId(), response);
+            }
+
+            result.put(entity.getId(), response);
+        }
+
+        return result;
+    }
+
     /**
      * Cria uma nova categoria no banco de dados.
      *
      * - Adiciona ao cache o produto criado.
-     * - Invalida o cache da lista completa ('all').
+     * - Invalida o cache da lista completa ('all') e a lista de estatísticas.
      */
     @CachePut(value = CACHE_NAME, key = "#result.id")
     @CacheEvict(value = CACHE_NAME, key = CACHE_KEY_ALL)
@@ -90,14 +159,21 @@ public class CategoryService {
 
         entity = this.categoryRepository.save(entity);
 
+        this.notFoundGuard.created(CACHE_NAME, entity.getId());
+        this.categoryStatsService.evict(List.of(entity.getId()));
+
         return this.categoryMapper.toResponse(entity);
     }
 
     /**
      * Atualiza os dados de uma categoria existente.
      *
-     * - Atualiza o cache da categoria específica.
+     * - Atualiza o cache da categoria específica (com a nova versão, o flush é
+     * feito antes de montar a resposta).
      * - Invalida o cache da lista completa ('all').
+     * - Após o commit, invalida os produtos em cache e as estatísticas que
+     * exibem o nome da categoria e atualiza o índice de busca: antes dele, um
+     * carregamento concorrente ainda leria (e gravaria no cache) o nome antigo.
      */
     @CachePut(value = CACHE_NAME, key = "#result.id")
     @CacheEvict(value = CACHE_NAME, key = CACHE_KEY_ALL)
@@ -107,7 +183,16 @@ public class CategoryService {
 
         this.categoryMapper.copy(entity, request);
 
-        entity = this.categoryRepository.save(entity);
+        entity = this.categoryRepository.saveAndFlush(entity);
+
+        var id = entity.getId();
+        var name = entity.getName();
+
+        this.afterCommit(() -> {
+            this.productService.evictByCategory(id);
+            this.productSearchIndexer.updateCategoryName(id, name);
+            this.categoryStatsService.evict(List.of(id));
+        });
 
         return this.categoryMapper.toResponse(entity);
     }
@@ -115,24 +200,46 @@ public class CategoryService {
     /**
      * Exclui uma categoria do banco de dados.
      *
-     * - Remove o cache da categoria específica.
+     * - Remove o cache da categoria específica, recusando gravações de
+     * carregamentos ainda em andamento.
      * - Invalida o cache da lista completa ('all').
+     * - Após o commit, invalida os produtos em cache e as estatísticas que
+     * dependem da categoria.
      */
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME, key = "#id"),
-            @CacheEvict(value = CACHE_NAME, key = CACHE_KEY_ALL) })
+    @CacheEvict(value = CACHE_NAME, key = CACHE_KEY_ALL)
     @Transactional
     public void delete(Long id) {
         this.categoryRepository.deleteById(id);
+
+        this.cacheManager.evict(CACHE_NAME, id, Long.MAX_VALUE);
+
+        this.afterCommit(() -> {
+            this.productService.evictByCategory(id);
+            this.categoryStatsService.evict(List.of(id));
+        });
     }
 
     @CacheEvict(value = CACHE_NAME, allEntries = true)
     public void clearCache() {
     }
 
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private Category findByIdOrThrow(Long id) {
         return this.categoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException(String.format(MSG_ERROR_CATEGORY_NOT_FOUND, id)));
+                .orElseThrow(() -> this.notFoundGuard.notFound(CACHE_NAME, id));
     }
 
 }
\ No newline at end of file
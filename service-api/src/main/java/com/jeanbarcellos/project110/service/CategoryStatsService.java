@@ -0,0 +1,117 @@
+package com.jeanbarcellos.project110.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.cache.NotFoundGuard;
+import com.jeanbarcellos.project110.config.PrimaryRead;
+import com.jeanbarcellos.project110.dto.CategoryStatsResponse;
+import com.jeanbarcellos.project110.latency.LatencyInjector;
+import com.jeanbarcellos.project110.mapper.CategoryMapper;
+import com.jeanbarcellos.project110.repository.CategoryStatsRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Estatísticas de produtos por categoria (quantidade e preço mínimo, médio e
+ * máximo).
+ *
+ * - Lidas da tabela category_stats, mantida pelos triggers de product: a
+ * consulta é O(categorias), qualquer que seja o tamanho do catálogo.
+ * - Em cache com a chave 'all' e por categoria; uma escrita de produto invalida
+ * somente as categorias afetadas (e a lista completa).
+ * - O trigger trava as linhas de category_stats em ordem de categoria apenas
+ * dentro de um comando: transações com vários comandos de escrita em
+ * categorias diferentes podem entrar em deadlock entre si (o PostgreSQL aborta
+ * uma delas). As escritas da aplicação usam um comando por transação
+ * (create/update/delete de um produto, importação em um único INSERT).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryStatsService {
+
+    public static final String CACHE_NAME = "category-stats";
+    private static final String CACHE_KEY_ALL = "'all'";
+    private static final String CACHE_KEY_ALL_VALUE = "all";
+
+    private final CategoryStatsRepository categoryStatsRepository;
+
+    private final CategoryMapper categoryMapper;
+
+    private final LatencyInjector latencyInjector;
+
+    private final MetadataRedisCacheManager cacheManager;
+
+    private final NotFoundGuard notFoundGuard;
+
+    /**
+     * Estatísticas de todas as categorias (inclusive sem produtos).
+     */
+    @Cacheable(value = CACHE_NAME, key = CACHE_KEY_ALL)
+    @Transactional(readOnly = true)
+    @PrimaryRead
+    public List<CategoryStatsResponse> getAll() {
+        log.info("CategoryStatsService.getAll()");
+
+        log.info("Query no banco de dados");
+        this.latencyInjector.inject("CategoryStatsService.getAll");
+
+        return this.categoryStatsRepository.findAllRows().stream()
+                .map(this.categoryMapper::toStatsResponse)
+                .toList();
+    }
+
+    /**
+     * Estatísticas de uma categoria.
+     *
+     * - Categorias recusadas pelo filtro de IDs respondem 404 sem consultar o
+     * cache (ver {@link NotFoundGuard}).
+     */
+    @Cacheable(value = CACHE_NAME, key = "#categoryId",
+            condition = "@notFoundGuard.mightExist('" + CategoryService.CACHE_NAME + "', #categoryId)")
+    @Transactional(readOnly = true)
+    @PrimaryRead
+    public CategoryStatsResponse getByCategoryId(Long categoryId) {
+        log.info("CategoryStatsService.getByCategoryId()");
+
+        this.notFoundGuard.check(CategoryService.CACHE_NAME, categoryId);
+        this.notFoundGuard.checkMissing(CategoryService.CACHE_NAME, categoryId);
+
+        log.info("Query no banco de dados");
+        this.latencyInjector.inject("CategoryStatsService.getByCategoryId");
+
+        return this.categoryStatsRepository.findRowById(categoryId)
+                .map(this.categoryMapper::toStatsResponse)
+                .orElseThrow(() -> this.notFoundGuard.notFound(CategoryService.CACHE_NAME, categoryId));
+    }
+
+    /**
+     * Invalida as estatísticas das categorias e a lista completa ('all'), em
+     * um único comando.
+     */
+    public void evict(Collection<Long> categoryIds) {
+        var keys = new ArrayList<Object>();
+        categoryIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(keys::add);
+        keys.add(CACHE_KEY_ALL_VALUE);
+
+        this.cacheManager.evictAll(CACHE_NAME, keys);
+    }
+
+    @CacheEvict(value = CACHE_NAME, allEntries = true)
+    public void clearCache() {
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.jeanbarcellos.project110.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.jeanbarcellos.project110.cache.HttpCacheSupport;
+import com.jeanbarcellos.project110.cache.NotFoundGuard;
+import com.jeanbarcellos.project110.cache.ReactiveCacheSupport;
+import com.jeanbarcellos.project110.dto.PersonResponse;
+import com.jeanbarcellos.project110.entity.Person;
+import com.jeanbarcellos.project110.latency.LatencyInjector;
+import com.jeanbarcellos.project110.mapper.PersonMapper;
+import com.jeanbarcellos.project110.repository.PersonReactiveRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Leitura não bloqueante de pessoas.
+ *
+ * Compartilha o cache 'persons' com o {@link PersonService}, que armazena as
+ * entidades (e não os DTOs de resposta).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PersonReactiveService {
+
+    private final PersonReactiveRepository personRepository;
+
+    private final PersonMapper personMapper;
+
+    private final LatencyInjector latencyInjector;
+
+    private final ReactiveCacheSupport cacheSupport;
+
+    private final NotFoundGuard notFoundGuard;
+
+    public Mono<List<PersonResponse>> getAll() {
+        return this.cacheSupport.<List<Person>>getOrLoad(PersonService.CACHE_NAME, HttpCacheSupport.KEY_ALL,
+                this.cacheSupport.listType(Person.class),
+                () -> {
+                    log.info("Query no banco de dados (R2DBC)");
+                    return this.latencyInjector.injectReactive("PersonReactiveService.getAll")
+                            .then(this.personRepository.findAll().collectList());
+                })
+                .map(this.personMapper::toResponseList);
+    }
+
+    public Mono<PersonResponse> getById(Long id) {
+        // IDs certamente inexistentes não chegam ao Redis nem ao banco
+        return this.notFoundGuard.checkReactive(PersonService.CACHE_NAME, id)
+                .then(this.loadById(id));
+    }
+
+    private Mono<PersonResponse> loadById(Long id) {
+        return this.cacheSupport.<Person>getOrLoad(PersonService.CACHE_NAME, id,
+                this.cacheSupport.type(Person.class),
+                () -> {
+                    log.info("Query no banco de dados (R2DBC)");
+                    return this.notFoundGuard.checkMissingReactive(PersonService.CACHE_NAME, id)
+                            .then(this.latencyInjector.injectReactive("PersonReactiveService.getById"))
+                            .then(this.personRepository.findById(id))
+                            .switchIfEmpty(Mono.defer(() -> this.notFoundGuard.notFoundReactive(
+                                    PersonService.CACHE_NAME, id)));
+                })
+                .map(this.personMapper::toResponse);
+    }
+
+}
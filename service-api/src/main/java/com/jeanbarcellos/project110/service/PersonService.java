@@ -1,16 +1,21 @@
 package com.jeanbarcellos.project110.service;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.jeanbarcellos.core.util.ThreadUtils;
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.cache.NotFoundGuard;
+import com.jeanbarcellos.project110.config.PrimaryRead;
 import com.jeanbarcellos.project110.dto.PersonRequest;
 import com.jeanbarcellos.project110.dto.PersonResponse;
 import com.jeanbarcellos.project110.entity.Person;
+import com.jeanbarcellos.project110.latency.LatencyInjector;
 import com.jeanbarcellos.project110.mapper.PersonMapper;
 import com.jeanbarcellos.project110.repository.PersonRepository;
 
@@ -26,24 +31,26 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PersonService {
 
-    private static final String MSG_ERROR_PERSON_NOT_FOUND = "Person not found: %s";
-
-    private static final String CACHE_NAME = "persons";
+    public static final String CACHE_NAME = "persons";
     private static final String CACHE_KEY_ALL = "all";
 
-    private static final int DB_DELAY = 1000;
-
-    private final CacheManager cacheManager;
+    private final MetadataRedisCacheManager cacheManager;
 
     private final PersonRepository personRepository;
 
     private final PersonMapper personMapper;
 
+    private final LatencyInjector latencyInjector;
+
+    private final NotFoundGuard notFoundGuard;
+
     /**
      * Recupera todas as pessoas.
      *
      * Usa cache manual com a chave 'all'.
      */
+    @Transactional(readOnly = true)
+    @PrimaryRead
     public List<PersonResponse> getAll() {
         log.info("PersonService.getAll()");
 
@@ -54,7 +61,7 @@ public class PersonService {
         }
 
         log.info("Query no banco de dados");
-        ThreadUtils.delay(DB_DELAY);
+        this.latencyInjector.inject("PersonService.getAll");
 
         entities = this.personRepository.findAll();
         log.info("personRepository.findAll()");
@@ -67,17 +74,24 @@ public class PersonService {
     /**
      * Recupera uma pessoa pelo ID.
      *
-     * Usa cache manual com a chave baseada no ID.
+     * Usa cache manual com a chave baseada no ID. IDs inexistentes são
+     * recusados pelo filtro de IDs (antes do cache) ou pelo cache negativo
+     * (antes do banco).
      */
+    @Transactional(readOnly = true)
     public PersonResponse getById(Long id) {
+        this.notFoundGuard.check(CACHE_NAME, id);
+
         var entity = getPersonFromCache(id);
 
         if (entity != null) {
             return this.personMapper.toResponse(entity);
         }
 
+        this.notFoundGuard.checkMissing(CACHE_NAME, id);
+
         log.info("Query no banco de dados");
-        ThreadUtils.delay(3000);
+        this.latencyInjector.inject("PersonService.getById");
 
         entity = this.findByIdOrThrow(id);
 
@@ -86,16 +100,56 @@ public class PersonService {
         return this.personMapper.toResponse(entity);
     }
 
+    /**
+     * Recupera várias pessoas pelos IDs (carregamento em lote do GraphQL).
+     *
+     * Um único MGET no cache manual; os IDs ausentes são lidos do banco em
+     * uma única consulta e inseridos no cache. IDs recusados pelo filtro de
+     * IDs ou inexistentes ficam fora do resultado.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, PersonResponse> getByIds(Collection<Long> ids) {
+        log.info("PersonService.getByIds({} IDs)", ids.size());
+
+        var candidates = ids.stream()
+                .filter(id -> this.notFoundGuard.mightExist(CACHE_NAME, id))
+                .distinct()
+                .toList();
+
+        var entities = new LinkedHashMap<Long, Person>(this.cacheManager.getAll(CACHE_NAME, candidates, Person.class));
+
+        var misses = candidates.stream()
+                .filter(id -> !entities.containsKey(id))
+                .toList();
+
+        if (!misses.isEmpty()) {
+            log.info("Query no banco de dados ({} IDs)", misses.size());
+            this.latencyInjector.inject("PersonService.getByIds");
+
+            for (var entity : this.personRepository.findAllById(misses)) {
+                this.addPersonToCache(entity);
+                entities.put(entity.getId(), entity);
+            }
+        }
+
+        var result = new LinkedHashMap<Long, PersonResponse>(entities.size());
+        entities.forEach((id, entity) -> result.put(id, this.personMapper.toResponse(entity)));
+
+        return result;
+    }
+
     /**
      * Cria uma nova pessoa.
      *
      * Atualiza o cache da lista completa e insere a pessoa individualmente.
      */
+    @Transactional
     public PersonResponse create(PersonRequest request) {
         var entity = this.personMapper.toEntity(request);
 
         entity = this.personRepository.save(entity);
 
+        this.notFoundGuard.created(CACHE_NAME, entity.getId());
         this.updateAllPersonsCache();
         this.addPersonToCache(entity);
 
@@ -107,6 +161,7 @@ public class PersonService {
      *
      * Atualiza o cache da pessoa específica e da lista completa.
      */
+    @Transactional
     public PersonResponse update(PersonRequest request) {
         var entity = this.findByIdOrThrow(request.getId());
 
@@ -125,6 +180,7 @@ public class PersonService {
      *
      * Atualiza o cache da lista completa e remove a pessoa específica do cache.
      */
+    @Transactional
     public void delete(Long id) {
         personRepository.deleteById(id);
 
@@ -135,7 +191,7 @@ public class PersonService {
     private Person findByIdOrThrow(Long id) {
         log.info("personRepository.findById({})", id);
         return this.personRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException(String.format(MSG_ERROR_PERSON_NOT_FOUND, id)));
+                .orElseThrow(() -> this.notFoundGuard.notFound(CACHE_NAME, id));
     }
 
     // ----
@@ -153,18 +209,10 @@ public class PersonService {
         }
     }
 
-    @SuppressWarnings("unchecked")
     private List<Person> getAllPersonsFromCache() {
-        List<Person> entities = new ArrayList<>();
-
-        Cache cache = cacheManager.getCache(CACHE_NAME);
+        log.info("getAllPersonsFromCache()");
 
-        if (cache != null) {
-            entities = cache.get(CACHE_KEY_ALL, List.class);
-            log.info("getAllPersonsFromCache()");
-        }
-
-        return entities;
+        return cacheManager.getList(CACHE_NAME, CACHE_KEY_ALL, Person.class);
     }
 
     private Person getPersonFromCache(Long id) {
@@ -194,14 +242,14 @@ public class PersonService {
 
     /**
      * Remove uma pessoa específica do cache.
+     *
+     * Após a exclusão nenhuma versão da pessoa é aceita no cache (evita que um
+     * getById em andamento grave a pessoa excluída).
      */
     private void removePersonFromCache(Long id) {
         log.info("removePersonFromCache({})", id);
 
-        Cache cache = cacheManager.getCache(CACHE_NAME);
-        if (cache != null) {
-            cache.evict(id);
-        }
+        this.cacheManager.evict(CACHE_NAME, id, Long.MAX_VALUE);
     }
 
     private void setPersonsToCache(List<Person> entities) {
@@ -0,0 +1,361 @@
+package com.jeanbarcellos.project110.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.jeanbarcellos.core.exception.BadRequestException;
+import com.jeanbarcellos.project110.bulk.BulkFormat;
+import com.jeanbarcellos.project110.bulk.BulkTransfer;
+import com.jeanbarcellos.project110.bulk.BulkTransferRegistry;
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.cdc.CacheChangeEvent;
+import com.jeanbarcellos.project110.cdc.CacheInvalidationHandler;
+import com.jeanbarcellos.project110.dto.ProductImportResult;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Importação e exportação em massa de produtos com COPY (PgJDBC
+ * {@link CopyManager}), sem passar pelo JPA.
+ *
+ * - O corpo da requisição vai direto para o COPY FROM STDIN e o COPY TO
+ * STDOUT direto para a resposta: memória constante, qualquer que seja o
+ * tamanho do catálogo.
+ * - A importação carrega uma tabela temporária e aplica tudo em um único
+ * INSERT ... ON CONFLICT: linhas com ID existente atualizam o produto
+ * (versão incrementada), as demais são inseridas; linhas idênticas não são
+ * alteradas.
+ * - Um único comando gera uma única notificação por operação, aplicadas
+ * juntas no commit pelo cdc: uma invalidação do cache de produtos ao final
+ * (acima do limite de payload do NOTIFY, o cache inteiro). Os produtos
+ * atualizados recebem ainda um evict por versão após o commit. Sem cdc, a
+ * invalidação é feita aqui após o commit.
+ * - A exportação é uma leitura (réplica, quando habilitada) e pode ser
+ * reimportada nos dois formatos.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductBulkService {
+
+    private static final String OPERATION_IMPORT = "import";
+    private static final String OPERATION_EXPORT = "export";
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_HEADER_BYTES = 4096;
+
+    // Produtos atualizados com evict por versão após o commit (acima disso, só o clear)
+    private static final int MAX_VERSIONED_EVICTS = 10_000;
+
+    private static final String COLUMN_NAME = "name";
+    private static final String COLUMN_PRICE = "price";
+    private static final String COLUMN_CATEGORY_ID = "category_id";
+
+    /**
+     * Colunas aceitas no cabeçalho do CSV (as de exportação são ignoradas).
+     */
+    private static final Set<String> CSV_COLUMNS = Set.of("id", COLUMN_NAME, "description", COLUMN_PRICE,
+            COLUMN_CATEGORY_ID, "category_name", "version");
+
+    private static final Set<String> CSV_REQUIRED_COLUMNS = Set.of(COLUMN_NAME, COLUMN_PRICE, COLUMN_CATEGORY_ID);
+
+    private static final String SQL_CREATE_CSV_STAGING = """
+            CREATE TEMP TABLE product_import (
+                id BIGINT, name TEXT, description TEXT, price NUMERIC(10, 2), category_id BIGINT,
+                category_name TEXT, version BIGINT
+            ) ON COMMIT DROP
+            """;
+
+    private static final String SQL_CREATE_NDJSON_STAGING = "CREATE TEMP TABLE product_import (doc JSONB) ON COMMIT DROP";
+
+    // Uma linha por documento: aspas e delimitador que não ocorrem em JSON
+    private static final String NDJSON_COPY_OPTIONS = "(FORMAT csv, QUOTE e'\\x01', DELIMITER e'\\x02')";
+
+    private static final String SQL_COPY_NDJSON = "COPY product_import (doc) FROM STDIN WITH " + NDJSON_COPY_OPTIONS;
+
+    private static final String SOURCE_CSV = "SELECT id, name, description, price, category_id FROM product_import";
+
+    private static final String SOURCE_NDJSON = """
+            SELECT (doc->>'id')::BIGINT AS id, doc->>'name' AS name, doc->>'description' AS description,
+                   (doc->>'price')::NUMERIC(10, 2) AS price,
+                   coalesce(doc->>'categoryId', doc->>'category_id')::BIGINT AS category_id
+              FROM product_import
+             WHERE doc IS NOT NULL
+            """;
+
+    private static final String SQL_MERGE = """
+            WITH source AS (%s),
+            merged AS (
+                INSERT INTO project110.product AS p (id, name, description, price, category_id)
+                SELECT coalesce(s.id, nextval('project110.product_id_seq')), s.name, s.description, s.price,
+                       s.category_id
+                  FROM source s
+                    ON CONFLICT (id) DO UPDATE
+                   SET name = excluded.name, description = excluded.description, price = excluded.price,
+                       category_id = excluded.category_id, version = p.version + 1
+                 WHERE (p.name, p.description, p.price, p.category_id)
+                       IS DISTINCT FROM (excluded.name, excluded.description, excluded.price, excluded.category_id)
+                RETURNING p.id, p.version, (xmax = 0) AS inserted)
+            SELECT count(*) FILTER (WHERE inserted), count(*) FILTER (WHERE NOT inserted),
+                   CASE WHEN count(*) FILTER (WHERE NOT inserted) <= %d
+                        THEN array_agg(id) FILTER (WHERE NOT inserted) END,
+                   CASE WHEN count(*) FILTER (WHERE NOT inserted) <= %d
+                        THEN array_agg(version) FILTER (WHERE NOT inserted) END
+              FROM merged
+            """;
+
+    // IDs informados no arquivo podem ultrapassar a sequence
+    private static final String SQL_SYNC_SEQUENCE = """
+            SELECT setval('project110.product_id_seq',
+                          greatest((SELECT max(id) FROM project110.product),
+                                   (SELECT last_value FROM project110.product_id_seq)))
+            """;
+
+    private static final String SQL_EXPORT_CSV = """
+            COPY (SELECT p.id, p.name, p.description, p.price, p.category_id, c.name AS category_name, p.version
+                    FROM project110.product p
+                    LEFT JOIN project110.category c ON c.id = p.category_id
+                   ORDER BY p.id)
+              TO STDOUT WITH (FORMAT csv, HEADER true)
+            """;
+
+    private static final String SQL_EXPORT_NDJSON = """
+            COPY (SELECT json_build_object('id', p.id, 'name', p.name, 'description', p.description,
+                                           'price', p.price, 'categoryId', p.category_id,
+                                           'categoryName', c.name, 'version', p.version)
+                    FROM project110.product p
+                    LEFT JOIN project110.category c ON c.id = p.category_id
+                   ORDER BY p.id)
+              TO STDOUT WITH %s
+            """.formatted(NDJSON_COPY_OPTIONS);
+
+    private final DataSource dataSource;
+
+    private final BulkTransferRegistry transferRegistry;
+
+    private final CacheInvalidationHandler cacheInvalidationHandler;
+
+    private final MetadataRedisCacheManager cacheManager;
+
+    @Value("${app-config.cache.cdc.enabled:true}")
+    private boolean cdcEnabled;
+
+    /**
+     * Importa os produtos do stream (CSV com cabeçalho ou NDJSON).
+     *
+     * @param contentLength tamanho informado na requisição (-1 se desconhecido)
+     * @throws BadRequestException arquivo inválido (nenhuma linha é gravada)
+     */
+    @Transactional
+    public ProductImportResult importProducts(BulkFormat format, InputStream input, long contentLength) {
+        var transfer = this.transferRegistry.start(OPERATION_IMPORT, format, contentLength);
+
+        try {
+            var connection = DataSourceUtils.getConnection(this.dataSource);
+            var copyManager = copyManager(connection);
+            var tracked = new BufferedInputStream(transfer.track(input), COPY_BUFFER_SIZE);
+
+            long rows;
+            String source;
+
+            try (var statement = connection.createStatement()) {
+                if (format == BulkFormat.CSV) {
+                    var columns = readCsvHeader(tracked);
+                    statement.execute(SQL_CREATE_CSV_STAGING);
+                    rows = copyManager.copyIn("COPY product_import (" + String.join(", ", columns)
+                            + ") FROM STDIN WITH (FORMAT csv)", tracked, COPY_BUFFER_SIZE);
+                    source = SOURCE_CSV;
+                } else {
+                    statement.execute(SQL_CREATE_NDJSON_STAGING);
+                    rows = copyManager.copyIn(SQL_COPY_NDJSON, tracked, COPY_BUFFER_SIZE);
+                    source = SOURCE_NDJSON;
+                }
+
+                transfer.setRows(rows);
+
+                long inserted;
+                long updated;
+                var versions = new LinkedHashMap<Long, Long>();
+
+                try (var result = statement.executeQuery(
+                        SQL_MERGE.formatted(source, MAX_VERSIONED_EVICTS, MAX_VERSIONED_EVICTS))) {
+                    result.next();
+                    inserted = result.getLong(1);
+                    updated = result.getLong(2);
+
+                    var ids = result.getArray(3);
+                    if (ids != null) {
+                        var idValues = (Long[]) ids.getArray();
+                        var versionValues = (Long[]) result.getArray(4).getArray();
+
+                        for (int i = 0; i < idValues.length; i++) {
+                            versions.put(idValues[i], versionValues[i]);
+                        }
+                    }
+                }
+
+                statement.execute(SQL_SYNC_SEQUENCE);
+
+                if (inserted + updated > 0) {
+                    this.invalidateAfterCommit(versions);
+                }
+
+                return ProductImportResult.builder()
+                        .transferId(transfer.getId())
+                        .rows(rows)
+                        .inserted(inserted)
+                        .updated(updated)
+                        .unchanged(rows - inserted - updated)
+                        .bytes(transfer.getBytes())
+                        .elapsedMillis(transfer.elapsedMillis())
+                        .build();
+            }
+        } catch (SQLException e) {
+            throw translate(transfer, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.transferRegistry.finish(transfer);
+        }
+    }
+
+    /**
+     * Escreve todos os produtos no stream (CSV com cabeçalho ou NDJSON, em
+     * ordem de ID); retorna a quantidade de linhas.
+     */
+    @Transactional(readOnly = true)
+    public long exportProducts(BulkFormat format, OutputStream output) {
+        var transfer = this.transferRegistry.start(OPERATION_EXPORT, format, -1);
+
+        try {
+            var copyManager = copyManager(DataSourceUtils.getConnection(this.dataSource));
+            var sql = format == BulkFormat.CSV ? SQL_EXPORT_CSV : SQL_EXPORT_NDJSON;
+
+            var rows = copyManager.copyOut(sql, transfer.track(output));
+            transfer.setRows(rows);
+
+            return rows;
+        } catch (SQLException e) {
+            throw translate(transfer, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.transferRegistry.finish(transfer);
+        }
+    }
+
+    /**
+     * Após o commit:
+     *
+     * - Os produtos atualizados são removidos com a nova versão como mínima
+     * aceita (versões no Redis, válidas para todos os nós): um getById que
+     * leu a linha antes da importação não grava o valor antigo, mesmo quando
+     * a notificação do cdc chega sem IDs (payload acima do limite).
+     * - Sem cdc, nenhum nó recebe a notificação dos triggers: o cache de
+     * produtos deste nó é invalidado por inteiro.
+     */
+    private void invalidateAfterCommit(Map<Long, Long> versions) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                var service = ProductBulkService.this;
+
+                service.cacheManager.evictAll(ProductService.CACHE_NAME, versions);
+
+                if (!service.cdcEnabled) {
+                    service.cacheInvalidationHandler.apply(List.of(new CacheChangeEvent(0,
+                            CacheChangeEvent.TABLE_PRODUCT, OPERATION_IMPORT, null, null, null)));
+                }
+            }
+        });
+    }
+
+    /**
+     * Lê a primeira linha do CSV e retorna as colunas (validadas) na ordem do
+     * arquivo; o stream fica posicionado na primeira linha de dados.
+     */
+    static List<String> readCsvHeader(InputStream input) throws IOException {
+        var line = new ByteArrayOutputStream();
+        int value;
+
+        while ((value = input.read()) >= 0 && value != '\n') {
+            if (line.size() == MAX_HEADER_BYTES) {
+                throw new BadRequestException("CSV header too long");
+            }
+            line.write(value);
+        }
+
+        var header = line.toString(StandardCharsets.UTF_8).replace("\uFEFF", "").strip();
+
+        if (header.isEmpty()) {
+            throw new BadRequestException("CSV header is required");
+        }
+
+        var columns = new ArrayList<String>();
+
+        for (var name : header.split(",")) {
+            var column = name.strip().replace("\"", "").toLowerCase(Locale.ROOT);
+
+            if (!CSV_COLUMNS.contains(column)) {
+                throw new BadRequestException("Unknown CSV column: " + column);
+            }
+            if (columns.contains(column)) {
+                throw new BadRequestException("Duplicated CSV column: " + column);
+            }
+
+            columns.add(column);
+        }
+
+        if (!columns.containsAll(CSV_REQUIRED_COLUMNS)) {
+            throw new BadRequestException("CSV columns " + CSV_REQUIRED_COLUMNS + " are required");
+        }
+
+        return columns;
+    }
+
+    private static CopyManager copyManager(Connection connection) throws SQLException {
+        return connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+
+    /**
+     * Erros nos dados (formato, tipos, restrições, ID repetido no arquivo)
+     * respondem 400; os demais são falhas da operação.
+     */
+    private static RuntimeException translate(BulkTransfer transfer, SQLException e) {
+        var state = e.getSQLState();
+
+        if (state != null && (state.startsWith("21") || state.startsWith("22") || state.startsWith("23"))) {
+            log.warn("Transferência em massa {} recusada: {}", transfer.getId(), e.getMessage());
+            return new BadRequestException("Invalid import data: " + e.getMessage());
+        }
+
+        return new IllegalStateException("Bulk transfer " + transfer.getId() + " failed", e);
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.jeanbarcellos.project110.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeanbarcellos.core.exception.BadRequestException;
+import com.jeanbarcellos.core.exception.GoneException;
+import com.jeanbarcellos.project110.dto.ChangeFeedCursor;
+import com.jeanbarcellos.project110.dto.ChangeToken;
+import com.jeanbarcellos.project110.mapper.ProductMapper;
+import com.jeanbarcellos.project110.repository.DeletedRowRepository;
+import com.jeanbarcellos.project110.repository.ProductRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feed de alterações de produtos (sincronização incremental de clientes).
+ *
+ * - O cliente envia o token da última sincronização e recebe, em NDJSON, os
+ * produtos alterados (inclusive por mudança da categoria) e os excluídos
+ * (tombstones), seguidos do token da próxima chamada.
+ * - As linhas são lidas em lotes por keyset (changedAt, id) e escritas à
+ * medida que chegam: o feed não é montado em memória.
+ * - O feed vai até o horizonte (antes das transações em andamento), então uma
+ * alteração confirmada depois com updated_at anterior ao token não é perdida.
+ * - Tokens mais antigos que a retenção dos tombstones, ou anteriores a um
+ * TRUNCATE, não permitem sincronização incremental (410 Gone: sincronizar
+ * tudo de novo, sem token).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductChangeService {
+
+    private static final String TABLE_NAME = "product";
+
+    private static final int BATCH_SIZE = 500;
+
+    public static final int DEFAULT_LIMIT = 1000;
+
+    public static final int MAX_LIMIT = 10000;
+
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private final ProductRepository productRepository;
+
+    private final DeletedRowRepository deletedRowRepository;
+
+    private final ProductMapper productMapper;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app-config.sync.tombstone-retention:7d}")
+    private Duration tombstoneRetention;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "product-change-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Intervalo do feed a partir do token do cliente.
+     */
+    public record ChangeFeed(ChangeToken since, OffsetDateTime until, int limit) {
+    }
+
+    @PostConstruct
+    void start() {
+        var millis = PURGE_INTERVAL.toMillis();
+        this.executor.scheduleWithFixedDelay(this::purgeQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Valida o token e fixa o horizonte do feed.
+     *
+     * @throws BadRequestException token malformado
+     * @throws GoneException       token anterior à retenção ou a um TRUNCATE
+     */
+    public ChangeFeed open(String since, int limit) {
+        ChangeToken token;
+
+        try {
+            token = ChangeToken.decode(since);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid change token");
+        }
+
+        if (!token.isInitial()) {
+            var oldest = OffsetDateTime.now(ZoneOffset.UTC).minus(this.tombstoneRetention);
+
+            if (token.changedAt().isBefore(oldest)
+                    || this.deletedRowRepository.existsTruncateSince(TABLE_NAME, token.changedAt())) {
+                throw new GoneException("Change token expired, a full sync is required");
+            }
+        }
+
+        var until = this.productRepository.findChangeHorizon().atOffset(ZoneOffset.UTC);
+
+        return new ChangeFeed(token, until, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    /**
+     * Escreve as alterações (uma por linha) e, na última linha, o
+     * {@link ChangeFeedCursor}.
+     */
+    public void write(ChangeFeed feed, OutputStream output) throws IOException {
+        try (var generator = this.objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null); // linhas separadas só por '\n'
+
+            var last = feed.since();
+            long count = 0;
+
+            while (count < feed.limit()) {
+                var size = (int) Math.min(BATCH_SIZE, feed.limit() - count);
+                var rows = this.productRepository.findChanges(last.changedAt(), last.id(), feed.until(), size);
+
+                for (var row : rows) {
+                    this.writeLine(generator, this.productMapper.toChange(row));
+                    last = ChangeToken.of(row.getChangedAt().atOffset(ZoneOffset.UTC), row.getId());
+                }
+
+                count += rows.size();
+                generator.flush();
+
+                if (rows.size() < size) {
+                    break;
+                }
+            }
+
+            var hasMore = count == feed.limit();
+            var next = hasMore ? last : ChangeToken.of(feed.until(), 0);
+
+            this.writeLine(generator, ChangeFeedCursor.builder()
+                    .token(next.encode())
+                    .count(count)
+                    .hasMore(hasMore)
+                    .build());
+            generator.flush();
+
+            log.info("Feed de alterações de produtos: {} alterações desde {}", count, feed.since().changedAt());
+        }
+    }
+
+    /**
+     * Remove os tombstones mais antigos que a retenção.
+     */
+    public int purgeTombstones() {
+        var before = OffsetDateTime.now(ZoneOffset.UTC).minus(this.tombstoneRetention);
+        return this.deletedRowRepository.deleteByDeletedAtBefore(before);
+    }
+
+    private void writeLine(JsonGenerator generator, Object value) throws IOException {
+        generator.writeObject(value);
+        generator.writeRaw('\n');
+    }
+
+    private void purgeQuietly() {
+        try {
+            var removed = this.purgeTombstones();
+            log.info("Tombstones removidos: {}", removed);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao remover tombstones", e);
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.jeanbarcellos.project110.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.jeanbarcellos.project110.cache.CacheDependencyIndex;
+import com.jeanbarcellos.project110.cache.HttpCacheSupport;
+import com.jeanbarcellos.project110.cache.NotFoundGuard;
+import com.jeanbarcellos.project110.cache.ReactiveCacheSupport;
+import com.jeanbarcellos.project110.dto.ProductResponse;
+import com.jeanbarcellos.project110.latency.LatencyInjector;
+import com.jeanbarcellos.project110.mapper.ProductMapper;
+import com.jeanbarcellos.project110.repository.ProductReactiveRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Leitura não bloqueante de produtos.
+ *
+ * Compartilha o cache 'products' (chaves e formato) com o {@link ProductService}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductReactiveService {
+
+    private final ProductReactiveRepository productRepository;
+
+    private final ProductMapper productMapper;
+
+    private final LatencyInjector latencyInjector;
+
+    private final ReactiveCacheSupport cacheSupport;
+
+    private final NotFoundGuard notFoundGuard;
+
+    private final CacheDependencyIndex dependencyIndex;
+
+    public Mono<List<ProductResponse>> getAll() {
+        return this.cacheSupport.getOrLoad(ProductService.CACHE_NAME, HttpCacheSupport.KEY_ALL,
+                this.cacheSupport.listType(ProductResponse.class),
+                () -> {
+                    log.info("Query no banco de dados (R2DBC)");
+                    return this.latencyInjector.injectReactive("ProductReactiveService.getAll")
+                            .then(this.productRepository.findAll().collectList())
+                            .map(this.productMapper::toResponseList);
+                });
+    }
+
+    public Mono<ProductResponse> getById(Long id) {
+        // IDs certamente inexistentes não chegam ao Redis nem ao banco
+        return this.notFoundGuard.checkReactive(ProductService.CACHE_NAME, id)
+                .then(this.loadById(id));
+    }
+
+    private Mono<ProductResponse> loadById(Long id) {
+        return this.cacheSupport.getOrLoad(ProductService.CACHE_NAME, id,
+                this.cacheSupport.type(ProductResponse.class),
+                () -> {
+                    log.info("Query no banco de dados (R2DBC)");
+                    return this.notFoundGuard.checkMissingReactive(ProductService.CACHE_NAME, id)
+                            .then(this.latencyInjector.injectReactive("ProductReactiveService.getById"))
+                            .then(this.productRepository.findById(id))
+                            .switchIfEmpty(Mono.defer(() -> this.notFoundGuard.notFoundReactive(
+                                    ProductService.CACHE_NAME, id)))
+                            .flatMap(entity -> this.dependencyIndex
+                                    .registerReactive(ProductService.CACHE_NAME, ProductService.DEPENDENCY_CATEGORY,
+                                            entity.getCategory() != null ? entity.getCategory().getId() : null, id)
+                                    .thenReturn(entity))
+                            .map(this.productMapper::toResponse);
+                });
+    }
+
+}
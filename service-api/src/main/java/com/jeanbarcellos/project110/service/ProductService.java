@@ -1,19 +1,36 @@
 package com.jeanbarcellos.project110.service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import com.jeanbarcellos.core.util.ThreadUtils;
+import com.jeanbarcellos.core.util.TextUtils;
+import com.jeanbarcellos.project110.cache.CacheDependencyIndex;
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.cache.NotFoundGuard;
+import com.jeanbarcellos.project110.config.PrimaryRead;
+import com.jeanbarcellos.project110.dto.ProductFilter;
 import com.jeanbarcellos.project110.dto.ProductRequest;
 import com.jeanbarcellos.project110.dto.ProductResponse;
 import com.jeanbarcellos.project110.entity.Product;
+import com.jeanbarcellos.project110.latency.LatencyInjector;
 import com.jeanbarcellos.project110.mapper.ProductMapper;
+import com.jeanbarcellos.project110.repository.CategoryRepository;
 import com.jeanbarcellos.project110.repository.ProductRepository;
+import com.jeanbarcellos.project110.repository.ProductSpecifications;
+import com.jeanbarcellos.project110.search.IndexedProduct;
+import com.jeanbarcellos.project110.search.ProductSearchIndexer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,17 +45,39 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ProductService {
 
-    private static final String MSG_ERROR_PERSON_NOT_FOUND = "Product not found: %s";
-
-    private static final String CACHE_NAME = "products";
+    public static final String CACHE_NAME = "products";
     private static final String CACHE_KEY_ALL = "'all'";
+    private static final String CACHE_KEY_ALL_VALUE = "all";
+
+    public static final String CACHE_KEY_CATEGORY_PREFIX = "category:";
+
+    public static final String CACHE_NAME_FILTER = "products-filter";
+
+    static final String DEPENDENCY_CATEGORY = "category";
 
-    private static final int DB_DELAY = 1000;
+    private static final int SEARCH_MAX_LIMIT = 100;
+
+    // IDs por consulta de versões no evict por categoria
+    private static final int VERSIONS_BATCH_SIZE = 1000;
 
     private final ProductRepository productRepository;
 
     private final ProductMapper productMapper;
 
+    private final CategoryRepository categoryRepository;
+
+    private final LatencyInjector latencyInjector;
+
+    private final MetadataRedisCacheManager cacheManager;
+
+    private final CacheDependencyIndex dependencyIndex;
+
+    private final ProductSearchIndexer searchIndexer;
+
+    private final NotFoundGuard notFoundGuard;
+
+    private final CategoryStatsService categoryStatsService;
+
     /**
      * Recupera todos os produtos do banco de dados.
      *
@@ -47,11 +86,13 @@ public class ProductService {
      * - Se o cache for inválido, os dados serão recarregados do banco.
      */
     @Cacheable(value = CACHE_NAME, key = CACHE_KEY_ALL)
+    @Transactional(readOnly = true)
+    @PrimaryRead
     public List<ProductResponse> getAll() {
         log.info("ProductService.getAll()");
 
         log.info("Query no banco de dados");
-        ThreadUtils.delay(DB_DELAY);
+        this.latencyInjector.inject("ProductService.getAll");
 
         var entities = this.productRepository.findAll();
 
@@ -63,50 +104,272 @@ public class ProductService {
      *
      * - Usa cache para armazenar cada produto individualmente com a chave baseada no ID.
      * - O cache só é preenchido na primeira chamada deste método para um ID específico.
+     * - Transacional (somente leitura) para carregar a categoria mesmo fora de uma requisição HTTP.
+     * - IDs recusados pelo filtro de IDs não consultam o cache (condition) e
+     * respondem 404 sem I/O; os demais inexistentes ficam no cache negativo por
+     * um TTL curto (ver {@link NotFoundGuard}).
      */
-    @Cacheable(value = CACHE_NAME, key = "#id")
+    @Cacheable(value = CACHE_NAME, key = "#id", condition = "@notFoundGuard.mightExist('" + CACHE_NAME + "', #id)")
+    @Transactional(readOnly = true)
     public ProductResponse getById(Long id) {
         log.info("ProductService.getById()");
 
+        this.notFoundGuard.check(CACHE_NAME, id);
+        this.notFoundGuard.checkMissing(CACHE_NAME, id);
+
         log.info("Query no banco de dados");
-        ThreadUtils.delay(3000);
+        this.latencyInjector.inject("ProductService.getById");
 
         var entity = this.findByIdOrThrow(id);
 
+        // O produto em cache exibe o nome da categoria
+        this.dependencyIndex.register(CACHE_NAME, DEPENDENCY_CATEGORY, entity.getCategory().getId(), id);
+
         return this.productMapper.toResponse(entity);
     }
 
+    /**
+     * Recupera vários produtos pelos IDs (carregamento em lote do GraphQL).
+     *
+     * - Um único MGET no cache; os IDs ausentes são lidos do banco em uma única
+     * consulta (já com a categoria) e gravados no cache, como no getById.
+     * - IDs recusados pelo filtro de IDs ou inexistentes ficam fora do
+     * resultado.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ProductResponse> getByIds(Collection<Long> ids) {
+        log.info("ProductService.getByIds({} IDs)", ids.size());
+
+        var candidates = ids.stream()
+                .filter(id -> this.notFoundGuard.mightExist(CACHE_NAME, id))
+                .distinct()
+                .toList();
+
+        var result = this.cacheManager.getAll(CACHE_NAME, candidates, ProductResponse.class);
+
+        var misses = candidates.stream()
+                .filter(id -> !result.containsKey(id))
+                .toList();
+
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        log.info("Query no banco de dados ({} IDs)", misses.size());
+        this.latencyInjector.inject("ProductService.getByIds");
+
+        var cache = this.cacheManager.getCache(CACHE_NAME);
+
+        for (var entity : this.productRepository.findByIdIn(misses)) {
+            this.dependencyIndex.register(CACHE_NAME, DEPENDENCY_CATEGORY, entity.getCategory().getId(),
+                    entity.getId());
+
+            var response = this.productMapper.toResponse(entity);
+
+            if (cache != null) {
+                cache.put(entity.getId(), response);
+            }
+
+            result.put(entity.getId(), response);
+        }
+
+        return result;
+    }
+
+    /**
+     * Recupera os produtos de uma categoria.
+     *
+     * - Usa cache com a chave 'category:{id}'.
+     * - Invalidado quando um produto da categoria muda ou quando a categoria muda.
+     */
+    @Cacheable(value = CACHE_NAME, key = "'" + CACHE_KEY_CATEGORY_PREFIX + "' + #categoryId")
+    @Transactional(readOnly = true)
+    @PrimaryRead
+    public List<ProductResponse> getByCategory(Long categoryId) {
+        log.info("ProductService.getByCategory()");
+
+        log.info("Query no banco de dados");
+        this.latencyInjector.inject("ProductService.getByCategory");
+
+        var entities = this.productRepository.findByCategoryId(categoryId);
+
+        return this.productMapper.toResponseList(entities);
+    }
+
+    /**
+     * Recupera os produtos de várias categorias (carregamento em lote do
+     * GraphQL).
+     *
+     * - Um único MGET nas listas 'category:{id}' em cache; as categorias
+     * ausentes são lidas do banco em uma única consulta e gravadas no cache,
+     * como no getByCategory.
+     * - Toda categoria pedida está no resultado (lista vazia se não houver
+     * produtos).
+     */
+    @Transactional(readOnly = true)
+    @PrimaryRead
+    public Map<Long, List<ProductResponse>> getByCategories(Collection<Long> categoryIds) {
+        log.info("ProductService.getByCategories({} IDs)", categoryIds.size());
+
+        var keys = categoryIds.stream()
+                .distinct()
+                .collect(Collectors.toMap(id -> CACHE_KEY_CATEGORY_PREFIX + id, id -> id));
+
+        var result = new HashMap<Long, List<ProductResponse>>();
+
+        this.cacheManager.getAllLists(CACHE_NAME, keys.keySet(), ProductResponse.class)
+                .forEach((key, products) -> result.put(keys.get(key), products));
+
+        var misses = keys.values().stream()
+                .filter(id -> !result.containsKey(id))
+                .toList();
+
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        log.info("Query no banco de dados ({} categorias)", misses.size());
+        this.latencyInjector.inject("ProductService.getByCategories");
+
+        var loaded = this.productRepository.findByCategoryIdIn(misses).stream()
+                .collect(Collectors.groupingBy(entity -> entity.getCategory().getId(),
+                        Collectors.mapping(this.productMapper::toResponse, Collectors.toList())));
+
+        var cache = this.cacheManager.getCache(CACHE_NAME);
+
+        for (var categoryId : misses) {
+            var products = loaded.getOrDefault(categoryId, List.of());
+
+            if (cache != null) {
+                cache.put(CACHE_KEY_CATEGORY_PREFIX + categoryId, products);
+            }
+
+            result.put(categoryId, products);
+        }
+
+        return result;
+    }
+
+    /**
+     * Lista os produtos que atendem ao filtro.
+     *
+     * - Usa cache separado ('products-filter') com a chave normalizada do filtro,
+     * de modo que filtros equivalentes compartilham a mesma entrada.
+     * - Qualquer escrita de produto limpa todo o cache de filtros.
+     */
+    @Cacheable(value = CACHE_NAME_FILTER, key = "#filter.cacheKey()")
+    @Transactional(readOnly = true)
+    @PrimaryRead
+    public List<ProductResponse> filter(ProductFilter filter) {
+        log.info("ProductService.filter()");
+
+        log.info("Query no banco de dados");
+        this.latencyInjector.inject("ProductService.filter");
+
+        var entities = this.productRepository.findAll(ProductSpecifications.of(filter), filter.toSort());
+
+        return this.productMapper.toResponseList(entities);
+    }
+
+    /**
+     * Busca produtos por nome e descrição (prefixo de cada termo).
+     *
+     * - Usa o índice invertido em memória.
+     * - Enquanto o índice é (re)construído, usa a busca textual do PostgreSQL
+     * (também sem acentos).
+     */
+    @Transactional(readOnly = true)
+    public List<ProductResponse> search(String query, int limit) {
+        var size = Math.min(Math.max(limit, 1), SEARCH_MAX_LIMIT);
+
+        var result = this.searchIndexer.search(query, size);
+
+        if (result.isPresent()) {
+            return result.get().stream()
+                    .map(IndexedProduct::toResponse)
+                    .toList();
+        }
+
+        log.info("Índice de busca indisponível, consultando o banco de dados");
+        this.latencyInjector.inject("ProductService.search");
+
+        var tokens = TextUtils.tokenize(query);
+
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        var tsQuery = tokens.stream()
+                .distinct()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+
+        return this.productMapper.toResponseList(this.productRepository.searchFullText(tsQuery, size));
+    }
+
     /**
      * Cria um novo produto no banco de dados.
      *
      * - Remove o cache da lista completa ('all') para garantir que ela seja recarregada na próxima consulta.
+     * - Remove o cache da lista de produtos da categoria.
+     * - Limpa o cache de filtros.
+     * - Invalida as estatísticas da categoria.
+     * - Atualiza o índice de busca depois do commit.
      */
-    @CacheEvict(value = CACHE_NAME, key = CACHE_KEY_ALL)
+    @Caching(evict = {
+            @CacheEvict(value = CACHE_NAME_FILTER, allEntries = true),
+            @CacheEvict(value = CACHE_NAME, key = CACHE_KEY_ALL),
+            @CacheEvict(value = CACHE_NAME, key = "'" + CACHE_KEY_CATEGORY_PREFIX + "' + #request.categoryId") })
     @Transactional
     public ProductResponse create(ProductRequest request) {
         var entity = this.productMapper.toEntity(request);
+        this.setCategory(entity, request);
 
         entity = this.productRepository.save(entity);
 
+        this.notFoundGuard.created(CACHE_NAME, entity.getId());
+
+        var created = entity;
+        this.afterCommit(() -> this.searchIndexer.index(created));
+
+        this.categoryStatsService.evict(List.of(entity.getCategory().getId()));
+
         return this.productMapper.toResponse(entity);
     }
 
     /**
      * Atualiza os dados de um produto existente.
      *
-     * - Remove o cache do produto específico.
+     * - Remove o cache do produto específico, registrando a nova versão: um
+     * getById que leu a versão anterior não grava o valor antigo no cache.
      * - Remove o cache da lista completa ('all') para garantir que os dados estejam atualizados na próxima consulta.
+     * - Remove o cache das listas da categoria anterior e da nova categoria.
+     * - Limpa o cache de filtros.
+     * - Invalida as estatísticas da categoria anterior e da nova categoria.
+     * - Atualiza o índice de busca depois do commit.
      */
     @Caching(evict = {
-        @CacheEvict(value = CACHE_NAME, key = "#result.id"),
-        @CacheEvict(value = CACHE_NAME, key = CACHE_KEY_ALL) })
+        @CacheEvict(value = CACHE_NAME_FILTER, allEntries = true),
+        @CacheEvict(value = CACHE_NAME, key = CACHE_KEY_ALL),
+        @CacheEvict(value = CACHE_NAME, key = "'" + CACHE_KEY_CATEGORY_PREFIX + "' + #request.categoryId") })
     @Transactional
     public ProductResponse update(ProductRequest request) {
         var entity = this.findByIdOrThrow(request.getId());
+        var previousCategoryId = entity.getCategory().getId();
+
+        this.evictCategoryList(previousCategoryId);
 
         this.productMapper.copy(entity, request);
+        this.setCategory(entity, request);
 
-        entity = this.productRepository.save(entity);
+        entity = this.productRepository.saveAndFlush(entity);
+
+        this.cacheManager.evict(CACHE_NAME, entity.getId(), entity.getVersion());
+
+        var updated = entity;
+        this.afterCommit(() -> this.searchIndexer.index(updated));
+
+        this.categoryStatsService.evict(List.of(previousCategoryId, entity.getCategory().getId()));
 
         return this.productMapper.toResponse(entity);
     }
@@ -114,24 +377,118 @@ public class ProductService {
     /**
      * Exclui um produto do banco de dados.
      *
-     * - Remove o cache do produto específico.
+     * - Remove o cache do produto específico (nenhuma versão é aceita depois).
      * - Remove o cache da lista completa ('all') para garantir que os dados estejam atualizados na próxima consulta.
+     * - Limpa o cache de filtros.
+     * - Invalida as estatísticas da categoria.
+     * - Atualiza o índice de busca depois do commit.
      */
     @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME, key = "#id"),
+            @CacheEvict(value = CACHE_NAME_FILTER, allEntries = true),
             @CacheEvict(value = CACHE_NAME, key = CACHE_KEY_ALL) })
     @Transactional
     public void delete(Long id) {
+        this.productRepository.findById(id)
+                .ifPresent(entity -> {
+                    this.evictCategoryList(entity.getCategory().getId());
+                    this.categoryStatsService.evict(List.of(entity.getCategory().getId()));
+                });
+
         this.productRepository.deleteById(id);
+
+        this.cacheManager.evict(CACHE_NAME, id, Long.MAX_VALUE);
+
+        this.afterCommit(() -> this.searchIndexer.remove(id));
+    }
+
+    /**
+     * Invalida as entradas de cache que dependem de uma categoria (nome da
+     * categoria exibido nos produtos).
+     *
+     * - Remove os produtos registrados no índice de dependências da categoria,
+     * com a versão atual de cada um como mínima aceita (IDs que não existem
+     * mais recusam qualquer versão): um getById que leu uma versão anterior do
+     * produto não grava o valor antigo depois do evict.
+     * - Remove a lista completa ('all') e a lista de produtos da categoria.
+     * - Limpa o cache de filtros.
+     */
+    @PrimaryRead
+    public void evictByCategory(Long categoryId) {
+        var cache = this.cacheManager.getCache(CACHE_NAME);
+
+        if (cache == null) {
+            return;
+        }
+
+        var keys = this.dependencyIndex.dependents(CACHE_NAME, DEPENDENCY_CATEGORY, categoryId);
+        log.info("evictByCategory({}): {} produto(s)", categoryId, keys.size());
+
+        this.cacheManager.evictAll(CACHE_NAME, this.currentVersions(keys));
+        cache.evict(CACHE_KEY_ALL_VALUE);
+        cache.evict(CACHE_KEY_CATEGORY_PREFIX + categoryId);
+
+        // Somente as chaves removidas acima: um getById concorrente pode ter
+        // registrado outra chave depois da leitura
+        this.dependencyIndex.remove(CACHE_NAME, DEPENDENCY_CATEGORY, categoryId, keys);
+
+        var filterCache = this.cacheManager.getCache(CACHE_NAME_FILTER);
+
+        if (filterCache != null) {
+            filterCache.clear();
+        }
     }
 
-    @CacheEvict(value = CACHE_NAME, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = CACHE_NAME, allEntries = true),
+            @CacheEvict(value = CACHE_NAME_FILTER, allEntries = true) })
     public void clearCache() {
     }
 
+    private Map<Long, Long> currentVersions(Collection<String> keys) {
+        var ids = keys.stream().map(Long::valueOf).toList();
+        var versions = new LinkedHashMap<Long, Long>();
+
+        ids.forEach(id -> versions.put(id, Long.MAX_VALUE));
+
+        for (int from = 0; from < ids.size(); from += VERSIONS_BATCH_SIZE) {
+            this.productRepository.findVersionsByIdIn(ids.subList(from, Math.min(from + VERSIONS_BATCH_SIZE, ids.size())))
+                    .forEach(row -> versions.put(row.getId(), row.getVersion()));
+        }
+
+        return versions;
+    }
+
+    private void evictCategoryList(Long categoryId) {
+        var cache = this.cacheManager.getCache(CACHE_NAME);
+
+        if (cache != null && categoryId != null) {
+            cache.evict(CACHE_KEY_CATEGORY_PREFIX + categoryId);
+        }
+    }
+
+    private void setCategory(Product entity, ProductRequest request) {
+        if (request.getCategoryId() != null) {
+            entity.setCategory(this.categoryRepository.getReferenceById(request.getCategoryId()));
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private Product findByIdOrThrow(Long id) {
         return this.productRepository.findById(id)
-        .orElseThrow(() -> new RuntimeException(String.format(MSG_ERROR_PERSON_NOT_FOUND, id)));
+        .orElseThrow(() -> this.notFoundGuard.notFound(CACHE_NAME, id));
     }
 
 }
\ No newline at end of file
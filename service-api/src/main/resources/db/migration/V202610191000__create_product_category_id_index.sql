@@ -0,0 +1,4 @@
+SET client_encoding TO utf8;
+
+-- Consulta de produtos por categoria (GET /api/v1/categories/{id}/products)
+CREATE INDEX IF NOT EXISTS product_category_id_idx ON project110.product (category_id);
@@ -0,0 +1,6 @@
+SET client_encoding TO utf8;
+
+-- Busca textual em produtos (fallback do índice em memória)
+-- A expressão precisa ser idêntica à usada em ProductRepository.searchFullText
+CREATE INDEX IF NOT EXISTS product_search_idx ON project110.product
+    USING GIN (to_tsvector('simple', name || ' ' || coalesce(description, '')));
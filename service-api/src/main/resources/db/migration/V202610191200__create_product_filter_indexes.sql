@@ -0,0 +1,14 @@
+SET client_encoding TO utf8;
+
+-- Listagem filtrada de produtos (GET /api/v1/products?categoryId=&minPrice=&maxPrice=&name=&sort=)
+
+-- Categoria + faixa de preço (também atende a consulta apenas por categoria)
+CREATE INDEX IF NOT EXISTS product_category_id_price_idx ON project110.product (category_id, price);
+
+DROP INDEX IF EXISTS project110.product_category_id_idx;
+
+-- Faixa de preço e ordenação por preço
+CREATE INDEX IF NOT EXISTS product_price_idx ON project110.product (price);
+
+-- Prefixo do nome: lower(name) LIKE 'prefixo%'
+CREATE INDEX IF NOT EXISTS product_name_lower_idx ON project110.product (lower(name) text_pattern_ops);
@@ -0,0 +1,113 @@
+SET client_encoding TO utf8;
+
+-- Invalidação de cache dirigida pelo banco (LISTEN/NOTIFY)
+--
+-- Toda alteração em product, category e person publica no canal
+-- 'project110_cache_change' um JSON com:
+--   seq          sequência crescente (ordem de publicação)
+--   table        tabela alterada
+--   op           INSERT, UPDATE, DELETE ou TRUNCATE
+--   ids          IDs alterados (null = tabela inteira)
+--   category_ids categorias afetadas (somente product)
+--
+-- Os triggers são por comando (FOR EACH STATEMENT) com tabelas de transição,
+-- de modo que uma carga em massa gera uma única notificação. Se o payload
+-- passar de max_payload_bytes (o limite do NOTIFY é 8000 bytes), a
+-- notificação é enviada sem IDs (invalida a tabela inteira).
+-- O NOTIFY só é entregue no commit e na ordem dos commits.
+
+CREATE SEQUENCE IF NOT EXISTS project110.cache_change_seq;
+
+CREATE OR REPLACE FUNCTION project110.notify_cache_change() RETURNS trigger AS $$
+DECLARE
+    max_payload_bytes CONSTANT integer := 7900;
+    seq bigint;
+    ids bigint[];
+    category_ids bigint[];
+    payload text;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        SELECT array_agg(id) INTO ids FROM new_rows;
+    ELSIF TG_OP IN ('UPDATE', 'DELETE') THEN
+        SELECT array_agg(id) INTO ids FROM old_rows;
+    END IF;
+
+    IF TG_TABLE_NAME = 'product' THEN
+        IF TG_OP = 'INSERT' THEN
+            SELECT array_agg(DISTINCT category_id) INTO category_ids FROM new_rows;
+        ELSIF TG_OP = 'DELETE' THEN
+            SELECT array_agg(DISTINCT category_id) INTO category_ids FROM old_rows;
+        ELSIF TG_OP = 'UPDATE' THEN
+            SELECT array_agg(DISTINCT c.category_id) INTO category_ids
+              FROM (SELECT category_id FROM old_rows UNION SELECT category_id FROM new_rows) c;
+        END IF;
+    END IF;
+
+    -- Comando que não alterou nenhuma linha
+    IF TG_OP <> 'TRUNCATE' AND ids IS NULL THEN
+        RETURN NULL;
+    END IF;
+
+    seq := nextval('project110.cache_change_seq');
+
+    payload := json_build_object(
+        'seq', seq,
+        'table', TG_TABLE_NAME,
+        'op', TG_OP,
+        'ids', ids,
+        'category_ids', array_remove(category_ids, NULL)
+    )::text;
+
+    IF octet_length(payload) >= max_payload_bytes THEN
+        payload := json_build_object(
+            'seq', seq,
+            'table', TG_TABLE_NAME,
+            'op', TG_OP,
+            'ids', NULL,
+            'category_ids', NULL
+        )::text;
+    END IF;
+
+    PERFORM pg_notify('project110_cache_change', payload);
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Tabelas de transição exigem um trigger por evento
+
+CREATE TRIGGER product_cache_change_insert AFTER INSERT ON project110.product
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.notify_cache_change();
+CREATE TRIGGER product_cache_change_update AFTER UPDATE ON project110.product
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.notify_cache_change();
+CREATE TRIGGER product_cache_change_delete AFTER DELETE ON project110.product
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.notify_cache_change();
+CREATE TRIGGER product_cache_change_truncate AFTER TRUNCATE ON project110.product
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.notify_cache_change();
+
+CREATE TRIGGER category_cache_change_insert AFTER INSERT ON project110.category
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.notify_cache_change();
+CREATE TRIGGER category_cache_change_update AFTER UPDATE ON project110.category
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.notify_cache_change();
+CREATE TRIGGER category_cache_change_delete AFTER DELETE ON project110.category
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.notify_cache_change();
+CREATE TRIGGER category_cache_change_truncate AFTER TRUNCATE ON project110.category
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.notify_cache_change();
+
+CREATE TRIGGER person_cache_change_insert AFTER INSERT ON project110.person
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.notify_cache_change();
+CREATE TRIGGER person_cache_change_update AFTER UPDATE ON project110.person
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.notify_cache_change();
+CREATE TRIGGER person_cache_change_delete AFTER DELETE ON project110.person
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.notify_cache_change();
+CREATE TRIGGER person_cache_change_truncate AFTER TRUNCATE ON project110.person
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.notify_cache_change();
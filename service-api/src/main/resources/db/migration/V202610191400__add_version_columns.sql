@@ -0,0 +1,74 @@
+SET client_encoding TO utf8;
+
+-- Versão para lock otimista (@Version) e escrita condicional no cache
+ALTER TABLE project110.category ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE project110.product ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE project110.person ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Notificações de alteração com a versão de cada ID (ver
+-- V202610191300__create_cache_change_notify_triggers.sql)
+--
+--   versions  versão de cada ID, na ordem de ids (INSERT e UPDATE; null em
+--             DELETE, que recusa qualquer versão)
+--
+-- O evict de cada ID registra a versão como mínima aceita no cache: um
+-- carregamento que leu a linha antes da alteração não grava o valor antigo.
+
+CREATE OR REPLACE FUNCTION project110.notify_cache_change() RETURNS trigger AS $$
+DECLARE
+    max_payload_bytes CONSTANT integer := 7900;
+    seq bigint;
+    ids bigint[];
+    versions bigint[];
+    category_ids bigint[];
+    payload text;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        SELECT array_agg(id ORDER BY id), array_agg(version ORDER BY id) INTO ids, versions FROM new_rows;
+    ELSIF TG_OP = 'DELETE' THEN
+        SELECT array_agg(id) INTO ids FROM old_rows;
+    END IF;
+
+    IF TG_TABLE_NAME = 'product' THEN
+        IF TG_OP = 'INSERT' THEN
+            SELECT array_agg(DISTINCT category_id) INTO category_ids FROM new_rows;
+        ELSIF TG_OP = 'DELETE' THEN
+            SELECT array_agg(DISTINCT category_id) INTO category_ids FROM old_rows;
+        ELSIF TG_OP = 'UPDATE' THEN
+            SELECT array_agg(DISTINCT c.category_id) INTO category_ids
+              FROM (SELECT category_id FROM old_rows UNION SELECT category_id FROM new_rows) c;
+        END IF;
+    END IF;
+
+    -- Comando que não alterou nenhuma linha
+    IF TG_OP <> 'TRUNCATE' AND ids IS NULL THEN
+        RETURN NULL;
+    END IF;
+
+    seq := nextval('project110.cache_change_seq');
+
+    payload := json_build_object(
+        'seq', seq,
+        'table', TG_TABLE_NAME,
+        'op', TG_OP,
+        'ids', ids,
+        'versions', versions,
+        'category_ids', array_remove(category_ids, NULL)
+    )::text;
+
+    IF octet_length(payload) >= max_payload_bytes THEN
+        payload := json_build_object(
+            'seq', seq,
+            'table', TG_TABLE_NAME,
+            'op', TG_OP,
+            'ids', NULL,
+            'versions', NULL,
+            'category_ids', NULL
+        )::text;
+    END IF;
+
+    PERFORM pg_notify('project110_cache_change', payload);
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,77 @@
+SET client_encoding TO utf8;
+
+-- Sincronização incremental (GET /api/v1/products/changes?since=<token>)
+--
+-- updated_at é preenchido por trigger em todo INSERT/UPDATE, com
+-- clock_timestamp() (momento da escrita, não o início da transação): uma
+-- transação longa não grava linhas com data anterior à de uma leitura do
+-- feed que já aconteceu. O índice (updated_at, id) atende a leitura por
+-- keyset.
+--
+-- Exclusões ficam em deleted_row (tombstones); TRUNCATE grava uma linha com
+-- row_id nulo, que obriga os consumidores a sincronizar do zero.
+
+CREATE OR REPLACE FUNCTION project110.set_updated_at() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE project110.category ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp();
+ALTER TABLE project110.product ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp();
+ALTER TABLE project110.person ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp();
+
+CREATE TRIGGER category_set_updated_at BEFORE INSERT OR UPDATE ON project110.category
+    FOR EACH ROW EXECUTE FUNCTION project110.set_updated_at();
+CREATE TRIGGER product_set_updated_at BEFORE INSERT OR UPDATE ON project110.product
+    FOR EACH ROW EXECUTE FUNCTION project110.set_updated_at();
+CREATE TRIGGER person_set_updated_at BEFORE INSERT OR UPDATE ON project110.person
+    FOR EACH ROW EXECUTE FUNCTION project110.set_updated_at();
+
+CREATE INDEX IF NOT EXISTS category_updated_at_idx ON project110.category (updated_at, id);
+CREATE INDEX IF NOT EXISTS product_updated_at_idx ON project110.product (updated_at, id);
+CREATE INDEX IF NOT EXISTS person_updated_at_idx ON project110.person (updated_at, id);
+
+-- Tombstones
+
+CREATE TABLE IF NOT EXISTS project110.deleted_row (
+    id BIGSERIAL NOT NULL,
+    table_name VARCHAR(63) NOT NULL,
+    row_id BIGINT, -- nulo: TRUNCATE
+    deleted_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp(),
+    CONSTRAINT deleted_row_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS deleted_row_table_name_deleted_at_idx
+    ON project110.deleted_row (table_name, deleted_at, row_id);
+
+CREATE OR REPLACE FUNCTION project110.record_deleted_row() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        INSERT INTO project110.deleted_row (table_name, row_id) VALUES (TG_TABLE_NAME, NULL);
+    ELSE
+        INSERT INTO project110.deleted_row (table_name, row_id) SELECT TG_TABLE_NAME, id FROM old_rows;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER category_record_deleted_row AFTER DELETE ON project110.category
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.record_deleted_row();
+CREATE TRIGGER category_record_truncate AFTER TRUNCATE ON project110.category
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.record_deleted_row();
+
+CREATE TRIGGER product_record_deleted_row AFTER DELETE ON project110.product
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.record_deleted_row();
+CREATE TRIGGER product_record_truncate AFTER TRUNCATE ON project110.product
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.record_deleted_row();
+
+CREATE TRIGGER person_record_deleted_row AFTER DELETE ON project110.person
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.record_deleted_row();
+CREATE TRIGGER person_record_truncate AFTER TRUNCATE ON project110.person
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.record_deleted_row();
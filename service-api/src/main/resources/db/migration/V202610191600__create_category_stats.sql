@@ -0,0 +1,120 @@
+SET client_encoding TO utf8;
+
+-- Estatísticas de produtos por categoria (GET /api/v1/categories/stats)
+--
+-- Mantidas incrementalmente pelos triggers de product: a leitura é
+-- O(categorias), qualquer que seja o tamanho do catálogo.
+--
+-- - Quantidade e soma dos preços recebem os deltas do comando (linhas novas
+--   somam, antigas subtraem); a média é calculada na leitura.
+-- - Mínimo e máximo das categorias afetadas são relidos pelo índice
+--   (category_id, price), depois de aplicados os deltas: o lock da linha de
+--   estatística serializa os comandos da mesma categoria e a releitura vê os
+--   produtos já confirmados pelos anteriores.
+-- - Os triggers são por comando (FOR EACH STATEMENT) com tabelas de transição:
+--   uma carga em massa atualiza cada categoria uma única vez.
+
+CREATE TABLE project110.category_stats (
+    category_id BIGINT PRIMARY KEY REFERENCES project110.category ON DELETE CASCADE,
+    product_count BIGINT NOT NULL DEFAULT 0,
+    price_sum NUMERIC(20, 2) NOT NULL DEFAULT 0,
+    min_price NUMERIC(10, 2),
+    max_price NUMERIC(10, 2),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp()
+);
+
+INSERT INTO project110.category_stats (category_id, product_count, price_sum, min_price, max_price)
+SELECT category_id, count(*), sum(price), min(price), max(price)
+  FROM project110.product
+ WHERE category_id IS NOT NULL
+ GROUP BY category_id;
+
+CREATE OR REPLACE FUNCTION project110.update_category_stats() RETURNS trigger AS $$
+DECLARE
+    -- Deltas por categoria: (categoria, quantidade, soma dos preços)
+    delta_ids bigint[] := '{}';
+    delta_counts bigint[] := '{}';
+    delta_sums numeric[] := '{}';
+    category_ids bigint[];
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        UPDATE project110.category_stats
+           SET product_count = 0, price_sum = 0, min_price = NULL, max_price = NULL,
+               updated_at = clock_timestamp();
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP = 'INSERT' THEN
+        SELECT coalesce(array_agg(category_id), '{}'), coalesce(array_agg(total_count), '{}'),
+               coalesce(array_agg(total_price), '{}')
+          INTO delta_ids, delta_counts, delta_sums
+          FROM (SELECT category_id, count(*) AS total_count, sum(price) AS total_price
+                  FROM new_rows
+                 WHERE category_id IS NOT NULL
+                 GROUP BY category_id) d;
+    ELSIF TG_OP = 'DELETE' THEN
+        SELECT coalesce(array_agg(category_id), '{}'), coalesce(array_agg(-total_count), '{}'),
+               coalesce(array_agg(-total_price), '{}')
+          INTO delta_ids, delta_counts, delta_sums
+          FROM (SELECT category_id, count(*) AS total_count, sum(price) AS total_price
+                  FROM old_rows
+                 WHERE category_id IS NOT NULL
+                 GROUP BY category_id) d;
+    ELSIF TG_OP = 'UPDATE' THEN
+        -- Somente produtos com preço ou categoria alterados: sai da categoria
+        -- antiga e entra na nova
+        SELECT coalesce(array_agg(category_id), '{}'), coalesce(array_agg(total_count), '{}'),
+               coalesce(array_agg(total_price), '{}')
+          INTO delta_ids, delta_counts, delta_sums
+          FROM (SELECT category_id, sum(product_count) AS total_count, sum(price) AS total_price
+                  FROM (SELECT n.category_id, 1 AS product_count, n.price
+                          FROM new_rows n JOIN old_rows o ON o.id = n.id
+                         WHERE (n.price, n.category_id) IS DISTINCT FROM (o.price, o.category_id)
+                        UNION ALL
+                        SELECT o.category_id, -1, -o.price
+                          FROM new_rows n JOIN old_rows o ON o.id = n.id
+                         WHERE (n.price, n.category_id) IS DISTINCT FROM (o.price, o.category_id)) moved
+                 WHERE category_id IS NOT NULL
+                 GROUP BY category_id) d;
+    END IF;
+
+    IF cardinality(delta_ids) = 0 THEN
+        RETURN NULL;
+    END IF;
+
+    WITH applied AS (
+        INSERT INTO project110.category_stats AS s (category_id, product_count, price_sum)
+        SELECT d.category_id, d.product_count, d.price_sum
+          FROM unnest(delta_ids, delta_counts, delta_sums) AS d(category_id, product_count, price_sum)
+         ORDER BY d.category_id -- ordem fixa de lock entre comandos concorrentes
+            ON CONFLICT (category_id) DO UPDATE
+           SET product_count = s.product_count + excluded.product_count,
+               price_sum = s.price_sum + excluded.price_sum,
+               updated_at = clock_timestamp()
+        RETURNING s.category_id
+    )
+    SELECT array_agg(category_id) INTO category_ids FROM applied;
+
+    -- Comando separado: snapshot novo, tirado depois do lock das linhas
+    UPDATE project110.category_stats s
+       SET min_price = (SELECT min(p.price) FROM project110.product p WHERE p.category_id = s.category_id),
+           max_price = (SELECT max(p.price) FROM project110.product p WHERE p.category_id = s.category_id)
+     WHERE s.category_id = ANY (category_ids);
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Tabelas de transição exigem um trigger por evento
+
+CREATE TRIGGER product_category_stats_insert AFTER INSERT ON project110.product
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.update_category_stats();
+CREATE TRIGGER product_category_stats_update AFTER UPDATE ON project110.product
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.update_category_stats();
+CREATE TRIGGER product_category_stats_delete AFTER DELETE ON project110.product
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.update_category_stats();
+CREATE TRIGGER product_category_stats_truncate AFTER TRUNCATE ON project110.product
+    FOR EACH STATEMENT EXECUTE FUNCTION project110.update_category_stats();
@@ -0,0 +1,8 @@
+SET client_encoding TO utf8;
+
+-- Consulta por categoria e listagem filtrada por categoria + faixa de preço
+-- usam o mesmo índice composto; o índice só por categoria (V202610191000) é
+-- redundante. Idempotente: onde V202610191200 já fez a troca, nada muda.
+DROP INDEX IF EXISTS project110.product_category_id_idx;
+
+CREATE INDEX IF NOT EXISTS product_category_id_price_idx ON project110.product (category_id, price);
@@ -0,0 +1,20 @@
+SET client_encoding TO utf8;
+
+-- Busca textual sem acentos, como os termos do índice em memória
+-- (TextUtils.tokenize). A expressão precisa ser idêntica à usada em
+-- ProductRepository.searchFullText
+CREATE EXTENSION IF NOT EXISTS unaccent WITH SCHEMA project110;
+
+-- unaccent() é STABLE (depende do dicionário configurado) e não pode ser usada
+-- em índice; com o dicionário fixo o resultado é imutável
+CREATE OR REPLACE FUNCTION project110.immutable_unaccent(value text)
+    RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$
+    SELECT project110.unaccent('project110.unaccent'::regdictionary, value)
+$$;
+
+DROP INDEX IF EXISTS project110.product_search_idx;
+
+CREATE INDEX product_search_idx ON project110.product
+    USING GIN (to_tsvector('simple', project110.immutable_unaccent(name || ' ' || coalesce(description, ''))));
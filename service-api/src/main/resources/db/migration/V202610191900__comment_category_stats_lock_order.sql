@@ -0,0 +1,6 @@
+SET client_encoding TO utf8;
+
+-- Limite da ordem de lock de V202610191600, registrado no próprio banco (\df+)
+
+COMMENT ON FUNCTION project110.update_category_stats() IS
+'Aplica os deltas de product em category_stats (trigger por comando). As linhas de estatística são travadas em ordem de category_id somente dentro de um comando: uma transação com vários comandos que alteram categorias diferentes (ex.: categoria 2 e depois 1, contra outra que faz 1 e depois 2) ainda pode entrar em deadlock; o PostgreSQL aborta uma delas, que deve ser repetida.';
@@ -0,0 +1,64 @@
+package com.jeanbarcellos.project110.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class BulkTransferTest {
+
+    @Test
+    void trackedStreamsShouldCountBytesWithoutChangingContent() throws IOException {
+        var content = "id,name\n1,Smartphone\n2,Laptop\n".getBytes();
+        var transfer = new BulkTransfer("t1", "import", BulkFormat.CSV, content.length, Duration.ofSeconds(5));
+
+        var input = transfer.track(new ByteArrayInputStream(content));
+        assertEquals('i', input.read());
+        var rest = input.readAllBytes();
+
+        assertEquals(content.length, transfer.getBytes());
+        assertEquals(content.length - 1, rest.length);
+
+        var output = new ByteArrayOutputStream();
+        var tracked = transfer.track(output);
+        tracked.write(content, 0, content.length);
+        tracked.write('\n');
+
+        assertEquals(2L * content.length + 1, transfer.getBytes());
+        assertEquals(content.length + 1, output.size());
+    }
+
+    @Test
+    void progressShouldReportRowsOnlyWhenKnown() throws IOException {
+        var transfer = new BulkTransfer("t2", "export", BulkFormat.NDJSON, -1, Duration.ofSeconds(5));
+        transfer.track(new ByteArrayOutputStream()).write(new byte[10]);
+
+        assertEquals(-1, transfer.progress().rows());
+
+        transfer.setRows(3);
+
+        var progress = transfer.progress();
+        assertEquals(3, progress.rows());
+        assertEquals(10, progress.bytes());
+        assertEquals(-1, progress.expectedBytes());
+    }
+
+    @Test
+    void formatShouldBeResolvedByNameOrMediaType() {
+        assertEquals(BulkFormat.CSV, BulkFormat.of("csv"));
+        assertEquals(BulkFormat.CSV, BulkFormat.of("text/csv; charset=UTF-8"));
+        assertEquals(BulkFormat.NDJSON, BulkFormat.of("NDJSON"));
+        assertEquals(BulkFormat.NDJSON, BulkFormat.of("application/x-ndjson"));
+
+        assertThrows(IllegalArgumentException.class, () -> BulkFormat.of("application/json"));
+        assertThrows(IllegalArgumentException.class, () -> BulkFormat.of(null));
+        assertArrayEquals(new BulkFormat[] { BulkFormat.CSV, BulkFormat.NDJSON }, BulkFormat.values());
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.jeanbarcellos.project110.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveTtlPolicyTest {
+
+    private static final String CACHE = "products";
+
+    private static final Duration STATIC_TTL = Duration.ofHours(1);
+
+    private static final Duration MIN = Duration.ofMinutes(5);
+
+    private static final Duration MAX = Duration.ofHours(72);
+
+    private final MutableClock clock = new MutableClock();
+
+    private final AdaptiveTtlPolicy policy = new AdaptiveTtlPolicy(this.clock, MIN, MAX, Duration.ofHours(24), 1000);
+
+    @BeforeEach
+    void setUp() {
+        this.policy.ttlFunction(CACHE, STATIC_TTL);
+    }
+
+    @Test
+    void withoutObservationsTtlShouldBeTheStaticOne() {
+        assertEquals(STATIC_TTL, this.policy.ttl(CACHE, 10L));
+        assertEquals(STATIC_TTL, this.policy.ttlFunction(CACHE, STATIC_TTL).getTimeToLive(null, null));
+    }
+
+    @Test
+    void frequentlyWrittenKeyShouldGetShorterTtl() {
+        for (int i = 0; i < 20; i++) {
+            this.policy.recordWrite(CACHE, 10L);
+            this.clock.advance(Duration.ofMinutes(2));
+        }
+
+        var ttl = this.policy.ttl(CACHE, 10L);
+
+        assertTrue(ttl.compareTo(Duration.ofMinutes(10)) < 0, ttl.toString());
+        assertTrue(ttl.compareTo(MIN) >= 0, ttl.toString());
+    }
+
+    @Test
+    void rarelyWrittenKeyShouldGetLongerTtlWithinMax() {
+        this.policy.recordWrite(CACHE, 11L);
+        this.clock.advance(Duration.ofHours(48));
+
+        var ttl = this.policy.ttl(CACHE, 10L);
+
+        assertTrue(ttl.compareTo(Duration.ofHours(12)) > 0, ttl.toString());
+        assertTrue(ttl.compareTo(MAX) <= 0, ttl.toString());
+        assertTrue(this.policy.ttl(CACHE, 11L).compareTo(ttl) < 0);
+    }
+
+    @Test
+    void frequentClearsShouldShortenEveryKey() {
+        for (int i = 0; i < 20; i++) {
+            this.policy.recordClear(CACHE);
+            this.clock.advance(Duration.ofMinutes(2));
+        }
+
+        assertEquals(MIN, this.policy.ttl(CACHE, 42L));
+    }
+
+    @Test
+    void repeatedEvictsOfTheSameChangeShouldCountOnce() {
+        this.clock.advance(Duration.ofHours(1));
+        this.policy.recordWrite(CACHE, 10L);
+        this.policy.recordWrite(CACHE, 10L);
+        this.policy.recordWrite(CACHE, 12L);
+        this.clock.advance(Duration.ofMillis(500));
+        this.policy.recordWrite(CACHE, 12L);
+
+        assertEquals(this.policy.ttl(CACHE, 12L), this.policy.ttl(CACHE, 10L));
+    }
+
+    @Test
+    void hitsAndMissesShouldBeComparedWithTheStaticPolicy() {
+        this.policy.recordPut(CACHE, 10L);
+        this.clock.advance(STATIC_TTL.plusMinutes(1));
+        this.policy.recordGet(CACHE, 10L, true);
+
+        this.policy.recordPut(CACHE, 11L);
+        this.clock.advance(Duration.ofMinutes(10));
+        this.policy.recordGet(CACHE, 11L, false);
+
+        assertEquals(1, this.policy.gainedHitCount(CACHE));
+        assertEquals(1, this.policy.lostHitCount(CACHE));
+        assertEquals(0.0, this.policy.hitRatioDelta(CACHE));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            this.now = this.now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.now;
+        }
+    }
+
+}
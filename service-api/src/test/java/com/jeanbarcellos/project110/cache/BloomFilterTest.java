@@ -0,0 +1,52 @@
+package com.jeanbarcellos.project110.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void addedIdsShouldAlwaysBeFound() {
+        var filter = new BloomFilter(10_000, 0.01);
+
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(filter.mightContain(id), "id " + id);
+        }
+    }
+
+    @Test
+    void falsePositiveRateShouldStayNearTargetAtCapacity() {
+        var filter = new BloomFilter(10_000, 0.01);
+
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+
+        var falsePositives = 0;
+        for (long id = 1_000_000; id < 1_100_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+
+        var rate = falsePositives / 100_000.0;
+        assertTrue(rate < 0.02, "taxa observada " + rate);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+    }
+
+    @Test
+    void emptyFilterShouldRejectEverything() {
+        var filter = new BloomFilter(100, 0.01);
+
+        assertFalse(filter.mightContain(1));
+        assertEquals(0, filter.count());
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.jeanbarcellos.project110.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.Data;
+
+class CacheValueSchemaTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void sameJsonShapeShouldHaveSameVersion() {
+        assertEquals(CacheValueSchema.version(this.objectMapper, ProductV1.class, "1"),
+                CacheValueSchema.version(this.objectMapper, RenamedProductV1.class, "1"));
+    }
+
+    @Test
+    void addedPropertyShouldChangeVersion() {
+        assertNotEquals(CacheValueSchema.version(this.objectMapper, ProductV1.class, "1"),
+                CacheValueSchema.version(this.objectMapper, ProductV2.class, "1"));
+    }
+
+    @Test
+    void descriptionShouldIncludeNestedTypesAndEnumConstants() {
+        assertEquals("{items:[{name:java.lang.String,price:java.math.BigDecimal}],kind:enum(A|B)}",
+                CacheValueSchema.describe(this.objectMapper, Order.class));
+    }
+
+    @Test
+    void revisionShouldChangeVersion() {
+        assertNotEquals(CacheValueSchema.version(this.objectMapper, ProductV1.class, "1"),
+                CacheValueSchema.version(this.objectMapper, ProductV1.class, "2"));
+    }
+
+    @Data
+    static class ProductV1 {
+        private String name;
+        private BigDecimal price;
+    }
+
+    @Data
+    static class RenamedProductV1 {
+        private BigDecimal price;
+        private String name;
+    }
+
+    @Data
+    static class ProductV2 {
+        private String name;
+        private BigDecimal price;
+        private String categoryName;
+    }
+
+    enum Kind {
+        A, B
+    }
+
+    @Data
+    static class Order {
+        private List<ProductV1> items;
+        private Kind kind;
+    }
+
+}
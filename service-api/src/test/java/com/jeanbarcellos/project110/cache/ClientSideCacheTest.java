@@ -0,0 +1,128 @@
+package com.jeanbarcellos.project110.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Client-side caching contra o Redis local: a cópia local é servida até
+ * outra conexão alterar a chave e o servidor enviar a invalidação, e é
+ * descartada quando a conexão com tracking cai.
+ */
+@SpringBootTest(properties = {
+        "spring.data.redis.database=4",
+        "app-config.cache.cdc.enabled=false",
+        "app-config.cache.redis.client-side-caching.enabled=true" })
+class ClientSideCacheTest {
+
+    private static final String KEY = "client-side-cache-test::1";
+
+    private static final String CLIENT_NAME = "project110-client-side-cache";
+
+    private static final long INVALIDATION_TIMEOUT_MS = 5000;
+
+    @Autowired
+    private ClientSideCache clientSideCache;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Test
+    void shouldServeLocalCopyUntilServerInvalidates() throws Exception {
+        this.redisTemplate.opsForValue().set(KEY, "v1");
+        this.clientSideCache.invalidate(KEY);
+
+        assertArrayEquals(bytes("v1"), this.clientSideCache.get(KEY));
+        assertTrue(this.clientSideCache.contains(KEY));
+
+        // Escrita por outra conexão: o Redis avisa a conexão com tracking
+        this.redisTemplate.opsForValue().set(KEY, "v2");
+
+        assertTrue(this.awaitInvalidation(KEY));
+        assertArrayEquals(bytes("v2"), this.clientSideCache.get(KEY));
+
+        this.redisTemplate.delete(KEY);
+
+        assertTrue(this.awaitInvalidation(KEY));
+        assertNull(this.clientSideCache.get(KEY));
+    }
+
+    @Test
+    void shouldDropPrefixLocally() {
+        this.redisTemplate.opsForValue().set(KEY, "v1");
+        this.clientSideCache.get(KEY);
+
+        this.clientSideCache.invalidatePrefix("client-side-cache-test::");
+
+        assertFalse(this.clientSideCache.contains(KEY));
+    }
+
+    @Test
+    void shouldDropLocalCopiesAndReenableTrackingAfterReconnect() throws Exception {
+        this.redisTemplate.opsForValue().set(KEY, "v1");
+        this.clientSideCache.invalidate(KEY);
+        this.clientSideCache.get(KEY);
+
+        this.killTrackingConnection();
+
+        // Queda: cópias descartadas; reconexão: tracking reativado
+        assertTrue(this.await(() -> !this.clientSideCache.isTracking() && !this.clientSideCache.contains(KEY)));
+        assertTrue(this.await(this.clientSideCache::isTracking));
+
+        assertArrayEquals(bytes("v1"), this.clientSideCache.get(KEY));
+        assertTrue(this.clientSideCache.contains(KEY));
+
+        this.redisTemplate.opsForValue().set(KEY, "v2");
+
+        assertTrue(this.awaitInvalidation(KEY));
+        assertArrayEquals(bytes("v2"), this.clientSideCache.get(KEY));
+
+        this.redisTemplate.delete(KEY);
+    }
+
+    private void killTrackingConnection() {
+        this.redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().getClientList().stream()
+                    .filter(client -> CLIENT_NAME.equals(client.getName()))
+                    .forEach(client -> {
+                        var address = client.getAddressPort();
+                        var separator = address.lastIndexOf(':');
+                        connection.serverCommands().killClient(address.substring(0, separator),
+                                Integer.parseInt(address.substring(separator + 1)));
+                    });
+            return null;
+        });
+    }
+
+    private boolean awaitInvalidation(String key) throws InterruptedException {
+        return this.await(() -> !this.clientSideCache.contains(key));
+    }
+
+    private boolean await(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + INVALIDATION_TIMEOUT_MS;
+
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+
+        return true;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.jeanbarcellos.project110.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisNode.NodeType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+
+class ClusterBatchStrategyTest {
+
+    private final RedisClusterConnection connection = mock(RedisClusterConnection.class);
+
+    private final RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+
+    private final RedisClusterNode master1 = node("m1", 7000, NodeType.MASTER);
+    private final RedisClusterNode master2 = node("m2", 7001, NodeType.MASTER);
+    private final RedisClusterNode replica = node("r1", 7002, NodeType.REPLICA);
+
+    @Test
+    void hashTaggedPatternShouldScanOnlyOwnerNode() {
+        var pattern = bytes("{products}::*");
+
+        var keys = cursor("{products}::1", "{products}::etag::1", "{products}::2");
+
+        when(this.connection.clusterGetNodeForKey(pattern)).thenReturn(this.master2);
+        when(this.connection.scan(eq(this.master2), any(ScanOptions.class))).thenReturn(keys);
+        when(this.connection.keyCommands()).thenReturn(this.keyCommands);
+        when(this.keyCommands.del(any(byte[][].class))).thenAnswer(invocation -> (long) invocation.getArguments().length);
+
+        var deleted = new ClusterBatchStrategy(2).cleanCache(this.connection, "products", pattern);
+
+        assertEquals(3, deleted);
+        verify(this.connection, never()).clusterGetNodes();
+        verify(this.connection, never()).scan(eq(this.master1), any(ScanOptions.class));
+    }
+
+    @Test
+    void patternWithoutHashTagShouldScanEveryMaster() {
+        var pattern = bytes("products::*");
+
+        var keys1 = cursor("products::1");
+        var keys2 = cursor("products::2", "products::3");
+
+        when(this.connection.clusterGetNodes()).thenReturn(Set.of(this.master1, this.master2, this.replica));
+        when(this.connection.scan(eq(this.master1), any(ScanOptions.class))).thenReturn(keys1);
+        when(this.connection.scan(eq(this.master2), any(ScanOptions.class))).thenReturn(keys2);
+        when(this.connection.keyCommands()).thenReturn(this.keyCommands);
+        when(this.keyCommands.del(any(byte[][].class))).thenAnswer(invocation -> (long) invocation.getArguments().length);
+
+        var deleted = new ClusterBatchStrategy(100).cleanCache(this.connection, "products", pattern);
+
+        assertEquals(3, deleted);
+        verify(this.connection, never()).scan(eq(this.replica), any(ScanOptions.class));
+    }
+
+    private static RedisClusterNode node(String id, int port, NodeType type) {
+        return RedisClusterNode.newRedisClusterNode()
+                .withId(id)
+                .listeningAt("127.0.0.1", port)
+                .promotedAs(type)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<byte[]> cursor(String... keys) {
+        Iterator<byte[]> iterator = List.of(keys).stream().map(ClusterBatchStrategyTest::bytes).iterator();
+
+        var cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+
+        return cursor;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.jeanbarcellos.project110.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+class HotKeyDetectorTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    private final HotKeyDetector detector = new HotKeyDetector(this.clock, Duration.ofSeconds(10), 3, 100);
+
+    @Test
+    void keyAboveThresholdShouldBeHot() {
+        var hot = false;
+        for (int i = 0; i < 100; i++) {
+            hot = this.detector.record("products", 1L);
+        }
+
+        assertTrue(hot);
+        assertFalse(this.detector.record("products", 2L));
+    }
+
+    @Test
+    void hotKeyShouldStayHotDuringNextWindow() {
+        for (int i = 0; i < 150; i++) {
+            this.detector.record("products", 1L);
+        }
+
+        this.clock.advance(Duration.ofSeconds(10));
+
+        assertTrue(this.detector.record("products", 1L));
+
+        this.clock.advance(Duration.ofSeconds(10));
+
+        assertFalse(this.detector.record("products", 1L));
+    }
+
+    @Test
+    void snapshotShouldKeepTopKOrderedByCount() {
+        for (int key = 1; key <= 10; key++) {
+            for (int i = 0; i < key * 10; i++) {
+                this.detector.record("products", (long) key);
+            }
+        }
+
+        var top = this.detector.snapshot().current();
+
+        assertEquals(3, top.size());
+        assertEquals("products::10", top.get(0).id());
+        assertEquals("products::9", top.get(1).id());
+        assertEquals("products::8", top.get(2).id());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            this.now = this.now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.now;
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.jeanbarcellos.project110.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class HttpCacheSupportTest {
+
+    private static final String ETAG = "\"abc\"";
+
+    @Test
+    void variantShouldKeepEtagFormat() {
+        assertEquals("\"abc-protobuf\"", HttpCacheSupport.variantEtag(ETAG, "protobuf"));
+    }
+
+    @Test
+    void shouldMatchEtagAndItsVariants() {
+        assertEquals(ETAG, HttpCacheSupport.match(ETAG, ETAG));
+        assertEquals(ETAG, HttpCacheSupport.match("W/" + ETAG, ETAG));
+        assertEquals(ETAG, HttpCacheSupport.match("*", ETAG));
+        assertEquals("\"abc-protobuf\"", HttpCacheSupport.match("\"x\", \"abc-protobuf\"", ETAG));
+
+        assertNull(HttpCacheSupport.match("\"abcd\"", ETAG));
+        assertNull(HttpCacheSupport.match("\"xyz-protobuf\"", ETAG));
+        assertNull(HttpCacheSupport.match(null, ETAG));
+    }
+
+}
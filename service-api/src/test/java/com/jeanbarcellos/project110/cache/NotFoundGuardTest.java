@@ -0,0 +1,120 @@
+package com.jeanbarcellos.project110.cache;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.jeanbarcellos.core.exception.NotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * O filtro de IDs só recusa IDs enquanto o cdc está conectado e sem lote
+ * pendente; um reset durante a reconstrução agenda outra.
+ */
+class NotFoundGuardTest {
+
+    private static final String CACHE_NAME = "products";
+
+    private static final long MISSING_ID = 1_000_000;
+
+    @Test
+    void shouldRejectOnlyWhileInSync() throws Exception {
+        var guard = new NotFoundGuard(null, null, null, new SimpleMeterRegistry(), true, Duration.ofSeconds(30),
+                1000, 0.01)
+                .register(CACHE_NAME, "Product", (id, limit) -> id > 0 ? List.of()
+                        : LongStream.rangeClosed(1, 100).boxed().toList());
+
+        // Sem cdc: o filtro não recusa
+        assertDoesNotThrow(() -> guard.check(CACHE_NAME, MISSING_ID));
+
+        guard.changesConnected();
+        assertTrue(this.awaitRejected(guard));
+        assertDoesNotThrow(() -> guard.check(CACHE_NAME, 1L));
+
+        guard.changesPending(true);
+        assertTrue(guard.mightExist(CACHE_NAME, MISSING_ID));
+
+        guard.changesPending(false);
+        assertFalse(guard.mightExist(CACHE_NAME, MISSING_ID));
+
+        guard.changesDisconnected();
+        assertDoesNotThrow(() -> guard.check(CACHE_NAME, MISSING_ID));
+
+        guard.shutdown();
+    }
+
+    @Test
+    void resetDuringRebuildShouldRebuildAgain() throws Exception {
+        var reads = new AtomicInteger();
+        var firstRead = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var guard = new NotFoundGuard(null, null, null, new SimpleMeterRegistry(), true, Duration.ofSeconds(30),
+                1000, 0.01)
+                .register(CACHE_NAME, "Product", (id, limit) -> {
+                    if (id > 0) {
+                        return List.of();
+                    }
+                    if (reads.incrementAndGet() == 1) {
+                        firstRead.countDown();
+                        await(release);
+                        return List.of(1L);
+                    }
+                    // Segunda leitura: ID gravado fora da aplicação durante a primeira
+                    return List.of(1L, MISSING_ID);
+                });
+
+        guard.changesConnected();
+        assertTrue(firstRead.await(5, TimeUnit.SECONDS));
+
+        guard.reset(CACHE_NAME);
+        release.countDown();
+
+        // Publicado somente o filtro da segunda leitura
+        var deadline = System.currentTimeMillis() + 5000;
+        while (guard.mightExist(CACHE_NAME, MISSING_ID + 1) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertFalse(guard.mightExist(CACHE_NAME, MISSING_ID + 1));
+        assertTrue(guard.mightExist(CACHE_NAME, MISSING_ID));
+        assertEquals(2, reads.get());
+
+        guard.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean awaitRejected(NotFoundGuard guard) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 5000;
+
+        while (guard.mightExist(CACHE_NAME, MISSING_ID)) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+
+        assertThrows(NotFoundException.class, () -> guard.check(CACHE_NAME, MISSING_ID));
+        return true;
+    }
+
+}
@@ -0,0 +1,323 @@
+package com.jeanbarcellos.project110.cache;
+
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * Compara o comportamento do GC com as listas grandes em um cache no heap
+ * (mapa de byte[]) e no {@link OffHeapCache}.
+ *
+ * Cada variante roda em uma JVM própria, com as mesmas opções: o cache é
+ * preenchido com {@code --data-mb} de valores e depois lido por
+ * {@code --threads} threads durante {@code --seconds}, com a cópia e o lixo
+ * de uma requisição a cada leitura e a troca periódica de valores (refresh).
+ *
+ * <pre>
+ * mvn -q test-compile
+ * java -cp target/classes:target/test-classes \
+ *   com.jeanbarcellos.project110.cache.OffHeapCacheGcBenchmark compare --data-mb=512 --heap=1g
+ * </pre>
+ */
+public class OffHeapCacheGcBenchmark {
+
+    private static final String MODE_HEAP = "heap";
+    private static final String MODE_OFF_HEAP = "offheap";
+    private static final String MODE_COMPARE = "compare";
+
+    public static void main(String[] args) throws Exception {
+        var mode = args.length > 0 ? args[0] : MODE_COMPARE;
+        var settings = Settings.parse(args);
+
+        if (MODE_COMPARE.equals(mode)) {
+            compare(args, settings);
+            return;
+        }
+
+        System.out.println(run(mode, settings));
+    }
+
+    /**
+     * Executa as duas variantes em JVMs separadas, com o mesmo heap.
+     */
+    private static void compare(String[] args, Settings settings) throws Exception {
+        System.out.printf(Locale.ROOT, "%d MB em valores de %d KB, %d threads, %d s, heap %s%n%n",
+                settings.dataMb, settings.valueKb, settings.threads, settings.seconds, settings.heap);
+
+        for (var mode : List.of(MODE_HEAP, MODE_OFF_HEAP)) {
+            var command = new ArrayList<String>();
+            command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+            command.add("-Xms" + settings.heap);
+            command.add("-Xmx" + settings.heap);
+            command.add("-XX:MaxDirectMemorySize=" + (settings.dataMb * 2) + "m");
+            command.add("-XX:+UseG1GC");
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(OffHeapCacheGcBenchmark.class.getName());
+            command.add(mode);
+            for (int i = 1; i < args.length; i++) {
+                command.add(args[i]);
+            }
+
+            var process = new ProcessBuilder(command).inheritIO().start();
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException("Variante " + mode + " terminou com erro");
+            }
+        }
+    }
+
+    private static Result run(String mode, Settings settings) throws InterruptedException {
+        var valueBytes = settings.valueKb * 1024;
+        var keys = (int) (settings.dataMb * 1024L / settings.valueKb);
+
+        var store = MODE_HEAP.equals(mode)
+                ? new HeapStore()
+                : new OffHeapStore(new OffHeapCache(settings.dataMb * 1024L * 1024 * 2, 4 * 1024 * 1024, 4096,
+                        valueBytes * 2L));
+
+        for (int i = 0; i < keys; i++) {
+            store.put("{products}::category:" + i, value(valueBytes, i));
+        }
+
+        // Medição começa com o cache já preenchido
+        System.gc();
+        var baseline = GcStats.capture();
+        var pauses = new PauseRecorder();
+
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.seconds);
+        var reads = new AtomicLong();
+        var workers = new ArrayList<Thread>();
+
+        for (int t = 0; t < settings.threads; t++) {
+            var worker = new Thread(() -> {
+                var random = ThreadLocalRandom.current();
+                var checksum = 0L;
+
+                while (System.nanoTime() < deadline) {
+                    var key = random.nextInt(keys);
+                    var bytes = store.get("{products}::category:" + key);
+
+                    if (bytes != null) {
+                        // Lixo de uma requisição: cópia para desserialização e objetos curtos
+                        var copy = bytes.clone();
+                        var items = new ArrayList<String>(32);
+                        for (int i = 0; i < 32; i++) {
+                            items.add(Integer.toString(copy[i * 16 % copy.length]));
+                        }
+                        checksum += items.size();
+                    }
+
+                    // Refresh de 1% das leituras (valor novo, o antigo vira lixo no heap)
+                    if (random.nextInt(100) == 0) {
+                        store.put("{products}::category:" + key, value(valueBytes, random.nextInt()));
+                    }
+
+                    reads.incrementAndGet();
+                }
+
+                if (checksum == 42) {
+                    System.out.print("");
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        for (var worker : workers) {
+            worker.join();
+        }
+
+        var gc = GcStats.capture().minus(baseline);
+        pauses.close();
+
+        System.gc();
+        var oldGenAfterGc = oldGenUsed();
+
+        return new Result(mode, reads.get() / settings.seconds, gc, pauses.max.get(), oldGenAfterGc,
+                store.offHeapBytes());
+    }
+
+    private static byte[] value(int length, int seed) {
+        var bytes = new byte[length];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        bytes[0] = (byte) seed;
+        return bytes;
+    }
+
+    private static long oldGenUsed() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .filter(pool -> pool.getName().contains("Old Gen") || pool.getName().contains("Tenured"))
+                .mapToLong(pool -> pool.getUsage().getUsed())
+                .sum();
+    }
+
+    private interface Store {
+
+        byte[] get(String key);
+
+        void put(String key, byte[] value);
+
+        default long offHeapBytes() {
+            return 0;
+        }
+    }
+
+    private static final class HeapStore implements Store {
+
+        private final ConcurrentHashMap<String, byte[]> entries = new ConcurrentHashMap<>();
+
+        @Override
+        public byte[] get(String key) {
+            return this.entries.get(key);
+        }
+
+        @Override
+        public void put(String key, byte[] value) {
+            this.entries.put(key, value);
+        }
+    }
+
+    private static final class OffHeapStore implements Store {
+
+        private final OffHeapCache cache;
+
+        OffHeapStore(OffHeapCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public byte[] get(String key) {
+            return this.cache.get(key);
+        }
+
+        @Override
+        public void put(String key, byte[] value) {
+            this.cache.put(key, value, Long.MAX_VALUE);
+        }
+
+        @Override
+        public long offHeapBytes() {
+            return this.cache.usedBytes();
+        }
+    }
+
+    private record GcStats(long youngCount, long youngMillis, long oldCount, long oldMillis) {
+
+        static GcStats capture() {
+            long youngCount = 0, youngMillis = 0, oldCount = 0, oldMillis = 0;
+
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                // G1: "G1 Young Generation", "G1 Old Generation" e "G1 Concurrent GC"
+                if (gc.getName().contains("Old") || gc.getName().contains("MarkSweep")) {
+                    oldCount += gc.getCollectionCount();
+                    oldMillis += gc.getCollectionTime();
+                } else if (!gc.getName().contains("Concurrent")) {
+                    youngCount += gc.getCollectionCount();
+                    youngMillis += gc.getCollectionTime();
+                }
+            }
+
+            return new GcStats(youngCount, youngMillis, oldCount, oldMillis);
+        }
+
+        GcStats minus(GcStats other) {
+            return new GcStats(this.youngCount - other.youngCount, this.youngMillis - other.youngMillis,
+                    this.oldCount - other.oldCount, this.oldMillis - other.oldMillis);
+        }
+    }
+
+    /**
+     * Maior pausa observada (notificações de GC da JVM).
+     */
+    private static final class PauseRecorder implements AutoCloseable {
+
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+        private final javax.management.NotificationListener listener = (notification, handback) -> {
+            if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                var info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                if (!info.getGcName().contains("Concurrent")) {
+                    this.max.accumulate(info.getGcInfo().getDuration());
+                }
+            }
+        };
+
+        PauseRecorder() {
+            for (var gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (gc instanceof NotificationEmitter emitter) {
+                    emitter.addNotificationListener(this.listener, null, null);
+                    this.emitters.add(emitter);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            for (var emitter : this.emitters) {
+                try {
+                    emitter.removeNotificationListener(this.listener);
+                } catch (javax.management.ListenerNotFoundException e) {
+                    // já removido
+                }
+            }
+        }
+    }
+
+    private record Result(String mode, long readsPerSecond, GcStats gc, long maxPauseMillis, long oldGenAfterGc,
+            long offHeapBytes) {
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%-8s leituras/s %9d | young %4d (%5d ms) | old/full %3d (%5d ms) | maior pausa %4d ms"
+                            + " | old gen após GC %5d MB | off-heap %5d MB",
+                    this.mode, this.readsPerSecond, this.gc.youngCount, this.gc.youngMillis, this.gc.oldCount,
+                    this.gc.oldMillis, this.maxPauseMillis, this.oldGenAfterGc / (1024 * 1024),
+                    this.offHeapBytes / (1024 * 1024));
+        }
+    }
+
+    private record Settings(int dataMb, int valueKb, int threads, int seconds, String heap) {
+
+        static Settings parse(String[] args) {
+            int dataMb = 256, valueKb = 64, threads = 4, seconds = 15;
+            var heap = "1g";
+
+            for (var arg : args) {
+                var value = arg.substring(arg.indexOf('=') + 1);
+
+                if (arg.startsWith("--data-mb=")) {
+                    dataMb = Integer.parseInt(value);
+                } else if (arg.startsWith("--value-kb=")) {
+                    valueKb = Integer.parseInt(value);
+                } else if (arg.startsWith("--threads=")) {
+                    threads = Integer.parseInt(value);
+                } else if (arg.startsWith("--seconds=")) {
+                    seconds = Integer.parseInt(value);
+                } else if (arg.startsWith("--heap=")) {
+                    heap = value;
+                }
+            }
+
+            return new Settings(dataMb, valueKb, threads, seconds, heap);
+        }
+    }
+
+}
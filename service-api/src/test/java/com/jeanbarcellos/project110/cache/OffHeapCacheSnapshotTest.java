@@ -0,0 +1,109 @@
+package com.jeanbarcellos.project110.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OffHeapCacheSnapshotTest {
+
+    private static final Duration INTERVAL = Duration.ofMinutes(1);
+
+    private static final Predicate<String> ALL = key -> true;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRestoreEntriesWithTheirDeadlines() throws Exception {
+        var path = this.directory.resolve("offheap.snapshot");
+        var deadline = System.currentTimeMillis() + 60_000;
+        var large = randomBytes(5 * 1024 + 3);
+        var small = randomBytes(10);
+
+        var source = newCache();
+        source.put("{products}::all", large, deadline);
+        source.put("{categories}::all", small, deadline);
+
+        assertEquals(2, new OffHeapCacheSnapshot(source, path, ALL, INTERVAL).write());
+
+        var target = newCache();
+        assertEquals(2, new OffHeapCacheSnapshot(target, path, ALL, INTERVAL).restore());
+
+        assertArrayEquals(large, target.get("{products}::all"));
+        assertArrayEquals(small, target.get("{categories}::all"));
+        assertEquals(deadline, target.entries().stream()
+                .filter(e -> e.key().equals("{products}::all"))
+                .findFirst().orElseThrow().expiresAt());
+    }
+
+    @Test
+    void expiredEntriesShouldBeDiscardedOnRestore() throws Exception {
+        var path = this.directory.resolve("offheap.snapshot");
+
+        var source = newCache();
+        source.put("short", randomBytes(100), System.currentTimeMillis() + 50);
+        source.put("long", randomBytes(100), System.currentTimeMillis() + 60_000);
+        new OffHeapCacheSnapshot(source, path, ALL, INTERVAL).write();
+
+        Thread.sleep(100);
+
+        var target = newCache();
+        assertEquals(1, new OffHeapCacheSnapshot(target, path, ALL, INTERVAL).restore());
+        assertNull(target.get("short"));
+    }
+
+    @Test
+    void entriesOfAnotherNamespaceShouldBeDiscardedOnRestore() throws Exception {
+        var path = this.directory.resolve("offheap.snapshot");
+        var deadline = System.currentTimeMillis() + 60_000;
+
+        var source = newCache();
+        source.put("{products}::0000aaaa::all", randomBytes(100), deadline);
+        source.put("{products}::1111bbbb::all", randomBytes(100), deadline);
+        new OffHeapCacheSnapshot(source, path, ALL, INTERVAL).write();
+
+        var target = newCache();
+        var snapshot = new OffHeapCacheSnapshot(target, path, key -> key.startsWith("{products}::1111bbbb::"),
+                INTERVAL);
+
+        assertEquals(1, snapshot.restore());
+        assertNull(target.get("{products}::0000aaaa::all"));
+    }
+
+    @Test
+    void corruptedSnapshotShouldBeIgnored() throws Exception {
+        var path = this.directory.resolve("offheap.snapshot");
+
+        var source = newCache();
+        source.put("{products}::all", randomBytes(4096), System.currentTimeMillis() + 60_000);
+        new OffHeapCacheSnapshot(source, path, ALL, INTERVAL).write();
+
+        var bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+
+        var target = newCache();
+        assertEquals(0, new OffHeapCacheSnapshot(target, path, ALL, INTERVAL).restore());
+        assertEquals(0, target.size());
+    }
+
+    private static OffHeapCache newCache() {
+        return new OffHeapCache(64 * 1024, 16 * 1024, 1024, 32 * 1024);
+    }
+
+    private static byte[] randomBytes(int length) {
+        var bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.jeanbarcellos.project110.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapCacheTest {
+
+    private static final long FAR_FUTURE = Long.MAX_VALUE;
+
+    // 4 slabs de 8 blocos de 1 KB
+    private final OffHeapCache cache = new OffHeapCache(32 * 1024, 8 * 1024, 1024, 16 * 1024);
+
+    @Test
+    void valueSpanningSeveralBlocksShouldRoundTrip() {
+        var value = randomBytes(5 * 1024 + 17);
+
+        assertTrue(this.cache.put("{products}::all", value, FAR_FUTURE));
+
+        assertArrayEquals(value, this.cache.get("{products}::all"));
+        assertEquals(6 * 1024, this.cache.usedBytes());
+        assertEquals(8 * 1024, this.cache.allocatedBytes());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntriesUntilNewValueFits() {
+        for (int i = 0; i < 4; i++) {
+            this.cache.put("k" + i, randomBytes(8 * 1024), FAR_FUTURE);
+        }
+
+        // k0 lido por último: k1 e k2 são os menos recentes
+        this.cache.get("k0");
+        this.cache.put("big", randomBytes(16 * 1024), FAR_FUTURE);
+
+        assertNotNull(this.cache.get("k0"));
+        assertNull(this.cache.get("k1"));
+        assertNull(this.cache.get("k2"));
+        assertNotNull(this.cache.get("k3"));
+        assertNotNull(this.cache.get("big"));
+        assertEquals(2, this.cache.evictionCount());
+        assertEquals(32 * 1024, this.cache.usedBytes());
+    }
+
+    @Test
+    void expiredEntriesShouldBeEvictedFirst() {
+        this.cache.put("expired", randomBytes(16 * 1024), System.currentTimeMillis() - 1);
+        this.cache.put("live", randomBytes(16 * 1024), FAR_FUTURE);
+        this.cache.get("live");
+
+        this.cache.put("new", randomBytes(8 * 1024), FAR_FUTURE);
+
+        assertNotNull(this.cache.get("live"));
+        assertNotNull(this.cache.get("new"));
+    }
+
+    @Test
+    void valueAboveLimitShouldBeRejected() {
+        assertFalse(this.cache.put("huge", randomBytes(17 * 1024), FAR_FUTURE));
+        assertEquals(1, this.cache.rejectionCount());
+        assertEquals(0, this.cache.usedBytes());
+    }
+
+    @Test
+    void invalidatePrefixShouldReleaseBlocks() {
+        this.cache.put("{products}::all", randomBytes(4 * 1024), FAR_FUTURE);
+        this.cache.put("{products}::category:1", randomBytes(4 * 1024), FAR_FUTURE);
+        this.cache.put("{categories}::all", randomBytes(4 * 1024), FAR_FUTURE);
+
+        this.cache.invalidatePrefix("{products}::");
+
+        assertNull(this.cache.get("{products}::all"));
+        assertNotNull(this.cache.get("{categories}::all"));
+        assertEquals(1, this.cache.size());
+        assertEquals(4 * 1024, this.cache.usedBytes());
+    }
+
+    @Test
+    void putShouldBeDiscardedAfterInvalidationSinceGeneration() {
+        var generation = this.cache.generation();
+
+        this.cache.invalidate("{products}::all");
+
+        assertFalse(this.cache.put("{products}::all", randomBytes(1024), FAR_FUTURE, generation));
+        assertNull(this.cache.get("{products}::all"));
+        assertTrue(this.cache.put("{products}::all", randomBytes(1024), FAR_FUTURE, this.cache.generation()));
+    }
+
+    @Test
+    void sampledEvictionShouldKeepCacheWithinLimit() {
+        for (int i = 0; i < 32; i++) {
+            this.cache.put("k" + i, randomBytes(1024), FAR_FUTURE);
+        }
+
+        for (int i = 0; i < 8; i++) {
+            assertTrue(this.cache.put("big" + i, randomBytes(4 * 1024), FAR_FUTURE));
+        }
+
+        // Amostragem aproximada: só o limite e a entrada mais recente são garantidos
+        assertEquals(32 * 1024, this.cache.usedBytes());
+        assertNotNull(this.cache.get("big7"));
+    }
+
+    private static byte[] randomBytes(int length) {
+        var bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+}
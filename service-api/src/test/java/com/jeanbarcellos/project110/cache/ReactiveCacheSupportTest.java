@@ -0,0 +1,94 @@
+package com.jeanbarcellos.project110.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.jeanbarcellos.project110.dto.ProductResponse;
+import com.jeanbarcellos.project110.service.ProductService;
+
+/**
+ * As gravações do caminho reativo deixam no Redis o mesmo formato do
+ * {@link MetadataAwareCache}: valor e ETag correspondentes, corpo HTTP
+ * anterior descartado, e versões antigas recusadas.
+ */
+@SpringBootTest(properties = {
+        "spring.data.redis.database=3",
+        "app-config.cache.cdc.enabled=false" })
+class ReactiveCacheSupportTest {
+
+    private static final String KEY = "reactive-test";
+
+    private static final long VERSIONED_KEY = -7L;
+
+    @Autowired
+    private ReactiveCacheSupport cacheSupport;
+
+    @Autowired
+    private MetadataRedisCacheManager cacheManager;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        var cache = this.cacheManager.getCache(ProductService.CACHE_NAME);
+        cache.evict(KEY);
+        cache.evict(VERSIONED_KEY);
+    }
+
+    @Test
+    void putShouldStoreValueWithItsEtagAndDropTheBody() {
+        var keyPrefix = this.keyPrefix();
+        this.cacheManager.putBody(ProductService.CACHE_NAME, KEY,
+                new CachedResponseBody("\"old\"", false, "application/json", new byte[] { 1 }));
+
+        var products = List.of(product(1L, "A", null), product(2L, "B", null));
+        this.cacheSupport.put(ProductService.CACHE_NAME, KEY, products).block();
+
+        // Valor JSON (UTF-8)
+        var value = this.redisTemplate.opsForValue().get(keyPrefix + KEY);
+        assertNotNull(value);
+        assertEquals(CacheMetadataStore.etagOf(value.getBytes(StandardCharsets.UTF_8)),
+                this.cacheManager.getEtag(ProductService.CACHE_NAME, KEY));
+        assertFalse(this.redisTemplate.hasKey(CacheMetadataStore.bodyKey(keyPrefix, KEY)));
+
+        // Leituras reativa e bloqueante da mesma entrada
+        List<ProductResponse> cached = this.cacheSupport
+                .<List<ProductResponse>>get(ProductService.CACHE_NAME, KEY, this.cacheSupport.listType(ProductResponse.class))
+                .block();
+        assertEquals(products, cached);
+        assertEquals(products, this.cacheManager.getList(ProductService.CACHE_NAME, KEY, ProductResponse.class));
+    }
+
+    @Test
+    void versionedPutShouldNotOverwriteNewerVersion() {
+        this.cacheSupport.put(ProductService.CACHE_NAME, VERSIONED_KEY, product(VERSIONED_KEY, "v5", 5L)).block();
+        this.cacheSupport.put(ProductService.CACHE_NAME, VERSIONED_KEY, product(VERSIONED_KEY, "v4", 4L)).block();
+
+        var cached = this.cacheManager.getCache(ProductService.CACHE_NAME).get(VERSIONED_KEY, ProductResponse.class);
+        assertEquals("v5", cached.getName());
+    }
+
+    private String keyPrefix() {
+        return this.cacheManager.getConfiguration(ProductService.CACHE_NAME).getKeyPrefixFor(ProductService.CACHE_NAME);
+    }
+
+    private static ProductResponse product(Long id, String name, Long version) {
+        return ProductResponse.builder()
+                .id(id)
+                .name(name)
+                .version(version)
+                .build();
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.jeanbarcellos.project110.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.jeanbarcellos.project110.service.ProductService;
+
+/**
+ * O filtro decide quais GETs bufferizar pelos padrões de URL já marcados,
+ * sem repetir a busca do handler: vence o padrão mais específico, e o corpo
+ * das respostas marcadas é armazenado.
+ */
+@SpringBootTest(properties = {
+        "spring.data.redis.database=3",
+        "app-config.cache.cdc.enabled=false",
+        "app-config.cache.response-body.enabled=true",
+        "app-config.cache.response-body.gzip=false" })
+@AutoConfigureMockMvc
+class ResponseBodyCacheFilterTest {
+
+    private static final long PRODUCT_ID = 3L;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private MetadataRedisCacheManager cacheManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private ResponseBodyCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        this.cacheManager.getCache(ProductService.CACHE_NAME).clear();
+        this.filter = new ResponseBodyCacheFilter(this.cacheManager, () -> this.handlerMapping, false);
+    }
+
+    @Test
+    void mostSpecificPatternShouldDecide() {
+        assertTrue(this.isCacheable("/api/v1/products/" + PRODUCT_ID));
+        assertTrue(this.isCacheable("/api/v1/products"));
+        assertTrue(this.isCacheable("/api/v1/categories/1/products"));
+
+        // Também atendidos por "/products/{id}", mas em streaming
+        assertFalse(this.isCacheable("/api/v1/products/export"));
+        assertFalse(this.isCacheable("/api/v1/products/changes"));
+        assertFalse(this.isCacheable("/api/v1/products/search"));
+
+        assertFalse(this.isCacheable("/api/v1/unknown"));
+        assertFalse(this.isCacheable("/api/v1/reactive/products/" + PRODUCT_ID));
+    }
+
+    @Test
+    void markedResponseBodyShouldBeStoredAndServed() throws Exception {
+        var etag = this.mockMvc.perform(get("/api/v1/products/" + PRODUCT_ID))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        var body = this.cacheManager.getBody(ProductService.CACHE_NAME, PRODUCT_ID);
+        assertNotNull(body);
+        assertEquals(etag, body.etag());
+
+        // Hit: servido pelo interceptor
+        this.mockMvc.perform(get("/api/v1/products/" + PRODUCT_ID).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    private boolean isCacheable(String uri) {
+        return this.filter.isCacheableHandler(new MockHttpServletRequest("GET", uri));
+    }
+
+}
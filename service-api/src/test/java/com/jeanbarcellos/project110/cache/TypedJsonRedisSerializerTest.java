@@ -0,0 +1,48 @@
+package com.jeanbarcellos.project110.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeanbarcellos.project110.dto.ProductResponse;
+
+class TypedJsonRedisSerializerTest {
+
+    private final TypedJsonRedisSerializer serializer = new TypedJsonRedisSerializer(new ObjectMapper(),
+            ProductResponse.class);
+
+    private final ProductResponse product = ProductResponse.builder()
+            .id(10L)
+            .name("Mouse")
+            .price(new BigDecimal("99.90"))
+            .categoryName("Periféricos")
+            .version(3L)
+            .build();
+
+    @Test
+    void objectShouldBeReadAsTheCacheType() {
+        var value = this.serializer.deserialize(this.serializer.serialize(this.product));
+
+        assertEquals(this.product, assertInstanceOf(ProductResponse.class, value));
+    }
+
+    @Test
+    void arrayShouldBeReadAsListOfTheCacheType() {
+        var value = this.serializer.deserialize(this.serializer.serialize(List.of(this.product)));
+
+        var list = assertInstanceOf(List.class, value);
+        assertEquals(this.product, assertInstanceOf(ProductResponse.class, list.get(0)));
+    }
+
+    @Test
+    void emptyBytesShouldBeNull() {
+        assertNull(this.serializer.deserialize(new byte[0]));
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.jeanbarcellos.project110.cdc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Payload publicado pelos triggers no canal {@link CacheChangeEvent#CHANNEL}:
+ * poucos IDs vêm na notificação; um comando com milhares de linhas passa do
+ * limite do payload (7900 bytes) e é publicado sem IDs (o handler limpa a
+ * tabela inteira).
+ */
+@SpringBootTest(properties = "app-config.cache.cdc.enabled=false")
+class CacheChangeTriggerTest {
+
+    private static final String NAME_PREFIX = "cdc-trigger-test ";
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void cleanUp() {
+        this.jdbcTemplate.update("DELETE FROM project110.product WHERE name LIKE ?", NAME_PREFIX + "%");
+    }
+
+    @Test
+    void largeStatementShouldBePublishedWithoutIds() throws Exception {
+        try (var connection = this.listen()) {
+            this.insertProducts(5);
+            this.insertProducts(2000);
+
+            var events = this.receive(connection, 2);
+
+            var small = events.get(0);
+            assertEquals(CacheChangeEvent.TABLE_PRODUCT, small.table());
+            assertEquals("INSERT", small.op());
+            assertEquals(5, small.ids().size());
+            assertEquals(5, small.versions().size());
+            assertEquals(List.of(1L), small.categoryIds());
+
+            var large = events.get(1);
+            assertEquals("INSERT", large.op());
+            assertNull(large.ids());
+            assertTrue(large.seq() > small.seq());
+        }
+    }
+
+    private void insertProducts(int count) {
+        this.jdbcTemplate.update("""
+                INSERT INTO project110.product (name, price, category_id)
+                SELECT ? || g, 1.00, 1 FROM generate_series(1, ?) g
+                """, NAME_PREFIX, count);
+    }
+
+    private Connection listen() throws Exception {
+        var connection = DriverManager.getConnection(this.dataSourceProperties.determineUrl(),
+                this.dataSourceProperties.determineUsername(), this.dataSourceProperties.determinePassword());
+
+        try (var statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CacheChangeEvent.CHANNEL);
+        }
+
+        return connection;
+    }
+
+    private List<CacheChangeEvent> receive(Connection connection, int count) throws Exception {
+        var events = new ArrayList<CacheChangeEvent>();
+        var deadline = System.currentTimeMillis() + 5000;
+
+        while (events.size() < count && System.currentTimeMillis() < deadline) {
+            var notifications = connection.unwrap(PGConnection.class).getNotifications(500);
+
+            if (notifications != null) {
+                for (var notification : notifications) {
+                    var event = this.objectMapper.readValue(notification.getParameter(), CacheChangeEvent.class);
+                    if (CacheChangeEvent.TABLE_PRODUCT.equals(event.table())) {
+                        events.add(event);
+                    }
+                }
+            }
+        }
+
+        assertEquals(count, events.size(), "notificações recebidas: " + events);
+
+        return events;
+    }
+
+}
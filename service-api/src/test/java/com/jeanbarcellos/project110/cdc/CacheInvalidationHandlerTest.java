@@ -0,0 +1,132 @@
+package com.jeanbarcellos.project110.cdc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.cache.NotFoundGuard;
+import com.jeanbarcellos.project110.entity.Product;
+import com.jeanbarcellos.project110.repository.CategoryRepository;
+import com.jeanbarcellos.project110.search.ProductSearchIndexer;
+import com.jeanbarcellos.project110.service.CategoryStatsService;
+import com.jeanbarcellos.project110.service.ProductService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Um lote de notificações vira um único evict por cache, com a maior versão
+ * de cada ID (independente da ordem de chegada); notificações sem IDs (carga
+ * em massa: o trigger omite os IDs quando passam do limite do payload) limpam o
+ * cache inteiro da tabela.
+ */
+class CacheInvalidationHandlerTest {
+
+    private final MetadataRedisCacheManager cacheManager = mock(MetadataRedisCacheManager.class);
+
+    private final org.hibernate.Cache secondLevelCache = mock(org.hibernate.Cache.class);
+
+    private final ProductService productService = mock(ProductService.class);
+
+    private final ProductSearchIndexer searchIndexer = mock(ProductSearchIndexer.class);
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+
+    private final NotFoundGuard notFoundGuard = mock(NotFoundGuard.class);
+
+    private final CategoryStatsService categoryStatsService = mock(CategoryStatsService.class);
+
+    private final Map<String, Cache> caches = new HashMap<>();
+
+    private CacheInvalidationHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        var sessionFactory = mock(SessionFactory.class);
+        var entityManagerFactory = mock(EntityManagerFactory.class);
+
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(this.secondLevelCache);
+        when(this.cacheManager.getCache(anyString()))
+                .thenAnswer(invocation -> this.cache(invocation.getArgument(0)));
+
+        this.handler = new CacheInvalidationHandler(this.cacheManager, entityManagerFactory, this.productService,
+                this.searchIndexer, this.categoryRepository, this.notFoundGuard, this.categoryStatsService);
+    }
+
+    @Test
+    void batchShouldBeEvictedOncePerCache() {
+        this.handler.apply(List.of(
+                event(1, "INSERT", List.of(1L, 2L), List.of(0L, 0L), List.of(10L)),
+                event(2, "UPDATE", List.of(2L, 3L), List.of(1L, 4L), List.of(10L, 11L)),
+                event(3, "DELETE", List.of(4L), null, List.of(11L))));
+
+        verify(this.cacheManager).evictAll(ProductService.CACHE_NAME, Map.of(1L, 0L, 2L, 1L, 3L, 4L, 4L, Long.MAX_VALUE));
+        verify(this.cacheManager).evictAll(ProductService.CACHE_NAME,
+                List.of("all", ProductService.CACHE_KEY_CATEGORY_PREFIX + 10, ProductService.CACHE_KEY_CATEGORY_PREFIX + 11));
+        verify(this.cache(ProductService.CACHE_NAME_FILTER)).clear();
+
+        verify(this.notFoundGuard).created(ProductService.CACHE_NAME, Set.of(1L, 2L));
+        verify(this.categoryStatsService).evict(Set.of(10L, 11L));
+        verify(this.searchIndexer).reindex(Set.of(1L, 2L, 3L, 4L));
+
+        verify(this.secondLevelCache, times(4)).evictEntityData(eq(Product.class), any());
+        verify(this.cache(ProductService.CACHE_NAME), never()).clear();
+    }
+
+    @Test
+    void newestVersionShouldWinRegardlessOfArrivalOrder() {
+        // Lote ainda não ordenado pelo listener: seq 3, 1, 2
+        this.handler.apply(List.of(
+                event(3, "UPDATE", List.of(1L), List.of(7L), List.of(10L)),
+                event(1, "UPDATE", List.of(1L, 2L), List.of(5L, 2L), List.of(10L)),
+                event(2, "DELETE", List.of(2L), null, List.of(10L))));
+
+        verify(this.cacheManager).evictAll(ProductService.CACHE_NAME, Map.of(1L, 7L, 2L, Long.MAX_VALUE));
+    }
+
+    @Test
+    void notificationWithoutIdsShouldClearWholeTable() {
+        this.handler.apply(List.of(
+                event(1, "UPDATE", List.of(1L), List.of(2L), List.of(10L)),
+                event(2, "UPDATE", null, null, null)));
+
+        verify(this.secondLevelCache).evictEntityData(Product.class);
+        verify(this.cache(ProductService.CACHE_NAME)).clear();
+        verify(this.cache(ProductService.CACHE_NAME_FILTER)).clear();
+        verify(this.cache(CategoryStatsService.CACHE_NAME)).clear();
+        verify(this.notFoundGuard).reset(ProductService.CACHE_NAME);
+        verify(this.searchIndexer).rebuildAsync();
+
+        verify(this.cacheManager, never()).evictAll(anyString(), anyMap());
+        verify(this.cacheManager, never()).evictAll(anyString(), anyCollection());
+        verify(this.searchIndexer, never()).reindex(anyCollection());
+    }
+
+    private Cache cache(String name) {
+        return this.caches.computeIfAbsent(name, n -> mock(Cache.class));
+    }
+
+    private static CacheChangeEvent event(long seq, String op, List<Long> ids, List<Long> versions,
+            List<Long> categoryIds) {
+        return new CacheChangeEvent(seq, CacheChangeEvent.TABLE_PRODUCT, op, ids, versions, categoryIds);
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.jeanbarcellos.project110.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Roteamento primário/réplica.
+ *
+ * Por padrão a réplica aponta para o mesmo banco (DB_REPLICA_NAME permite usar
+ * um segundo banco local); o pool de origem é identificado pelo
+ * application_name de cada conexão.
+ */
+@SpringBootTest(properties = {
+        "app-config.datasource.replica.enabled=true",
+        "app-config.cache.cdc.enabled=false" })
+class DataSourceConfigTest {
+
+    private static final String SQL_APPLICATION_NAME = "select current_setting('application_name')";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PrimaryReader primaryReader;
+
+    @Test
+    void readOnlyTransactionShouldUseReplica() {
+        var applicationName = this.inTransaction(true, SQL_APPLICATION_NAME);
+        var readOnly = this.inTransaction(true, "show transaction_read_only");
+
+        assertEquals("project110-service-api-replica", applicationName);
+        assertEquals("on", readOnly);
+    }
+
+    @Test
+    void readWriteTransactionShouldUsePrimary() {
+        assertEquals("project110-service-api", this.inTransaction(false, SQL_APPLICATION_NAME));
+    }
+
+    @Test
+    void noTransactionShouldUsePrimary() {
+        assertEquals("project110-service-api", this.jdbcTemplate.queryForObject(SQL_APPLICATION_NAME, String.class));
+    }
+
+    @Test
+    void primaryReadShouldUsePrimaryInReadOnlyTransaction() {
+        assertEquals("project110-service-api", this.primaryReader.read(SQL_APPLICATION_NAME));
+    }
+
+    @Test
+    void readOnlyMethodWithoutPrimaryReadShouldUseReplica() {
+        assertEquals("project110-service-api-replica", this.primaryReader.replicaRead(SQL_APPLICATION_NAME));
+    }
+
+    private String inTransaction(boolean readOnly, String sql) {
+        var template = new TransactionTemplate(this.transactionManager);
+        template.setReadOnly(readOnly);
+
+        return template.execute(status -> this.jdbcTemplate.queryForObject(sql, String.class));
+    }
+
+    @TestConfiguration
+    static class PrimaryReaderConfig {
+
+        @Bean
+        PrimaryReader primaryReader(JdbcTemplate jdbcTemplate) {
+            return new PrimaryReader(jdbcTemplate);
+        }
+    }
+
+    static class PrimaryReader {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        PrimaryReader(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @PrimaryRead
+        @Transactional(readOnly = true)
+        public String read(String sql) {
+            return this.jdbcTemplate.queryForObject(sql, String.class);
+        }
+
+        @Transactional(readOnly = true)
+        public String replicaRead(String sql) {
+            return this.jdbcTemplate.queryForObject(sql, String.class);
+        }
+    }
+
+}
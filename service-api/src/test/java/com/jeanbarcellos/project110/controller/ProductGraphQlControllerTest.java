@@ -0,0 +1,203 @@
+package com.jeanbarcellos.project110.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.cache.NotFoundGuard;
+import com.jeanbarcellos.project110.entity.Product;
+import com.jeanbarcellos.project110.repository.CategoryRepository;
+import com.jeanbarcellos.project110.repository.ProductRepository;
+import com.jeanbarcellos.project110.service.CategoryService;
+import com.jeanbarcellos.project110.service.ProductService;
+
+/**
+ * Consultas aninhadas (produtos e suas categorias, categorias e seus produtos)
+ * com as buscas agrupadas pelos DataLoaders e pelo @BatchMapping: a quantidade
+ * de comandos no banco não depende da quantidade de produtos nem de
+ * categorias.
+ *
+ * Os 100 produtos são criados para o teste (distribuídos entre as categorias
+ * existentes) e excluídos ao final. Os comandos são contados por um StatementInspector do Hibernate, somente na
+ * thread do teste (as cargas iniciais em segundo plano ficam de fora).
+ */
+@SpringBootTest(properties = {
+        "spring.data.redis.database=3",
+        "app-config.cache.cdc.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.jeanbarcellos.project110.controller.ProductGraphQlControllerTest$StatementCounter" })
+class ProductGraphQlControllerTest {
+
+    private static final int PRODUCT_COUNT = 100;
+
+    private static final String QUERY = """
+            query ($ids: [ID!]!) {
+              products(ids: $ids) {
+                id
+                name
+                price
+                category {
+                  id
+                  name
+                }
+              }
+            }
+            """;
+
+    private static final String CATEGORIES_QUERY = """
+            {
+              categories {
+                id
+                products {
+                  id
+                  categoryId
+                }
+              }
+            }
+            """;
+
+    @Autowired
+    private ExecutionGraphQlService graphQlService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MetadataRedisCacheManager cacheManager;
+
+    @Autowired
+    private NotFoundGuard notFoundGuard;
+
+    private List<Long> ids = List.of();
+
+    @BeforeEach
+    void createProducts() {
+        var categories = this.categoryRepository.findAll();
+
+        var products = IntStream.range(0, PRODUCT_COUNT)
+                .mapToObj(i -> Product.builder()
+                        .name("GraphQL " + i)
+                        .price(BigDecimal.valueOf(i + 1))
+                        .category(categories.get(i % categories.size()))
+                        .build())
+                .toList();
+
+        this.ids = this.productRepository.saveAll(products).stream()
+                .map(Product::getId)
+                .toList();
+
+        // Gravados direto no repositório: registra os IDs no filtro, como o create
+        this.ids.forEach(id -> this.notFoundGuard.created(ProductService.CACHE_NAME, id));
+    }
+
+    @AfterEach
+    void deleteProducts() {
+        this.productRepository.deleteAllByIdInBatch(this.ids);
+    }
+
+    @Test
+    void nestedQueryShouldBatchIdLookups() {
+        this.cacheManager.getCache(ProductService.CACHE_NAME).clear();
+        this.cacheManager.getCache(CategoryService.CACHE_NAME).clear();
+
+        var tester = ExecutionGraphQlServiceTester.create(this.graphQlService);
+
+        // Cache vazio: uma consulta para os produtos e uma para as categorias
+        var statements = StatementCounter.count(() -> this.assertProducts(tester, this.ids));
+        assertTrue(statements >= 1 && statements <= 2, "statements: " + statements);
+
+        // Cache preenchido: somente MGETs no Redis
+        statements = StatementCounter.count(() -> this.assertProducts(tester, this.ids));
+        assertEquals(0, statements);
+    }
+
+    @Test
+    void categoryProductsShouldBeLoadedInOneBatch() {
+        this.cacheManager.getCache(ProductService.CACHE_NAME).clear();
+        this.cacheManager.getCache(CategoryService.CACHE_NAME).clear();
+
+        var tester = ExecutionGraphQlServiceTester.create(this.graphQlService);
+
+        // Cache vazio: uma consulta para as categorias e uma para os produtos de todas
+        var statements = StatementCounter.count(() -> this.assertCategoryProducts(tester));
+        assertTrue(statements >= 1 && statements <= 2, "statements: " + statements);
+
+        // Cache preenchido: somente MGETs no Redis
+        statements = StatementCounter.count(() -> this.assertCategoryProducts(tester));
+        assertEquals(0, statements);
+    }
+
+    private void assertCategoryProducts(ExecutionGraphQlServiceTester tester) {
+        var response = tester.document(CATEGORIES_QUERY).execute();
+
+        var categoryIds = response.path("categories[*].id").entityList(Long.class).get();
+        assertTrue(categoryIds.size() > 1, "categories: " + categoryIds.size());
+
+        for (int i = 0; i < categoryIds.size(); i++) {
+            var categoryId = categoryIds.get(i);
+            response.path("categories[" + i + "].products[*].categoryId").entityList(Long.class)
+                    .satisfies(ids -> assertTrue(ids.stream().allMatch(categoryId::equals)));
+        }
+
+        response.path("categories[*].products[*].id").entityList(Long.class)
+                .satisfies(ids -> assertTrue(ids.containsAll(this.ids)));
+    }
+
+    private void assertProducts(ExecutionGraphQlServiceTester tester, List<Long> ids) {
+        var response = tester.document(QUERY)
+                .variable("ids", ids)
+                .execute();
+
+        response.path("products[*].id").entityList(Long.class).isEqualTo(ids);
+        response.path("products[*].category.name").entityList(String.class).hasSize(ids.size())
+                .satisfies(names -> assertTrue(names.stream().allMatch(Objects::nonNull)));
+    }
+
+    public static class StatementCounter implements StatementInspector {
+
+        private static final AtomicInteger COUNT = new AtomicInteger();
+
+        private static volatile Thread target;
+
+        static int count(Runnable action) {
+            COUNT.set(0);
+            target = Thread.currentThread();
+
+            try {
+                action.run();
+            } finally {
+                target = null;
+            }
+
+            return COUNT.get();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == target) {
+                COUNT.incrementAndGet();
+            }
+            return sql;
+        }
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.jeanbarcellos.project110.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.dto.ProductResponse;
+import com.jeanbarcellos.project110.service.CategoryService;
+import com.jeanbarcellos.project110.service.PersonService;
+import com.jeanbarcellos.project110.service.ProductService;
+
+/**
+ * Endpoints não bloqueantes (/api/v1/reactive): leitura com R2DBC na falta,
+ * mesma entrada de cache do caminho bloqueante e 404 para IDs inexistentes.
+ */
+@SpringBootTest(properties = {
+        "spring.data.redis.database=3",
+        "app-config.cache.cdc.enabled=false" })
+@AutoConfigureMockMvc
+class ReactiveControllerTest {
+
+    private static final long PRODUCT_ID = 3L;
+
+    private static final long MISSING_ID = 999_999L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MetadataRedisCacheManager cacheManager;
+
+    @Autowired
+    private ProductService productService;
+
+    @BeforeEach
+    void clearCaches() {
+        this.cacheManager.getCache(ProductService.CACHE_NAME).clear();
+        this.cacheManager.getCache(CategoryService.CACHE_NAME).clear();
+        this.cacheManager.getCache(PersonService.CACHE_NAME).clear();
+    }
+
+    @Test
+    void productShouldBeLoadedIntoTheSharedCache() throws Exception {
+        this.perform("/api/v1/reactive/products/" + PRODUCT_ID)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(PRODUCT_ID));
+
+        // Entrada gravada pelo caminho reativo, lida pelo bloqueante
+        var cached = this.cacheManager.getCache(ProductService.CACHE_NAME).get(PRODUCT_ID, ProductResponse.class);
+        assertEquals(this.productService.getById(PRODUCT_ID), cached);
+
+        // Hit: mesma resposta
+        this.perform("/api/v1/reactive/products/" + PRODUCT_ID)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(cached.getName()));
+    }
+
+    @Test
+    void listsShouldBeServed() throws Exception {
+        this.perform("/api/v1/reactive/products")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").exists());
+
+        this.perform("/api/v1/reactive/categories")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").exists());
+
+        this.perform("/api/v1/reactive/persons")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").exists());
+    }
+
+    @Test
+    void missingIdsShouldReturnNotFound() throws Exception {
+        this.perform("/api/v1/reactive/products/" + MISSING_ID).andExpect(status().isNotFound());
+        this.perform("/api/v1/reactive/categories/" + MISSING_ID).andExpect(status().isNotFound());
+        this.perform("/api/v1/reactive/persons/" + MISSING_ID).andExpect(status().isNotFound());
+    }
+
+    private ResultActions perform(String uri) throws Exception {
+        var result = this.mockMvc.perform(get(uri))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return this.mockMvc.perform(asyncDispatch(result));
+    }
+
+}
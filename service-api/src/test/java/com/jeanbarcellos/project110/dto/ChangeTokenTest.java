@@ -0,0 +1,41 @@
+package com.jeanbarcellos.project110.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+class ChangeTokenTest {
+
+    @Test
+    void tokenShouldRoundTripWithMicrosecondPrecision() {
+        var changedAt = OffsetDateTime.of(2026, 10, 19, 12, 30, 15, 123_456_789, ZoneOffset.ofHours(-3));
+        var token = ChangeToken.of(changedAt, 42);
+
+        var decoded = ChangeToken.decode(token.encode());
+
+        assertEquals(token, decoded);
+        assertEquals(123_456_000, decoded.changedAt().getNano());
+        assertEquals(changedAt.toInstant().getEpochSecond(), decoded.changedAt().toInstant().getEpochSecond());
+        assertEquals(42, decoded.id());
+    }
+
+    @Test
+    void missingTokenShouldStartFromTheBeginning() {
+        assertTrue(ChangeToken.decode(null).isInitial());
+        assertTrue(ChangeToken.decode(" ").isInitial());
+        assertTrue(ChangeToken.decode(ChangeToken.INITIAL.encode()).isInitial());
+    }
+
+    @Test
+    void malformedTokenShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ChangeToken.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> ChangeToken.decode("MTIz")); // "123"
+        assertThrows(IllegalArgumentException.class, () -> ChangeToken.decode("YWJjOjE")); // "abc:1"
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.jeanbarcellos.project110.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.jeanbarcellos.core.exception.BadRequestException;
+
+class ProductFilterTest {
+
+    @Test
+    void equivalentFiltersShouldShareCacheKey() {
+        var a = ProductFilter.builder()
+                .categoryId(1L)
+                .minPrice(new BigDecimal("10"))
+                .name("Smart")
+                .sort("PRICE")
+                .build();
+
+        var b = ProductFilter.builder()
+                .categoryId(1L)
+                .minPrice(new BigDecimal("10.00"))
+                .name(" smart ")
+                .sort("price")
+                .direction("asc")
+                .build();
+
+        assertEquals(a.cacheKey(), b.cacheKey());
+    }
+
+    @Test
+    void differentFiltersShouldNotShareCacheKey() {
+        var asc = ProductFilter.builder().sort("price").build();
+        var desc = ProductFilter.builder().sort("price").direction("desc").build();
+        var min = ProductFilter.builder().minPrice(BigDecimal.ONE).build();
+        var max = ProductFilter.builder().maxPrice(BigDecimal.ONE).build();
+
+        assertNotEquals(asc.cacheKey(), desc.cacheKey());
+        assertNotEquals(min.cacheKey(), max.cacheKey());
+    }
+
+    @Test
+    void invalidSortShouldBeBadRequest() {
+        var field = ProductFilter.builder().sort("description").build();
+        var direction = ProductFilter.builder().sort("price").direction("sideways").build();
+
+        assertThrows(BadRequestException.class, field::cacheKey);
+        assertThrows(BadRequestException.class, direction::toSort);
+    }
+
+    @Test
+    void directionWithoutSortShouldBeEmpty() {
+        assertTrue(ProductFilter.builder().direction("desc").name("  ").build().isEmpty());
+    }
+
+}
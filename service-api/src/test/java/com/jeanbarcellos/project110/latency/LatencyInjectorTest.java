@@ -0,0 +1,101 @@
+package com.jeanbarcellos.project110.latency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LatencyInjectorTest {
+
+    private static final int SAMPLES = 20_000;
+
+    @Test
+    void longTailShouldMatchMedianAndP99() {
+        var rule = LatencyRule.longTail(Duration.ofMillis(10), Duration.ofMillis(200));
+        var random = new Random(42);
+
+        var samples = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = rule.sample(random).toNanos() / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+
+        assertEquals(10, samples[SAMPLES / 2], 1.0);
+        assertEquals(200, samples[(int) (SAMPLES * 0.99)], 30.0);
+    }
+
+    @Test
+    void normalShouldNotBeNegativeAndRespectMax() {
+        var rule = LatencyRule.normal(Duration.ofMillis(5), Duration.ofMillis(10)).withMax(Duration.ofMillis(20));
+        var random = new Random(7);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            var sample = rule.sample(random);
+            assertTrue(!sample.isNegative() && sample.compareTo(Duration.ofMillis(20)) <= 0, sample.toString());
+        }
+    }
+
+    @Test
+    void shouldUseMostSpecificRule() {
+        var exact = LatencyRule.fixed(Duration.ofMillis(1));
+        var type = LatencyRule.fixed(Duration.ofMillis(2));
+        var method = LatencyRule.fixed(Duration.ofMillis(3));
+        var any = LatencyRule.fixed(Duration.ofMillis(4));
+
+        var injector = injector(true, Map.of(
+                "ProductService.getById", exact,
+                "ProductService.*", type,
+                "*.getAll", method,
+                "*", any));
+
+        assertEquals(Optional.of(exact), injector.ruleFor("ProductService.getById"));
+        assertEquals(Optional.of(type), injector.ruleFor("ProductService.getAll"));
+        assertEquals(Optional.of(method), injector.ruleFor("CategoryService.getAll"));
+        assertEquals(Optional.of(any), injector.ruleFor("CategoryService.getById"));
+    }
+
+    @Test
+    void disabledShouldNotInject() {
+        var injector = injector(false, Map.of("*", LatencyRule.fixed(Duration.ofSeconds(10)).withErrorRate(1)));
+
+        injector.inject("ProductService.getAll");
+
+        assertEquals(Optional.empty(), injector.ruleFor("ProductService.getAll"));
+        assertEquals(null, injector.injectReactive("ProductService.getAll").block());
+    }
+
+    @Test
+    void shouldFailAtConfiguredRate() {
+        var injector = injector(true, Map.of("*", LatencyRule.fixed(Duration.ZERO).withErrorRate(0.1)));
+
+        int failures = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            try {
+                injector.inject("ProductService.getAll");
+            } catch (InjectedFaultException e) {
+                failures++;
+            }
+        }
+
+        assertEquals(0.1, (double) failures / SAMPLES, 0.01);
+        assertThrows(InjectedFaultException.class, () -> injector(true,
+                Map.of("*", LatencyRule.fixed(Duration.ofMillis(1)).withErrorRate(1)))
+                .injectReactive("ProductService.getAll").block());
+    }
+
+    private static LatencyInjector injector(boolean enabled, Map<String, LatencyRule> rules) {
+        var random = new Random(1);
+        return new LatencyInjector(new LatencyInjectionProperties(enabled, rules), new SimpleMeterRegistry(),
+                () -> random);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.jeanbarcellos.project110.protobuf;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.jeanbarcellos.project110.dto.CategoryStatsResponse;
+import com.jeanbarcellos.project110.dto.ProductResponse;
+
+class ProtobufDtoHttpMessageConverterTest {
+
+    private static final ResolvableType PRODUCT_LIST = ResolvableType.forClassWithGenerics(List.class,
+            ProductResponse.class);
+
+    private final ProtobufDtoHttpMessageConverter converter = new ProtobufDtoHttpMessageConverter();
+
+    @Test
+    void shouldWriteOnlyDtosWithMessage() {
+        var protobuf = ProtobufDtoHttpMessageConverter.APPLICATION_X_PROTOBUF;
+
+        assertTrue(this.converter.canWrite(ProductResponse.class, ProductResponse.class, protobuf));
+        assertTrue(this.converter.canWrite(PRODUCT_LIST.getType(), List.class, protobuf));
+        assertTrue(this.converter.canWrite(PRODUCT_LIST.getType(), List.class, null));
+        assertTrue(this.converter.getSupportedMediaTypes(ArrayList.class).contains(protobuf));
+
+        assertFalse(this.converter.canWrite(ProductResponse.class, ProductResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(this.converter.canWrite(CategoryStatsResponse.class, CategoryStatsResponse.class, protobuf));
+        assertFalse(this.converter.canWrite(List.class, List.class, protobuf));
+        assertFalse(this.converter.canRead(ProductResponse.class, protobuf));
+    }
+
+    @Test
+    void shouldWriteListWithMessageHeadersAndVariantEtag() throws Exception {
+        var products = List.of(ProductResponse.builder().id(1L).name("A").price(BigDecimal.ONE).build());
+
+        var output = new MockHttpOutputMessage();
+        output.getHeaders().setETag("\"abc\"");
+
+        this.converter.write(products, PRODUCT_LIST.getType(), ProtobufDtoHttpMessageConverter.APPLICATION_X_PROTOBUF,
+                output);
+
+        assertEquals("project110.ProductList",
+                output.getHeaders().getFirst(ProtobufDtoHttpMessageConverter.HEADER_MESSAGE));
+        assertEquals("\"abc-protobuf\"", output.getHeaders().getETag());
+        assertEquals(ProtobufDtoHttpMessageConverter.APPLICATION_X_PROTOBUF, output.getHeaders().getContentType());
+        assertArrayEquals(ProtobufEncoders.PRODUCT_LIST.encode(products), output.getBodyAsBytes());
+    }
+
+}
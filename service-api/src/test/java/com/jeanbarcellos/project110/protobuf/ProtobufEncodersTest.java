@@ -0,0 +1,108 @@
+package com.jeanbarcellos.project110.protobuf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnknownFieldSet;
+import com.jeanbarcellos.project110.dto.PersonResponse;
+import com.jeanbarcellos.project110.dto.ProductResponse;
+
+/**
+ * Os bytes são lidos sem schema ({@link UnknownFieldSet}), pelos números dos
+ * campos de project110.proto.
+ */
+class ProtobufEncodersTest {
+
+    @Test
+    void shouldEncodeProductFields() throws Exception {
+        var product = product(10L, "Smartphone", new BigDecimal("785.52"));
+        product.setDescription("Descrição com acentuação");
+
+        var fields = UnknownFieldSet.parseFrom(ProtobufEncoders.PRODUCT.encode(product));
+
+        assertEquals(List.of(10L), fields.getField(1).getVarintList());
+        assertEquals("Smartphone", string(fields, 2));
+        assertEquals("Descrição com acentuação", string(fields, 3));
+        assertEquals(new BigDecimal("785.52"), decimal(fields.getField(4).getLengthDelimitedList().get(0)));
+        assertEquals(List.of(1L), fields.getField(5).getVarintList());
+        assertEquals("Electronics", string(fields, 6));
+        assertEquals(List.of(3L), fields.getField(7).getVarintList());
+    }
+
+    @Test
+    void shouldOmitNullFields() throws Exception {
+        var product = ProductResponse.builder().id(1L).build();
+
+        var fields = UnknownFieldSet.parseFrom(ProtobufEncoders.PRODUCT.encode(product));
+
+        assertEquals(1, fields.asMap().size());
+        assertFalse(fields.hasField(4));
+    }
+
+    @Test
+    void shouldKeepDecimalSignAndScale() throws Exception {
+        for (var value : List.of("0", "-12.50", "99999999.99", "0.001")) {
+            var bytes = ProtobufEncoders.DECIMAL.encode(new BigDecimal(value));
+
+            assertEquals(new BigDecimal(value), decimal(ByteString.copyFrom(bytes)));
+        }
+    }
+
+    @Test
+    void shouldEncodeListAsRepeatedItems() throws Exception {
+        var products = List.of(product(1L, "A", BigDecimal.ONE), product(2L, "B", BigDecimal.TEN));
+
+        var fields = UnknownFieldSet.parseFrom(ProtobufEncoders.PRODUCT_LIST.encode(products));
+        var items = fields.getField(1).getLengthDelimitedList();
+
+        assertEquals(2, items.size());
+        assertEquals("B", string(UnknownFieldSet.parseFrom(items.get(1)), 2));
+        assertEquals(0, ProtobufEncoders.PRODUCT_LIST.encode(List.of()).length);
+    }
+
+    @Test
+    void shouldEncodePersonBirthDate() throws Exception {
+        var person = PersonResponse.builder().id(7L).name("Alice").birthDate(LocalDate.of(1990, 5, 15)).build();
+
+        var fields = UnknownFieldSet.parseFrom(ProtobufEncoders.PERSON.encode(person));
+        var date = UnknownFieldSet.parseFrom(fields.getField(3).getLengthDelimitedList().get(0));
+
+        assertEquals(List.of(1990L), date.getField(1).getVarintList());
+        assertEquals(List.of(5L), date.getField(2).getVarintList());
+        assertEquals(List.of(15L), date.getField(3).getVarintList());
+    }
+
+    private static ProductResponse product(Long id, String name, BigDecimal price) {
+        return ProductResponse.builder()
+                .id(id)
+                .name(name)
+                .price(price)
+                .categoryId(1L)
+                .categoryName("Electronics")
+                .version(3L)
+                .build();
+    }
+
+    private static String string(UnknownFieldSet fields, int field) {
+        return fields.getField(field).getLengthDelimitedList().get(0).toStringUtf8();
+    }
+
+    private static BigDecimal decimal(ByteString bytes) throws InvalidProtocolBufferException {
+        var fields = UnknownFieldSet.parseFrom(bytes);
+
+        var unscaled = fields.getField(1).getVarintList().stream().findFirst().orElse(0L);
+        var scale = fields.getField(2).getVarintList().stream().findFirst().orElse(0L);
+
+        return BigDecimal.valueOf(CodedInputStream.decodeZigZag64(unscaled), scale.intValue());
+    }
+
+}
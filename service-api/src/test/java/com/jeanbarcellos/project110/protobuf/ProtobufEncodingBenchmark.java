@@ -0,0 +1,197 @@
+package com.jeanbarcellos.project110.protobuf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.protobuf.CodedOutputStream;
+import com.jeanbarcellos.project110.dto.PersonResponse;
+import com.jeanbarcellos.project110.dto.ProductResponse;
+
+/**
+ * Compara a codificação das listas de resposta em JSON (Jackson, com as
+ * opções da API) e em protobuf ({@link ProtobufEncoders}), pelo mesmo caminho
+ * das respostas HTTP (escrita em um OutputStream).
+ *
+ * Para cada lista: tamanho do corpo (e com gzip), tempo médio por codificação
+ * e bytes alocados por codificação, em uma única thread, depois do
+ * aquecimento.
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/classes:target/test-classes:$(cat target/classpath.txt) \
+ *   com.jeanbarcellos.project110.protobuf.ProtobufEncodingBenchmark --items=1000 --seconds=5
+ * </pre>
+ */
+public class ProtobufEncodingBenchmark {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final List<String> CATEGORIES = List.of("Electronics", "Books", "Clothing", "Home & Kitchen",
+            "Sports", "Toys", "Beauty", "Automotive", "Garden", "Eletrodomésticos");
+
+    public static void main(String[] args) throws Exception {
+        var settings = Settings.parse(args);
+
+        var objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        System.out.printf(Locale.ROOT, "%d itens por lista, %d s de aquecimento, %d s de medição%n%n",
+                settings.items, settings.warmupSeconds, settings.seconds);
+        System.out.printf(Locale.ROOT, "%-10s %-8s %12s %12s %12s %14s%n",
+                "lista", "formato", "bytes", "gzip", "us/op", "alocado/op");
+
+        var products = products(settings.items);
+        var productWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ProductResponse.class));
+        compare("products", products, productWriter, ProtobufEncoders.PRODUCT_LIST, settings);
+
+        var persons = persons(settings.items);
+        var personWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, PersonResponse.class));
+        compare("persons", persons, personWriter, ProtobufEncoders.PERSON_LIST, settings);
+    }
+
+    private static <T> void compare(String name, List<T> values, ObjectWriter jsonWriter,
+            ProtobufEncoder<Collection<T>> encoder, Settings settings) throws IOException {
+
+        Encoding json = out -> jsonWriter.writeValue(out, values);
+
+        Encoding protobuf = out -> {
+            var coded = CodedOutputStream.newInstance(out, BUFFER_SIZE);
+            encoder.write(values, coded);
+            coded.flush();
+        };
+
+        var jsonResult = measure(json, settings);
+        var protobufResult = measure(protobuf, settings);
+
+        print(name, "json", jsonResult);
+        print(name, "protobuf", protobufResult);
+        System.out.printf(Locale.ROOT, "%-10s %-8s %11.1f%% %11.1f%% %11.1f%% %13.1f%%%n%n", name, "pb/json",
+                100.0 * protobufResult.bytes / jsonResult.bytes,
+                100.0 * protobufResult.gzipBytes / jsonResult.gzipBytes,
+                100.0 * protobufResult.micros / jsonResult.micros,
+                100.0 * protobufResult.allocatedBytes / jsonResult.allocatedBytes);
+    }
+
+    private static Result measure(Encoding encoding, Settings settings) throws IOException {
+        var out = new ByteArrayOutputStream(1 << 20);
+
+        encoding.write(out);
+        var body = out.toByteArray();
+
+        run(encoding, out, settings.warmupSeconds * 1_000_000_000L);
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var threadId = Thread.currentThread().getId();
+
+        var allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        var start = System.nanoTime();
+        var operations = run(encoding, out, settings.seconds * 1_000_000_000L);
+        var elapsed = System.nanoTime() - start;
+        var allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        return new Result(body.length, gzip(body).length, elapsed / 1_000.0 / operations,
+                (double) allocated / operations);
+    }
+
+    private static long run(Encoding encoding, ByteArrayOutputStream out, long nanos) throws IOException {
+        long operations = 0;
+        var deadline = System.nanoTime() + nanos;
+
+        do {
+            out.reset();
+            encoding.write(out);
+            operations++;
+        } while (System.nanoTime() < deadline);
+
+        return operations;
+    }
+
+    private static void print(String name, String format, Result result) {
+        System.out.printf(Locale.ROOT, "%-10s %-8s %12d %12d %12.1f %14.0f%n", name, format, result.bytes,
+                result.gzipBytes, result.micros, result.allocatedBytes);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        var out = new ByteArrayOutputStream();
+        try (var gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<ProductResponse> products(int items) {
+        var random = new Random(42);
+
+        return IntStream.range(0, items)
+                .mapToObj(i -> ProductResponse.builder()
+                        .id(1_000_000L + i)
+                        .name("Produto " + i)
+                        .description("Descrição do produto " + i + ", com detalhes técnicos e informações de uso")
+                        .price(BigDecimal.valueOf(random.nextInt(1_000_000), 2))
+                        .categoryId((long) (i % CATEGORIES.size()) + 1)
+                        .categoryName(CATEGORIES.get(i % CATEGORIES.size()))
+                        .version((long) random.nextInt(10))
+                        .build())
+                .toList();
+    }
+
+    private static List<PersonResponse> persons(int items) {
+        var random = new Random(42);
+
+        return IntStream.range(0, items)
+                .mapToObj(i -> PersonResponse.builder()
+                        .id(1_000_000L + i)
+                        .name("Pessoa " + i)
+                        .birthDate(LocalDate.ofEpochDay(random.nextInt(20_000)))
+                        .build())
+                .toList();
+    }
+
+    @FunctionalInterface
+    private interface Encoding {
+        void write(ByteArrayOutputStream out) throws IOException;
+    }
+
+    private record Result(long bytes, long gzipBytes, double micros, double allocatedBytes) {
+    }
+
+    private record Settings(int items, int warmupSeconds, int seconds) {
+
+        static Settings parse(String[] args) {
+            int items = 1000, warmupSeconds = 3, seconds = 5;
+
+            for (var arg : args) {
+                var value = arg.substring(arg.indexOf('=') + 1);
+
+                if (arg.startsWith("--items=")) {
+                    items = Integer.parseInt(value);
+                } else if (arg.startsWith("--warmup=")) {
+                    warmupSeconds = Integer.parseInt(value);
+                } else if (arg.startsWith("--seconds=")) {
+                    seconds = Integer.parseInt(value);
+                }
+            }
+
+            return new Settings(items, warmupSeconds, seconds);
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.jeanbarcellos.project110.protobuf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.jeanbarcellos.project110.dto.CategoryResponse;
+import com.jeanbarcellos.project110.dto.PersonResponse;
+import com.jeanbarcellos.project110.dto.ProductResponse;
+
+/**
+ * Os bytes do {@link ProtobufEncoders} são lidos pelas classes geradas de
+ * project110.proto (protobuf-maven-plugin, escopo de teste), como faria um
+ * cliente: encoder e schema precisam continuar compatíveis.
+ */
+class ProtobufSchemaRoundTripTest {
+
+    @Test
+    void messageNamesShouldMatchSchema() {
+        assertEquals(Product.getDescriptor().getFullName(), ProtobufEncoders.PRODUCT.getMessageName());
+        assertEquals(Category.getDescriptor().getFullName(), ProtobufEncoders.CATEGORY.getMessageName());
+        assertEquals(Person.getDescriptor().getFullName(), ProtobufEncoders.PERSON.getMessageName());
+        assertEquals(ProductList.getDescriptor().getFullName(), ProtobufEncoders.PRODUCT_LIST.getMessageName());
+        assertEquals(PersonList.getDescriptor().getFullName(), ProtobufEncoders.PERSON_LIST.getMessageName());
+    }
+
+    @Test
+    void productListShouldBeParsedByGeneratedClasses() throws Exception {
+        var products = List.of(
+                ProductResponse.builder()
+                        .id(10L)
+                        .name("Smartphone")
+                        .description("Descrição com acentuação")
+                        .price(new BigDecimal("-785.52"))
+                        .categoryId(1L)
+                        .categoryName("Electronics")
+                        .version(3L)
+                        .build(),
+                ProductResponse.builder().id(11L).build());
+
+        var parsed = ProductList.parseFrom(ProtobufEncoders.PRODUCT_LIST.encode(products));
+
+        assertTrue(parsed.getUnknownFields().asMap().isEmpty());
+        assertEquals(2, parsed.getItemsCount());
+
+        var product = parsed.getItems(0);
+        assertEquals(10L, product.getId());
+        assertEquals("Smartphone", product.getName());
+        assertEquals("Descrição com acentuação", product.getDescription());
+        assertEquals(-78552L, product.getPrice().getUnscaled());
+        assertEquals(2, product.getPrice().getScale());
+        assertEquals(1L, product.getCategoryId());
+        assertEquals("Electronics", product.getCategoryName());
+        assertEquals(3L, product.getVersion());
+        assertTrue(product.getUnknownFields().asMap().isEmpty());
+
+        // Campos nulos no DTO: valores padrão
+        var empty = parsed.getItems(1);
+        assertEquals(11L, empty.getId());
+        assertEquals("", empty.getName());
+        assertFalse(empty.hasPrice());
+    }
+
+    @Test
+    void categoryShouldBeParsedByGeneratedClasses() throws Exception {
+        var category = CategoryResponse.builder().id(5L).name("Eletrodomésticos").version(2L).build();
+
+        var parsed = Category.parseFrom(ProtobufEncoders.CATEGORY.encode(category));
+
+        assertEquals(5L, parsed.getId());
+        assertEquals("Eletrodomésticos", parsed.getName());
+        assertEquals(2L, parsed.getVersion());
+        assertTrue(parsed.getUnknownFields().asMap().isEmpty());
+    }
+
+    @Test
+    void personListShouldBeParsedByGeneratedClasses() throws Exception {
+        var persons = List.of(PersonResponse.builder().id(7L).name("Alice").birthDate(LocalDate.of(1990, 5, 15))
+                .build());
+
+        var parsed = PersonList.parseFrom(ProtobufEncoders.PERSON_LIST.encode(persons));
+
+        var person = parsed.getItems(0);
+        assertEquals(7L, person.getId());
+        assertEquals("Alice", person.getName());
+        assertEquals(1990, person.getBirthDate().getYear());
+        assertEquals(5, person.getBirthDate().getMonth());
+        assertEquals(15, person.getBirthDate().getDay());
+        assertTrue(person.getUnknownFields().asMap().isEmpty());
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.jeanbarcellos.project110.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Latência da busca no {@link ProductSearchIndex} com um catálogo sintético
+ * (padrão: 1 milhão de produtos).
+ *
+ * Nomes e descrições usam um vocabulário gerado (sílabas) com frequência
+ * Zipf, então há termos comuns, raros e prefixos que expandem para milhares
+ * de termos. Cada consulta roda em uma única thread, depois do aquecimento;
+ * são exibidos o número de resultados, a média e os percentis 50/99.
+ *
+ * <pre>
+ * mvn -q test-compile
+ * java -Xmx4g -cp target/classes:target/test-classes \
+ *   com.jeanbarcellos.project110.search.ProductSearchIndexBenchmark --products=1000000 --iterations=2000
+ * </pre>
+ */
+public class ProductSearchIndexBenchmark {
+
+    private static final String[] SYLLABLES = { "ba", "ce", "di", "fo", "gu", "la", "me", "ni", "po", "ru", "sa",
+            "te", "vi", "xo", "zu", "ca", "de", "fi", "go", "lu" };
+
+    private static final int LIMIT = 20;
+
+    public static void main(String[] args) {
+        var settings = Settings.parse(args);
+        var random = new Random(42);
+        var vocabulary = vocabulary(settings.vocabulary, random);
+
+        var index = new ProductSearchIndex();
+        var start = System.nanoTime();
+
+        var batch = new ArrayList<IndexedProduct>(10_000);
+        for (int i = 0; i < settings.products; i++) {
+            batch.add(product(i, vocabulary, random));
+            if (batch.size() == 10_000) {
+                index.indexAll(batch);
+                batch.clear();
+            }
+        }
+        index.indexAll(batch);
+
+        var runtime = Runtime.getRuntime();
+        System.gc();
+
+        System.out.printf(Locale.ROOT, "%d produtos indexados em %.1f s, heap usado %d MB%n%n", index.size(),
+                (System.nanoTime() - start) / 1e9, (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+        System.out.printf(Locale.ROOT, "%-28s %10s %10s %10s %10s%n", "consulta", "resultados", "média us",
+                "p50 us", "p99 us");
+
+        var queries = List.of(
+                vocabulary.get(0), // termo mais comum
+                vocabulary.get(vocabulary.size() - 1), // termo raro
+                vocabulary.get(0) + " " + vocabulary.get(50),
+                vocabulary.get(10) + " " + vocabulary.get(vocabulary.size() / 2),
+                vocabulary.get(5).substring(0, 4), // prefixo
+                vocabulary.get(5).substring(0, 2), // prefixo curto: milhares de termos
+                vocabulary.get(5).substring(0, 2) + " " + vocabulary.get(vocabulary.size() - 1));
+
+        for (var query : queries) {
+            measure(index, query, settings);
+        }
+    }
+
+    private static void measure(ProductSearchIndex index, String query, Settings settings) {
+        var results = index.search(query, LIMIT).size();
+
+        for (int i = 0; i < settings.warmup; i++) {
+            index.search(query, LIMIT);
+        }
+
+        var nanos = new long[settings.iterations];
+        for (int i = 0; i < settings.iterations; i++) {
+            var start = System.nanoTime();
+            index.search(query, LIMIT);
+            nanos[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(nanos);
+        var average = Arrays.stream(nanos).average().orElse(0);
+
+        System.out.printf(Locale.ROOT, "%-28s %10d %10.1f %10.1f %10.1f%n", query, results, average / 1e3,
+                nanos[nanos.length / 2] / 1e3, nanos[(int) (nanos.length * 0.99)] / 1e3);
+    }
+
+    private static List<String> vocabulary(int size, Random random) {
+        var words = new ArrayList<String>(size);
+
+        while (words.size() < size) {
+            var word = new StringBuilder();
+            var syllables = 2 + random.nextInt(3);
+            for (int i = 0; i < syllables; i++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words.add(word.toString());
+        }
+
+        return words;
+    }
+
+    private static IndexedProduct product(int i, List<String> vocabulary, Random random) {
+        return new IndexedProduct((long) i + 1, words(vocabulary, random, 3), words(vocabulary, random, 12),
+                BigDecimal.TEN, (long) (i % 10) + 1, "Categoria " + (i % 10));
+    }
+
+    private static String words(List<String> vocabulary, Random random, int count) {
+        var text = new StringBuilder();
+
+        for (int i = 0; i < count; i++) {
+            // Zipf aproximado: índices pequenos (termos comuns) são mais prováveis
+            var rank = (int) Math.min(vocabulary.size() - 1, Math.pow(vocabulary.size(), random.nextDouble()) - 1);
+            text.append(vocabulary.get(rank)).append(' ');
+        }
+
+        return text.toString();
+    }
+
+    private record Settings(int products, int vocabulary, int warmup, int iterations) {
+
+        static Settings parse(String[] args) {
+            int products = 1_000_000, vocabulary = 50_000, warmup = 200, iterations = 1000;
+
+            for (var arg : args) {
+                var value = arg.substring(arg.indexOf('=') + 1);
+
+                if (arg.startsWith("--products=")) {
+                    products = Integer.parseInt(value);
+                } else if (arg.startsWith("--vocabulary=")) {
+                    vocabulary = Integer.parseInt(value);
+                } else if (arg.startsWith("--warmup=")) {
+                    warmup = Integer.parseInt(value);
+                } else if (arg.startsWith("--iterations=")) {
+                    iterations = Integer.parseInt(value);
+                }
+            }
+
+            return new Settings(products, vocabulary, warmup, iterations);
+        }
+    }
+
+}
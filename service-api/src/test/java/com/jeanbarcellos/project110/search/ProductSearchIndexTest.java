@@ -0,0 +1,97 @@
+package com.jeanbarcellos.project110.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.index = new ProductSearchIndex();
+        this.index.index(product(1L, "Smartphone", "A modern smartphone with a powerful processor", 1L));
+        this.index.index(product(2L, "Laptop", "High-performance laptop for work and gaming", 1L));
+        this.index.index(product(3L, "Smartwatch", "A smartwatch with health tracking features", 1L));
+        this.index.index(product(4L, "Advanced Java", "Deep dive into Java programming", 2L));
+    }
+
+    @Test
+    void shouldMatchByPrefix() {
+        var result = this.index.search("smart", 10);
+
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    void shouldRequireAllTerms() {
+        var result = this.index.search("smart health", 10);
+
+        assertEquals(1, result.size());
+        assertEquals(3L, result.get(0).id());
+    }
+
+    @Test
+    void shouldRankNameAboveDescription() {
+        this.index.index(product(5L, "Gaming Mouse", "Mouse for laptop users", 1L));
+
+        var result = this.index.search("laptop", 10);
+
+        assertEquals(2L, result.get(0).id());
+        assertEquals(5L, result.get(1).id());
+    }
+
+    @Test
+    void shouldIgnoreCaseAndAccents() {
+        this.index.index(product(6L, "Café Especial", "Grãos selecionados", 7L));
+
+        assertEquals(6L, this.index.search("CAFE graos", 10).get(0).id());
+    }
+
+    @Test
+    void prefixShouldMatchEveryExpansion() {
+        // Mais termos com o prefixo do que qualquer corte alfabético aceitaria
+        for (int i = 0; i < 1000; i++) {
+            this.index.index(product(100L + i, String.format("zz%04d", i), null, 1L));
+        }
+        this.index.index(product(99L, "zzzz", "smartphone", 1L));
+
+        assertEquals(1001, this.index.search("zz", 2000).size());
+        assertEquals(99L, this.index.search("zz smart", 10).get(0).id());
+    }
+
+    @Test
+    void exactTermShouldRankAbovePrefixMatch() {
+        this.index.index(product(7L, "Smart", null, 1L));
+
+        assertEquals(7L, this.index.search("smart", 10).get(0).id());
+    }
+
+    @Test
+    void shouldReindexOnUpdateAndForgetRemoved() {
+        this.index.index(product(1L, "Tablet", "A tablet", 1L));
+        this.index.remove(4L);
+
+        assertEquals(1, this.index.search("smart", 10).size());
+        assertEquals(1L, this.index.search("tablet", 10).get(0).id());
+        assertTrue(this.index.search("java", 10).isEmpty());
+        assertEquals(3, this.index.size());
+    }
+
+    @Test
+    void shouldUpdateCategoryName() {
+        this.index.updateCategoryName(2L, "Livros");
+
+        assertEquals("Livros", this.index.search("java", 10).get(0).categoryName());
+    }
+
+    private static IndexedProduct product(Long id, String name, String description, Long categoryId) {
+        return new IndexedProduct(id, name, description, BigDecimal.TEN, categoryId, "Category " + categoryId);
+    }
+
+}
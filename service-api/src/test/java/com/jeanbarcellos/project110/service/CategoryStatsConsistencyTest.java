@@ -0,0 +1,140 @@
+package com.jeanbarcellos.project110.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.jeanbarcellos.project110.bulk.BulkFormat;
+import com.jeanbarcellos.project110.dto.ProductRequest;
+
+/**
+ * A tabela category_stats (mantida pelos triggers de product) precisa
+ * continuar igual a um GROUP BY sobre product depois de cada tipo de escrita:
+ * inserção, alteração de preço, troca de categoria, exclusão e importação em
+ * massa (inserções e atualizações no mesmo comando).
+ */
+@SpringBootTest(properties = {
+        "spring.data.redis.database=3",
+        "app-config.cache.cdc.enabled=false" })
+class CategoryStatsConsistencyTest {
+
+    private static final String NAME_PREFIX = "category-stats-test ";
+
+    private static final String SQL_STATS = """
+            SELECT category_id, product_count, price_sum, min_price, max_price
+              FROM project110.category_stats
+             WHERE product_count <> 0
+            """;
+
+    // Categorias que ficaram sem produtos
+    private static final String SQL_STALE_EMPTY = """
+            SELECT count(*)
+              FROM project110.category_stats
+             WHERE product_count = 0
+               AND (price_sum <> 0 OR min_price IS NOT NULL OR max_price IS NOT NULL)
+            """;
+
+    private static final String SQL_LIVE = """
+            SELECT category_id, count(*) AS product_count, sum(price) AS price_sum,
+                   min(price) AS min_price, max(price) AS max_price
+              FROM project110.product
+             WHERE category_id IS NOT NULL
+             GROUP BY category_id
+            """;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductBulkService productBulkService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        this.jdbcTemplate.update("DELETE FROM project110.product WHERE name LIKE ?", NAME_PREFIX + "%");
+        this.assertStatsMatchProducts();
+    }
+
+    @Test
+    void statsShouldMatchProductsAfterEveryWrite() {
+        this.assertStatsMatchProducts();
+
+        var created = this.productService.create(request(null, "a", "5.00", 1L));
+        var cheapest = this.productService.create(request(null, "b", "0.01", 1L));
+        this.assertStatsMatchProducts();
+
+        // Preço
+        this.productService.update(request(created.getId(), "a", "99999.99", 1L));
+        this.assertStatsMatchProducts();
+
+        // Troca de categoria: sai do mínimo da categoria 1 e entra na 2
+        this.productService.update(request(cheapest.getId(), "b", "0.01", 2L));
+        this.assertStatsMatchProducts();
+
+        this.productService.delete(created.getId());
+        this.assertStatsMatchProducts();
+
+        // Importação em massa: novas linhas em várias categorias e uma troca de
+        // categoria com preço novo, no mesmo comando
+        var csv = new StringBuilder("id,name,description,price,category_id\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append(",%simport %d,,%d.%02d,%d\n".formatted(NAME_PREFIX, i, i, i % 100, 1 + i % 5));
+        }
+        csv.append("%d,%sb,,12.34,3\n".formatted(cheapest.getId(), NAME_PREFIX));
+
+        var bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+        var result = this.productBulkService.importProducts(BulkFormat.CSV, new ByteArrayInputStream(bytes),
+                bytes.length);
+
+        assertEquals(200, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        this.assertStatsMatchProducts();
+
+        // Exclusão em massa
+        this.jdbcTemplate.update("DELETE FROM project110.product WHERE name LIKE ? AND price < 50",
+                NAME_PREFIX + "import%");
+        this.assertStatsMatchProducts();
+    }
+
+    private void assertStatsMatchProducts() {
+        assertEquals(this.query(SQL_LIVE), this.query(SQL_STATS));
+        assertEquals(0L, this.jdbcTemplate.queryForObject(SQL_STALE_EMPTY, Long.class));
+    }
+
+    private Map<Long, List<Object>> query(String sql) {
+        var rows = new TreeMap<Long, List<Object>>();
+
+        this.jdbcTemplate.query(sql, row -> {
+            rows.put(row.getLong("category_id"), List.of(
+                    row.getLong("product_count"),
+                    row.getBigDecimal("price_sum").stripTrailingZeros(),
+                    row.getBigDecimal("min_price").stripTrailingZeros(),
+                    row.getBigDecimal("max_price").stripTrailingZeros()));
+        });
+
+        return rows;
+    }
+
+    private static ProductRequest request(Long id, String name, String price, Long categoryId) {
+        return ProductRequest.builder()
+                .id(id)
+                .name(NAME_PREFIX + name)
+                .price(new BigDecimal(price))
+                .categoryId(categoryId)
+                .build();
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.jeanbarcellos.project110.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.jeanbarcellos.core.exception.BadRequestException;
+
+class ProductBulkServiceTest {
+
+    @Test
+    void csvHeaderShouldBeConsumedAndNormalized() throws IOException {
+        var input = stream("\uFEFFid, \"Name\",price,CATEGORY_ID\r\n1,Smartphone,10.00,1\n");
+
+        var columns = ProductBulkService.readCsvHeader(input);
+
+        assertEquals(List.of("id", "name", "price", "category_id"), columns);
+        assertEquals("1,Smartphone,10.00,1\n", new String(input.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportedCsvHeaderShouldBeAccepted() throws IOException {
+        var columns = ProductBulkService.readCsvHeader(
+                stream("id,name,description,price,category_id,category_name,version\n"));
+
+        assertEquals(7, columns.size());
+    }
+
+    @Test
+    void invalidCsvHeaderShouldBeRejected() {
+        assertThrows(BadRequestException.class, () -> ProductBulkService.readCsvHeader(stream("")));
+        assertThrows(BadRequestException.class,
+                () -> ProductBulkService.readCsvHeader(stream("name,price,category_id,drop table\n")));
+        assertThrows(BadRequestException.class,
+                () -> ProductBulkService.readCsvHeader(stream("name,price,price,category_id\n")));
+        assertThrows(BadRequestException.class, () -> ProductBulkService.readCsvHeader(stream("id,name,price\n")));
+    }
+
+    private static ByteArrayInputStream stream(String value) {
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,297 @@
+package com.jeanbarcellos.project110.service;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.jeanbarcellos.project110.cache.CacheDependencyIndex;
+import com.jeanbarcellos.project110.cache.HttpCacheSupport;
+import com.jeanbarcellos.project110.cache.MetadataRedisCacheManager;
+import com.jeanbarcellos.project110.cdc.CacheChangeEvent;
+import com.jeanbarcellos.project110.cdc.CacheInvalidationHandler;
+import com.jeanbarcellos.project110.dto.ProductRequest;
+import com.jeanbarcellos.project110.dto.ProductResponse;
+import com.jeanbarcellos.project110.entity.Product;
+import com.jeanbarcellos.project110.repository.ProductRepository;
+
+/**
+ * Corridas entre leituras do cache e escritas concorrentes: getById lento
+ * (miss) contra um update, e o ETag da resposta condicional; TTL do índice de
+ * dependências e registros concorrentes com o evict por categoria.
+ *
+ * Usa outro banco do Redis e desliga a invalidação via cdc: apenas o
+ * versionamento das entradas decide o resultado.
+ */
+@SpringBootTest(properties = {
+        "spring.data.redis.database=3",
+        "app-config.cache.cdc.enabled=false" })
+class ProductServiceCacheVersionTest {
+
+    private static final long PRODUCT_ID = 3L;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MetadataRedisCacheManager cacheManager;
+
+    @Autowired
+    private HttpCacheSupport httpCacheSupport;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private CacheInvalidationHandler cacheInvalidationHandler;
+
+    @MockitoSpyBean
+    private CacheDependencyIndex dependencyIndex;
+
+    @Test
+    void slowLoaderShouldNotOverwriteNewerVersion() throws Exception {
+        var cache = this.cacheManager.getCache(ProductService.CACHE_NAME);
+        cache.clear();
+
+        var original = this.productRepository.findById(PRODUCT_ID).orElseThrow();
+
+        var loaded = new CountDownLatch(1);
+        var proceed = new CountDownLatch(1);
+
+        // O getById para depois de ler o produto do banco, antes do put no cache
+        doAnswer(invocation -> {
+            loaded.countDown();
+            assertTrue(proceed.await(30, SECONDS));
+            return invocation.callRealMethod();
+        }).when(this.dependencyIndex).register(eq(ProductService.CACHE_NAME), any(), any(), eq(PRODUCT_ID));
+
+        var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            var slowRead = executor.submit(() -> this.productService.getById(PRODUCT_ID));
+            assertTrue(loaded.await(30, SECONDS));
+
+            var updated = this.productService.update(request(original, original.getName() + " (updated)"));
+
+            proceed.countDown();
+            var stale = slowRead.get(30, SECONDS);
+
+            assertEquals(original.getName(), stale.getName());
+            assertTrue(updated.getVersion() > stale.getVersion());
+
+            // A gravação do valor antigo foi descartada
+            assertNull(cache.get(PRODUCT_ID));
+        } finally {
+            executor.shutdownNow();
+            this.productService.update(request(original, original.getName()));
+            cache.clear();
+        }
+    }
+
+    @Test
+    void olderVersionShouldNotOverwriteCachedValue() {
+        var cache = this.cacheManager.getCache(ProductService.CACHE_NAME);
+        var key = -1L;
+
+        try {
+            cache.put(key, response(key, "v2", 2L));
+            var etag = this.cacheManager.getEtag(ProductService.CACHE_NAME, key);
+
+            cache.put(key, response(key, "v1", 1L));
+            assertEquals(etag, this.cacheManager.getEtag(ProductService.CACHE_NAME, key));
+
+            cache.put(key, response(key, "v3", 3L));
+            assertNotEquals(etag, this.cacheManager.getEtag(ProductService.CACHE_NAME, key));
+
+            // Após a exclusão nenhuma versão é aceita
+            this.cacheManager.evict(ProductService.CACHE_NAME, key, Long.MAX_VALUE);
+            cache.put(key, response(key, "v4", 4L));
+            assertNull(cache.get(key));
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Test
+    void conditionalShouldPairBodyWithItsOwnEtag() throws Exception {
+        var cache = this.cacheManager.getCache(ProductService.CACHE_NAME);
+        var key = -2L;
+        var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            cache.put(key, response(key, "v1", 1L));
+            var etag = this.cacheManager.getEtag(ProductService.CACHE_NAME, key);
+
+            // Outra escrita entre a leitura do valor e a resposta
+            var response = this.httpCacheSupport.conditional(null, ProductService.CACHE_NAME, key, () -> {
+                var value = cache.get(key, ProductResponse.class);
+                assertDoesNotThrow(() -> executor.submit(() -> cache.put(key, response(key, "v2", 2L)))
+                        .get(30, SECONDS));
+                return value;
+            });
+
+            assertEquals("v1", response.getBody().getName());
+            assertEquals(etag, response.getHeaders().getETag());
+            assertNotEquals(etag, this.cacheManager.getEtag(ProductService.CACHE_NAME, key));
+        } finally {
+            executor.shutdownNow();
+            cache.clear();
+        }
+    }
+
+    @Test
+    void conditionalShouldServeStoredEtagWithoutRehashing() {
+        var cache = this.cacheManager.getCache(ProductService.CACHE_NAME);
+        var key = -4L;
+
+        try {
+            cache.put(key, response(key, "v1", 1L));
+
+            // ETag armazenado diferente do hash do valor: a resposta usa o armazenado
+            var etagKey = this.cacheManager.getConfiguration(ProductService.CACHE_NAME)
+                    .getKeyPrefixFor(ProductService.CACHE_NAME) + "etag::" + key;
+            this.redisTemplate.opsForValue().set(etagKey, "\"stored\"");
+
+            var response = this.httpCacheSupport.conditional(null, ProductService.CACHE_NAME, key,
+                    () -> cache.get(key, ProductResponse.class));
+
+            assertEquals("v1", response.getBody().getName());
+            assertEquals("\"stored\"", response.getHeaders().getETag());
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Test
+    void changeNotificationShouldRejectOlderVersions() {
+        var cache = this.cacheManager.getCache(ProductService.CACHE_NAME);
+        var key = -3L;
+
+        try {
+            cache.put(key, response(key, "v4", 4L));
+
+            this.cacheInvalidationHandler.apply(List.of(new CacheChangeEvent(1, CacheChangeEvent.TABLE_PRODUCT,
+                    "UPDATE", List.of(key), List.of(5L), List.of())));
+            assertNull(cache.get(key));
+
+            // Carregamento que leu a linha antes da alteração
+            cache.put(key, response(key, "v4", 4L));
+            assertNull(cache.get(key));
+
+            cache.put(key, response(key, "v5", 5L));
+            assertEquals("v5", cache.get(key, ProductResponse.class).getName());
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Test
+    void dependencyIndexShouldOutliveTheLongestEntryTtl() {
+        var cache = this.cacheManager.getCache(ProductService.CACHE_NAME);
+        cache.clear();
+
+        try {
+            var product = this.productService.getById(PRODUCT_ID);
+            var indexKey = this.cacheManager.getConfiguration(ProductService.CACHE_NAME)
+                    .getKeyPrefixFor(ProductService.CACHE_NAME) + "deps::" + ProductService.DEPENDENCY_CATEGORY + "::"
+                    + product.getCategoryId();
+
+            // TTL adaptativo: uma entrada pode durar mais que o TTL configurado
+            var maxTtl = this.cacheManager.getMaxTtl(ProductService.CACHE_NAME);
+            assertTrue(maxTtl.compareTo(this.cacheManager.getTtl(ProductService.CACHE_NAME)) > 0);
+
+            var expire = this.redisTemplate.getExpire(indexKey, SECONDS);
+            assertTrue(expire > maxTtl.toSeconds() - 60, "TTL do índice: " + expire + "s");
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Test
+    void evictByCategoryShouldKeepDependentsRegisteredAfterTheSnapshot() {
+        var cache = this.cacheManager.getCache(ProductService.CACHE_NAME);
+        cache.clear();
+
+        try {
+            var product = this.productService.getById(PRODUCT_ID);
+            var categoryId = product.getCategoryId();
+
+            // Um getById concorrente registra outra chave logo após a leitura do índice
+            doAnswer(invocation -> {
+                var snapshot = invocation.callRealMethod();
+                this.dependencyIndex.register(ProductService.CACHE_NAME, ProductService.DEPENDENCY_CATEGORY,
+                        categoryId, 999L);
+                return snapshot;
+            }).when(this.dependencyIndex).dependents(ProductService.CACHE_NAME, ProductService.DEPENDENCY_CATEGORY,
+                    categoryId);
+
+            this.productService.evictByCategory(categoryId);
+
+            assertNull(cache.get(PRODUCT_ID));
+            assertEquals(Set.of("999"), this.dependencyIndex.dependents(ProductService.CACHE_NAME,
+                    ProductService.DEPENDENCY_CATEGORY, categoryId));
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Test
+    void evictByCategoryShouldRejectOlderVersions() {
+        var cache = this.cacheManager.getCache(ProductService.CACHE_NAME);
+        cache.clear();
+
+        try {
+            var product = this.productService.getById(PRODUCT_ID);
+
+            this.productService.evictByCategory(product.getCategoryId());
+            assertNull(cache.get(PRODUCT_ID));
+
+            // Carregamento de uma versão anterior do produto
+            cache.put(PRODUCT_ID, response(PRODUCT_ID, "old", product.getVersion() - 1));
+            assertNull(cache.get(PRODUCT_ID));
+
+            cache.put(PRODUCT_ID, product);
+            assertEquals(product.getName(), cache.get(PRODUCT_ID, ProductResponse.class).getName());
+        } finally {
+            cache.clear();
+        }
+    }
+
+    private static ProductRequest request(Product product, String name) {
+        return ProductRequest.builder()
+                .id(product.getId())
+                .name(name)
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .categoryId(product.getCategory().getId())
+                .build();
+    }
+
+    private static ProductResponse response(Long id, String name, Long version) {
+        return ProductResponse.builder()
+                .id(id)
+                .name(name)
+                .version(version)
+                .build();
+    }
+
+}